@@ -86,18 +86,18 @@ public class ExcelImporterTest {
 	public void testImport() throws CoreException {
 		ExcelImporter importer = new ExcelImporter(registry);
 		assertFalse("Importer has not been executed yet", executed);
-		importer.importExcel(StructuralFactory.eINSTANCE.createStructuralElement(), null, null);
+		importer.importExcel(StructuralFactory.eINSTANCE.createStructuralElement(), null, (XSSFWorkbook) null);
 		assertFalse("Importer has still not been executed", executed);
-		importer.importExcel(DVLMFactory.eINSTANCE.createRepository(), null, null);
+		importer.importExcel(DVLMFactory.eINSTANCE.createRepository(), null, (XSSFWorkbook) null);
 		assertTrue("Importer has been executed", executed);
 	}
 
 	@Test
 	public void testValidate() throws CoreException {
 		ExcelImporter importer = new ExcelImporter(registry);
-		List<Fault> invalidImportFaults = importer.validate(StructuralFactory.eINSTANCE.createStructuralElement(), null);
+		List<Fault> invalidImportFaults = importer.validate(StructuralFactory.eINSTANCE.createStructuralElement(), (XSSFWorkbook) null);
 		assertNull("Not a valid input, so return is null", invalidImportFaults);
-		List<Fault> validImportFaults = importer.validate(DVLMFactory.eINSTANCE.createRepository(), null);
+		List<Fault> validImportFaults = importer.validate(DVLMFactory.eINSTANCE.createRepository(), (XSSFWorkbook) null);
 		assertSame("A valid input, so the fault list of the importer is returned", FAULT_LIST, validImportFaults);
 	}
 }
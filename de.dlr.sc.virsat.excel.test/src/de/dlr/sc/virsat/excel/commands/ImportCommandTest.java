@@ -10,8 +10,13 @@
 package de.dlr.sc.virsat.excel.commands;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.emf.ecore.EObject;
 import org.junit.Before;
@@ -40,26 +45,57 @@ public class ImportCommandTest extends AConceptProjectTestCase {
 	public static class MockExcelImporter extends ExcelImporter {
 		EObject object;
 		Repository repository;
-		XSSFWorkbook wb;
+		File file;
 
 		@Override
-		public void importExcel(EObject object, Repository repository, XSSFWorkbook wb) {
+		public void importExcel(EObject object, Repository repository, File file) throws IOException {
 			this.object = object;
 			this.repository = repository;
-			this.wb = wb;
+			this.file = file;
 		}
 	}
 
 	@Test
-	public void testImportCommand() {
+	public void testImportCommand() throws IOException {
 		MockExcelImporter mockImporter = new MockExcelImporter();
 		StructuralElement object = StructuralFactory.eINSTANCE.createStructuralElement();
-		XSSFWorkbook wb = new XSSFWorkbook();
-		ImportCommand command = new ImportCommand(object, wb, editingDomain, mockImporter);
+		File file = new File("import.xlsx");
+		ImportCommand command = new ImportCommand(object, file, editingDomain, mockImporter);
 		command.execute();
+		command.throwExceptionIfSet();
 
 		assertEquals(object, mockImporter.object);
-		assertEquals(wb, mockImporter.wb);
+		assertEquals(file, mockImporter.file);
 		assertEquals(editingDomain.getResourceSet().getRepository(), mockImporter.repository);
 	}
+	
+	@Test
+	public void testImportCommandFailure() {
+		IOException readFailure = new IOException("Cannot read the file");
+		ExcelImporter failingImporter = new ExcelImporter() {
+			@Override
+			public void importExcel(EObject object, Repository repository, File file) throws IOException {
+				// Fail after parts of the file have already been imported
+				repository.getRootEntities().add(StructuralFactory.eINSTANCE.createStructuralElementInstance());
+				throw readFailure;
+			}
+		};
+		Repository repository = editingDomain.getResourceSet().getRepository();
+		int rootEntities = repository.getRootEntities().size();
+		StructuralElement object = StructuralFactory.eINSTANCE.createStructuralElement();
+		ImportCommand command = new ImportCommand(object, new File("import.xlsx"), editingDomain, failingImporter);
+		try {
+			editingDomain.getCommandStack().execute(command);
+		} catch (UncheckedIOException e) {
+			// Depending on the command stack the failure is logged or passed on after the rollback
+		}
+		
+		assertEquals("The partial import has been rolled back", rootEntities, repository.getRootEntities().size());
+		try {
+			command.throwExceptionIfSet();
+			fail("The failure of reading the file is reported");
+		} catch (IOException e) {
+			assertSame("The original exception is rethrown", readFailure, e);
+		}
+	}
 }
\ No newline at end of file
@@ -13,11 +13,28 @@ package de.dlr.sc.virsat.excel.exporter;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 
+import javax.xml.parsers.SAXParserFactory;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
 import de.dlr.sc.virsat.model.dvlm.roles.Discipline;
 import de.dlr.sc.virsat.model.dvlm.roles.RolesFactory;
@@ -107,4 +124,93 @@ public class ExcelExportHelperTest {
 		assertNull("Cell still null", sheet.getRow(1).getCell(2));
 		assertNull("Row2 still null", sheet.getRow(2));
 	}
+	
+	private static final String STREAMED_SHEET = "StreamedSheet";
+	private static final int STREAMED_ROW_COUNT = 200000;
+	private static final int STREAMED_ROW_WINDOW = 50;
+	
+	/**
+	 * Checks the rows of a sheet while it is parsed
+	 */
+	private static class StreamedRowsChecker implements SheetContentsHandler {
+		
+		private int rowCount;
+		private int wrongCellCount;
+		
+		@Override
+		public void startRow(int rowNum) {
+			rowCount++;
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			// Only the cells are checked
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			CellReference reference = new CellReference(cellReference);
+			int rowNum = reference.getRow();
+			String expectedValue = String.valueOf(rowNum);
+			if (rowNum == 0) {
+				expectedValue = "Header";
+			} else if (reference.getCol() == 0) {
+				expectedValue = "Name " + rowNum;
+			}
+			if (!expectedValue.equals(formattedValue)) {
+				wrongCellCount++;
+			}
+		}
+
+		@Override
+		public void headerFooter(String text, boolean isHeader, String tagName) {
+			// Only the cells are checked
+		}
+	}
+	
+	@Test
+	public void testGetDataRowStreamsRows() throws Exception {
+		XSSFWorkbook template = new XSSFWorkbook();
+		template.createSheet(STREAMED_SHEET).createRow(0).createCell(0).setCellValue("Header");
+		
+		ExcelExportHelper excelExportHelper = new ExcelExportHelper(STREAMED_ROW_WINDOW);
+		excelExportHelper.setWb(template);
+		
+		for (int i = 1; i <= STREAMED_ROW_COUNT; i++) {
+			Row row = excelExportHelper.getDataRow(STREAMED_SHEET, i, 2);
+			row.getCell(0).setCellValue("Name " + i);
+			row.getCell(1).setCellValue(i);
+		}
+		
+		assertNotNull("Template row is kept in memory", excelExportHelper.getRow(STREAMED_SHEET, 0));
+		assertNull("Rows outside of the window have been flushed", excelExportHelper.getRow(STREAMED_SHEET, 1));
+		assertNotNull("Rows inside of the window are still in memory", excelExportHelper.getRow(STREAMED_SHEET, STREAMED_ROW_COUNT));
+		
+		File file = File.createTempFile("ExcelExportHelperTest", ".xlsx");
+		file.deleteOnExit();
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			excelExportHelper.write(out);
+		}
+		
+		// Read the file back with the event API, since the complete workbook
+		// would not fit into the heap the tests of this plugin are run with
+		StreamedRowsChecker checker = new StreamedRowsChecker();
+		OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ);
+		try {
+			XSSFReader reader = new XSSFReader(pkg);
+			XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+			try (InputStream sheetStream = sheets.next()) {
+				assertEquals("Sheet has been written", STREAMED_SHEET, sheets.getSheetName());
+				XMLReader parser = SAXParserFactory.newInstance().newSAXParser().getXMLReader();
+				parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), new ReadOnlySharedStringsTable(pkg), checker, false));
+				parser.parse(new InputSource(sheetStream));
+			}
+		} finally {
+			pkg.revert();
+		}
+		
+		assertEquals("Template row and all streamed rows have been written", STREAMED_ROW_COUNT + 1, checker.rowCount);
+		assertEquals("All cells have been written correctly", 0, checker.wrongCellCount);
+		file.delete();
+	}
 }
@@ -10,11 +10,9 @@
 package de.dlr.sc.virsat.excel.ui.wizards;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
 
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Status;
@@ -95,20 +93,22 @@ public class ImportWizard extends Wizard implements INewWizard {
 		getDialogSettings().put(ImportPage.DESTINATION_FILE_KEY, path);
 		
 		File file = new File(path);
-		XSSFWorkbook wb = null;
+		List<Fault> faultList;
 		try {
-			wb = new XSSFWorkbook(new FileInputStream(file));
+			// The validation and the import read the file on their own, so it is not kept in memory in between
+			faultList = new ExcelImporter().validate(eObject, file);
 		} catch (IOException e) {
-			Status status = new Status(Status.ERROR, "de.dlr.sc.virsat.excel.ui", "Failed to create the workbook ", e);
+			Status status = new Status(Status.ERROR, "de.dlr.sc.virsat.excel.ui", "Failed to read the excel file ", e);
 			DVLMEditPlugin.getPlugin().getLog().log(status);
+			ErrorDialog.openError(Display.getDefault().getActiveShell(), "Excel IO Failed", "Import failed", status);
+			return false;
 		}
 		TransactionalEditingDomain ed = VirSatEditingDomainRegistry.INSTANCE.getEd(eObject);
 		try {
-			ExcelImporter ei = new ExcelImporter();
-			List<Fault> faultList = ei.validate(eObject, wb);
 			if (faultList.isEmpty()) {
-				ImportCommand importCommand = new ImportCommand(eObject, wb, ed);
+				ImportCommand importCommand = new ImportCommand(eObject, file, ed);
 				ed.getCommandStack().execute(importCommand);
+				importCommand.throwExceptionIfSet();
 				DVLMEditPlugin.getPlugin().getLog().log(new Status(Status.INFO, "Excel IO", "Successfully imported excel file " + file.getAbsolutePath()));
 				return true;
 			}
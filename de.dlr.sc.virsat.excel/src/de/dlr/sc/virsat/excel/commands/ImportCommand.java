@@ -9,7 +9,10 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.excel.commands;
 
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.transaction.RecordingCommand;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
@@ -24,39 +27,57 @@ import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
 public class ImportCommand extends RecordingCommand {
 
 	private EObject eObject;
-	private XSSFWorkbook wb;
+	private File file;
 	private VirSatTransactionalEditingDomain domain;
 	private ExcelImporter excelImporter;
+	private IOException importException;
 
 	/**
 	 * Create a new import command
 	 * @param eObject will be used as the root object for integrating the data
-	 * @param wb the excel file
+	 * @param file the excel file
 	 * @param domain transaction domain
 	 */
-	public ImportCommand(EObject eObject, XSSFWorkbook wb, TransactionalEditingDomain domain) {
-		this(eObject, wb, domain, new ExcelImporter());
+	public ImportCommand(EObject eObject, File file, TransactionalEditingDomain domain) {
+		this(eObject, file, domain, new ExcelImporter());
 	}
 
 	/**
 	 * Create a new import command
 	 * @param eObject will be used as the root object for integrating the data
-	 * @param wb the excel file
+	 * @param file the excel file
 	 * @param domain transaction domain
 	 * @param excelImporter excel importer to use
 	 */
-	public ImportCommand(EObject eObject, XSSFWorkbook wb, TransactionalEditingDomain domain, ExcelImporter excelImporter) {
+	public ImportCommand(EObject eObject, File file, TransactionalEditingDomain domain, ExcelImporter excelImporter) {
 		super(domain);
 
 		this.excelImporter = excelImporter;
 		this.domain = (VirSatTransactionalEditingDomain) domain;
 		this.eObject = eObject;
-		this.wb = wb;
+		this.file = file;
 	}
 
 	@Override
 	protected void doExecute() {
 		Repository repository = domain.getResourceSet().getRepository();
-		excelImporter.importExcel(eObject, repository, wb);
+		try {
+			// Import from the file, so that importers supporting it can stream the rows instead of loading the whole workbook
+			excelImporter.importExcel(eObject, repository, file);
+		} catch (IOException e) {
+			// The file may fail partway through, so the transaction has to be rolled back instead of keeping a partial import
+			importException = e;
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Rethrows the exception in case the excel file could not be read during the execution of the command
+	 * @throws IOException the exception of reading the excel file
+	 */
+	public void throwExceptionIfSet() throws IOException {
+		if (importException != null) {
+			throw importException;
+		}
 	}
 }
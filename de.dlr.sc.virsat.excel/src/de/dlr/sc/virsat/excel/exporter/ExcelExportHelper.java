@@ -11,11 +11,15 @@ package de.dlr.sc.virsat.excel.exporter;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFCreationHelper;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -27,17 +31,33 @@ import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 
 /**
- * Class for common code to export excel
+ * Class for common code to export excel.
+ * The template is kept as an XSSF workbook, while the data rows beyond the template
+ * are written through an SXSSF workbook that only keeps a window of rows in memory.
  */
 public class ExcelExportHelper {
 	
+	public static final int DEFAULT_ROW_WINDOW = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+	
 	protected static final int ADDZEROIFLESS = 10;
 	protected XSSFWorkbook wb;
+	protected SXSSFWorkbook streamingWb;
+	protected int rowWindow;
+	private Map<String, Integer> templateRowCounts = new HashMap<>();
 
 	/**
 	* Simple constructor
 	*/
 	public ExcelExportHelper() {
+		this(DEFAULT_ROW_WINDOW);
+	}
+	
+	/**
+	 * Constructor with a row window for the data rows
+	 * @param rowWindow the number of data rows kept in memory before they are flushed to a temporary file
+	 */
+	public ExcelExportHelper(int rowWindow) {
+		this.rowWindow = rowWindow;
 	}
 
 	/**
@@ -61,6 +81,7 @@ public class ExcelExportHelper {
 	* @param wb the workbook
 	*/
 	public void setWb(XSSFWorkbook wb) {
+		disposeStreamingWb();
 		this.wb = wb;
 	}
 
@@ -69,7 +90,7 @@ public class ExcelExportHelper {
 	* @param iStream input stream for the template or default template
 	*/
 	public void setWb(InputStream iStream) {
-
+		disposeStreamingWb();
 		try {
 			wb = new XSSFWorkbook(iStream);
 		} catch (IOException e) {
@@ -87,7 +108,13 @@ public class ExcelExportHelper {
 		XSSFSheet headerSheet = wb.getSheet(AExcelIo.TEMPLATE_SHEETNAME_HEADER);
 
 		if (headerSheet == null) {
-			headerSheet = wb.createSheet(AExcelIo.TEMPLATE_SHEETNAME_HEADER);
+			// Sheets have to be known to the streaming workbook once it is in use
+			if (streamingWb != null) {
+				streamingWb.createSheet(AExcelIo.TEMPLATE_SHEETNAME_HEADER);
+				headerSheet = wb.getSheet(AExcelIo.TEMPLATE_SHEETNAME_HEADER);
+			} else {
+				headerSheet = wb.createSheet(AExcelIo.TEMPLATE_SHEETNAME_HEADER);
+			}
 		}
 
 		// First of all check if the header has enough rows,
@@ -152,4 +179,102 @@ public class ExcelExportHelper {
 			}
 		}
 	}
+	
+	/**
+	 * Gets the workbook for streaming the data rows. It wraps the template workbook,
+	 * so that the template rows are kept and only rows beyond the template are streamed.
+	 * @return the streaming workbook
+	 */
+	public SXSSFWorkbook getStreamingWb() {
+		if (streamingWb == null) {
+			templateRowCounts.clear();
+			for (Sheet sheet : wb) {
+				int rowCount = sheet.getPhysicalNumberOfRows() > 0 ? sheet.getLastRowNum() + 1 : 0;
+				templateRowCounts.put(sheet.getSheetName(), rowCount);
+			}
+			streamingWb = new SXSSFWorkbook(wb, rowWindow);
+		}
+		return streamingWb;
+	}
+	
+	/**
+	 * Gets a data sheet and creates it if the template does not provide it
+	 * @param sheetName the name of the sheet
+	 * @return the streaming sheet
+	 */
+	public Sheet getOrCreateDataSheet(String sheetName) {
+		Sheet sheet = getStreamingWb().getSheet(sheetName);
+		if (sheet == null) {
+			sheet = getStreamingWb().createSheet(sheetName);
+		}
+		return sheet;
+	}
+	
+	/**
+	 * Gets a data row for writing and creates the row and its cells if needed.
+	 * Rows within the template are written into the template, all other rows are streamed
+	 * and therefore have to be written in ascending order.
+	 * @param sheetName the name of the data sheet
+	 * @param rowIndex the index of the row
+	 * @param cellCount expected cell number in the row
+	 * @return the row
+	 */
+	public Row getDataRow(String sheetName, int rowIndex, int cellCount) {
+		Sheet sheet = getOrCreateDataSheet(sheetName);
+		if (rowIndex < templateRowCounts.getOrDefault(sheetName, 0)) {
+			sheet = wb.getSheet(sheetName);
+		}
+		
+		Row row = sheet.getRow(rowIndex);
+		if (row == null) {
+			row = sheet.createRow(rowIndex);
+		}
+		for (int j = 0; j < cellCount; j++) {
+			if (row.getCell(j) == null) {
+				row.createCell(j);
+			}
+		}
+		return row;
+	}
+	
+	/**
+	 * Gets a written row of a sheet. Streamed rows can only be accessed as long as they are in the row window.
+	 * @param sheetName the name of the sheet
+	 * @param rowIndex the index of the row
+	 * @return the row or null if there is no such row in memory
+	 */
+	public Row getRow(String sheetName, int rowIndex) {
+		Sheet sheet = wb.getSheet(sheetName);
+		if (sheet == null) {
+			return null;
+		}
+		if (streamingWb != null && rowIndex >= templateRowCounts.getOrDefault(sheetName, 0)) {
+			return streamingWb.getSheet(sheetName).getRow(rowIndex);
+		}
+		return sheet.getRow(rowIndex);
+	}
+	
+	/**
+	 * Writes the workbook including the streamed data rows and deletes their temporary files
+	 * @param out the output stream to write to
+	 * @throws IOException
+	 */
+	public void write(OutputStream out) throws IOException {
+		if (streamingWb != null) {
+			streamingWb.write(out);
+			disposeStreamingWb();
+		} else {
+			wb.write(out);
+		}
+	}
+	
+	/**
+	 * Deletes the temporary files of the streamed data rows
+	 */
+	protected void disposeStreamingWb() {
+		if (streamingWb != null) {
+			streamingWb.dispose();
+			streamingWb = null;
+		}
+	}
 }
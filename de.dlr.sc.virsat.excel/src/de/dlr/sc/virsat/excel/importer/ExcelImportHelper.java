@@ -9,6 +9,7 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.excel.importer;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -43,6 +44,46 @@ public class ExcelImportHelper {
 		return true;
 	}
 
+	/**
+	* Checks the cell values of a row, if all of the fields are empty or not
+	* @param cells the cell values of the row
+	* @param cellCount expected cell number in each row
+	* @return if the row is empty true, else false
+	*/
+	public static boolean isEmpty(List<String> cells, int cellCount) {
+		for (int i = 0; i < cellCount; i++) {
+			if (!"".equals(getCellValue(cells, i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the values of all cells of a row as they are provided for streamed rows
+	 * @param row the row or null if the row does not exist
+	 * @return the cell values by column index, missing cells are empty strings
+	 */
+	public static List<String> getCellValues(Row row) {
+		List<String> cells = new ArrayList<>();
+		if (row != null) {
+			for (int i = 0; i < row.getLastCellNum(); i++) {
+				cells.add(Objects.toString(row.getCell(i), ""));
+			}
+		}
+		return cells;
+	}
+
+	/**
+	 * Gets the value of a cell from the cell values of a row
+	 * @param cells the cell values of the row
+	 * @param column the column of the cell
+	 * @return the cell value or an empty string if the row has no such cell
+	 */
+	public static String getCellValue(List<String> cells, int column) {
+		return column < cells.size() ? cells.get(column) : "";
+	}
+
 	/**
 	 * helper for importing
 	 */
@@ -54,7 +95,9 @@ public class ExcelImportHelper {
 	* @param tempUUID given UUID
 	* @param aBeanCategoryAssignmentList list to be searched for
 	* @return the index of the given UUID if it is contained in the list. Returns -1 if it does not contained in the list
+	* @deprecated use {@link ExcelImportIndex#getByUuid(String)}, which does not scan the list for each lookup
 	*/
+	@Deprecated
 	public static int containsABeanCategoryAssignmentUUID(String tempUUID, List<? extends ABeanCategoryAssignment> aBeanCategoryAssignmentList) {
 		for (int i = 0; i < aBeanCategoryAssignmentList.size(); i++) {
 			if (aBeanCategoryAssignmentList.get(i).getUuid().equals(tempUUID)) {
@@ -69,7 +112,9 @@ public class ExcelImportHelper {
 	 * @param fullQualifiedInstanceName given fullQualifiedInstanceName
 	 * @param aBeanCategoryAssignmentList list to be searched
 	 * @return the index of the given fullQualifiedInstanceName if it is contained in the List. Returns -1 if it does not contained in the List
+	 * @deprecated use an {@link ExcelImportIndex} with the full qualified instance name as name, which does not scan the list for each lookup
 	 */
+	@Deprecated
 	public static int containsABeanCategoryAssignmentFullQualifiedInstanceName(String fullQualifiedInstanceName, List<? extends ABeanCategoryAssignment> aBeanCategoryAssignmentList) {
 		for (int i = 0; i < aBeanCategoryAssignmentList.size(); i++) {
 			if (aBeanCategoryAssignmentList.get(i).getTypeInstance().getFullQualifiedInstanceName().equals(fullQualifiedInstanceName)) {
@@ -84,7 +129,9 @@ public class ExcelImportHelper {
 	* @param name given name
 	* @param aBeanCategoryAssignmentList list to be searched for
 	* @return the index of the given UUID if it is contained in the list. Returns -1 if it does not contained in the list
+	* @deprecated use {@link ExcelImportIndex#getByName(String)}, which does not scan the list for each lookup
 	*/
+	@Deprecated
 	public static int containsABeanCategoryAssignmentName(String name, List<? extends ABeanCategoryAssignment> aBeanCategoryAssignmentList) {
 		for (int i = 0; i < aBeanCategoryAssignmentList.size(); i++) {
 			if (aBeanCategoryAssignmentList.get(i).getName().equals(name)) {
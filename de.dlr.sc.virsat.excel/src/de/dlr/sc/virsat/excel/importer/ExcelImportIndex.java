@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2008-2019 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.excel.importer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import de.dlr.sc.virsat.model.concept.types.category.ABeanCategoryAssignment;
+
+/**
+ * Index of the beans an import resolves the rows of a sheet against.
+ * The index is built once per import run, so that each row can be resolved
+ * by its UUID or name without scanning all beans again.
+ * @param <T> the type of the indexed beans
+ */
+public class ExcelImportIndex<T extends ABeanCategoryAssignment> {
+
+	private final Function<? super T, String> nameProvider;
+	private final Map<String, T> beansByUuid = new HashMap<>();
+	private final Map<String, List<T>> beansByName = new HashMap<>();
+
+	/**
+	 * Creates an index of the beans by their UUIDs and names
+	 * @param beans the beans to be indexed
+	 */
+	public ExcelImportIndex(List<? extends T> beans) {
+		this(beans, ABeanCategoryAssignment::getName);
+	}
+
+	/**
+	 * Creates an index of the beans by their UUIDs and the names given by the name provider
+	 * @param beans the beans to be indexed
+	 * @param nameProvider provides the name by which a bean is referenced in the sheet, e.g. its full qualified instance name
+	 */
+	public ExcelImportIndex(List<? extends T> beans, Function<? super T, String> nameProvider) {
+		this.nameProvider = nameProvider;
+		for (T bean : beans) {
+			add(bean);
+		}
+	}
+
+	/**
+	 * Adds a bean to the index
+	 * @param bean the bean to be added
+	 */
+	public void add(T bean) {
+		beansByUuid.putIfAbsent(bean.getUuid(), bean);
+		beansByName.computeIfAbsent(nameProvider.apply(bean), name -> new ArrayList<>()).add(bean);
+	}
+
+	/**
+	 * Removes a bean from the index. The bean has to be removed before its name changes,
+	 * since it is looked up by the name given by the name provider.
+	 * @param bean the bean to be removed
+	 */
+	public void remove(T bean) {
+		// Another bean with the same UUID may be indexed, it has to stay in the index
+		beansByUuid.remove(bean.getUuid(), bean);
+		List<T> namedBeans = beansByName.get(nameProvider.apply(bean));
+		if (namedBeans != null) {
+			namedBeans.removeIf(namedBean -> namedBean.getUuid().equals(bean.getUuid()));
+			if (namedBeans.isEmpty()) {
+				beansByName.remove(nameProvider.apply(bean));
+			}
+		}
+	}
+
+	/**
+	 * Gets the bean with the given UUID
+	 * @param uuid the UUID
+	 * @return the bean or null if there is no bean with the given UUID
+	 */
+	public T getByUuid(String uuid) {
+		return beansByUuid.get(uuid);
+	}
+
+	/**
+	 * Gets the bean with the given UUID and fails if there is none
+	 * @param uuid the UUID
+	 * @return the bean
+	 * @throws IllegalArgumentException if there is no bean with the given UUID
+	 */
+	public T requireByUuid(String uuid) {
+		T bean = getByUuid(uuid);
+		if (bean == null) {
+			throw new IllegalArgumentException("No element with the UUID " + uuid + " found for the import");
+		}
+		return bean;
+	}
+
+	/**
+	 * Gets the bean with the given name. In case the name is not unique
+	 * the first of the indexed beans with this name is returned.
+	 * @param name the name
+	 * @return the bean or null if there is no bean with the given name
+	 */
+	public T getByName(String name) {
+		List<T> namedBeans = beansByName.get(name);
+		return namedBeans != null ? namedBeans.get(0) : null;
+	}
+
+	/**
+	 * Gets the bean with the given name and fails if there is none.
+	 * In case the name is not unique the first of the indexed beans with this name is returned.
+	 * @param name the name
+	 * @return the bean
+	 * @throws IllegalArgumentException if there is no bean with the given name
+	 */
+	public T requireByName(String name) {
+		T bean = getByName(name);
+		if (bean == null) {
+			throw new IllegalArgumentException("No element with the name " + name + " found for the import");
+		}
+		return bean;
+	}
+
+	/**
+	 * Checks if more than one of the indexed beans has the given name
+	 * @param name the name
+	 * @return true if the name does not identify a single bean
+	 */
+	public boolean isDuplicateName(String name) {
+		List<T> namedBeans = beansByName.get(name);
+		return namedBeans != null && namedBeans.size() > 1;
+	}
+
+	/**
+	 * Gets all names which are shared by more than one of the indexed beans
+	 * @return the duplicate names
+	 */
+	public Set<String> getDuplicateNames() {
+		Set<String> duplicateNames = new HashSet<>();
+		beansByName.forEach((name, namedBeans) -> {
+			if (namedBeans.size() > 1) {
+				duplicateNames.add(name);
+			}
+		});
+		return duplicateNames;
+	}
+}
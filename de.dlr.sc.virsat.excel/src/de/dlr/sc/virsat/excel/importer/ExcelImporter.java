@@ -9,6 +9,10 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.excel.importer;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -59,6 +63,28 @@ public class ExcelImporter {
 		}
 	}
 
+	/**
+	* Imports the excel file depending on the type of the Structural element.
+	* Importers supporting streaming get the rows of the file while it is read,
+	* all other importers get the completely loaded workbook.
+	* @param object element to be imported
+	* @param repository repository of the element
+	* @param file the excel file
+	* @throws IOException if the file cannot be read
+	*/
+	public void importExcel(EObject object, Repository repository, File file) throws IOException {
+		IImport importer = getImporter(object);
+		if (importer instanceof IStreamingImport) {
+			try (ExcelStreamingReader reader = new ExcelStreamingReader(file)) {
+				((IStreamingImport) importer).importExcel(object, repository, reader);
+			}
+		} else if (importer != null) {
+			try (InputStream iStream = new FileInputStream(file); XSSFWorkbook wb = new XSSFWorkbook(iStream)) {
+				importer.importExcel(object, repository, wb);
+			}
+		}
+	}
+
 	/**
 	* Validates the input excel file
 	* @param object element to be imported
@@ -73,6 +99,28 @@ public class ExcelImporter {
 		return null;
 	}
 
+	/**
+	* Validates the input excel file. Importers supporting streaming validate the rows
+	* of the file while it is read, all other importers get the completely loaded workbook.
+	* @param object element to be imported
+	* @param file the excel file
+	* @return the fault List
+	* @throws IOException if the file cannot be read
+	*/
+	public List<Fault> validate(EObject object, File file) throws IOException {
+		IImport importer = getImporter(object);
+		if (importer instanceof IStreamingImport) {
+			try (ExcelStreamingReader reader = new ExcelStreamingReader(file)) {
+				return ((IStreamingImport) importer).validate(object, reader);
+			}
+		} else if (importer != null) {
+			try (InputStream iStream = new FileInputStream(file); XSSFWorkbook wb = new XSSFWorkbook(iStream)) {
+				return importer.validate(object, wb);
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Gets an applicable importer for the given EObject if there is any.
 	 * If there is no registered importer for the EObject, null will be returned.
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.excel.importer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reads the sheets of an excel file row by row with the SAX based event API of POI.
+ * In contrast to an XSSFWorkbook, only the row that is currently handled is kept in memory.
+ */
+public class ExcelStreamingReader implements Closeable {
+
+	private OPCPackage pkg;
+	private XSSFReader reader;
+	private StylesTable styles;
+	private ReadOnlySharedStringsTable strings;
+
+	/**
+	 * Opens the given excel file for reading
+	 * @param file the excel file
+	 * @throws IOException if the file is not a valid excel file
+	 */
+	public ExcelStreamingReader(File file) throws IOException {
+		try {
+			pkg = OPCPackage.open(file, PackageAccess.READ);
+			reader = new XSSFReader(pkg);
+			styles = reader.getStylesTable();
+			strings = new ReadOnlySharedStringsTable(pkg);
+		} catch (OpenXML4JException | SAXException e) {
+			close();
+			throw new IOException("Failed to open the excel file " + file.getName(), e);
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Streams the rows of a sheet to the given handler
+	 * @param sheetName the name of the sheet
+	 * @param handler the handler for the rows of the sheet
+	 * @return true if the sheet exists, false otherwise
+	 * @throws IOException if the sheet cannot be read
+	 */
+	public boolean readSheet(String sheetName, IExcelRowHandler handler) throws IOException {
+		try {
+			XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+			while (sheets.hasNext()) {
+				try (InputStream sheetStream = sheets.next()) {
+					if (sheetName.equals(sheets.getSheetName())) {
+						XMLReader parser = SAXHelper.newXMLReader();
+						parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, new RowCollector(handler), new CellToStringFormatter(), false));
+						parser.parse(new InputSource(sheetStream));
+						return true;
+					}
+				}
+			}
+			return false;
+		} catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+			throw new IOException("Failed to read the excel sheet " + sheetName, e);
+		}
+	}
+
+	/**
+	 * Gets the index of a sheet the same way as the loaded workbook does
+	 * @param sheetName the name of the sheet
+	 * @return the index of the sheet or -1 if the sheet does not exist
+	 * @throws IOException if the sheets cannot be read
+	 */
+	public int getSheetIndex(String sheetName) throws IOException {
+		try {
+			XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+			for (int index = 0; sheets.hasNext(); index++) {
+				try (InputStream sheetStream = sheets.next()) {
+					if (sheetName.equals(sheets.getSheetName())) {
+						return index;
+					}
+				}
+			}
+			return -1;
+		} catch (OpenXML4JException e) {
+			throw new IOException("Failed to read the excel sheets", e);
+		}
+	}
+
+	@Override
+	public void close() {
+		if (pkg != null) {
+			// The file has been opened for reading only, so there is nothing to save
+			pkg.revert();
+			pkg = null;
+		}
+	}
+
+	/**
+	 * Collects the cells of a row and passes the complete row to the row handler
+	 */
+	private static class RowCollector implements SheetContentsHandler {
+
+		private IExcelRowHandler handler;
+		private List<String> cells = new ArrayList<>();
+
+		/**
+		 * Constructor for the row collector
+		 * @param handler the handler for the collected rows
+		 */
+		RowCollector(IExcelRowHandler handler) {
+			this.handler = handler;
+		}
+
+		@Override
+		public void startRow(int rowNum) {
+			cells = new ArrayList<>();
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			if (!cells.isEmpty()) {
+				handler.handleRow(rowNum, cells);
+			}
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+			while (cells.size() < column) {
+				cells.add("");
+			}
+			cells.add(formattedValue != null ? formattedValue : "");
+		}
+
+		@Override
+		public void headerFooter(String text, boolean isHeader, String tagName) {
+			// Headers and footers are not part of the rows
+		}
+	}
+
+	/**
+	 * Formats numeric cells the same way as Cell.toString() does, so that
+	 * streamed rows carry the same values as the rows of a loaded workbook
+	 */
+	private static class CellToStringFormatter extends DataFormatter {
+
+		@Override
+		public String formatRawCellContents(double value, int formatIndex, String formatString) {
+			if (DateUtil.isADateFormat(formatIndex, formatString)) {
+				return super.formatRawCellContents(value, formatIndex, formatString);
+			}
+			return String.valueOf(value);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.excel.importer;
+
+import java.util.List;
+
+/**
+ * Callback for the rows of a sheet that is read by the {@link ExcelStreamingReader}
+ */
+public interface IExcelRowHandler {
+
+	/**
+	 * Handles a row of the sheet. Rows are handled in the order they appear in the sheet,
+	 * rows without any cells are not reported.
+	 * @param rowNumber the zero based number of the row
+	 * @param cells the values of the cells by column index, missing cells are empty strings
+	 */
+	void handleRow(int rowNumber, List<String> cells);
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.excel.importer;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.emf.ecore.EObject;
+
+import de.dlr.sc.virsat.excel.fault.Fault;
+import de.dlr.sc.virsat.model.dvlm.Repository;
+
+/**
+ * Interface for importers that read the rows of the excel file while it is streamed,
+ * instead of reading them from a completely loaded workbook
+ */
+public interface IStreamingImport extends IImport {
+
+	/**
+	 * Import functionality based on the streamed rows of the sheets
+	 * @param object object
+	 * @param repository the repository
+	 * @param reader the reader providing the rows of the sheets
+	 * @throws IOException if the file cannot be read
+	 */
+	void importExcel(EObject object, Repository repository, ExcelStreamingReader reader) throws IOException;
+
+	/**
+	 * Import validator functionality based on the streamed rows of the sheets
+	 * @param object object
+	 * @param reader the reader providing the rows of the sheets
+	 * @return possible fault list if cannot be imported
+	 * @throws IOException if the file cannot be read
+	 */
+	List<Fault> validate(EObject object, ExcelStreamingReader reader) throws IOException;
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.math3.stat.descriptive.moment.Mean;
+import org.apache.commons.math3.stat.descriptive.rank.Max;
+import org.apache.commons.math3.stat.descriptive.rank.Min;
+import org.apache.commons.math3.stat.descriptive.summary.Sum;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralHelper;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralResult;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralSetFunctionHelper;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.OpMax;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.OpMean;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.OpMin;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.OpSummary;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
+
+/**
+ * Test cases for the aggregate operations of set functions
+ */
+public class AdvancedFunctionOpTest {
+
+	private static final int NUMBER_OF_INPUTS = 1000000;
+	private static final int NUMBER_OF_LITERALS = 10;
+	private static final int NUMBER_OF_RUNS = 20;
+	private static final double NANOS_PER_MILLI = 1e6;
+	private static final double TENTH = 0.1;
+	private static final long SEED = 42;
+	private static final int ULPS = 2;
+	private static final double MEAN_TOLERANCE = 1e-12;
+
+	/**
+	 * Creates inputs that lose precision when being summed up naively
+	 * @return the inputs
+	 */
+	private double[] createInputs() {
+		return createInputs(NUMBER_OF_INPUTS);
+	}
+
+	/**
+	 * Creates random inputs
+	 * @param numberOfInputs the number of inputs to create
+	 * @return the inputs
+	 */
+	private double[] createInputs(int numberOfInputs) {
+		double[] inputs = new double[numberOfInputs];
+		Random random = new Random(SEED);
+		for (int i = 0; i < numberOfInputs; i++) {
+			inputs[i] = TENTH + random.nextDouble();
+		}
+		return inputs;
+	}
+
+	/**
+	 * Computes the exact sum of the inputs
+	 * @param inputs the inputs
+	 * @return the exact sum rounded to double
+	 */
+	private double exactSum(double[] inputs) {
+		BigDecimal sum = BigDecimal.ZERO;
+		for (double input : inputs) {
+			sum = sum.add(new BigDecimal(input));
+		}
+		return sum.doubleValue();
+	}
+
+	@Test
+	public void testSummaryPrecision() {
+		double[] inputs = createInputs();
+		double exact = exactSum(inputs);
+
+		double summary = new OpSummary().apply(inputs);
+		double naive = new Sum().evaluate(inputs);
+
+		assertEquals("Compensated summation is exact up to rounding", exact, summary, ULPS * Math.ulp(exact));
+		assertTrue("Compensated summation is at least as precise as the plain sum", Math.abs(exact - summary) <= Math.abs(exact - naive));
+
+		double[] tenths = new double[NUMBER_OF_INPUTS];
+		Arrays.fill(tenths, TENTH);
+		double exactTenths = exactSum(tenths);
+		assertEquals("Sum of tenths is exact up to rounding", exactTenths, new OpSummary().apply(tenths), ULPS * Math.ulp(exactTenths));
+	}
+
+	@Test
+	public void testSummarySpecialValues() {
+		assertEquals("Empty sum is zero", 0, new OpSummary().apply(new double[0]), 0);
+		assertEquals("Infinity is kept", Double.POSITIVE_INFINITY, new OpSummary().apply(new double[] {1, Double.POSITIVE_INFINITY, 2}), 0);
+		assertTrue("NaN is kept", Double.isNaN(new OpSummary().apply(new double[] {1, Double.NaN})));
+	}
+
+	@Test
+	public void testSummaryThroughput() {
+		double[] inputs = createInputs();
+		OpSummary opSummary = new OpSummary();
+
+		// Warm up both implementations. The plain sum is what the summary computed before.
+		double result = 0;
+		for (int run = 0; run < NUMBER_OF_RUNS; run++) {
+			result += opSummary.apply(inputs) + new Sum().evaluate(inputs);
+		}
+
+		long naiveStart = System.nanoTime();
+		for (int run = 0; run < NUMBER_OF_RUNS; run++) {
+			result += new Sum().evaluate(inputs);
+		}
+		long naiveTime = System.nanoTime() - naiveStart;
+
+		long compensatedStart = System.nanoTime();
+		for (int run = 0; run < NUMBER_OF_RUNS; run++) {
+			result += opSummary.apply(inputs);
+		}
+		long compensatedTime = System.nanoTime() - compensatedStart;
+
+		assertTrue("Results have been computed", result > 0);
+
+		// The timings depend on the machine running the tests, hence they are reported but not asserted
+		System.out.println("AdvancedFunctionOpTest: " + NUMBER_OF_RUNS + " summaries of " + NUMBER_OF_INPUTS + " inputs took "
+				+ naiveTime / NANOS_PER_MILLI + "ms with the plain sum and " + compensatedTime / NANOS_PER_MILLI + "ms with compensated summation");
+	}
+
+	@Test
+	public void testArrayOperationsEqualIncrementalOperations() {
+		double[] inputs = createInputs();
+
+		Mean mean = new Mean();
+		Min min = new Min();
+		Max max = new Max();
+		for (double input : inputs) {
+			mean.increment(input);
+			min.increment(input);
+			max.increment(input);
+		}
+
+		assertEquals("Mean is identical", mean.getResult(), new OpMean().apply(inputs), MEAN_TOLERANCE);
+		assertEquals("Min is identical", min.getResult(), new OpMin().apply(inputs), 0);
+		assertEquals("Max is identical", max.getResult(), new OpMax().apply(inputs), 0);
+	}
+
+	@Test
+	public void testSetFunctionSummary() {
+		double[] inputs = createInputs(NUMBER_OF_LITERALS);
+		List<NumberLiteralResult> numberLiteralResults = new ArrayList<>(NUMBER_OF_LITERALS);
+		for (double input : inputs) {
+			NumberLiteral literal = CalculationFactory.eINSTANCE.createNumberLiteral();
+			literal.setValue(Double.toString(input));
+			numberLiteralResults.add(new NumberLiteralResult(literal));
+		}
+
+		SetFunction summary = CalculationFactory.eINSTANCE.createSetFunction();
+		summary.setOperator("summary");
+		NumberLiteralResult result = new NumberLiteralSetFunctionHelper(numberLiteralResults).applySetOperator(summary);
+
+		double exact = exactSum(inputs);
+		assertEquals("Set function sums up all inputs", exact, new NumberLiteralHelper(result.getNumberLiteral()).getValue(), ULPS * Math.ulp(exact));
+	}
+}
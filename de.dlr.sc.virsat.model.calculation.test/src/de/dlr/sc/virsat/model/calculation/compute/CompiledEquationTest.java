@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralResult;
+import de.dlr.sc.virsat.model.calculation.test.util.ExpressionUtil;
+import de.dlr.sc.virsat.model.dvlm.calculation.AAdvancedFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.ALeftOpRightExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.AOpRightExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+
+/**
+ * Test cases for the compiled expression trees of equations
+ */
+public class CompiledEquationTest extends AEquationTest {
+
+	private static final int NUMBER_OF_EQUATIONS = 10000;
+	private static final int NUMBER_OF_RUNS = 100;
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	private ExpressionHelper exprHelper;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		exprHelper = new ExpressionHelper();
+	}
+
+	@Test
+	public void testCompiledExpressionIsCachedAndInvalidated() {
+		Equation equation = ExpressionUtil.getAllEquationsFrom(CALC_STRING + "test = 20.3 + 80;").get(0);
+		ALeftOpRightExpression addition = (ALeftOpRightExpression) equation.getExpression();
+
+		ACompiledExpression compiled = exprHelper.getCompiledExpression(addition);
+		CompiledEquation compiledEquation = CompiledEquation.getCompiledEquation(equation);
+		assertTrue("Equation got compiled", compiledEquation.isCompiled());
+		assertSame("Compiled tree is reused", compiled, exprHelper.getCompiledExpression(addition));
+		assertSame("Sub expressions are part of the same tree", compiledEquation.getCompiledExpression(addition.getLeft()), exprHelper.getCompiledExpression(addition.getLeft()));
+
+		// Writing the result text happens on each evaluation and does not change the expression
+		equation.setResultText("100.3");
+		assertTrue("Equation is still compiled", compiledEquation.isCompiled());
+
+		NumberLiteral literal = (NumberLiteral) addition.getLeft();
+		literal.setValue("10");
+		assertFalse("Changing the expression drops the compiled tree", compiledEquation.isCompiled());
+
+		assertNotSame("Compiled tree has been rebuilt", compiled, exprHelper.getCompiledExpression(addition));
+		NumberLiteralResult result = (NumberLiteralResult) exprHelper.evaluate(addition);
+		assertEquals("Changed expression is evaluated", 90, Double.valueOf(result.getNumberLiteral().getValue()), EPSILON);
+	}
+
+	@Test
+	public void testCompiledEqualsInterpreted() {
+		StringBuilder equationString = new StringBuilder(CALC_STRING);
+		for (int i = 0; i < NUMBER_OF_EQUATIONS; i++) {
+			equationString.append("r" + i + " = -(" + i + " + 2.5) * 3 - cos(" + i + ") / 2 ^ (1 / 3);");
+		}
+		List<Equation> equations = ExpressionUtil.getAllEquationsFrom(equationString.toString());
+		assertEquals("All equations have been parsed", NUMBER_OF_EQUATIONS, equations.size());
+
+		String[] interpretedResults = new String[NUMBER_OF_EQUATIONS];
+		String[] compiledResults = new String[NUMBER_OF_EQUATIONS];
+
+		long interpretedStart = System.nanoTime();
+		for (int run = 0; run < NUMBER_OF_RUNS; run++) {
+			for (int i = 0; i < NUMBER_OF_EQUATIONS; i++) {
+				interpretedResults[i] = exprHelper.interpret(equations.get(i).getExpression(), new HashMap<>()).toString();
+			}
+		}
+		long interpretedTime = System.nanoTime() - interpretedStart;
+
+		long compiledStart = System.nanoTime();
+		for (int run = 0; run < NUMBER_OF_RUNS; run++) {
+			for (int i = 0; i < NUMBER_OF_EQUATIONS; i++) {
+				compiledResults[i] = exprHelper.evaluate(equations.get(i).getExpression(), new HashMap<>()).toString();
+			}
+		}
+		long compiledTime = System.nanoTime() - compiledStart;
+
+		for (int i = 0; i < NUMBER_OF_EQUATIONS; i++) {
+			assertEquals("Compiled result is identical to interpreted result", interpretedResults[i], compiledResults[i]);
+		}
+
+		// The timings depend on the machine running the tests, hence they are reported but not asserted
+		System.out.println("CompiledEquationTest: " + NUMBER_OF_RUNS + " runs over " + NUMBER_OF_EQUATIONS + " equations took "
+				+ interpretedTime / NANOS_PER_MILLI + "ms interpreted and " + compiledTime / NANOS_PER_MILLI + "ms compiled");
+	}
+
+	@Test
+	public void testDispatchIsRememberedPerNode() {
+		AtomicInteger rejectingCalls = new AtomicInteger();
+		List<IExpressionEvaluator> evaluators = new ArrayList<>();
+		evaluators.add(new IExpressionEvaluator() {
+			@Override
+			public IExpressionResult caseAOpRightExpression(AOpRightExpression object, IExpressionResult right) {
+				rejectingCalls.incrementAndGet();
+				return null;
+			}
+
+			@Override
+			public IExpressionResult caseALeftOpRightExpression(ALeftOpRightExpression object, IExpressionResult left, IExpressionResult right) {
+				rejectingCalls.incrementAndGet();
+				return null;
+			}
+
+			@Override
+			public IExpressionResult caseAAdvancedFunction(AAdvancedFunction object, List<IExpressionResult> set) {
+				rejectingCalls.incrementAndGet();
+				return null;
+			}
+		});
+		evaluators.addAll(new ExpressionExtensionRegistry(null).getEvaluators());
+
+		ExpressionHelper dispatchingExprHelper = new ExpressionHelper(new ExpressionExtensionRegistry(null) {
+			@Override
+			public List<IExpressionEvaluator> getEvaluators() {
+				return evaluators;
+			}
+		});
+
+		Equation equation = ExpressionUtil.getAllEquationsFrom(CALC_STRING + "test = -(20.3 + 80) * 2;").get(0);
+		IExpressionResult firstResult = dispatchingExprHelper.evaluate(equation.getExpression());
+		int firstCalls = rejectingCalls.get();
+		assertTrue("All evaluators are asked on the first evaluation", firstCalls > 0);
+
+		IExpressionResult secondResult = dispatchingExprHelper.evaluate(equation.getExpression());
+		assertEquals("The remembered evaluators are applied right away", firstCalls, rejectingCalls.get());
+		assertEquals("Remembered evaluators give the same result", firstResult.toString(), secondResult.toString());
+
+		dispatchingExprHelper.interpret(equation.getExpression(), new HashMap<>());
+		assertEquals("Interpreting asks all evaluators again", firstCalls * 2, rejectingCalls.get());
+	}
+}
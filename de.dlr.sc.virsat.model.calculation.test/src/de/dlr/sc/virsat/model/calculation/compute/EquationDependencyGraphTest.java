@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for the persisted dependencies between equations
+ */
+public class EquationDependencyGraphTest {
+
+	private static final String RESOURCE_A = "platform:/resource/project/data/A.dvlm";
+	private static final String RESOURCE_B = "platform:/resource/project/data/B.dvlm";
+	private static final String RESOURCE_C = "platform:/resource/project/data/C.dvlm";
+	private static final String RESOURCE_D = "platform:/resource/project/data/D.dvlm";
+
+	private static final String UUID_B = "uuid-b";
+	private static final String UUID_C = "uuid-c";
+	private static final String UUID_D = "uuid-d";
+
+	private EquationDependencyGraph graph;
+
+	@Before
+	public void setUp() {
+		// B reads an input from A, D reads the result of B and C is independent
+		graph = new EquationDependencyGraph();
+		graph.addEquation(UUID_B, RESOURCE_B, Arrays.asList(RESOURCE_A), Collections.emptyList());
+		graph.addEquation(UUID_C, RESOURCE_C, Collections.emptyList(), Collections.emptyList());
+		graph.addEquation(UUID_D, RESOURCE_D, Arrays.asList(RESOURCE_B), Arrays.asList(UUID_B));
+	}
+
+	@Test
+	public void testGetAffectedResources() {
+		assertEquals("Changing an input affects all transitive dependents",
+				new HashSet<>(Arrays.asList(RESOURCE_A, RESOURCE_B, RESOURCE_D)), graph.getAffectedResources(Arrays.asList(RESOURCE_A)));
+		assertEquals("Changing an independent equation affects only its resource",
+				new HashSet<>(Arrays.asList(RESOURCE_C)), graph.getAffectedResources(Arrays.asList(RESOURCE_C)));
+		assertEquals("Changing the end of the chain affects nothing else",
+				new HashSet<>(Arrays.asList(RESOURCE_D)), graph.getAffectedResources(Arrays.asList(RESOURCE_D)));
+	}
+
+	@Test
+	public void testReplace() {
+		// D is changed to depend on C instead of B
+		EquationDependencyGraph rebuiltGraph = new EquationDependencyGraph();
+		rebuiltGraph.addEquation(UUID_D, RESOURCE_D, Arrays.asList(RESOURCE_C), Arrays.asList(UUID_C));
+		graph.replace(Arrays.asList(RESOURCE_D), rebuiltGraph);
+
+		assertEquals("Equation has been replaced", new HashSet<>(Arrays.asList(UUID_C)), graph.getDependencies(UUID_D));
+		assertEquals("Other equations are kept", new HashSet<>(Arrays.asList(UUID_B, UUID_C, UUID_D)), graph.getEquations());
+		assertEquals("Dependencies follow the replaced equation",
+				new HashSet<>(Arrays.asList(RESOURCE_A, RESOURCE_B)), graph.getAffectedResources(Arrays.asList(RESOURCE_A)));
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		StringWriter writer = new StringWriter();
+		graph.write(writer);
+
+		EquationDependencyGraph readGraph = EquationDependencyGraph.read(new StringReader(writer.toString()));
+		assertEquals("All equations are read", graph.getEquations(), readGraph.getEquations());
+		assertEquals("All resources are read", graph.getResources(), readGraph.getResources());
+		assertEquals("Dependencies are read", graph.getDependencies(UUID_D), readGraph.getDependencies(UUID_D));
+
+		Set<String> changedResources = new HashSet<>(Arrays.asList(RESOURCE_A));
+		assertEquals("Read graph yields the same affected resources", graph.getAffectedResources(changedResources), readGraph.getAffectedResources(changedResources));
+	}
+
+	@Test
+	public void testReadInvalid() throws IOException {
+		assertNull("Missing header is detected", EquationDependencyGraph.read(new StringReader("resource\tA\t1")));
+		assertNull("Corrupt entries are detected", EquationDependencyGraph.read(new StringReader(EquationDependencyGraph.HEADER + System.lineSeparator() + "resource\tA\tnoNumber")));
+	}
+
+	@Test
+	public void testIsUpToDate() {
+		assertFalse("Resources without a file are never up to date", graph.isUpToDate(Arrays.asList(RESOURCE_A)));
+	}
+}
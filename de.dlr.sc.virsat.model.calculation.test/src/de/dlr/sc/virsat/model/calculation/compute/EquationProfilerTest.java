@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.calculation.compute.EquationProfiler.EquationProfile;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationDefinition;
+import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeDefinitionResult;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.Category;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.IntProperty;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.PropertydefinitionsFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.UnitValuePropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryInstantiator;
+import de.dlr.sc.virsat.model.dvlm.qudv.AQuantityKind;
+import de.dlr.sc.virsat.model.dvlm.qudv.AUnit;
+import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
+import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+
+/**
+ * Test cases for the profiling mode of the equation evaluation
+ */
+public class EquationProfilerTest extends AEquationTest {
+
+	private static final int NUMBER_OF_CHILDREN = 10;
+	private static final int NUMBER_OF_GRAND_CHILDREN = 5;
+
+	private Category cat;
+	private StructuralElement se;
+	private ResourceSet resourceSet;
+	private List<Equation> equations;
+	private int seiCount;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+
+		se = StructuralFactory.eINSTANCE.createStructuralElement();
+		se.setIsApplicableForAll(true);
+
+		cat = CategoriesFactory.eINSTANCE.createCategory();
+		cat.setName("Mass");
+		cat.setIsApplicableForAll(true);
+		IntProperty value = PropertydefinitionsFactory.eINSTANCE.createIntProperty();
+		value.setName("value");
+		value.setDefaultValue("1");
+		cat.getProperties().add(value);
+
+		EquationDefinition eqDef = CalculationFactory.eINSTANCE.createEquationDefinition();
+		TypeDefinitionResult tdResult = CalculationFactory.eINSTANCE.createTypeDefinitionResult();
+		tdResult.setReference(value);
+		SetFunction summary = CalculationFactory.eINSTANCE.createSetFunction();
+		summary.setOperator("summary");
+		summary.setTypeDefinition(value);
+		eqDef.setResult(tdResult);
+		eqDef.setExpression(summary);
+		cat.getEquationDefinitions().add(eqDef);
+
+		resourceSet = new ResourceSetImpl();
+		equations = new ArrayList<>();
+		seiCount = 0;
+	}
+
+	/**
+	 * Creates a sei with a mass category assignment in its own resource
+	 * @param parent the parent sei or null for a root sei
+	 * @param withSetFunction true if the category assignment should keep its summary equation
+	 * @return the created sei
+	 */
+	private StructuralElementInstance createSei(StructuralElementInstance parent, boolean withSetFunction) {
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setName("Sei" + seiCount);
+		sei.setType(se);
+
+		CategoryAssignment ca = new CategoryInstantiator().generateInstance(cat, "mass");
+		if (withSetFunction) {
+			equations.addAll(ca.getEquationSection().getEquations());
+		} else {
+			ca.getEquationSection().getEquations().clear();
+		}
+		sei.getCategoryAssignments().add(ca);
+
+		if (parent != null) {
+			parent.getChildren().add(sei);
+		}
+		Resource resource = resourceSet.createResource(URI.createURI("res" + seiCount));
+		resource.getContents().add(sei);
+		seiCount++;
+		return sei;
+	}
+
+	/**
+	 * Creates a root with children that sum up the values of their own children
+	 */
+	private void createModel() {
+		StructuralElementInstance root = createSei(null, true);
+		for (int i = 0; i < NUMBER_OF_CHILDREN; i++) {
+			StructuralElementInstance child = createSei(root, true);
+			for (int j = 0; j < NUMBER_OF_GRAND_CHILDREN; j++) {
+				createSei(child, false);
+			}
+		}
+	}
+
+	@Test
+	public void testProfilingDisabled() {
+		createModel();
+
+		EquationHelper equationHelper = new EquationHelper();
+		assertNull("Profiling is disabled by default", equationHelper.getProfiler());
+		equationHelper.evaluate(equations, UserRegistry.getInstance());
+
+		assertEquals("Child sums up its children", String.valueOf((double) NUMBER_OF_GRAND_CHILDREN), equations.get(1).getResultText());
+	}
+
+	@Test
+	public void testReport() throws IOException {
+		createModel();
+
+		EquationHelper equationHelper = new EquationHelper();
+		equationHelper.evaluate(equations, UserRegistry.getInstance());
+		String unprofiledResult = equations.get(0).getResultText();
+
+		EquationProfiler profiler = new EquationProfiler();
+		equationHelper.setProfiler(profiler);
+		equationHelper.evaluate(equations, UserRegistry.getInstance());
+
+		assertEquals("Profiling does not change the results", unprofiledResult, equations.get(0).getResultText());
+
+		List<EquationProfile> profiles = profiler.getProfiles();
+		assertEquals("Every equation got profiled", equations.size(), profiles.size());
+		for (EquationProfile profile : profiles) {
+			assertTrue("Time has been measured", profile.getWallTimeNanos() > 0);
+			assertTrue("Inputs have been counted", profile.getInputs() > 0);
+			assertTrue("Set traversal has been counted", profile.getSetTraversalSize() > 0);
+			assertEquals("Properties without units need no conversion", 0, profile.getUnitConversions());
+		}
+
+		StringWriter writer = new StringWriter();
+		profiler.writeReport(writer);
+		String[] lines = writer.toString().split(System.lineSeparator());
+
+		assertArrayEquals("Header lists the columns", EquationProfiler.REPORT_COLUMNS, lines[0].split(EquationProfiler.CSV_SEPARATOR));
+		assertEquals("There is one row per equation", equations.size() + 1, lines.length);
+		for (int i = 1; i < lines.length; i++) {
+			assertEquals("Every row has all columns", EquationProfiler.REPORT_COLUMNS.length, lines[i].split(EquationProfiler.CSV_SEPARATOR).length);
+		}
+		String rootUuid = equations.get(0).getResult().getUuid().toString();
+		assertEquals("Rows identify the result", 1, Arrays.stream(lines).filter(line -> line.contains(rootUuid)).count());
+
+		Path reportFile = Files.createTempDirectory("profile").resolve(EquationProfiler.REPORT_FILE_NAME);
+		profiler.writeReport(reportFile);
+		List<String> fileLines = Files.readAllLines(reportFile, StandardCharsets.UTF_8);
+		assertEquals("Report file has the same content", writer.toString(), String.join(System.lineSeparator(), fileLines) + System.lineSeparator());
+	}
+
+	@Test
+	public void testUnitConversions() {
+		createModel();
+
+		AQuantityKind qk = QudvUnitHelper.getInstance().createSimpleQuantityKind("Q", "q", "", "");
+		AUnit unit = QudvUnitHelper.getInstance().createSimpleUnit("A", "a", "", "", qk);
+		for (Resource resource : resourceSet.getResources()) {
+			StructuralElementInstance sei = (StructuralElementInstance) resource.getContents().get(0);
+			UnitValuePropertyInstance uvpi = (UnitValuePropertyInstance) sei.getCategoryAssignments().get(0).getPropertyInstances().get(0);
+			uvpi.setUnit(unit);
+		}
+
+		EquationHelper equationHelper = new EquationHelper();
+		EquationProfiler profiler = new EquationProfiler();
+		equationHelper.setProfiler(profiler);
+
+		int conversionsBefore = QudvUnitHelper.getInstance().getConversionCount();
+		equationHelper.evaluate(equations, UserRegistry.getInstance());
+		int conversions = QudvUnitHelper.getInstance().getConversionCount() - conversionsBefore;
+
+		int profiledConversions = 0;
+		for (EquationProfile profile : profiler.getProfiles()) {
+			assertTrue("Getters and setters convert the values of the equation", profile.getUnitConversions() > 0);
+			profiledConversions += profile.getUnitConversions();
+		}
+		assertTrue("Values have been converted", conversions > 0);
+		assertEquals("All conversions are accounted to an equation", conversions, profiledConversions);
+	}
+}
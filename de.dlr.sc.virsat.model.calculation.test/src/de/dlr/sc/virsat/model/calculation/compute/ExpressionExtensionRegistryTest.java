@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.Platform;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralEvaluator;
+import de.dlr.sc.virsat.model.calculation.test.util.ExpressionUtil;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
+
+/**
+ * Test cases for the dispatch table of the contributed expression extensions
+ */
+public class ExpressionExtensionRegistryTest extends AEquationTest {
+
+	private static final int NUMBER_OF_EQUATIONS = 1000;
+
+	private int createdExtensions;
+	private ExpressionExtensionRegistry countingRegistry;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+
+		createdExtensions = 0;
+		countingRegistry = new ExpressionExtensionRegistry(Platform.getExtensionRegistry()) {
+			@Override
+			protected Object createExecutableExtension(IConfigurationElement configElement) throws CoreException {
+				createdExtensions++;
+				return super.createExecutableExtension(configElement);
+			}
+		};
+	}
+
+	@Test
+	public void testExtensionsAreLoaded() {
+		ExpressionExtensionRegistry registry = ExpressionExtensionRegistry.getInstance();
+		assertSame("There is one shared instance", registry, ExpressionExtensionRegistry.getInstance());
+
+		List<IExpressionEvaluator> evaluators = registry.getEvaluators();
+		assertTrue("Default evaluators are contributed", evaluators.stream().anyMatch(evaluator -> evaluator instanceof NumberLiteralEvaluator));
+		assertFalse("Default getters are contributed", registry.getInputGetters().isEmpty());
+		assertFalse("Default setters are contributed", registry.getResultSetters().isEmpty());
+		assertSame("Extensions are not instantiated again", evaluators.get(0), registry.getEvaluators().get(0));
+	}
+
+	@Test
+	public void testDefaultExtensionsWithoutRegistry() {
+		ExpressionExtensionRegistry registry = new ExpressionExtensionRegistry(null);
+
+		assertTrue("Default evaluators are used", registry.getEvaluators().stream().anyMatch(evaluator -> evaluator instanceof NumberLiteralEvaluator));
+		assertFalse("Default getters are used", registry.getInputGetters().isEmpty());
+		assertFalse("Default setters are used", registry.getResultSetters().isEmpty());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testDispatchTableIsImmutable() {
+		countingRegistry.getEvaluators().add(new NumberLiteralEvaluator());
+	}
+
+	@Test
+	public void testRefresh() {
+		List<IExpressionEvaluator> evaluators = countingRegistry.getEvaluators();
+		int createdBeforeRefresh = createdExtensions;
+
+		countingRegistry.added(new IExtension[0]);
+		List<IExpressionEvaluator> refreshedEvaluators = countingRegistry.getEvaluators();
+
+		assertNotSame("Table has been reloaded", evaluators.get(0), refreshedEvaluators.get(0));
+		assertEquals("Extensions have been instantiated once more", createdBeforeRefresh * 2, createdExtensions);
+	}
+
+	@Test
+	public void testExtensionsAreCreatedOncePerBuild() {
+		StringBuilder equationString = new StringBuilder(CALC_STRING);
+		for (int i = 0; i < NUMBER_OF_EQUATIONS; i++) {
+			equationString.append("r" + i + " = " + i + " * 2;");
+		}
+		List<Equation> equations = ExpressionUtil.getAllEquationsFrom(equationString.toString());
+
+		// Load the table once
+		countingRegistry.getEvaluators();
+		int createdOnLoad = createdExtensions;
+		assertTrue("Contributions have been instantiated", createdOnLoad > 0);
+
+		// Every equation gets evaluated by its own helpers as it would happen with helpers created during a build
+		for (Equation equation : equations) {
+			EquationHelper equationHelper = new EquationHelper(new ExpressionHelper(countingRegistry));
+			equationHelper.evaluate(Collections.singletonList(equation), UserRegistry.getInstance());
+		}
+
+		assertEquals("Last equation got evaluated", String.valueOf((NUMBER_OF_EQUATIONS - 1) * 2.0), equations.get(NUMBER_OF_EQUATIONS - 1).getResultText());
+		assertEquals("No contributions have been instantiated during the build", createdOnLoad, createdExtensions);
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.calculation.compute.problem.CyclicEquationProblem;
+import de.dlr.sc.virsat.model.dvlm.Repository;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ValuePropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.roles.IUserContext;
+import de.dlr.sc.virsat.model.ecore.xmi.impl.DvlmXMIResourceFactoryImpl;
+
+/**
+ * Test cases for evaluating the equations of a repository outside of the workspace
+ */
+public class HeadlessEquationEvaluatorTest {
+
+	private static final String REPOSITORY_PATH = "resources/headless/Repository.dvlm";
+
+	private static final String UUID_SATELLITE_MASS = "6a0b7a3e-1d52-4b8e-9a4c-3f1e0c2b5d12";
+	private static final String UUID_SATELLITE_COUNT = "6a0b7a3e-1d52-4b8e-9a4c-3f1e0c2b5d13";
+	private static final String UUID_BATTERY_MASS = "6a0b7a3e-1d52-4b8e-9a4c-3f1e0c2b5d22";
+	private static final String UUID_ANTENNA_COUNT = "6a0b7a3e-1d52-4b8e-9a4c-3f1e0c2b5d33";
+
+	private static final int NUMBER_OF_EQUATIONS = 4;
+	private static final int NUMBER_OF_RESOURCES = 4;
+
+	private ResourceSet resourceSet;
+	private Repository repository;
+
+	private IUserContext userContext = new IUserContext() {
+		@Override
+		public boolean isSuperUser() {
+			return true;
+		}
+
+		@Override
+		public String getUserName() {
+			return "headless";
+		}
+	};
+
+	@Before
+	public void setUp() {
+		resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("dvlm", new DvlmXMIResourceFactoryImpl());
+
+		// Load the fixtures from the file system, so that the test does not depend on the platform
+		URI repositoryUri = URI.createFileURI(new File(REPOSITORY_PATH).getAbsolutePath());
+		Resource repositoryResource = resourceSet.getResource(repositoryUri, true);
+		repository = (Repository) repositoryResource.getContents().get(0);
+	}
+
+	/**
+	 * Finds the equation computing the type instance with the given uuid
+	 * @param equations the equations to search
+	 * @param uuid the uuid of the computed type instance
+	 * @return the equation
+	 */
+	private Equation getEquationFor(List<Equation> equations, String uuid) {
+		for (Equation equation : equations) {
+			TypeInstanceResult result = (TypeInstanceResult) equation.getResult();
+			if (result.getReference().getUuid().toString().equals(uuid)) {
+				return equation;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Creates an evaluator that uses the default extensions without reading them from the platform
+	 * @return the evaluator
+	 */
+	private HeadlessEquationEvaluator createEvaluator() {
+		return new HeadlessEquationEvaluator(new ExpressionHelper(new ExpressionExtensionRegistry(null)));
+	}
+
+	@Test
+	public void testGetAllEquations() {
+		HeadlessEquationEvaluator evaluator = createEvaluator();
+		List<Equation> equations = evaluator.getAllEquations(repository);
+
+		assertEquals("Equations of all seis are found", NUMBER_OF_EQUATIONS, equations.size());
+		assertEquals("All seis have been loaded into the plain resource set", NUMBER_OF_RESOURCES, resourceSet.getResources().size());
+	}
+
+	@Test
+	public void testEvaluate() {
+		HeadlessEquationEvaluator evaluator = createEvaluator();
+		List<Equation> equations = evaluator.getAllEquations(repository);
+		HeadlessEquationEvaluator.Evaluation evaluation = evaluator.evaluate(repository, userContext);
+
+		Map<Equation, IExpressionResult> results = evaluation.getResults();
+		Equation batteryMass = getEquationFor(equations, UUID_BATTERY_MASS);
+		Equation satelliteMass = getEquationFor(equations, UUID_SATELLITE_MASS);
+		Equation satelliteCount = getEquationFor(equations, UUID_SATELLITE_COUNT);
+
+		assertEquals("Battery mass is computed from its count", "11.0", results.get(batteryMass).toString());
+		assertEquals("Satellite mass sums up the computed and the plain mass of its children", "16.0", results.get(satelliteMass).toString());
+		assertEquals("Satellite counts the masses of its children", "2.0", results.get(satelliteCount).toString());
+
+		// The results are written directly into the model
+		ValuePropertyInstance satelliteMassInstance = (ValuePropertyInstance) ((TypeInstanceResult) satelliteMass.getResult()).getReference();
+		assertEquals("Result is assigned to the property", "16.0", satelliteMassInstance.getValue());
+		assertEquals("Result text of the equation is updated", "16.0", satelliteMass.getResultText());
+
+		// The antenna count depends on itself
+		assertFalse("Problems are reported", evaluation.isOk());
+		assertTrue("Cycle is reported as problem", evaluation.getProblems().stream().anyMatch(problem -> problem instanceof CyclicEquationProblem));
+		assertNotNull("Cyclic equation is part of the repository", getEquationFor(equations, UUID_ANTENNA_COUNT));
+	}
+}
@@ -10,15 +10,21 @@
 package de.dlr.sc.virsat.model.calculation.compute;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.internal.events.ResourceDelta;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -29,18 +35,39 @@ import org.eclipse.core.runtime.ILogListener;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.junit.Test;
 import org.xml.sax.SAXParseException;
 
 import de.dlr.sc.virsat.model.calculation.marker.VirSatEquationMarkerHelper;
+import de.dlr.sc.virsat.model.dvlm.Repository;
+import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
 import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+import de.dlr.sc.virsat.model.dvlm.calculation.ReferencedInput;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.Category;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.FloatProperty;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.PropertydefinitionsFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ValuePropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryInstantiator;
+import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
+import de.dlr.sc.virsat.model.dvlm.concepts.ConceptsFactory;
 import de.dlr.sc.virsat.model.dvlm.roles.Discipline;
 import de.dlr.sc.virsat.model.dvlm.roles.IUserContext;
 import de.dlr.sc.virsat.model.dvlm.roles.RolesFactory;
 import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
 import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
+import de.dlr.sc.virsat.project.structure.VirSatProjectCommons;
 
 /**
  * Tests the incremental equation builder
@@ -70,14 +97,14 @@ public class IncrementalEquationBuilderTest extends AEquationBuilderTest {
 		}
 	}
 	
-	@Test
-	public void testIncrementalBuild() {
-		IncrementalEquationBuilder builder = new TestIncrementalEquationBuilder();
-		
-		assertNull("Value is initially null", result.getResultText());
-		
-		IPath pathSeiSc = fileSc.getFullPath();
-		IResourceDelta delta = new ResourceDelta(pathSeiSc, null) {
+	/**
+	 * Creates a delta telling that a single file has been changed
+	 * @param file the changed file
+	 * @return the delta
+	 */
+	private IResourceDelta createChangedDelta(IFile file) {
+		IPath path = file.getFullPath();
+		return new ResourceDelta(path, null) {
 			@Override
 			public int getKind() {
 				return CHANGED;
@@ -85,7 +112,7 @@ public class IncrementalEquationBuilderTest extends AEquationBuilderTest {
 			
 			@Override
 			public IResource getResource() {
-				return fileSc;
+				return file;
 			}
 			
 			@Override
@@ -93,6 +120,15 @@ public class IncrementalEquationBuilderTest extends AEquationBuilderTest {
 				visitor.visit(this);
 			}
 		};
+	}
+	
+	@Test
+	public void testIncrementalBuild() {
+		IncrementalEquationBuilder builder = new TestIncrementalEquationBuilder();
+		
+		assertNull("Value is initially null", result.getResultText());
+		
+		IResourceDelta delta = createChangedDelta(fileSc);
 		
 		builder.incrementalBuild(delta, null);
 		assertEquals("Value is after executing equations at 1.0", "1.0", result.getResultText());
@@ -107,6 +143,166 @@ public class IncrementalEquationBuilderTest extends AEquationBuilderTest {
 		assertEquals("Value is after executing equations at 1.0", "1.0", result.getResultText());
 	}
 	
+	@Test
+	public void testRepeatedFullBuildDoesNotTouchModel() {
+		IncrementalEquationBuilder builder = new TestIncrementalEquationBuilder();
+		builder.fullBuild(null);
+		assertEquals("Value is after executing equations at 1.0", "1.0", result.getResultText());
+		
+		for (Resource resource : resSet.getResources()) {
+			resource.setTrackingModification(true);
+			resource.setModified(false);
+		}
+		
+		List<Notification> notifications = new ArrayList<>();
+		EContentAdapter notificationRecorder = new EContentAdapter() {
+			@Override
+			public void notifyChanged(Notification notification) {
+				super.notifyChanged(notification);
+				if (notification.getNotifier() instanceof EObject) {
+					notifications.add(notification);
+				}
+			}
+		};
+		resSc.eAdapters().add(notificationRecorder);
+		
+		builder.fullBuild(null);
+		List<Notification> notificationsOfRebuild = new ArrayList<>(notifications);
+		resSc.eAdapters().remove(notificationRecorder);
+		
+		assertEquals("Value is unchanged", "1.0", result.getResultText());
+		assertTrue("Rebuilding without changes sends no notifications", notificationsOfRebuild.isEmpty());
+		for (Resource resource : resSet.getResources()) {
+			assertFalse("Rebuilding without changes does not make resources dirty", resource.isModified());
+		}
+	}
+	
+	/**
+	 * Creates a root sei in its own resource with a category assignment holding a single value
+	 * @param repository the repository to add the sei to
+	 * @param category the category of the category assignment
+	 * @param name the name of the sei
+	 * @param value the initial value
+	 * @return the value property instance of the sei
+	 */
+	private ValuePropertyInstance createSeiWithValue(Repository repository, Category category, String name, String value) {
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setType(seEd);
+		sei.setName(name);
+		
+		CategoryAssignment ca = new CategoryInstantiator().generateInstance(category, name);
+		sei.getCategoryAssignments().add(ca);
+		repository.getRootEntities().add(sei);
+		resSet.getAndAddStructuralElementInstanceResource(sei);
+		
+		ValuePropertyInstance vpi = (ValuePropertyInstance) ca.getPropertyInstances().get(0);
+		vpi.setValue(value);
+		return vpi;
+	}
+	
+	/**
+	 * Adds an equation computing the given value property instance
+	 * @param vpi the value property instance to compute
+	 * @param expression the expression of the equation
+	 */
+	private void addEquation(ValuePropertyInstance vpi, AExpression expression) {
+		TypeInstanceResult equationResult = CalculationFactory.eINSTANCE.createTypeInstanceResult();
+		equationResult.setReference(vpi);
+		
+		Equation equation = CalculationFactory.eINSTANCE.createEquation();
+		equation.setExpression(expression);
+		equation.setResult(equationResult);
+		
+		CategoryAssignment ca = (CategoryAssignment) vpi.eContainer();
+		ca.setEquationSection(CalculationFactory.eINSTANCE.createEquationSection());
+		ca.getEquationSection().getEquations().add(equation);
+	}
+	
+	/**
+	 * Creates a reference to the given value property instance
+	 * @param vpi the referenced value property instance
+	 * @return the reference
+	 */
+	private ReferencedInput createReference(ValuePropertyInstance vpi) {
+		ReferencedInput referencedInput = CalculationFactory.eINSTANCE.createReferencedInput();
+		referencedInput.setReference(vpi);
+		return referencedInput;
+	}
+	
+	@Test
+	public void testIncrementalBuildAfterRestartLoadsOnlyAffectedResources() {
+		// Set up a repository where the value of B is computed from A and the value of D from B.
+		// The value of C is computed independently.
+		resSet.getResources().remove(resSc);
+		resSet.initializeModelsAndResourceSet();
+		Repository repository = resSet.getRepository();
+		
+		Category category = CategoriesFactory.eINSTANCE.createCategory();
+		category.setName("CatValue");
+		category.setIsApplicableForAll(true);
+		FloatProperty property = PropertydefinitionsFactory.eINSTANCE.createFloatProperty();
+		property.setName("value");
+		category.getProperties().add(property);
+		
+		Concept concept = ConceptsFactory.eINSTANCE.createConcept();
+		concept.setName("testConcept");
+		concept.getCategories().add(category);
+		concept.getStructuralElements().add(seEd);
+		repository.getActiveConcepts().add(concept);
+		
+		ValuePropertyInstance vpiA = createSeiWithValue(repository, category, "A", "1");
+		ValuePropertyInstance vpiB = createSeiWithValue(repository, category, "B", "0");
+		ValuePropertyInstance vpiC = createSeiWithValue(repository, category, "C", "0");
+		ValuePropertyInstance vpiD = createSeiWithValue(repository, category, "D", "0");
+		
+		addEquation(vpiB, createReference(vpiA));
+		NumberLiteral literal = CalculationFactory.eINSTANCE.createNumberLiteral();
+		literal.setValue("3");
+		addEquation(vpiC, literal);
+		addEquation(vpiD, createReference(vpiB));
+		resSet.saveAllResources(null, UserRegistry.getInstance());
+		
+		// Build and save the results, the transactional builder writes the dependencies after saving
+		IncrementalEquationBuilder builder = new TestIncrementalEquationBuilder();
+		builder.fullBuild(null);
+		resSet.saveAllResources(null, UserRegistry.getInstance());
+		builder.writeDependencyGraph();
+		
+		assertEquals("Value of D is computed from A", "1.0", vpiD.getValue());
+		assertEquals("Value of C is computed", "3.0", vpiC.getValue());
+		assertTrue("Dependencies have been written", Files.exists(EquationDependencyGraph.getFile(project)));
+		
+		// Change the value of A on disk
+		vpiA.setValue("2");
+		resSet.saveResource(vpiA.eResource(), UserRegistry.getInstance());
+		StructuralElementInstance seiA = (StructuralElementInstance) vpiA.eContainer().eContainer();
+		IFile fileA = new VirSatProjectCommons(project).getStructuralElementInstanceFile(seiA);
+		
+		// Discard all in memory state as it happens on a restart
+		VirSatResourceSet restartedResSet = VirSatResourceSet.createUnmanagedResourceSet(project);
+		IncrementalEquationBuilder restartedBuilder = new TestIncrementalEquationBuilder() {
+			@Override
+			protected VirSatResourceSet getResourceSet() {
+				return restartedResSet;
+			}
+		};
+		restartedBuilder.incrementalBuild(createChangedDelta(fileA), null);
+		
+		Set<String> loadedResources = restartedResSet.getResources().stream()
+				.map(resource -> resource.getURI().toString())
+				.collect(Collectors.toSet());
+		
+		assertTrue("Changed resource is loaded", loadedResources.contains(vpiA.eResource().getURI().toString()));
+		assertTrue("Dependent resource is loaded", loadedResources.contains(vpiB.eResource().getURI().toString()));
+		assertTrue("Transitively dependent resource is loaded", loadedResources.contains(vpiD.eResource().getURI().toString()));
+		assertFalse("Independent resource is not loaded", loadedResources.contains(vpiC.eResource().getURI().toString()));
+		
+		Resource restartedResourceD = restartedResSet.getResource(vpiD.eResource().getURI(), false);
+		StructuralElementInstance restartedSeiD = (StructuralElementInstance) restartedResourceD.getContents().get(0);
+		ValuePropertyInstance restartedVpiD = (ValuePropertyInstance) restartedSeiD.getCategoryAssignments().get(0).getPropertyInstances().get(0);
+		assertEquals("Value of D is updated from the changed A", "2.0", restartedVpiD.getValue());
+	}
+	
 	@Test
 	public void testMarkEquationEvaluationProblems() {
 		IncrementalEquationBuilder builder = new TestIncrementalEquationBuilder();
@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.internal.registry.ConfigurationElementHandle;
+import org.eclipse.core.internal.registry.ExtensionRegistry;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.emf.ecore.EObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.commons.datastructures.DependencyTree;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.IntervalEvaluator;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.IntervalResult;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralResult;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.UnresolvedExpressionResult;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.ValuePropertyGetter;
+import de.dlr.sc.virsat.model.calculation.test.util.ExpressionUtil;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.MathOperator;
+import de.dlr.sc.virsat.model.dvlm.calculation.MultiplicationAndDivision;
+import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.Category;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.FloatProperty;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.PropertydefinitionsFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.UnitValuePropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryAssignmentHelper;
+import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryInstantiator;
+import de.dlr.sc.virsat.model.dvlm.qudv.AQuantityKind;
+import de.dlr.sc.virsat.model.dvlm.qudv.AUnit;
+import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
+import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+
+/**
+ * Test cases for evaluating equations on values with margins
+ */
+public class IntervalEvaluatorTest extends AEquationTest {
+
+	private static final String VALUE = "10";
+	private static final String MARGIN = "1";
+	private static final double NOMINAL = 10;
+	private static final double LOWER = 9;
+	private static final double UPPER = 11;
+	private static final String MARGIN_PROPERTY = "uncertainty";
+
+	private Category cat;
+	private Map<String, String> mapValueToMarginProperty;
+	private ValuePropertyGetter getter;
+	private StructuralElementInstance sei;
+	private CategoryAssignment caMass;
+	private CategoryAssignment caTotalMass;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+
+		cat = CategoriesFactory.eINSTANCE.createCategory();
+		cat.setName("Parameter");
+		cat.setIsApplicableForAll(true);
+		contents.add(cat);
+
+		FloatProperty value = PropertydefinitionsFactory.eINSTANCE.createFloatProperty();
+		value.setName("value");
+		cat.getProperties().add(value);
+
+		FloatProperty valueMargin = PropertydefinitionsFactory.eINSTANCE.createFloatProperty();
+		valueMargin.setName(MARGIN_PROPERTY);
+		cat.getProperties().add(valueMargin);
+
+		mapValueToMarginProperty = Collections.singletonMap(value.getFullQualifiedName(), valueMargin.getFullQualifiedName());
+		getter = new ValuePropertyGetter(mapValueToMarginProperty);
+
+		StructuralElement se = StructuralFactory.eINSTANCE.createStructuralElement();
+		se.setName("Equipment");
+
+		sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setName("equipment");
+		sei.setType(se);
+		contents.add(sei);
+
+		caMass = new CategoryInstantiator().generateInstance(cat, "mass");
+		caTotalMass = new CategoryInstantiator().generateInstance(cat, "totalMass");
+		sei.getCategoryAssignments().add(caMass);
+		sei.getCategoryAssignments().add(caTotalMass);
+
+		getValue(caMass).setValue(VALUE);
+		getMargin(caMass).setValue(MARGIN);
+
+		createResources();
+	}
+
+	/**
+	 * Gets the value property instance of a category assignment
+	 * @param ca the category assignment
+	 * @return the value property instance
+	 */
+	private UnitValuePropertyInstance getValue(CategoryAssignment ca) {
+		return (UnitValuePropertyInstance) new CategoryAssignmentHelper(ca).getPropertyInstance("value");
+	}
+
+	/**
+	 * Gets the margin property instance of a category assignment
+	 * @param ca the category assignment
+	 * @return the margin property instance
+	 */
+	private UnitValuePropertyInstance getMargin(CategoryAssignment ca) {
+		return (UnitValuePropertyInstance) new CategoryAssignmentHelper(ca).getPropertyInstance(MARGIN_PROPERTY);
+	}
+
+	/**
+	 * Creates an equation helper whose value property getter knows the margin of the test category
+	 * @return the equation helper
+	 */
+	private EquationHelper createEquationHelper() {
+		ExpressionExtensionRegistry registry = new ExpressionExtensionRegistry(null) {
+			@Override
+			public List<IInputGetter> getInputGetters() {
+				return Collections.singletonList(getter);
+			}
+		};
+		return new EquationHelper(new ExpressionHelper(registry));
+	}
+
+	@Test
+	public void testGetValueWithAbsoluteMargin() {
+		IExpressionResult result = getter.get(getValue(caMass));
+
+		assertTrue("Value with margin is an interval", result instanceof IntervalResult);
+		IntervalResult interval = (IntervalResult) result;
+		assertEquals("Nominal value is the value", NOMINAL, interval.getNominal(), EPSILON);
+		assertEquals("Margin is subtracted", LOWER, interval.getLower(), EPSILON);
+		assertEquals("Margin is added", UPPER, interval.getUpper(), EPSILON);
+	}
+
+	@Test
+	public void testGetValueWithRelativeMargin() {
+		final String RELATIVE_MARGIN = "0.2";
+		final double EXPECTED_LOWER = 8;
+		final double EXPECTED_UPPER = 12;
+
+		AQuantityKind dimensionless = QudvUnitHelper.getInstance().createSimpleQuantityKind("Dimensionless", "U", "", "");
+		AUnit ratio = QudvUnitHelper.getInstance().createSimpleUnit("Ratio", "r", "", "", dimensionless);
+		getMargin(caMass).setUnit(ratio);
+		getMargin(caMass).setValue(RELATIVE_MARGIN);
+
+		IntervalResult interval = (IntervalResult) getter.get(getValue(caMass));
+		assertEquals("Relative margin is subtracted", EXPECTED_LOWER, interval.getLower(), EPSILON);
+		assertEquals("Relative margin is added", EXPECTED_UPPER, interval.getUpper(), EPSILON);
+	}
+
+	@Test
+	public void testGetValueWithoutMargin() {
+		assertTrue("Margin itself is a plain value", getter.get(getMargin(caMass)) instanceof NumberLiteralResult);
+		assertTrue("Margin has to be declared", new ValuePropertyGetter().get(getValue(caMass)) instanceof NumberLiteralResult);
+
+		getMargin(caMass).setValue(null);
+		assertTrue("Unset margin gives a plain value", getter.get(getValue(caMass)) instanceof NumberLiteralResult);
+
+		getMargin(caMass).setValue("0");
+		assertTrue("Zero margin gives a plain value", getter.get(getValue(caMass)) instanceof NumberLiteralResult);
+	}
+
+	@Test
+	public void testComputedMarginIsIgnored() {
+		List<Equation> equations = ExpressionUtil.getAllEquationsFrom(esResourceSet, esResource,
+				"Ref: equipment.mass." + MARGIN_PROPERTY + " = equipment.mass.value * 0.1;");
+		caMass.setEquationSection(CalculationFactory.eINSTANCE.createEquationSection());
+		caMass.getEquationSection().getEquations().addAll(equations);
+
+		assertTrue("Computed margin is derived from the value", getter.get(getValue(caMass)) instanceof NumberLiteralResult);
+	}
+
+	@Test
+	public void testEvaluateEquationWithMargin() {
+		final String EXPECTED_VALUE = "20.0";
+
+		List<Equation> equations = ExpressionUtil.getAllEquationsFrom(esResourceSet, esResource,
+				"Ref: equipment.totalMass.value = equipment.mass.value * 2;");
+
+		EquationHelper helper = createEquationHelper();
+		DependencyTree<EObject> tree = helper.createDependencyTree(equations);
+		helper.evaluate(tree, UserRegistry.getInstance());
+
+		assertEquals("Nominal value is stored in the property", EXPECTED_VALUE, getValue(caTotalMass).getValue());
+		assertEquals("Result text shows the interval", "20.0 [18.0, 22.0]", equations.get(0).getResultText());
+		assertNull("Margin of the result is not touched", getMargin(caTotalMass).getValue());
+	}
+
+	/**
+	 * Creates a contribution of an expression extender to the extension point
+	 * @param extender the contributed extender
+	 * @param priority the priority of the contribution
+	 * @return the configuration element of the contribution
+	 */
+	private IConfigurationElement createContribution(IExpressionExtender extender, int priority) {
+		return new ConfigurationElementHandle(null, 0) {
+			@Override
+			public String getAttribute(String propertyName) {
+				return String.valueOf(priority);
+			}
+
+			@Override
+			public Object createExecutableExtension(String propertyName) throws CoreException {
+				return extender;
+			}
+		};
+	}
+
+	@Test
+	public void testConceptOptsInToMargins() {
+		final int MARGIN_PRIORITY = -1;
+
+		// The concept contributes its margins with a priority below the default extender
+		IExtensionRegistry extensionRegistry = new ExtensionRegistry(null, null, null) {
+			@Override
+			public IConfigurationElement[] getConfigurationElementsFor(String extensionPointId) {
+				return new IConfigurationElement[] {
+					createContribution(new DefaultExpressionExtender(), 0),
+					createContribution(new MarginExpressionExtender(mapValueToMarginProperty), MARGIN_PRIORITY)
+				};
+			}
+		};
+		ExpressionExtensionRegistry registry = new ExpressionExtensionRegistry(extensionRegistry);
+
+		List<Equation> equations = ExpressionUtil.getAllEquationsFrom(esResourceSet, esResource,
+				"Ref: equipment.totalMass.value = equipment.mass.value * 2;");
+
+		EquationHelper helper = new EquationHelper(new ExpressionHelper(registry));
+		DependencyTree<EObject> tree = helper.createDependencyTree(equations);
+		helper.evaluate(tree, UserRegistry.getInstance());
+
+		assertEquals("Margin getter of the concept is asked first", "20.0 [18.0, 22.0]", equations.get(0).getResultText());
+	}
+
+	@Test
+	public void testEvaluateEquationWithoutMargin() {
+		final String EXPECTED_VALUE = "20.0";
+		getMargin(caMass).setValue(null);
+
+		List<Equation> equations = ExpressionUtil.getAllEquationsFrom(esResourceSet, esResource,
+				"Ref: equipment.totalMass.value = equipment.mass.value * 2;");
+
+		EquationHelper helper = createEquationHelper();
+		DependencyTree<EObject> tree = helper.createDependencyTree(equations);
+		helper.evaluate(tree, UserRegistry.getInstance());
+
+		assertEquals("Result text shows the plain value", EXPECTED_VALUE, equations.get(0).getResultText());
+	}
+
+	@Test
+	public void testPointIntervalText() {
+		assertEquals("Point interval is shown as plain value", "10.0", new IntervalResult(NOMINAL, NOMINAL, NOMINAL).toString());
+		assertEquals("Interval shows its bounds", "10.0 [9.0, 11.0]", new IntervalResult(LOWER, NOMINAL, UPPER).toString());
+	}
+
+	@Test
+	public void testEvaluatorDispatch() {
+		IntervalEvaluator evaluator = new IntervalEvaluator();
+		IntervalResult interval = new IntervalResult(LOWER, NOMINAL, UPPER);
+		NumberLiteral two = CalculationFactory.eINSTANCE.createNumberLiteral();
+		two.setValue("2");
+		NumberLiteralResult number = new NumberLiteralResult(two);
+
+		MultiplicationAndDivision multiply = CalculationFactory.eINSTANCE.createMultiplicationAndDivision();
+		multiply.setOperator(MathOperator.MULTIPLY);
+
+		IntervalResult product = (IntervalResult) evaluator.caseALeftOpRightExpression(multiply, number, interval);
+		assertEquals("Number is treated as point interval", 2 * LOWER, product.getLower(), EPSILON);
+		assertEquals("Number is treated as point interval", 2 * UPPER, product.getUpper(), EPSILON);
+
+		assertNull("Numbers are left to the number literal evaluator", evaluator.caseALeftOpRightExpression(multiply, number, number));
+		assertNull("Unresolved results are left to the unresolved evaluator", evaluator.caseALeftOpRightExpression(multiply, new UnresolvedExpressionResult(), interval));
+	}
+
+	@Test
+	public void testSetFunctions() {
+		IntervalEvaluator evaluator = new IntervalEvaluator();
+		NumberLiteral five = CalculationFactory.eINSTANCE.createNumberLiteral();
+		five.setValue("5");
+		List<IExpressionResult> inputs = Arrays.asList(new IntervalResult(LOWER, NOMINAL, UPPER), new NumberLiteralResult(five));
+
+		SetFunction summary = CalculationFactory.eINSTANCE.createSetFunction();
+		summary.setOperator("summary");
+		IntervalResult sum = (IntervalResult) evaluator.caseAAdvancedFunction(summary, inputs);
+		final double FIVE = 5;
+		assertEquals("Summary sums up the lower bounds", LOWER + FIVE, sum.getLower(), EPSILON);
+		assertEquals("Summary sums up the nominal values", NOMINAL + FIVE, sum.getNominal(), EPSILON);
+		assertEquals("Summary sums up the upper bounds", UPPER + FIVE, sum.getUpper(), EPSILON);
+
+		SetFunction max = CalculationFactory.eINSTANCE.createSetFunction();
+		max.setOperator("max");
+		IntervalResult maximum = (IntervalResult) evaluator.caseAAdvancedFunction(max, inputs);
+		assertEquals("Max of the lower bounds", LOWER, maximum.getLower(), EPSILON);
+		assertEquals("Max of the upper bounds", UPPER, maximum.getUpper(), EPSILON);
+
+		SetFunction min = CalculationFactory.eINSTANCE.createSetFunction();
+		min.setOperator("min");
+		IntervalResult minimum = (IntervalResult) evaluator.caseAAdvancedFunction(min, inputs);
+		assertEquals("Min of the lower bounds", FIVE, minimum.getLower(), EPSILON);
+		assertEquals("Min of the upper bounds", FIVE, minimum.getUpper(), EPSILON);
+
+		SetFunction mean = CalculationFactory.eINSTANCE.createSetFunction();
+		mean.setOperator("mean");
+		IntervalResult average = (IntervalResult) evaluator.caseAAdvancedFunction(mean, inputs);
+		assertEquals("Mean of the lower bounds", (LOWER + FIVE) / 2, average.getLower(), EPSILON);
+		assertEquals("Mean of the upper bounds", (UPPER + FIVE) / 2, average.getUpper(), EPSILON);
+
+		SetFunction count = CalculationFactory.eINSTANCE.createSetFunction();
+		count.setOperator("count");
+		IntervalResult counted = (IntervalResult) evaluator.caseAAdvancedFunction(count, inputs);
+		assertEquals("Count is exact", 2, counted.getLower(), EPSILON);
+		assertEquals("Count is exact", 2, counted.getUpper(), EPSILON);
+
+		assertNull("Sets without intervals are left to the number literal evaluator",
+				evaluator.caseAAdvancedFunction(summary, Arrays.asList(new NumberLiteralResult(five))));
+	}
+}
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.calculation.compute.extensions.IntervalResult;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.IntervalResultHelper;
+import de.dlr.sc.virsat.model.dvlm.calculation.MathOperator;
+import de.dlr.sc.virsat.model.dvlm.qudv.AQuantityKind;
+import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
+
+/**
+ * This class tests the interval arithmetic of the interval result helper
+ */
+public class IntervalResultHelperTest {
+
+	private static final double EPSILON = 0.000001;
+	private static final double INF = Double.POSITIVE_INFINITY;
+	private static final double THREE = 3;
+	private static final double FOUR = 4;
+	private static final double FIVE = 5;
+	private static final double QUARTER_PI = Math.PI / FOUR;
+
+	/**
+	 * Creates an interval with the nominal value in its center
+	 * @param lower the lower bound
+	 * @param upper the upper bound
+	 * @return the interval
+	 */
+	private IntervalResult interval(double lower, double upper) {
+		return new IntervalResult(lower, (lower + upper) / 2, upper);
+	}
+
+	/**
+	 * Applies a binary operator on two intervals
+	 * @param left the left interval
+	 * @param operator the operator
+	 * @param right the right interval
+	 * @return the result
+	 */
+	private IntervalResult apply(IntervalResult left, MathOperator operator, IntervalResult right) {
+		return new IntervalResultHelper(left).applyMathOperator(operator, right);
+	}
+
+	/**
+	 * Applies a function on an interval
+	 * @param operator the function
+	 * @param right the interval
+	 * @return the result
+	 */
+	private IntervalResult apply(MathOperator operator, IntervalResult right) {
+		return new IntervalResultHelper(right).applyMathOperator(operator);
+	}
+
+	/**
+	 * Checks the bounds of an interval
+	 * @param message the message in case the check fails
+	 * @param lower the expected lower bound
+	 * @param upper the expected upper bound
+	 * @param result the interval to check
+	 */
+	private void assertBounds(String message, double lower, double upper, IntervalResult result) {
+		assertEquals(message + " (lower bound)", lower, result.getLower(), EPSILON);
+		assertEquals(message + " (upper bound)", upper, result.getUpper(), EPSILON);
+	}
+
+	@Test
+	public void testPlusAndMinus() {
+		final double LEFT_LOWER = 1;
+		final double LEFT_UPPER = 2;
+		final double RIGHT_LOWER = 3;
+		final double RIGHT_UPPER = 5;
+		IntervalResult left = interval(LEFT_LOWER, LEFT_UPPER);
+		IntervalResult right = interval(RIGHT_LOWER, RIGHT_UPPER);
+
+		IntervalResult sum = apply(left, MathOperator.PLUS, right);
+		assertBounds("Bounds are added", LEFT_LOWER + RIGHT_LOWER, LEFT_UPPER + RIGHT_UPPER, sum);
+		assertEquals("Nominal values are added", left.getNominal() + right.getNominal(), sum.getNominal(), EPSILON);
+
+		IntervalResult difference = apply(left, MathOperator.MINUS, right);
+		assertBounds("Opposite bounds are subtracted", LEFT_LOWER - RIGHT_UPPER, LEFT_UPPER - RIGHT_LOWER, difference);
+		assertEquals("Nominal values are subtracted", left.getNominal() - right.getNominal(), difference.getNominal(), EPSILON);
+	}
+
+	@Test
+	public void testMultiply() {
+		final double EXPECTED_LOWER = -5;
+		final double EXPECTED_UPPER = 10;
+		IntervalResult left = interval(-1, 2);
+		IntervalResult right = interval(THREE, FIVE);
+		IntervalResult product = apply(left, MathOperator.MULTIPLY, right);
+		assertBounds("Product contains all products of the bounds", EXPECTED_LOWER, EXPECTED_UPPER, product);
+		assertEquals("Nominal values are multiplied", left.getNominal() * right.getNominal(), product.getNominal(), EPSILON);
+
+		final double EXPECTED_NEGATIVE_LOWER = 6;
+		final double EXPECTED_NEGATIVE_UPPER = 20;
+		product = apply(interval(-FOUR, -2), MathOperator.MULTIPLY, interval(-FIVE, -THREE));
+		assertBounds("Product of negative intervals is positive", EXPECTED_NEGATIVE_LOWER, EXPECTED_NEGATIVE_UPPER, product);
+	}
+
+	@Test
+	public void testDivide() {
+		final double LOWER = 1;
+		final double UPPER = 2;
+		final double DIVISOR_LOWER = 4;
+		final double DIVISOR_UPPER = 8;
+		IntervalResult dividend = interval(LOWER, UPPER);
+
+		IntervalResult quotient = apply(dividend, MathOperator.DIVIDE, interval(DIVISOR_LOWER, DIVISOR_UPPER));
+		assertBounds("Division by positive interval", LOWER / DIVISOR_UPPER, UPPER / DIVISOR_LOWER, quotient);
+		assertEquals("Nominal values are divided", dividend.getNominal() / ((DIVISOR_LOWER + DIVISOR_UPPER) / 2), quotient.getNominal(), EPSILON);
+
+		quotient = apply(dividend, MathOperator.DIVIDE, interval(-DIVISOR_UPPER, -DIVISOR_LOWER));
+		assertBounds("Division by negative interval", -UPPER / DIVISOR_LOWER, -LOWER / DIVISOR_UPPER, quotient);
+	}
+
+	@Test
+	public void testDivideByIntervalContainingZero() {
+		final double LOWER = 1;
+		final double UPPER = 2;
+		final double DIVISOR = 4;
+		IntervalResult dividend = interval(LOWER, UPPER);
+
+		IntervalResult quotient = apply(dividend, MathOperator.DIVIDE, interval(-1, 1));
+		assertEquals("Zero as inner point gives an unbounded lower bound", Double.NEGATIVE_INFINITY, quotient.getLower(), 0);
+		assertEquals("Zero as inner point gives an unbounded upper bound", INF, quotient.getUpper(), 0);
+		assertTrue("Nominal value is divided by zero", Double.isInfinite(quotient.getNominal()));
+
+		quotient = apply(dividend, MathOperator.DIVIDE, new IntervalResult(0, DIVISOR, DIVISOR));
+		assertEquals("Zero as lower bound keeps the lower bound", LOWER / DIVISOR, quotient.getLower(), EPSILON);
+		assertEquals("Zero as lower bound gives an unbounded upper bound", INF, quotient.getUpper(), 0);
+		assertEquals("Nominal value is not affected", dividend.getNominal() / DIVISOR, quotient.getNominal(), EPSILON);
+
+		quotient = apply(dividend, MathOperator.DIVIDE, new IntervalResult(-DIVISOR, -DIVISOR, 0));
+		assertEquals("Zero as upper bound gives an unbounded lower bound", Double.NEGATIVE_INFINITY, quotient.getLower(), 0);
+		assertEquals("Zero as upper bound keeps the upper bound", -LOWER / DIVISOR, quotient.getUpper(), EPSILON);
+
+		quotient = apply(interval(0, 0), MathOperator.DIVIDE, new IntervalResult(0, DIVISOR, DIVISOR));
+		assertBounds("Zero divided by an interval touching zero is zero", 0, 0, quotient);
+
+		quotient = apply(dividend, MathOperator.DIVIDE, interval(0, 0));
+		assertTrue("Division by exactly zero gives the empty interval", quotient.isEmpty());
+	}
+
+	@Test
+	public void testPower() {
+		final double SQUARE = 2;
+		final double CUBE = 3;
+		final double EXPECTED_SQUARE_UPPER = 9;
+		final double EXPECTED_CUBE_LOWER = -8;
+		final double EXPECTED_CUBE_UPPER = 27;
+		IntervalResult base = interval(-2, THREE);
+
+		assertBounds("Even power of interval containing zero", 0, EXPECTED_SQUARE_UPPER, apply(base, MathOperator.POWER, interval(SQUARE, SQUARE)));
+		assertBounds("Odd power is monotone", EXPECTED_CUBE_LOWER, EXPECTED_CUBE_UPPER, apply(base, MathOperator.POWER, interval(CUBE, CUBE)));
+		assertBounds("Even power of negative interval", 1, EXPECTED_SQUARE_UPPER, apply(interval(-THREE, -1), MathOperator.POWER, interval(SQUARE, SQUARE)));
+
+		final double RECIPROCAL_LOWER = 2;
+		final double RECIPROCAL_UPPER = 4;
+		assertBounds("Negative integer power", 1 / RECIPROCAL_UPPER, 1 / RECIPROCAL_LOWER,
+				apply(interval(RECIPROCAL_LOWER, RECIPROCAL_UPPER), MathOperator.POWER, interval(-1, -1)));
+
+		final double EXPONENT_LOWER = 0.5;
+		final double EXPECTED_REAL_UPPER = 16;
+		assertBounds("Real exponent interval", 1, EXPECTED_REAL_UPPER, apply(interval(1, FOUR), MathOperator.POWER, interval(EXPONENT_LOWER, SQUARE)));
+		assertBounds("Real exponent restricts base to non negative values", 0, Math.sqrt(2), apply(interval(-1, 2), MathOperator.POWER, interval(EXPONENT_LOWER, EXPONENT_LOWER)));
+		assertTrue("Real exponent of negative base is empty", apply(interval(-2, -1), MathOperator.POWER, interval(EXPONENT_LOWER, EXPONENT_LOWER)).isEmpty());
+	}
+
+	@Test
+	public void testUnaryOperators() {
+		final double LOWER = 1;
+		final double UPPER = 2;
+		IntervalResult base = interval(LOWER, UPPER);
+
+		assertBounds("Plus is identity", LOWER, UPPER, apply(MathOperator.PLUS, base));
+		assertBounds("Minus negates and swaps the bounds", -UPPER, -LOWER, apply(MathOperator.MINUS, base));
+		assertEquals("Minus negates the nominal value", -base.getNominal(), apply(MathOperator.MINUS, base).getNominal(), EPSILON);
+	}
+
+	@Test
+	public void testMonotoneFunctions() {
+		final double SQUARE_UPPER = 4;
+		final double TEN = 10;
+		final double HUNDRED = 100;
+		final double EIGHT = 8;
+		final double LD_EIGHT = 3;
+
+		assertBounds("Sqrt is restricted to its domain", 0, 2, apply(MathOperator.SQRT, interval(-1, SQUARE_UPPER)));
+		assertBounds("Ln is increasing", 0, 1, apply(MathOperator.LN, interval(1, Math.E)));
+		assertBounds("Log is increasing", 1, 2, apply(MathOperator.LOG, interval(TEN, HUNDRED)));
+		assertBounds("Ld is increasing", 1, LD_EIGHT, apply(MathOperator.LD, interval(2, EIGHT)));
+		assertBounds("Exp is increasing", 1, Math.E, apply(MathOperator.EXP, interval(0, 1)));
+		assertBounds("Atan is increasing", -QUARTER_PI, QUARTER_PI, apply(MathOperator.ATAN, interval(-1, 1)));
+		assertBounds("Asin is restricted to its domain", 0, Math.PI / 2, apply(MathOperator.ASIN, interval(0, 2)));
+		assertBounds("Acos is decreasing", 0, Math.PI / 2, apply(MathOperator.ACOS, interval(0, 1)));
+		assertTrue("Ln of negative interval is empty", apply(MathOperator.LN, interval(-2, -1)).isEmpty());
+	}
+
+	@Test
+	public void testTrigonometricFunctions() {
+		assertBounds("Sin reaches its maximum within the interval", 0, 1, apply(MathOperator.SIN, interval(0, Math.PI)));
+		assertBounds("Sin reaches its minimum within the interval", -1, Math.sin(-QUARTER_PI), apply(MathOperator.SIN, interval(-THREE * QUARTER_PI, -QUARTER_PI)));
+		assertBounds("Sin of a full period", -1, 1, apply(MathOperator.SIN, interval(0, 2 * Math.PI)));
+		assertBounds("Sin of a monotone part", Math.sin(QUARTER_PI), Math.sin(1), apply(MathOperator.SIN, interval(QUARTER_PI, 1)));
+
+		assertBounds("Cos reaches its maximum at zero", Math.cos(1), 1, apply(MathOperator.COS, interval(-1, 1)));
+		assertBounds("Cos reaches its minimum at pi", -1, Math.cos(2), apply(MathOperator.COS, interval(2, FOUR)));
+
+		assertBounds("Tan between its poles", 0, Math.tan(1), apply(MathOperator.TAN, interval(0, 1)));
+		IntervalResult tanAtPole = apply(MathOperator.TAN, interval(1, 2));
+		assertEquals("Tan around a pole is unbounded", Double.NEGATIVE_INFINITY, tanAtPole.getLower(), 0);
+		assertEquals("Tan around a pole is unbounded", INF, tanAtPole.getUpper(), 0);
+	}
+
+	@Test
+	public void testQuantityKinds() {
+		AQuantityKind qk = QudvUnitHelper.getInstance().createSimpleQuantityKind("A", "a", "", "");
+		Map<AQuantityKind, Double> quantityKinds = new HashMap<>();
+		quantityKinds.put(qk, 1d);
+		IntervalResult left = new IntervalResult(1, 1, 1, quantityKinds);
+		IntervalResult right = new IntervalResult(2, 2, 2, quantityKinds);
+
+		assertEquals("Quantity kinds are multiplied", 2d, apply(left, MathOperator.MULTIPLY, right).getQuantityKinds().get(qk), EPSILON);
+		assertTrue("Quantity kinds cancel out by a division", apply(left, MathOperator.DIVIDE, right).getQuantityKinds().isEmpty());
+		assertEquals("Quantity kinds are kept by a sum", 1d, apply(left, MathOperator.PLUS, right).getQuantityKinds().get(qk), EPSILON);
+	}
+
+	@Test
+	public void testEmptyIntervalPropagates() {
+		IntervalResult empty = new IntervalResult(Double.NaN, Double.NaN, Double.NaN);
+		assertTrue("Empty interval stays empty", apply(empty, MathOperator.PLUS, interval(1, 2)).isEmpty());
+		assertTrue("Empty interval stays empty", apply(MathOperator.SIN, empty).isEmpty());
+	}
+}
@@ -10,10 +10,14 @@
 package de.dlr.sc.virsat.model.calculation.compute;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
 import org.junit.Test;
 
 import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralResult;
@@ -90,4 +94,95 @@ public class NumberLiteralSetterTest {
 		
 		assertTrue("The problem was that the setter cannot handle the given expression result", eep instanceof UnknownExpressionProblem);
 	}
+
+	/**
+	 * Sets a number literal with the given value on a float property instance with the given stored value
+	 * @param nls the setter to use
+	 * @param storedValue the value stored in the instance before the set
+	 * @param newValue the value of the number literal to be set
+	 * @param notifications list collecting the notifications sent by the instance during the set
+	 * @return the instance
+	 */
+	private ValuePropertyInstance setOnFloatProperty(NumberLiteralSetter nls, String storedValue, String newValue, List<Notification> notifications) {
+		ValuePropertyInstance vpi = PropertyinstancesFactory.eINSTANCE.createValuePropertyInstance();
+		FloatProperty fp = PropertydefinitionsFactory.eINSTANCE.createFloatProperty();
+		vpi.setType(fp);
+		vpi.setValue(storedValue);
+		vpi.eAdapters().add(new AdapterImpl() {
+			@Override
+			public void notifyChanged(Notification msg) {
+				notifications.add(msg);
+			}
+		});
+		
+		NumberLiteral nl = CalculationFactory.eINSTANCE.createNumberLiteral();
+		nl.setValue(newValue);
+		List<EvaluationProblem> problems = nls.set(vpi, new NumberLiteralResult(nl));
+		assertTrue("No problems occurred during the set operation", problems.isEmpty());
+		return vpi;
+	}
+	
+	@Test
+	public void testSetUnchangedValue() {
+		NumberLiteralSetter nls = new NumberLiteralSetter();
+		List<Notification> notifications = new ArrayList<>();
+		
+		ValuePropertyInstance vpi = setOnFloatProperty(nls, "1.5", "1.5", notifications);
+		assertEquals("Value is unchanged", "1.5", vpi.getValue());
+		assertTrue("Setting the same value sends no notification", notifications.isEmpty());
+		
+		vpi = setOnFloatProperty(nls, "2.50", "2.5", notifications);
+		assertEquals("Differently formatted but equal value is kept", "2.50", vpi.getValue());
+		assertTrue("Setting an equal value sends no notification", notifications.isEmpty());
+		
+		vpi = setOnFloatProperty(nls, "NaN", "NaN", notifications);
+		assertTrue("Setting NaN on NaN sends no notification", notifications.isEmpty());
+	}
+	
+	@Test
+	public void testSetValueWithinUlpTolerance() {
+		final double VALUE = 0.3;
+		final String NEXT_VALUE = String.valueOf(Math.nextUp(VALUE));
+		final String FAR_VALUE = String.valueOf(Math.nextUp(Math.nextUp(VALUE)));
+		List<Notification> notifications = new ArrayList<>();
+		
+		NumberLiteralSetter nls = new NumberLiteralSetter();
+		ValuePropertyInstance vpi = setOnFloatProperty(nls, String.valueOf(VALUE), NEXT_VALUE, notifications);
+		assertEquals("Value within the default tolerance is not set", String.valueOf(VALUE), vpi.getValue());
+		assertTrue("No notification within the tolerance", notifications.isEmpty());
+		
+		vpi = setOnFloatProperty(nls, String.valueOf(VALUE), FAR_VALUE, notifications);
+		assertEquals("Value outside the default tolerance is set", FAR_VALUE, vpi.getValue());
+		assertFalse("Changed value is notified", notifications.isEmpty());
+		
+		notifications.clear();
+		NumberLiteralSetter exactSetter = new NumberLiteralSetter(0);
+		vpi = setOnFloatProperty(exactSetter, String.valueOf(VALUE), NEXT_VALUE, notifications);
+		assertEquals("Without tolerance every change is set", NEXT_VALUE, vpi.getValue());
+		assertFalse("Changed value is notified", notifications.isEmpty());
+	}
+	
+	@Test
+	public void testSetChangedValue() {
+		NumberLiteralSetter nls = new NumberLiteralSetter();
+		List<Notification> notifications = new ArrayList<>();
+		
+		ValuePropertyInstance vpi = setOnFloatProperty(nls, "1.5", "2.5", notifications);
+		assertEquals("Changed value is set", "2.5", vpi.getValue());
+		assertEquals("Exactly one notification is sent", 1, notifications.size());
+		
+		notifications.clear();
+		vpi = setOnFloatProperty(nls, null, "2.5", notifications);
+		assertEquals("Value is set on an empty instance", "2.5", vpi.getValue());
+		assertEquals("Exactly one notification is sent", 1, notifications.size());
+		
+		notifications.clear();
+		vpi = setOnFloatProperty(nls, "abc", "2.5", notifications);
+		assertEquals("Invalid stored value is replaced", "2.5", vpi.getValue());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeUlpTolerance() {
+		new NumberLiteralSetter(-1);
+	}
 }
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationDefinition;
+import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeDefinitionResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
+import de.dlr.sc.virsat.model.dvlm.categories.ATypeDefinition;
+import de.dlr.sc.virsat.model.dvlm.categories.ATypeInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.Category;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.IntProperty;
+import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.PropertydefinitionsFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ComposedPropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryInstantiator;
+import de.dlr.sc.virsat.model.dvlm.general.IName;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+import de.dlr.sc.virsat.model.dvlm.tree.IStructuralElementInstanceTreeTraverserMatcher;
+import de.dlr.sc.virsat.model.dvlm.tree.TreeTraverser;
+import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
+
+/**
+ * Test cases for the index of set function inputs
+ */
+public class SetFunctionInputIndexTest extends AEquationTest {
+
+	private static final int[] CHILDREN_PER_LEVEL = { 10, 10, 10, 4 };
+	private static final int NUMBER_OF_SET_FUNCTIONS = 500;
+
+	private Category cat;
+	private StructuralElement se;
+	private ResourceSet resourceSet;
+	private List<StructuralElementInstance> seis;
+	private List<Equation> setFunctionEquations;
+
+	@Before
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+
+		se = StructuralFactory.eINSTANCE.createStructuralElement();
+		se.setIsApplicableForAll(true);
+
+		cat = CategoriesFactory.eINSTANCE.createCategory();
+		cat.setName("Mass");
+		cat.setIsApplicableForAll(true);
+		IntProperty value = PropertydefinitionsFactory.eINSTANCE.createIntProperty();
+		value.setName("value");
+		value.setDefaultValue("1");
+		cat.getProperties().add(value);
+
+		EquationDefinition eqDef = CalculationFactory.eINSTANCE.createEquationDefinition();
+		TypeDefinitionResult tdResult = CalculationFactory.eINSTANCE.createTypeDefinitionResult();
+		tdResult.setReference(value);
+		SetFunction summary = CalculationFactory.eINSTANCE.createSetFunction();
+		summary.setOperator("summary");
+		summary.setTypeDefinition(value);
+		eqDef.setResult(tdResult);
+		eqDef.setExpression(summary);
+		cat.getEquationDefinitions().add(eqDef);
+
+		resourceSet = new ResourceSetImpl();
+		seis = new ArrayList<>();
+		setFunctionEquations = new ArrayList<>();
+	}
+
+	/**
+	 * Creates a sei with a mass category assignment in its own resource. The category
+	 * assignment either computes the summary of its children or just provides a value.
+	 * @param parent the parent sei or null for a root sei
+	 * @param withSetFunction true if the category assignment should keep its summary equation
+	 * @return the created sei
+	 */
+	private StructuralElementInstance createSei(StructuralElementInstance parent, boolean withSetFunction) {
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setName("Sei" + seis.size());
+		sei.setType(se);
+
+		CategoryAssignment ca = new CategoryInstantiator().generateInstance(cat, "mass");
+		if (withSetFunction) {
+			setFunctionEquations.addAll(ca.getEquationSection().getEquations());
+		} else {
+			ca.getEquationSection().getEquations().clear();
+		}
+		sei.getCategoryAssignments().add(ca);
+
+		if (parent != null) {
+			parent.getChildren().add(sei);
+		}
+		Resource resource = resourceSet.createResource(URI.createURI("res" + seis.size()));
+		resource.getContents().add(sei);
+		seis.add(sei);
+		return sei;
+	}
+
+	/**
+	 * Creates the children of the given sei level by level. The set functions are distributed
+	 * breadth first, so that every level contributes inputs computed by set functions of children
+	 * as well as plain values.
+	 * @param root the root sei of the tree
+	 */
+	private void createTree(StructuralElementInstance root) {
+		List<StructuralElementInstance> currentLevel = new ArrayList<>();
+		currentLevel.add(root);
+		for (int childrenPerSei : CHILDREN_PER_LEVEL) {
+			List<StructuralElementInstance> nextLevel = new ArrayList<>();
+			for (StructuralElementInstance parent : currentLevel) {
+				for (int i = 0; i < childrenPerSei; i++) {
+					boolean withSetFunction = setFunctionEquations.size() < NUMBER_OF_SET_FUNCTIONS;
+					nextLevel.add(createSei(parent, withSetFunction));
+				}
+			}
+			currentLevel = nextLevel;
+		}
+	}
+
+	/**
+	 * Searches the inputs of a set function the way it has been done before the index existed,
+	 * by traversing the contents of every sei and the equations of every child resource
+	 * for each set function again. Serves as reference for the indexed search.
+	 * @param setFunction the set function
+	 * @return the inputs of the set function
+	 */
+	private List<EObject> getTraversedInputs(SetFunction setFunction) {
+		ATypeDefinition typeDefinition = setFunction.getTypeDefinition();
+		String filterName = setFunction.getFilterName();
+		boolean filterForName = filterName != null && !filterName.equals("");
+
+		ExpressionHelper exprHelper = new ExpressionHelper();
+		StructuralElementInstance sei = exprHelper.getStructuralElementInstance(setFunction);
+		List<EObject> inputs = new ArrayList<>();
+
+		// Child seis computing the same set function contribute their result instead of their contents
+		Set<StructuralElementInstance> childrenWithSetFunction = new HashSet<>();
+		if (setFunction.getDepth() == AAdvancedFunctionOp.DEPTH_INFINITE) {
+			for (StructuralElementInstance child : sei.getChildren()) {
+				VirSatEcoreUtil.getAllContentsOfType(child.eResource(), Equation.class, true).forEachRemaining(eObject -> {
+					Equation equation = (Equation) eObject;
+					AExpression expression = equation.getExpression();
+					if (expression instanceof SetFunction && !childrenWithSetFunction.contains(exprHelper.getStructuralElementInstance(expression))) {
+						SetFunction childSetFunction = (SetFunction) expression;
+						boolean equals = Objects.equals(setFunction.getOperator(), childSetFunction.getOperator())
+								&& Objects.equals(setFunction.getFilterName(), childSetFunction.getFilterName())
+								&& Objects.equals(setFunction.getTypeDefinition(), childSetFunction.getTypeDefinition());
+						if (equals && equation.getResult() instanceof TypeInstanceResult) {
+							inputs.add(((TypeInstanceResult) equation.getResult()).getReference());
+							childrenWithSetFunction.add(child);
+							childrenWithSetFunction.addAll(child.getDeepChildren());
+						}
+					}
+				});
+			}
+		}
+
+		CategoryAssignment currentCa = VirSatEcoreUtil.getEContainerOfClass(setFunction, CategoryAssignment.class);
+
+		new TreeTraverser<StructuralElementInstance>().traverse(sei, new IStructuralElementInstanceTreeTraverserMatcher() {
+			@Override
+			public boolean isMatching(StructuralElementInstance treeSei) {
+				boolean isMatching = false;
+				List<CategoryAssignment> currentCas = new LinkedList<>(treeSei.getCategoryAssignments());
+				Collection<ATypeInstance> typeInstances = VirSatEcoreUtil.getAllContentsOfType(currentCas, ATypeInstance.class, true);
+				typeInstances.addAll(currentCas);
+				typeInstances.remove(currentCa);
+				typeInstances.removeAll(currentCa.getPropertyInstances());
+
+				for (ATypeInstance aTypeInstance : typeInstances) {
+					if (aTypeInstance.getType() == typeDefinition && !childrenWithSetFunction.contains(treeSei)) {
+						ATypeInstance decomposedTypeInstance = aTypeInstance;
+						if (decomposedTypeInstance instanceof ComposedPropertyInstance) {
+							decomposedTypeInstance = ((ComposedPropertyInstance) aTypeInstance).getTypeInstance();
+						}
+						if (!filterForName || hasName(decomposedTypeInstance, filterName)) {
+							inputs.add(decomposedTypeInstance);
+							isMatching = true;
+						}
+					}
+				}
+				return isMatching;
+			}
+
+			@Override
+			public boolean continueTraverseChildren(StructuralElementInstance treeNode, boolean isMatching, int processedLevel, int matchedLevel) {
+				int targetDepth = setFunction.getDepth();
+				return targetDepth == AAdvancedFunctionOp.DEPTH_INFINITE || matchedLevel <= targetDepth;
+			}
+
+			@Override
+			public void processMatch(StructuralElementInstance treeNode, StructuralElementInstance matchingParent) {
+				// Inputs are collected in isMatching
+			}
+		});
+
+		return inputs;
+	}
+
+	/**
+	 * Checks if a type instance or its container has the given name
+	 * @param aTypeInstance the type instance
+	 * @param name the name
+	 * @return true iff the type instance or its container is named accordingly
+	 */
+	private boolean hasName(ATypeInstance aTypeInstance, String name) {
+		if (aTypeInstance instanceof IName) {
+			return ((IName) aTypeInstance).getName().equals(name);
+		} else if (aTypeInstance.eContainer() instanceof IName) {
+			return ((IName) aTypeInstance.eContainer()).getName().equals(name);
+		}
+		return false;
+	}
+
+	@Test
+	public void testIndexedInputsEqualUnindexedInputs() {
+		final int EXPECTED_SEIS = 5111;
+
+		StructuralElementInstance root = createSei(null, true);
+		createTree(root);
+		assertEquals("Tree has been created", EXPECTED_SEIS, seis.size());
+		assertEquals("All set functions have been created", NUMBER_OF_SET_FUNCTIONS, setFunctionEquations.size());
+
+		// Count how often the contents of each sei are traversed within one evaluation pass
+		Map<StructuralElementInstance, Integer> mapSeiToTraversals = new HashMap<>();
+		SetFunctionInputIndex countingIndex = new SetFunctionInputIndex() {
+			@Override
+			protected Map<ATypeDefinition, List<ATypeInstance>> indexTypeInstances(StructuralElementInstance sei) {
+				mapSeiToTraversals.merge(sei, 1, Integer::sum);
+				return super.indexTypeInstances(sei);
+			}
+		};
+		ExpressionHelper indexedExprHelper = new ExpressionHelper() {
+			@Override
+			protected SetFunctionInputIndex getSetFunctionInputIndex() {
+				return countingIndex;
+			}
+		};
+		List<List<EObject>> indexedInputs = new ArrayList<>();
+		for (Equation equation : setFunctionEquations) {
+			indexedInputs.add(indexedExprHelper.getDependencies(equation.getExpression()));
+		}
+
+		for (int i = 0; i < setFunctionEquations.size(); i++) {
+			List<EObject> unindexedInputs = getTraversedInputs((SetFunction) setFunctionEquations.get(i).getExpression());
+			assertFalse("Set function has inputs", unindexedInputs.isEmpty());
+			assertEquals("Indexed inputs are identical", unindexedInputs, indexedInputs.get(i));
+		}
+
+		assertEquals("Every sei got indexed", EXPECTED_SEIS, mapSeiToTraversals.size());
+		for (Integer traversals : mapSeiToTraversals.values()) {
+			assertEquals("Every sei is traversed only once", Integer.valueOf(1), traversals);
+		}
+	}
+
+	@Test
+	public void testEvaluationPass() {
+		StructuralElementInstance root = createSei(null, true);
+		StructuralElementInstance child = createSei(root, false);
+
+		ExpressionHelper exprHelper = new ExpressionHelper();
+		exprHelper.beginEvaluationPass();
+		SetFunctionInputIndex index = exprHelper.getSetFunctionInputIndex();
+		assertEquals("Index is shared within the pass", index, exprHelper.getSetFunctionInputIndex());
+
+		List<EObject> inputs = exprHelper.getDependencies(setFunctionEquations.get(0).getExpression());
+		assertEquals("Input of the child is found", child.getCategoryAssignments().get(0).getPropertyInstances().get(0), inputs.get(0));
+		assertEquals("Both seis have been indexed", 2, index.getIndexedSeiCount());
+
+		exprHelper.endEvaluationPass();
+		assertEquals("Outside of a pass a fresh index is used", 0, exprHelper.getSetFunctionInputIndex().getIndexedSeiCount());
+	}
+
+	@Test
+	public void testNestedEvaluationPass() {
+		ExpressionHelper exprHelper = new ExpressionHelper();
+		exprHelper.beginEvaluationPass();
+		SetFunctionInputIndex index = exprHelper.getSetFunctionInputIndex();
+
+		exprHelper.beginEvaluationPass();
+		assertSame("Nested pass shares the index of the outer pass", index, exprHelper.getSetFunctionInputIndex());
+		exprHelper.endEvaluationPass();
+		assertSame("Index is kept until the outer pass ends", index, exprHelper.getSetFunctionInputIndex());
+
+		exprHelper.endEvaluationPass();
+		assertNotSame("Index is released by the outer pass", index, exprHelper.getSetFunctionInputIndex());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEndEvaluationPassWithoutBegin() {
+		new ExpressionHelper().endEvaluationPass();
+	}
+}
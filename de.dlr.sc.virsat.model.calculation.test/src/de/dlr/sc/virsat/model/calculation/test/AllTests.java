@@ -14,11 +14,20 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import de.dlr.sc.virsat.model.calculation.compute.AdvancedFunctionOpTest;
+import de.dlr.sc.virsat.model.calculation.compute.CompiledEquationTest;
+import de.dlr.sc.virsat.model.calculation.compute.EquationDependencyGraphTest;
 import de.dlr.sc.virsat.model.calculation.compute.EquationHelperTest;
+import de.dlr.sc.virsat.model.calculation.compute.EquationProfilerTest;
+import de.dlr.sc.virsat.model.calculation.compute.ExpressionExtensionRegistryTest;
 import de.dlr.sc.virsat.model.calculation.compute.ExpressionHelperTest;
+import de.dlr.sc.virsat.model.calculation.compute.HeadlessEquationEvaluatorTest;
 import de.dlr.sc.virsat.model.calculation.compute.IncrementalEquationBuilderTest;
+import de.dlr.sc.virsat.model.calculation.compute.IntervalEvaluatorTest;
+import de.dlr.sc.virsat.model.calculation.compute.IntervalResultHelperTest;
 import de.dlr.sc.virsat.model.calculation.compute.NumberLiteralResultHelperTest;
 import de.dlr.sc.virsat.model.calculation.compute.NumberLiteralSetterTest;
+import de.dlr.sc.virsat.model.calculation.compute.SetFunctionInputIndexTest;
 import de.dlr.sc.virsat.model.calculation.compute.UnresolvedSetFunctionHelperTest;
 import de.dlr.sc.virsat.model.calculation.marker.VirSatEquationMarkerHelperTest;
 import de.dlr.sc.virsat.model.calculation.serializer.SafeEquationDSLSemanticSequencerTest;
@@ -41,6 +50,15 @@ import junit.framework.JUnit4TestAdapter;
 				VirSatEquationMarkerHelperTest.class,
 				UnitPropertyValueValidatorTest.class,
 				NumberLiteralSetterTest.class,
+				SetFunctionInputIndexTest.class,
+				CompiledEquationTest.class,
+				ExpressionExtensionRegistryTest.class,
+				EquationProfilerTest.class,
+				AdvancedFunctionOpTest.class,
+				HeadlessEquationEvaluatorTest.class,
+				IntervalResultHelperTest.class,
+				IntervalEvaluatorTest.class,
+				EquationDependencyGraphTest.class,
 				SafeEquationDSLSemanticSequencerTest.class
 			  })
 
@@ -35,6 +35,24 @@ public abstract class AAdvancedFunctionOp {
 	 */
 	public abstract double apply(double[] inputs);
 	
+	/**
+	 * Apply this operation to inputs that are only known to lie within intervals.
+	 * Standard implementation: Apply the operation to the lower and to the upper bounds,
+	 * which yields the exact bounds for operations that are monotone in each input,
+	 * such as sums, means, minima, maxima and counts.
+	 * 
+	 * Clients with non monotone operations have to override this method!
+	 * 
+	 * @param lowerBounds the lower bounds of the inputs
+	 * @param upperBounds the upper bounds of the inputs
+	 * @return an array containing the lower and the upper bound of the result
+	 */
+	public double[] applyOnBounds(double[] lowerBounds, double[] upperBounds) {
+		double lower = apply(lowerBounds);
+		double upper = apply(upperBounds);
+		return new double[] {Math.min(lower, upper), Math.max(lower, upper)};
+	}
+	
 	/**
 	 * Apply this operation to the quantity kinds of the passed inputs
 	 * Standard implementation: Take the first quantity kind map
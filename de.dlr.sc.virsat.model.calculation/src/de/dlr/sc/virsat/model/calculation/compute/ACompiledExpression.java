@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
+
+/**
+ * Node of a compiled expression tree. Each node knows the kind of expression it represents
+ * and holds its compiled operands, so evaluating it needs neither a switch over the expression
+ * type nor a navigation of the EMF containment. The results are shared via the interim result map
+ * in the same way as when interpreting the expression.
+ */
+public abstract class ACompiledExpression {
+
+	protected final AExpression expression;
+
+	/**
+	 * Constructor for a compiled expression node
+	 * @param expression the expression represented by this node
+	 */
+	public ACompiledExpression(AExpression expression) {
+		this.expression = expression;
+	}
+
+	/**
+	 * Gets the expression represented by this node
+	 * @return the expression
+	 */
+	public AExpression getExpression() {
+		return expression;
+	}
+
+	/**
+	 * Evaluates the expression unless there already is a result for it in the interim result map
+	 * @param exprHelper the expression helper providing the evaluators and getters
+	 * @param interimResultMap map of previously computed results
+	 * @return the result of the evaluation
+	 */
+	public IExpressionResult evaluate(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+		if (interimResultMap.containsKey(expression)) {
+			return interimResultMap.get(expression);
+		}
+
+		IExpressionResult result = compute(exprHelper, interimResultMap);
+		interimResultMap.put(expression, result);
+		return result;
+	}
+
+	/**
+	 * Computes the result of the expression
+	 * @param exprHelper the expression helper providing the evaluators and getters
+	 * @param interimResultMap map of previously computed results
+	 * @return the result of the expression
+	 */
+	protected abstract IExpressionResult compute(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap);
+}
@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.ALeftOpRightExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.ALiteral;
+import de.dlr.sc.virsat.model.dvlm.calculation.AOpRightExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.AdvancedFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationPackage;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.ReferencedInput;
+import de.dlr.sc.virsat.model.dvlm.calculation.SetFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.util.CalculationSwitch;
+
+/**
+ * Holds the compiled expression tree of an equation. The adapter is attached to the equation
+ * and drops the compiled tree as soon as the expression of the equation changes, so that it
+ * gets compiled again on the next evaluation. Changes to the result text of the equation,
+ * as they happen on every evaluation, keep the compiled tree. Each node of the tree remembers
+ * the evaluator or getter that handled it, and the compiled equation remembers the setter of the result,
+ * so that later evaluations do not need to search the registered extensions again.
+ */
+public class CompiledEquation extends EContentAdapter {
+
+	private Equation equation;
+	private Map<AExpression, ACompiledExpression> mapExpressionToCompiled;
+	private final DispatchCache<IResultSetter> setterCache = new DispatchCache<>();
+
+	/**
+	 * Constructor for the compiled equation
+	 * @param equation the equation to be compiled
+	 */
+	protected CompiledEquation(Equation equation) {
+		this.equation = equation;
+	}
+
+	/**
+	 * Gets the compiled equation attached to the given equation. In case there is none yet, a new one gets attached.
+	 * @param equation the equation to get the compiled equation for
+	 * @return the compiled equation
+	 */
+	public static CompiledEquation getCompiledEquation(Equation equation) {
+		synchronized (equation) {
+			for (Adapter adapter : equation.eAdapters()) {
+				if (adapter instanceof CompiledEquation) {
+					return (CompiledEquation) adapter;
+				}
+			}
+
+			CompiledEquation compiledEquation = new CompiledEquation(equation);
+			equation.eAdapters().add(compiledEquation);
+			return compiledEquation;
+		}
+	}
+
+	/**
+	 * Gets the compiled node of an expression of the equation. The equation gets compiled if necessary.
+	 * @param expression an expression contained in the equation
+	 * @return the compiled node of the expression or null if the expression is not part of the equation
+	 */
+	public synchronized ACompiledExpression getCompiledExpression(AExpression expression) {
+		if (mapExpressionToCompiled == null) {
+			mapExpressionToCompiled = new HashMap<>();
+			AExpression rootExpression = equation.getExpression();
+			if (rootExpression != null) {
+				compile(rootExpression);
+			}
+		}
+		return mapExpressionToCompiled.get(expression);
+	}
+
+	/**
+	 * Gets the cache remembering the setter applicable for the result of the equation
+	 * @return the setter cache
+	 */
+	DispatchCache<IResultSetter> getSetterCache() {
+		return setterCache;
+	}
+
+	/**
+	 * Checks if the equation is currently compiled
+	 * @return true if there is a compiled expression tree that is up to date
+	 */
+	public synchronized boolean isCompiled() {
+		return mapExpressionToCompiled != null;
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		if (notification.isTouch() || notification.getEventType() == Notification.REMOVING_ADAPTER) {
+			return;
+		}
+
+		// Everything apart from the expression tree is irrelevant for the compilation
+		boolean isEquationFeature = notification.getNotifier() == equation;
+		boolean isExpressionFeature = notification.getFeature() == CalculationPackage.Literals.EQUATION__EXPRESSION;
+		if (!isEquationFeature || isExpressionFeature) {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Drops the compiled expression tree
+	 */
+	private synchronized void invalidate() {
+		mapExpressionToCompiled = null;
+	}
+
+	/**
+	 * Compiles an expression and all its sub expressions
+	 * @param expression the expression to compile
+	 * @return the compiled node of the expression
+	 */
+	private ACompiledExpression compile(AExpression expression) {
+		CalculationSwitch<ACompiledExpression> compileSwitch = new CalculationSwitch<ACompiledExpression>() {
+			@Override
+			public ACompiledExpression caseReferencedInput(ReferencedInput object) {
+				return new CompiledReferencedInput(object);
+			}
+
+			@Override
+			public ACompiledExpression caseALiteral(ALiteral object) {
+				return new CompiledLiteral(object);
+			}
+
+			@Override
+			public ACompiledExpression caseALeftOpRightExpression(ALeftOpRightExpression object) {
+				return new CompiledLeftOpRight(object, compile(object.getLeft()), compile(object.getRight()));
+			}
+
+			@Override
+			public ACompiledExpression caseAdvancedFunction(AdvancedFunction object) {
+				List<ACompiledExpression> inputs = new ArrayList<>();
+				for (AExpression input : object.getInputs()) {
+					inputs.add(compile(input));
+				}
+				return new CompiledAdvancedFunction(object, inputs.toArray(new ACompiledExpression[inputs.size()]));
+			}
+
+			@Override
+			public ACompiledExpression caseSetFunction(SetFunction object) {
+				return new CompiledSetFunction(object);
+			}
+
+			@Override
+			public ACompiledExpression caseAOpRightExpression(AOpRightExpression object) {
+				return new CompiledOpRight(object, compile(object.getRight()));
+			}
+
+			@Override
+			public ACompiledExpression defaultCase(EObject object) {
+				return new InterpretedExpression((AExpression) object);
+			}
+		};
+
+		ACompiledExpression compiledExpression = compileSwitch.doSwitch(expression);
+		mapExpressionToCompiled.put(expression, compiledExpression);
+		return compiledExpression;
+	}
+
+	/**
+	 * Literals are directly handed to the input getters
+	 */
+	private static class CompiledLiteral extends ACompiledExpression {
+
+		private final DispatchCache<IInputGetter> getterCache = new DispatchCache<>();
+
+		/**
+		 * Constructor
+		 * @param literal the literal
+		 */
+		CompiledLiteral(ALiteral literal) {
+			super(literal);
+		}
+
+		@Override
+		protected IExpressionResult compute(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+			return exprHelper.performGet(expression, getterCache);
+		}
+	}
+
+	/**
+	 * Referenced inputs resolve their reference on evaluation, since the referenced
+	 * model elements are not part of the equation and may change at any time
+	 */
+	private static class CompiledReferencedInput extends ACompiledExpression {
+
+		private final DispatchCache<IInputGetter> getterCache = new DispatchCache<>();
+
+		/**
+		 * Constructor
+		 * @param referencedInput the referenced input
+		 */
+		CompiledReferencedInput(ReferencedInput referencedInput) {
+			super(referencedInput);
+		}
+
+		@Override
+		protected IExpressionResult compute(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+			IExpressionResult result = exprHelper.evaluateReferencedInput((ReferencedInput) expression, interimResultMap, getterCache);
+			if (result == null) {
+				// Same fall back as for interpreting a referenced input as literal
+				return exprHelper.performGet(expression, getterCache);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Operations with a left and a right operand
+	 */
+	private static class CompiledLeftOpRight extends ACompiledExpression {
+
+		private final ACompiledExpression left;
+		private final ACompiledExpression right;
+		private final DispatchCache<IExpressionEvaluator> evaluatorCache = new DispatchCache<>();
+
+		/**
+		 * Constructor
+		 * @param operation the operation
+		 * @param left the compiled left operand
+		 * @param right the compiled right operand
+		 */
+		CompiledLeftOpRight(ALeftOpRightExpression operation, ACompiledExpression left, ACompiledExpression right) {
+			super(operation);
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		protected IExpressionResult compute(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+			IExpressionResult leftResult = left.evaluate(exprHelper, interimResultMap);
+			IExpressionResult rightResult = right.evaluate(exprHelper, interimResultMap);
+			return exprHelper.applyEvaluators((ALeftOpRightExpression) expression, leftResult, rightResult, evaluatorCache);
+		}
+	}
+
+	/**
+	 * Functions and parenthesis with a single operand
+	 */
+	private static class CompiledOpRight extends ACompiledExpression {
+
+		private final ACompiledExpression right;
+		private final DispatchCache<IExpressionEvaluator> evaluatorCache = new DispatchCache<>();
+
+		/**
+		 * Constructor
+		 * @param operation the operation
+		 * @param right the compiled operand
+		 */
+		CompiledOpRight(AOpRightExpression operation, ACompiledExpression right) {
+			super(operation);
+			this.right = right;
+		}
+
+		@Override
+		protected IExpressionResult compute(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+			IExpressionResult rightResult = right.evaluate(exprHelper, interimResultMap);
+			return exprHelper.applyEvaluators((AOpRightExpression) expression, rightResult, evaluatorCache);
+		}
+	}
+
+	/**
+	 * Functions operating on a list of expressions
+	 */
+	private static class CompiledAdvancedFunction extends ACompiledExpression {
+
+		private final ACompiledExpression[] inputs;
+		private final DispatchCache<IExpressionEvaluator> evaluatorCache = new DispatchCache<>();
+
+		/**
+		 * Constructor
+		 * @param function the function
+		 * @param inputs the compiled inputs of the function
+		 */
+		CompiledAdvancedFunction(AdvancedFunction function, ACompiledExpression[] inputs) {
+			super(function);
+			this.inputs = inputs;
+		}
+
+		@Override
+		protected IExpressionResult compute(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+			List<IExpressionResult> results = new ArrayList<>(inputs.length);
+			for (ACompiledExpression input : inputs) {
+				results.add(input.evaluate(exprHelper, interimResultMap));
+			}
+			return exprHelper.applyEvaluators((AdvancedFunction) expression, results, evaluatorCache);
+		}
+	}
+
+	/**
+	 * Set functions search their inputs on evaluation, since they depend on
+	 * the structure of the model around the equation
+	 */
+	private static class CompiledSetFunction extends ACompiledExpression {
+
+		private final DispatchCache<IInputGetter> getterCache = new DispatchCache<>();
+		private final DispatchCache<IExpressionEvaluator> evaluatorCache = new DispatchCache<>();
+
+		/**
+		 * Constructor
+		 * @param setFunction the set function
+		 */
+		CompiledSetFunction(SetFunction setFunction) {
+			super(setFunction);
+		}
+
+		@Override
+		protected IExpressionResult compute(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+			return exprHelper.evaluateSetFunction((SetFunction) expression, interimResultMap, getterCache, evaluatorCache);
+		}
+	}
+
+	/**
+	 * Fall back for expressions that have no compiled representation
+	 */
+	private static class InterpretedExpression extends ACompiledExpression {
+
+		/**
+		 * Constructor
+		 * @param expression the expression to be interpreted
+		 */
+		InterpretedExpression(AExpression expression) {
+			super(expression);
+		}
+
+		@Override
+		public IExpressionResult evaluate(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+			return exprHelper.interpret(expression, interimResultMap);
+		}
+
+		@Override
+		protected IExpressionResult compute(ExpressionHelper exprHelper, Map<EObject, IExpressionResult> interimResultMap) {
+			return exprHelper.interpret(expression, interimResultMap);
+		}
+	}
+}
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import de.dlr.sc.virsat.model.calculation.compute.extensions.EnumPropertySetter;
+import de.dlr.sc.virsat.model.calculation.compute.extensions.IntervalEvaluator;
 import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralEvaluator;
 import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralGetter;
 import de.dlr.sc.virsat.model.calculation.compute.extensions.NumberLiteralSetter;
@@ -21,7 +22,7 @@ import de.dlr.sc.virsat.model.calculation.compute.extensions.ValuePropertyGetter
 
 /**
  * This class provides the default extensions for handling expressions.
- * That is, it provides the necessary capabilities for dealing with numbers, value property instances,
+ * That is, it provides the necessary capabilities for dealing with numbers, intervals, value property instances,
  * enums and unresolved expressions.
  * @author muel_s8
  *
@@ -41,7 +42,7 @@ public class DefaultExpressionExtender implements IExpressionExtender {
 
 	@Override
 	public List<IExpressionEvaluator> getExpressionEvaluators() {
-		return Arrays.asList(new NumberLiteralEvaluator(), new UnresolvedExpressionEvaluator());
+		return Arrays.asList(new NumberLiteralEvaluator(), new IntervalEvaluator(), new UnresolvedExpressionEvaluator());
 	}
 
 }
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Remembers which evaluator, getter or setter handled a node of a compiled expression tree.
+ * The extensions select themselves by the types of the values they are applied to, so as long as
+ * a node sees values of the same types, the remembered extension is applied right away instead of
+ * asking all extensions in their order. In case the remembered extension does not apply, all
+ * extensions are asked again.
+ * @param <T> the type of the extensions
+ */
+class DispatchCache<T> {
+
+	private volatile Entry<T> entry;
+
+	/**
+	 * Applies the first applicable extension to the given operands, starting with the remembered one
+	 * @param cache the cache of the node or null to ask all extensions in their order
+	 * @param extensions the extensions in the order in which they are asked
+	 * @param operands the values to which the extension is applied
+	 * @param call applies an extension and returns null in case the extension is not applicable
+	 * @param <T> the type of the extensions
+	 * @param <R> the type of the result
+	 * @return the result of the first applicable extension or null if none is applicable
+	 */
+	static <T, R> R dispatch(DispatchCache<T> cache, List<T> extensions, List<?> operands, Function<T, R> call) {
+		if (cache != null) {
+			Entry<T> current = cache.entry;
+			if (current != null && current.matches(extensions, operands)) {
+				R result = call.apply(current.extension);
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+
+		for (T extension : extensions) {
+			R result = call.apply(extension);
+			if (result != null) {
+				if (cache != null) {
+					cache.entry = new Entry<>(extensions, operands, extension);
+				}
+				return result;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the type of an operand
+	 * @param operand the operand
+	 * @return the class of the operand or null for a missing operand
+	 */
+	private static Class<?> getType(Object operand) {
+		return operand == null ? null : operand.getClass();
+	}
+
+	/**
+	 * The remembered extension together with the types of the operands it was applied to.
+	 * Entries are never changed, so they can be shared between threads evaluating the same tree.
+	 * @param <T> the type of the extension
+	 */
+	private static class Entry<T> {
+
+		private final List<T> extensions;
+		private final Class<?>[] operandTypes;
+		private final T extension;
+
+		/**
+		 * Constructor
+		 * @param extensions the extensions the remembered one has been selected from
+		 * @param operands the operands the extension has been applied to
+		 * @param extension the applicable extension
+		 */
+		Entry(List<T> extensions, List<?> operands, T extension) {
+			this.extensions = extensions;
+			this.extension = extension;
+			operandTypes = new Class<?>[operands.size()];
+			for (int i = 0; i < operandTypes.length; i++) {
+				operandTypes[i] = getType(operands.get(i));
+			}
+		}
+
+		/**
+		 * Checks if the remembered extension has been selected for operands of the same types
+		 * @param extensions the extensions to select from
+		 * @param operands the operands to apply an extension to
+		 * @return true if the remembered extension can be applied first
+		 */
+		boolean matches(List<T> extensions, List<?> operands) {
+			if (this.extensions != extensions || operandTypes.length != operands.size()) {
+				return false;
+			}
+			for (int i = 0; i < operandTypes.length; i++) {
+				if (operandTypes[i] != getType(operands.get(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
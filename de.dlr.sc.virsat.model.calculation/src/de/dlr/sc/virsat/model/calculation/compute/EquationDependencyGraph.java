@@ -0,0 +1,409 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.IEquationResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
+import de.dlr.sc.virsat.project.structure.VirSatProjectCommons;
+
+/**
+ * Resource level view on the dependencies between the equations of a project. Each equation is identified
+ * by the uuid of its result and knows the resource it is stored in, the resources of its inputs and the
+ * equations whose results it reads. The graph is persisted in the unversioned folder of the project, so that
+ * the first incremental build after a restart only needs to load the resources affected by a change.
+ * Together with the resources the graph stores their time stamps, which are used to detect changes
+ * that happened while the graph was not maintained.
+ */
+public class EquationDependencyGraph {
+
+	public static final String FILE_NAME = "EquationDependencyGraph.txt";
+	public static final String HEADER = "# VirSat equation dependency graph v1";
+
+	private static final String SEPARATOR = "\t";
+	private static final String LIST_SEPARATOR = " ";
+	private static final String RESOURCE_ENTRY = "resource";
+	private static final String EQUATION_ENTRY = "equation";
+	private static final int RESOURCE_ENTRY_FIELDS = 3;
+	private static final int EQUATION_ENTRY_FIELDS = 5;
+	private static final int INDEX_INPUT_RESOURCES = 3;
+	private static final int INDEX_DEPENDENCIES = 4;
+
+	public static final long TIMESTAMP_MISSING = -1;
+
+	private Map<String, Long> resourceTimestamps = new TreeMap<>();
+	private Map<String, String> equationResources = new TreeMap<>();
+	private Map<String, Set<String>> equationInputResources = new HashMap<>();
+	private Map<String, Set<String>> equationDependencies = new HashMap<>();
+
+	/**
+	 * Creates the graph for the given equations
+	 * @param equations the equations
+	 * @param exprHelper the expression helper used to compute the dependencies of the expressions
+	 * @return the graph or null if some equation cannot be identified by the uuid of its result
+	 */
+	public static EquationDependencyGraph create(List<Equation> equations, ExpressionHelper exprHelper) {
+		EquationDependencyGraph graph = new EquationDependencyGraph();
+
+		// Map computed type instances to the equations computing them
+		Map<EObject, String> mapComputedObjectToUuid = new HashMap<>();
+		for (Equation equation : equations) {
+			IEquationResult result = equation.getResult();
+			if (result == null || result.getUuid() == null || equation.eResource() == null) {
+				return null;
+			}
+			String uuid = result.getUuid().toString();
+			mapComputedObjectToUuid.put(result, uuid);
+			if (result instanceof TypeInstanceResult && ((TypeInstanceResult) result).getReference() != null) {
+				mapComputedObjectToUuid.put(((TypeInstanceResult) result).getReference(), uuid);
+			}
+		}
+
+		for (Equation equation : equations) {
+			String uuid = equation.getResult().getUuid().toString();
+			String resourceUri = equation.eResource().getURI().toString();
+			Set<String> inputResources = new TreeSet<>();
+			Set<String> dependencies = new TreeSet<>();
+
+			// Walk through the expression tree and collect the inputs that are no expressions
+			Deque<EObject> toProcess = new ArrayDeque<>();
+			Set<EObject> processed = new HashSet<>();
+			toProcess.add(equation.getExpression());
+			while (!toProcess.isEmpty()) {
+				EObject object = toProcess.poll();
+				if (object == null || !processed.add(object)) {
+					continue;
+				}
+
+				if (object instanceof AExpression) {
+					toProcess.addAll(exprHelper.getDependencies((AExpression) object));
+				} else {
+					Resource inputResource = object.eResource();
+					if (inputResource != null && !inputResource.getURI().toString().equals(resourceUri)) {
+						inputResources.add(inputResource.getURI().toString());
+					}
+					String dependencyUuid = mapComputedObjectToUuid.get(object);
+					if (dependencyUuid != null && !dependencyUuid.equals(uuid)) {
+						dependencies.add(dependencyUuid);
+					}
+				}
+			}
+
+			graph.addEquation(uuid, resourceUri, inputResources, dependencies);
+		}
+
+		return graph;
+	}
+
+	/**
+	 * Adds an equation to the graph
+	 * @param uuid the uuid of the result of the equation
+	 * @param resourceUri the uri of the resource containing the equation
+	 * @param inputResources the uris of the resources of the inputs of the equation
+	 * @param dependencies the uuids of the results of the equations this equation depends on
+	 */
+	public void addEquation(String uuid, String resourceUri, Collection<String> inputResources, Collection<String> dependencies) {
+		equationResources.put(uuid, resourceUri);
+		equationInputResources.put(uuid, new TreeSet<>(inputResources));
+		equationDependencies.put(uuid, new TreeSet<>(dependencies));
+
+		resourceTimestamps.putIfAbsent(resourceUri, TIMESTAMP_MISSING);
+		inputResources.forEach(inputResource -> resourceTimestamps.putIfAbsent(inputResource, TIMESTAMP_MISSING));
+	}
+
+	/**
+	 * Replaces the part of the graph that has been rebuilt from a subset of the resources
+	 * @param rebuiltResources the uris of the resources whose equations have been rebuilt
+	 * @param rebuiltGraph the graph of the equations in the rebuilt resources
+	 */
+	public void replace(Collection<String> rebuiltResources, EquationDependencyGraph rebuiltGraph) {
+		Iterator<Entry<String, String>> iterator = equationResources.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Entry<String, String> entry = iterator.next();
+			if (rebuiltResources.contains(entry.getValue())) {
+				equationInputResources.remove(entry.getKey());
+				equationDependencies.remove(entry.getKey());
+				iterator.remove();
+			}
+		}
+
+		for (Entry<String, String> entry : rebuiltGraph.equationResources.entrySet()) {
+			String uuid = entry.getKey();
+			addEquation(uuid, entry.getValue(), rebuiltGraph.equationInputResources.get(uuid), rebuiltGraph.equationDependencies.get(uuid));
+		}
+	}
+
+	/**
+	 * Computes the resources that have to be loaded to rebuild all equations affected by changes to the given resources.
+	 * An equation is affected if it is stored in a changed resource, if it reads an input from a changed resource or
+	 * if it depends on the result of an affected equation.
+	 * @param changedResources the uris of the changed resources
+	 * @return the uris of the changed resources together with the uris of the resources of all affected equations
+	 */
+	public Set<String> getAffectedResources(Collection<String> changedResources) {
+		// Invert the edges so that we can walk from an equation to the equations depending on it
+		Map<String, Set<String>> dependents = new HashMap<>();
+		equationDependencies.forEach((uuid, dependencies) -> {
+			for (String dependency : dependencies) {
+				dependents.computeIfAbsent(dependency, key -> new HashSet<>()).add(uuid);
+			}
+		});
+
+		Deque<String> toProcess = new ArrayDeque<>();
+		for (Entry<String, String> entry : equationResources.entrySet()) {
+			String uuid = entry.getKey();
+			if (changedResources.contains(entry.getValue()) || !Collections.disjoint(changedResources, equationInputResources.get(uuid))) {
+				toProcess.add(uuid);
+			}
+		}
+
+		Set<String> affectedEquations = new HashSet<>();
+		while (!toProcess.isEmpty()) {
+			String uuid = toProcess.poll();
+			if (affectedEquations.add(uuid)) {
+				toProcess.addAll(dependents.getOrDefault(uuid, Collections.emptySet()));
+			}
+		}
+
+		Set<String> affectedResources = new TreeSet<>(changedResources);
+		affectedEquations.forEach(uuid -> affectedResources.add(equationResources.get(uuid)));
+		return affectedResources;
+	}
+
+	/**
+	 * Gets the uris of all resources known to the graph
+	 * @return the uris of the resources containing equations or their inputs
+	 */
+	public Set<String> getResources() {
+		return Collections.unmodifiableSet(resourceTimestamps.keySet());
+	}
+
+	/**
+	 * Gets the uuids of the results of all equations in the graph
+	 * @return the uuids identifying the equations
+	 */
+	public Set<String> getEquations() {
+		return Collections.unmodifiableSet(equationResources.keySet());
+	}
+
+	/**
+	 * Gets the uuids of the results of the equations an equation depends on
+	 * @param uuid the uuid of the result of the equation
+	 * @return the uuids of the equations this equation depends on
+	 */
+	public Set<String> getDependencies(String uuid) {
+		return Collections.unmodifiableSet(equationDependencies.getOrDefault(uuid, Collections.emptySet()));
+	}
+
+	/**
+	 * Stores the current time stamps of all resources in the graph. This should be called
+	 * after the resources have been saved and before the graph is written.
+	 */
+	public void updateTimestamps() {
+		resourceTimestamps.replaceAll((uri, timestamp) -> getTimestamp(uri));
+	}
+
+	/**
+	 * Checks if the graph still describes the resources on the file system. This is the case
+	 * if no resource known to the graph has been changed since the time stamps have been stored,
+	 * except for the given resources which are about to be rebuilt.
+	 * @param changedResources the uris of the resources that are known to be changed
+	 * @return true iff all other resources still have their stored time stamp
+	 */
+	public boolean isUpToDate(Collection<String> changedResources) {
+		for (Entry<String, Long> entry : resourceTimestamps.entrySet()) {
+			String uri = entry.getKey();
+			long timestamp = entry.getValue();
+			if (!changedResources.contains(uri) && (timestamp == TIMESTAMP_MISSING || timestamp != getTimestamp(uri))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the time stamp of the file behind a platform resource uri
+	 * @param uri the uri of the resource
+	 * @return the last modification time of the file or {@link #TIMESTAMP_MISSING} if it does not exist
+	 */
+	protected long getTimestamp(String uri) {
+		URI resourceUri = URI.createURI(uri);
+		if (!resourceUri.isPlatformResource()) {
+			return TIMESTAMP_MISSING;
+		}
+
+		IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(new org.eclipse.core.runtime.Path(resourceUri.toPlatformString(true)));
+		IPath location = file.getLocation();
+		if (location == null) {
+			return TIMESTAMP_MISSING;
+		}
+
+		File localFile = location.toFile();
+		return localFile.exists() ? localFile.lastModified() : TIMESTAMP_MISSING;
+	}
+
+	/**
+	 * Writes the graph
+	 * @param writer the writer to write to
+	 * @throws IOException if writing fails
+	 */
+	public void write(Writer writer) throws IOException {
+		writer.write(HEADER);
+		writer.write(System.lineSeparator());
+
+		for (Entry<String, Long> entry : resourceTimestamps.entrySet()) {
+			writer.write(String.join(SEPARATOR, RESOURCE_ENTRY, entry.getKey(), String.valueOf(entry.getValue())));
+			writer.write(System.lineSeparator());
+		}
+
+		for (Entry<String, String> entry : equationResources.entrySet()) {
+			String uuid = entry.getKey();
+			String[] values = {
+				EQUATION_ENTRY,
+				uuid,
+				entry.getValue(),
+				String.join(LIST_SEPARATOR, equationInputResources.get(uuid)),
+				String.join(LIST_SEPARATOR, equationDependencies.get(uuid))
+			};
+			writer.write(String.join(SEPARATOR, values));
+			writer.write(System.lineSeparator());
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Gets the file of the graph in the unversioned folder of a project
+	 * @param project the project
+	 * @return the path of the file, it may not exist yet
+	 */
+	public static Path getFile(IProject project) {
+		IFolder unversionedFolder = project.getFolder(VirSatProjectCommons.FOLDERNAME_UNVERSIONED);
+		return unversionedFolder.getLocation().toFile().toPath().resolve(FILE_NAME);
+	}
+
+	/**
+	 * Writes the graph into the unversioned folder of the given project. The file is written
+	 * directly to the file system, so that it does not trigger another build.
+	 * @param project the project of the equations
+	 * @return the path of the written file
+	 * @throws IOException if writing fails
+	 */
+	public Path write(IProject project) throws IOException {
+		Path file = getFile(project);
+		Files.createDirectories(file.getParent());
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			write(writer);
+		}
+		return file;
+	}
+
+	/**
+	 * Reads a graph
+	 * @param reader the reader to read from
+	 * @return the read graph or null if the content is not a valid graph
+	 * @throws IOException if reading fails
+	 */
+	public static EquationDependencyGraph read(Reader reader) throws IOException {
+		BufferedReader bufferedReader = new BufferedReader(reader);
+		if (!HEADER.equals(bufferedReader.readLine())) {
+			return null;
+		}
+
+		EquationDependencyGraph graph = new EquationDependencyGraph();
+		Map<String, Long> timestamps = new HashMap<>();
+		String line;
+		while ((line = bufferedReader.readLine()) != null) {
+			String[] values = line.split(SEPARATOR, -1);
+			if (values[0].equals(RESOURCE_ENTRY) && values.length == RESOURCE_ENTRY_FIELDS) {
+				try {
+					timestamps.put(values[1], Long.parseLong(values[2]));
+				} catch (NumberFormatException e) {
+					return null;
+				}
+			} else if (values[0].equals(EQUATION_ENTRY) && values.length == EQUATION_ENTRY_FIELDS) {
+				graph.addEquation(values[1], values[2], split(values[INDEX_INPUT_RESOURCES]), split(values[INDEX_DEPENDENCIES]));
+			} else {
+				return null;
+			}
+		}
+
+		// Resources that are not listed with a time stamp remain missing and thus outdated
+		graph.resourceTimestamps.putAll(timestamps);
+		return graph;
+	}
+
+	/**
+	 * Splits a list written by {@link #write(Writer)}
+	 * @param list the list
+	 * @return the entries of the list
+	 */
+	private static List<String> split(String list) {
+		return list.isEmpty() ? Collections.emptyList() : Arrays.asList(list.split(LIST_SEPARATOR));
+	}
+
+	/**
+	 * Reads the graph from the unversioned folder of the given project
+	 * @param project the project of the equations
+	 * @return the read graph or null if there is no valid graph
+	 * @throws IOException if reading fails
+	 */
+	public static EquationDependencyGraph read(IProject project) throws IOException {
+		Path file = getFile(project);
+		if (!Files.exists(file)) {
+			return null;
+		}
+
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return read(reader);
+		}
+	}
+
+	/**
+	 * Deletes the graph from the unversioned folder of the given project
+	 * @param project the project of the equations
+	 * @throws IOException if deleting fails
+	 */
+	public static void delete(IProject project) throws IOException {
+		Files.deleteIfExists(getFile(project));
+	}
+}
@@ -31,6 +31,7 @@ import de.dlr.sc.virsat.model.dvlm.categories.ATypeInstance;
 import de.dlr.sc.virsat.model.dvlm.inheritance.IOverridableInheritanceLink;
 import de.dlr.sc.virsat.model.dvlm.roles.IUserContext;
 import de.dlr.sc.virsat.model.dvlm.roles.RightsHelper;
+import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
 
 /**
  * Provides several helper functions for solving equations.
@@ -43,6 +44,7 @@ public class EquationHelper {
 	public static final double EPS = 0.000000001d;
 	
 	private ExpressionHelper exprHelper;
+	private EquationProfiler profiler;
 	
 	/**
 	 * Public constructor
@@ -61,6 +63,43 @@ public class EquationHelper {
 		this(new ExpressionHelper());
 	}
 	
+	/**
+	 * Enables the profiling mode. While a profiler is set, the effort of evaluating each equation
+	 * is recorded by it. Passing null disables the profiling mode again.
+	 * @param profiler the profiler to record the evaluation with or null
+	 */
+	public void setProfiler(EquationProfiler profiler) {
+		this.profiler = profiler;
+		exprHelper.setProfiler(profiler);
+	}
+	
+	/**
+	 * Gets the profiler that records the evaluation
+	 * @return the profiler or null if the profiling mode is disabled
+	 */
+	public EquationProfiler getProfiler() {
+		return profiler;
+	}
+	
+	/**
+	 * Starts recording the evaluation of the given equation if the profiling mode is enabled
+	 * @param equation the equation to be evaluated, may be null
+	 */
+	private void startProfiling(Equation equation) {
+		if (profiler != null) {
+			profiler.startEquation(equation);
+		}
+	}
+	
+	/**
+	 * Stops recording the evaluation of the current equation if the profiling mode is enabled
+	 */
+	private void stopProfiling() {
+		if (profiler != null) {
+			profiler.stopEquation();
+		}
+	}
+	
 	/**
 	 * Creates a dependency tree from a list of equations. The result may have cycles if the equations
 	 * have cyclic dependencies. It should be guaranteed that linearization of the tree
@@ -132,13 +171,43 @@ public class EquationHelper {
 	 */
 	
 	public List<EvaluationProblem> evaluate(DependencyTree<EObject> tree, IUserContext userContext) {
+		return evaluate(tree, userContext, new HashMap<>());
+	}
+	
+	/**
+	 * Evaluates a dependency tree according to its linearization
+	 * @param tree the dependency tree to evaluate
+	 * @param userContext the user context for checking the write permissions
+	 * @param mapExpressionToResult map that gets filled with the results of all evaluated expressions and equations
+	 * @return a list of problems that have occurred during the evaluation
+	 */
+	public List<EvaluationProblem> evaluate(DependencyTree<EObject> tree, IUserContext userContext, Map<EObject, IExpressionResult> mapExpressionToResult) {
 		List<EObject> linear = tree.getLinearOrder();
 		List<EvaluationProblem> equationProblems = new ArrayList<>();
-		Map<EObject, IExpressionResult> mapExpressionToResult = new HashMap<>();
 		
+		// The evaluation only sets values but never changes disciplines, so the permissions can be memoised
+		RightsHelper.beginPermissionCache();
+		try {
+			evaluateLinearOrder(linear, userContext, mapExpressionToResult, equationProblems);
+		} finally {
+			RightsHelper.endPermissionCache();
+		}
+		
+		return equationProblems;
+	}
+	
+	/**
+	 * Evaluates the expressions and equations in the given order
+	 * @param linear the linearization of the dependency tree
+	 * @param userContext the user context for checking the write permissions
+	 * @param mapExpressionToResult map that gets filled with the results of all evaluated expressions and equations
+	 * @param equationProblems list that gets filled with the problems that have occurred during the evaluation
+	 */
+	private void evaluateLinearOrder(List<EObject> linear, IUserContext userContext, Map<EObject, IExpressionResult> mapExpressionToResult, List<EvaluationProblem> equationProblems) {
 		// Evaluate the expressions according to the linearization
 		for (EObject object : linear) {
 			if (object instanceof AExpression) {
+				startProfiling(VirSatEcoreUtil.getEContainerOfClass(object, Equation.class));
 				exprHelper.evaluate((AExpression) object, mapExpressionToResult);
 				
 				// Check if its a referenced input with a definition attached to it
@@ -150,10 +219,13 @@ public class EquationHelper {
 						refInput.setReference(eqInput);
 					}
 				}
+				
+				stopProfiling();
 			} else if (object instanceof IEquationResult) {
 				IEquationResult equationResult = (IEquationResult) object;
 
 				Equation equation = (Equation) equationResult.eContainer();
+				startProfiling(equation);
 				IExpressionResult result = exprHelper.evaluate(equation.getExpression(), mapExpressionToResult);
 
 				boolean hasWritePermissionResult = RightsHelper.hasWritePermission(equationResult, userContext);
@@ -163,13 +235,15 @@ public class EquationHelper {
 				if (isTypeInstance) {
 					TypeInstanceResult instanceResult = (TypeInstanceResult) equationResult;
 					ATypeInstance instance = (ATypeInstance) instanceResult.getReference();
-					IResultSetter setter = exprHelper.getResultSetter(instance);
+					IResultSetter setter = exprHelper.getResultSetter(equation, instance);
 					
 					mapExpressionToResult.put(instance, result);
 					
 					if (hasWritePermissionResult) {
 						updateOverrideFlag(instance);
+						int unitConversionCount = exprHelper.getUnitConversionCount();
 						equationProblems.addAll(setter.set(instance, result));
+						exprHelper.profileUnitConversions(unitConversionCount);
 					} else if (setter != null) {
 						boolean isChange = !exprHelper.performGet(instance).equals(result, EPS);
 						if (isChange) {
@@ -183,20 +257,23 @@ public class EquationHelper {
 
 				boolean hasWritePermissionEquation = RightsHelper.hasWritePermission(equation, userContext);
 				if (hasWritePermissionEquation) {
-					if (equation.isIsInherited()) {
+					if (equation.isIsInherited() && !equation.isOverride()) {
 						equation.setOverride(true);
 					}
 					
+					// Avoid notifications for unchanged results
 					String resultText = result.toString();
-					equation.setResultText(resultText);
+					if (!resultText.equals(equation.getResultText())) {
+						equation.setResultText(resultText);
+					}
 				} 
 			
 				mapExpressionToResult.put(equation, result);
 				mapExpressionToResult.put(equation.getExpression(), result);
+				
+				stopProfiling();
 			}
 		}
-		
-		return equationProblems;
 	}
 	
 	
@@ -207,7 +284,9 @@ public class EquationHelper {
 	private void updateOverrideFlag(ATypeInstance instance) {
 		if (instance.isIsInherited() && instance instanceof IOverridableInheritanceLink) {
 			IOverridableInheritanceLink overrideable = (IOverridableInheritanceLink) instance;
-			overrideable.setOverride(true);
+			if (!overrideable.isOverride()) {
+				overrideable.setOverride(true);
+			}
 		}
 	}
 	
@@ -218,8 +297,13 @@ public class EquationHelper {
 	 * @return the dependency tree created internally
 	 */
 	public DependencyTree<EObject> evaluate(List<Equation> equations, IUserContext userContext) {
-		DependencyTree<EObject> dt = createDependencyTree(equations);
-		evaluate(dt, userContext);
-		return dt;
+		exprHelper.beginEvaluationPass();
+		try {
+			DependencyTree<EObject> dt = createDependencyTree(equations);
+			evaluate(dt, userContext);
+			return dt;
+		} finally {
+			exprHelper.endEvaluationPass();
+		}
 	}
 }
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationIntermediateResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.IEquationResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
+import de.dlr.sc.virsat.model.dvlm.categories.ATypeInstance;
+import de.dlr.sc.virsat.model.dvlm.general.IInstance;
+import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
+import de.dlr.sc.virsat.project.structure.VirSatProjectCommons;
+
+/**
+ * Records how much effort the evaluation of each equation takes. The equation helper
+ * reports the time spent on each equation, while the expression helper reports the inputs,
+ * the set function traversals and the unit conversions of the equation currently being evaluated.
+ * The collected profiles can be written as CSV report.
+ */
+public class EquationProfiler {
+
+	public static final String REPORT_FILE_NAME = "EquationProfile.csv";
+	public static final String[] REPORT_COLUMNS = { "Equation", "Uuid", "WallTimeNs", "Inputs", "SetTraversalSize", "UnitConversions" };
+	public static final String CSV_SEPARATOR = ",";
+
+	private static final long NANOS_NOT_STARTED = -1;
+
+	/**
+	 * The profile of a single equation
+	 */
+	public static class EquationProfile {
+
+		private Equation equation;
+		private long wallTimeNanos;
+		private int inputs;
+		private int setTraversalSize;
+		private int unitConversions;
+
+		/**
+		 * Constructor for the profile of an equation
+		 * @param equation the profiled equation
+		 */
+		public EquationProfile(Equation equation) {
+			this.equation = equation;
+		}
+
+		public Equation getEquation() {
+			return equation;
+		}
+
+		public long getWallTimeNanos() {
+			return wallTimeNanos;
+		}
+
+		public int getInputs() {
+			return inputs;
+		}
+
+		public int getSetTraversalSize() {
+			return setTraversalSize;
+		}
+
+		public int getUnitConversions() {
+			return unitConversions;
+		}
+	}
+
+	private Map<Equation, EquationProfile> mapEquationToProfile = new LinkedHashMap<>();
+	private EquationProfile currentProfile;
+	private long currentStart = NANOS_NOT_STARTED;
+
+	/**
+	 * Starts measuring the evaluation of a part of the given equation.
+	 * All counts reported until {@link #stopEquation()} are accounted to this equation.
+	 * @param equation the equation to be evaluated, may be null for objects not belonging to an equation
+	 */
+	public void startEquation(Equation equation) {
+		if (equation == null) {
+			currentProfile = null;
+			return;
+		}
+		currentProfile = mapEquationToProfile.computeIfAbsent(equation, EquationProfile::new);
+		currentStart = System.nanoTime();
+	}
+
+	/**
+	 * Stops measuring the current equation and adds the elapsed time to its profile
+	 */
+	public void stopEquation() {
+		if (currentProfile != null && currentStart != NANOS_NOT_STARTED) {
+			currentProfile.wallTimeNanos += System.nanoTime() - currentStart;
+		}
+		currentProfile = null;
+		currentStart = NANOS_NOT_STARTED;
+	}
+
+	/**
+	 * Counts inputs read by the current equation
+	 * @param count the number of inputs
+	 */
+	public void countInputs(int count) {
+		if (currentProfile != null) {
+			currentProfile.inputs += count;
+		}
+	}
+
+	/**
+	 * Counts structural element instances visited by a set function of the current equation
+	 * @param count the number of visited structural element instances
+	 */
+	public void countSetTraversal(int count) {
+		if (currentProfile != null) {
+			currentProfile.setTraversalSize += count;
+		}
+	}
+
+	/**
+	 * Counts values the getters and setters of the current equation converted between a unit and its base unit
+	 * @param count the number of conversions
+	 */
+	public void countUnitConversions(int count) {
+		if (currentProfile != null) {
+			currentProfile.unitConversions += count;
+		}
+	}
+
+	/**
+	 * Gets the profiles of all equations in the order they have been evaluated first
+	 * @return the profiles of the equations
+	 */
+	public List<EquationProfile> getProfiles() {
+		return new ArrayList<>(mapEquationToProfile.values());
+	}
+
+	/**
+	 * Writes the report as CSV. The first line holds the column names followed by one line per equation.
+	 * @param writer the writer to write the report to
+	 * @throws IOException if writing fails
+	 */
+	public void writeReport(Writer writer) throws IOException {
+		writer.write(String.join(CSV_SEPARATOR, REPORT_COLUMNS));
+		writer.write(System.lineSeparator());
+
+		for (EquationProfile profile : mapEquationToProfile.values()) {
+			IEquationResult result = profile.getEquation().getResult();
+			String uuid = result != null && result.getUuid() != null ? result.getUuid().toString() : "";
+
+			String[] values = {
+				escape(getEquationLabel(profile.getEquation())),
+				uuid,
+				String.valueOf(profile.getWallTimeNanos()),
+				String.valueOf(profile.getInputs()),
+				String.valueOf(profile.getSetTraversalSize()),
+				String.valueOf(profile.getUnitConversions())
+			};
+			writer.write(String.join(CSV_SEPARATOR, values));
+			writer.write(System.lineSeparator());
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Writes the report as CSV into the given file
+	 * @param file the file to write to
+	 * @throws IOException if writing fails
+	 */
+	public void writeReport(Path file) throws IOException {
+		Files.createDirectories(file.getParent());
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writeReport(writer);
+		}
+	}
+
+	/**
+	 * Writes the report into the unversioned folder of the given project. The file is written
+	 * directly to the file system, so that the report does not trigger another build.
+	 * @param project the project of the profiled equations
+	 * @return the path of the written report
+	 * @throws IOException if writing fails
+	 */
+	public Path writeReport(IProject project) throws IOException {
+		IFolder unversionedFolder = project.getFolder(VirSatProjectCommons.FOLDERNAME_UNVERSIONED);
+		Path file = unversionedFolder.getLocation().toFile().toPath().resolve(REPORT_FILE_NAME);
+		writeReport(file);
+		return file;
+	}
+
+	/**
+	 * Creates a human readable label for an equation from its result
+	 * @param equation the equation
+	 * @return the label of the equation
+	 */
+	private String getEquationLabel(Equation equation) {
+		IEquationResult result = equation.getResult();
+		if (result instanceof TypeInstanceResult) {
+			ATypeInstance reference = ((TypeInstanceResult) result).getReference();
+			if (reference != null) {
+				return reference.getFullQualifiedInstanceName();
+			}
+		} else if (result instanceof EquationIntermediateResult) {
+			String name = ((EquationIntermediateResult) result).getName();
+			IInstance container = VirSatEcoreUtil.getEContainerOfClass(equation, IInstance.class);
+			return container != null ? container.getFullQualifiedInstanceName() + "." + name : name;
+		}
+		return "";
+	}
+
+	/**
+	 * Quotes a value for the CSV report
+	 * @param value the value to be quoted
+	 * @return the quoted value
+	 */
+	private String escape(String value) {
+		return "\"" + value.replace("\"", "\"\"") + "\"";
+	}
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IRegistryEventListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+
+import de.dlr.sc.virsat.model.calculation.Activator;
+
+/**
+ * Dispatch table of the expression evaluators, input getters and result setters contributed
+ * by plugins. The contributions are instantiated once and shared by all expression helpers.
+ * The table is immutable and only gets replaced when the contributions to the extension point change.
+ */
+public class ExpressionExtensionRegistry implements IRegistryEventListener {
+
+	public static final String EXTENSION_POINT_ID = "de.dlr.sc.virsat.model.edit.TypeInstanceSetterProvider";
+
+	private static ExpressionExtensionRegistry instance;
+
+	private IExtensionRegistry registry;
+	private volatile Map<Class<?>, List<?>> dispatchTable;
+
+	/**
+	 * Constructor for a dispatch table reading the contributions from the given registry
+	 * @param registry the extension registry or null if there is no registry available
+	 */
+	protected ExpressionExtensionRegistry(IExtensionRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Gets the shared dispatch table of the platform's extension registry. The table listens
+	 * to changes of the contributions to the extension point and reloads itself if necessary.
+	 * @return the shared dispatch table
+	 */
+	public static synchronized ExpressionExtensionRegistry getInstance() {
+		if (instance == null) {
+			IExtensionRegistry registry = Platform.getExtensionRegistry();
+			instance = new ExpressionExtensionRegistry(registry);
+			if (registry != null) {
+				registry.addListener(instance, EXTENSION_POINT_ID);
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets the contributed evaluators
+	 * @return the evaluators ordered by the priority of their contribution
+	 */
+	public List<IExpressionEvaluator> getEvaluators() {
+		return getExtensions(IExpressionEvaluator.class);
+	}
+
+	/**
+	 * Gets the contributed input getters
+	 * @return the input getters ordered by the priority of their contribution
+	 */
+	public List<IInputGetter> getInputGetters() {
+		return getExtensions(IInputGetter.class);
+	}
+
+	/**
+	 * Gets the contributed result setters
+	 * @return the result setters ordered by the priority of their contribution
+	 */
+	public List<IResultSetter> getResultSetters() {
+		return getExtensions(IResultSetter.class);
+	}
+
+	/**
+	 * Gets the contributed extensions of the given type
+	 * @param type the type of the extensions
+	 * @param <T> the type of the extensions
+	 * @return an unmodifiable list of the extensions
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> getExtensions(Class<T> type) {
+		Map<Class<?>, List<?>> currentTable = dispatchTable;
+		if (currentTable == null) {
+			currentTable = loadDispatchTable();
+		}
+		return (List<T>) currentTable.getOrDefault(type, Collections.emptyList());
+	}
+
+	/**
+	 * Loads the dispatch table unless another thread has already done so
+	 * @return the loaded dispatch table
+	 */
+	private synchronized Map<Class<?>, List<?>> loadDispatchTable() {
+		if (dispatchTable == null) {
+			dispatchTable = createDispatchTable();
+		}
+		return dispatchTable;
+	}
+
+	/**
+	 * Instantiates all contributed expression extenders ordered by their priority
+	 * and collects their evaluators, getters and setters. Without an extension registry,
+	 * e.g. when running outside of the platform, the default extensions are used.
+	 * @return the new dispatch table
+	 */
+	private Map<Class<?>, List<?>> createDispatchTable() {
+		List<IExpressionEvaluator> evaluators = new ArrayList<>();
+		List<IInputGetter> inputGetters = new ArrayList<>();
+		List<IResultSetter> resultSetters = new ArrayList<>();
+
+		if (registry != null) {
+			List<IConfigurationElement> setterProviders = new ArrayList<>(Arrays.asList(registry.getConfigurationElementsFor(EXTENSION_POINT_ID)));
+			Collections.sort(setterProviders, new Comparator<IConfigurationElement>() {
+				@Override
+				public int compare(IConfigurationElement c1, IConfigurationElement c2) {
+					int intValue1 = Integer.valueOf(c1.getAttribute("priority"));
+					int intValue2 = Integer.valueOf(c2.getAttribute("priority"));
+					return Integer.compare(intValue1, intValue2);
+				}
+			});
+
+			for (IConfigurationElement configElement : setterProviders) {
+				try {
+					Object extension = createExecutableExtension(configElement);
+					if (extension instanceof IExpressionExtender) {
+						IExpressionExtender extender = (IExpressionExtender) extension;
+						resultSetters.addAll(extender.getTypeInstanceSetters());
+						inputGetters.addAll(extender.getInputGetters());
+						evaluators.addAll(extender.getExpressionEvaluators());
+					}
+				} catch (CoreException e) {
+					Activator.getDefault().getLog().log(new Status(Status.ERROR, Activator.getPluginId(), "Could not resolve extension points for extending expressions", e));
+				}
+			}
+		} else {
+			IExpressionExtender extender = new DefaultExpressionExtender();
+			resultSetters.addAll(extender.getTypeInstanceSetters());
+			inputGetters.addAll(extender.getInputGetters());
+			evaluators.addAll(extender.getExpressionEvaluators());
+		}
+
+		Map<Class<?>, List<?>> table = new HashMap<>();
+		table.put(IExpressionEvaluator.class, Collections.unmodifiableList(evaluators));
+		table.put(IInputGetter.class, Collections.unmodifiableList(inputGetters));
+		table.put(IResultSetter.class, Collections.unmodifiableList(resultSetters));
+		return Collections.unmodifiableMap(table);
+	}
+
+	/**
+	 * Instantiates the class of a contribution
+	 * @param configElement the configuration element of the contribution
+	 * @return the instantiated contribution
+	 * @throws CoreException if the contribution could not be instantiated
+	 */
+	protected Object createExecutableExtension(IConfigurationElement configElement) throws CoreException {
+		return configElement.createExecutableExtension("class");
+	}
+
+	/**
+	 * Drops the current dispatch table, so that it gets reloaded on the next access
+	 */
+	public synchronized void refresh() {
+		dispatchTable = null;
+	}
+
+	@Override
+	public void added(IExtension[] extensions) {
+		refresh();
+	}
+
+	@Override
+	public void removed(IExtension[] extensions) {
+		refresh();
+	}
+
+	@Override
+	public void added(IExtensionPoint[] extensionPoints) {
+		refresh();
+	}
+
+	@Override
+	public void removed(IExtensionPoint[] extensionPoints) {
+		refresh();
+	}
+}
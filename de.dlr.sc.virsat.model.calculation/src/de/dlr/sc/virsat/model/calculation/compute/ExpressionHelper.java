@@ -11,26 +11,18 @@ package de.dlr.sc.virsat.model.calculation.compute;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IConfigurationElement;
-import org.eclipse.core.runtime.IExtensionRegistry;
-import org.eclipse.core.runtime.Platform;
-import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.ecore.EObject;
 
-import de.dlr.sc.virsat.model.calculation.Activator;
 import de.dlr.sc.virsat.model.calculation.compute.extensions.UnresolvedExpressionResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.AAdvancedFunction;
 import de.dlr.sc.virsat.model.dvlm.calculation.AExpression;
 import de.dlr.sc.virsat.model.dvlm.calculation.ALeftOpRightExpression;
 import de.dlr.sc.virsat.model.dvlm.calculation.ALiteral;
@@ -59,6 +51,7 @@ import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.APropertyInstanc
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ComposedPropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryAssignmentHelper;
 import de.dlr.sc.virsat.model.dvlm.general.IName;
+import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.tree.IStructuralElementInstanceTreeTraverserMatcher;
 import de.dlr.sc.virsat.model.dvlm.tree.TreeTraverser;
@@ -72,50 +65,117 @@ public class ExpressionHelper {
 	private List<IExpressionEvaluator> evaluators;
 	private List<IInputGetter> inputGetters;
 	private List<IResultSetter> resultSetters;
+	private SetFunctionInputIndex setFunctionInputIndex;
+	private int evaluationPassDepth;
+	private EquationProfiler profiler;
 
 	/**
 	 * ExpressionHelper with extensions registered by plugins and
 	 * per default also for handling number literals.
 	 */
 	public ExpressionHelper() {
-		evaluators = new ArrayList<>();
-		inputGetters = new ArrayList<>();
-		resultSetters = new ArrayList<>();
+		this(ExpressionExtensionRegistry.getInstance());
+	}
 
-		processExtensions();
+	/**
+	 * ExpressionHelper with the extensions of the given dispatch table
+	 * @param extensionRegistry the dispatch table providing the evaluators, getters and setters
+	 */
+	public ExpressionHelper(ExpressionExtensionRegistry extensionRegistry) {
+		evaluators = extensionRegistry.getEvaluators();
+		inputGetters = extensionRegistry.getInputGetters();
+		resultSetters = extensionRegistry.getResultSetters();
 	}
 
 	/**
-	 * Processes extension registered by plugins.
+	 * Starts a new evaluation pass. Within an evaluation pass the type instances and equations
+	 * that set functions search for are collected only once and shared between all set functions.
+	 * The structure of the model must not change until the pass is finished with {@link #endEvaluationPass()}.
+	 * Passes may be nested, in which case the nested pass shares the inputs of the outermost pass.
 	 */
-	private void processExtensions() {
-		// Register all plugin extensions
+	public void beginEvaluationPass() {
+		if (evaluationPassDepth == 0) {
+			setFunctionInputIndex = new SetFunctionInputIndex();
+		}
+		evaluationPassDepth++;
+	}
 
-		IExtensionRegistry registry = Platform.getExtensionRegistry();
-		if (registry != null) {
-			List<IConfigurationElement> setterProviders = Arrays.asList(registry.getConfigurationElementsFor("de.dlr.sc.virsat.model.edit.TypeInstanceSetterProvider"));
-			Collections.sort(setterProviders, new Comparator<IConfigurationElement>() {
-				@Override
-				public int compare(IConfigurationElement c1, IConfigurationElement c2) {
-					int intValue1 = Integer.valueOf(c1.getAttribute("priority"));
-					int intValue2 = Integer.valueOf(c2.getAttribute("priority"));
-					return Integer.compare(intValue1, intValue2);
-				}
-			});
-
-			for (IConfigurationElement configElement : setterProviders) {
-				try {
-					Object extension = configElement.createExecutableExtension("class");
-					if (extension instanceof IExpressionExtender) {
-						IExpressionExtender extender = (IExpressionExtender) extension;
-						resultSetters.addAll(extender.getTypeInstanceSetters());
-						inputGetters.addAll(extender.getInputGetters());
-						evaluators.addAll(extender.getExpressionEvaluators());
-					}
-				} catch (CoreException e) {
-					Activator.getDefault().getLog().log(new Status(Status.ERROR, Activator.getPluginId(), "Could not resolve extension points for extending expressions", e));
-				}
-			}
+	/**
+	 * Finishes the current evaluation pass. The collected set function inputs are released
+	 * once the outermost pass is finished.
+	 */
+	public void endEvaluationPass() {
+		if (evaluationPassDepth == 0) {
+			throw new IllegalStateException("No evaluation pass has been started");
+		}
+		evaluationPassDepth--;
+		if (evaluationPassDepth == 0) {
+			setFunctionInputIndex = null;
+		}
+	}
+
+	/**
+	 * Sets a profiler that gets informed about the inputs, set function traversals and
+	 * accesses to properties with a unit of the evaluated equations
+	 * @param profiler the profiler or null to disable profiling
+	 */
+	public void setProfiler(EquationProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	/**
+	 * Gets the profiler informed about the evaluation
+	 * @return the profiler or null if profiling is disabled
+	 */
+	public EquationProfiler getProfiler() {
+		return profiler;
+	}
+
+	/**
+	 * Gets the set function input index of the current evaluation pass
+	 * @return the index of the current pass or a new index in case no pass is active
+	 */
+	protected SetFunctionInputIndex getSetFunctionInputIndex() {
+		if (setFunctionInputIndex == null) {
+			return new SetFunctionInputIndex();
+		}
+		return setFunctionInputIndex;
+	}
+
+	/**
+	 * Reports inputs read by the current equation to the profiler if profiling is enabled
+	 * @param count the number of inputs
+	 */
+	private void profileInputs(int count) {
+		if (profiler != null) {
+			profiler.countInputs(count);
+		}
+	}
+
+	/**
+	 * Reports a structural element instance visited by a set function to the profiler if profiling is enabled
+	 */
+	private void profileSetTraversal() {
+		if (profiler != null) {
+			profiler.countSetTraversal(1);
+		}
+	}
+
+	/**
+	 * Gets the number of unit conversions the current thread performed so far if profiling is enabled
+	 * @return the number of unit conversions or 0 if profiling is disabled
+	 */
+	int getUnitConversionCount() {
+		return profiler != null ? QudvUnitHelper.getInstance().getConversionCount() : 0;
+	}
+
+	/**
+	 * Reports the unit conversions performed since the given count to the profiler if profiling is enabled
+	 * @param countBefore the count of unit conversions obtained by {@link #getUnitConversionCount()} before
+	 */
+	void profileUnitConversions(int countBefore) {
+		if (profiler != null) {
+			profiler.countUnitConversions(QudvUnitHelper.getInstance().getConversionCount() - countBefore);
 		}
 	}
 
@@ -125,15 +185,25 @@ public class ExpressionHelper {
 	 * @return result of an applicable getter call
 	 */
 	public IExpressionResult performGet(EObject input) {
+		return performGet(input, null);
+	}
+
+	/**
+	 * Apply the getters to the passed input starting with the getter remembered by a compiled expression
+	 * @param input the input object onto which a getter will be applied
+	 * @param getterCache the getter cache of the compiled expression or null to ask all getters
+	 * @return result of an applicable getter call
+	 */
+	IExpressionResult performGet(EObject input, DispatchCache<IInputGetter> getterCache) {
 		if (input == null) {
 			return new UnresolvedExpressionResult();
 		}
 
-		for (IInputGetter inputGetter : inputGetters) {
-			IExpressionResult result = inputGetter.get(input);
-			if (result != null) {
-				return result;
-			}
+		int unitConversionCount = getUnitConversionCount();
+		IExpressionResult result = DispatchCache.dispatch(getterCache, inputGetters, Collections.singletonList(input), inputGetter -> inputGetter.get(input));
+		profileUnitConversions(unitConversionCount);
+		if (result != null) {
+			return result;
 		}
 
 		return new UnresolvedExpressionResult(input);
@@ -149,12 +219,45 @@ public class ExpressionHelper {
 	}
 
 	/**
-	 * Evaluates a single expression
+	 * Evaluates a single expression. Expressions that are part of an equation are evaluated
+	 * by the compiled expression tree of the equation, all other objects are interpreted.
 	 * @param object The object to be evaluated
 	 * @param interimResultMap map of previously computed results
 	 * @return The result of the evaluation
 	 */
 	public IExpressionResult evaluate(EObject object, Map<EObject, IExpressionResult> interimResultMap) {
+		if (object instanceof AExpression) {
+			ACompiledExpression compiledExpression = getCompiledExpression((AExpression) object);
+			if (compiledExpression != null) {
+				return compiledExpression.evaluate(this, interimResultMap);
+			}
+		}
+
+		return interpret(object, interimResultMap);
+	}
+
+	/**
+	 * Gets the compiled expression tree node for an expression. The tree is compiled once for the
+	 * equation containing the expression and is reused until the content of the equation changes.
+	 * @param expression the expression to get the compiled node for
+	 * @return the compiled node or null if the expression is not contained in an equation
+	 */
+	public ACompiledExpression getCompiledExpression(AExpression expression) {
+		Equation equation = VirSatEcoreUtil.getEContainerOfClass(expression, Equation.class);
+		if (equation == null) {
+			return null;
+		}
+		return CompiledEquation.getCompiledEquation(equation).getCompiledExpression(expression);
+	}
+
+	/**
+	 * Evaluates a single expression by walking the expression tree
+	 * without using the compiled expression tree.
+	 * @param object The object to be evaluated
+	 * @param interimResultMap map of previously computed results
+	 * @return The result of the evaluation
+	 */
+	public IExpressionResult interpret(EObject object, Map<EObject, IExpressionResult> interimResultMap) {
 
 		if (interimResultMap.containsKey(object)) {
 			return interimResultMap.get(object);
@@ -169,48 +272,14 @@ public class ExpressionHelper {
 
 			@Override
 			public IExpressionResult caseReferencedInput(ReferencedInput object) {
-				IEquationInput equationInput;
-
-				if (object.getDefinition() != null) {
-					equationInput = getReferencedDefinitionInput(object);
-					if (equationInput == null) {
-						return new UnresolvedExpressionResult(object);
-					}
-				} else {
-					equationInput = object.getReference();
-				}
-
-				if (interimResultMap.containsKey(equationInput)) {
-					return interimResultMap.get(equationInput);
-				}
-
-				if (equationInput instanceof EquationIntermediateResult) {
-					EquationIntermediateResult eir = (EquationIntermediateResult) equationInput;
-					Equation eq = (Equation) eir.eContainer();
-					AExpression expression = eq.getExpression();
-					IExpressionResult calculatedResult = interimResultMap.get(expression);
-					return calculatedResult;
-				} else {
-					return performGet(equationInput);
-				}
+				return evaluateReferencedInput(object, interimResultMap);
 			}
 
 			@Override
 			public IExpressionResult caseALeftOpRightExpression(ALeftOpRightExpression object) {
-				AExpression exprLeft = object.getLeft();
-				AExpression exprRight = object.getRight();
-
-				IExpressionResult left = evaluate(exprLeft, interimResultMap);
-				IExpressionResult right = evaluate(exprRight, interimResultMap);
-
-				for (IExpressionEvaluator evaluator : evaluators) {
-					IExpressionResult result = evaluator.caseALeftOpRightExpression(object, left, right);
-					if (result != null) {
-						return result;
-					}
-				}
-
-				return new UnresolvedExpressionResult();
+				IExpressionResult left = interpret(object.getLeft(), interimResultMap);
+				IExpressionResult right = interpret(object.getRight(), interimResultMap);
+				return applyEvaluators(object, left, right);
 			}
 
 			@Override
@@ -218,45 +287,16 @@ public class ExpressionHelper {
 				List<IExpressionResult> results = new ArrayList<>();
 
 				for (AExpression expression : object.getInputs()) {
-					IExpressionResult result = evaluate(expression, interimResultMap);
+					IExpressionResult result = interpret(expression, interimResultMap);
 					results.add(result);
 				}
 
-				// Apply the correct evaluator
-				for (IExpressionEvaluator evaluator : evaluators) {
-					IExpressionResult result = evaluator.caseAAdvancedFunction(object, results);
-					if (result != null) {
-						return result;
-					}
-				}
-
-				// No evaluator was applicable
-				return new UnresolvedExpressionResult();
+				return applyEvaluators(object, results);
 			}
 
 			@Override
 			public IExpressionResult caseSetFunction(SetFunction object) {
-				List<ATypeInstance> typeInstances = getSetFunctionInput(object);
-				List<IExpressionResult> getResults = new ArrayList<>();
-
-				for (ATypeInstance typeInstance : typeInstances) {
-					if (interimResultMap.containsKey(typeInstance)) {
-						getResults.add(interimResultMap.get(typeInstance));
-					} else {
-						getResults.add(performGet(typeInstance));
-					}
-				}
-
-				// Apply the correct evaluator
-				for (IExpressionEvaluator evaluator : evaluators) {
-					IExpressionResult result = evaluator.caseAAdvancedFunction(object, getResults);
-					if (result != null) {
-						return result;
-					}
-				}
-
-				// No evaluator was applicable
-				return new UnresolvedExpressionResult();
+				return evaluateSetFunction(object, interimResultMap);
 			}
 
 			// This case covers
@@ -264,18 +304,8 @@ public class ExpressionHelper {
 				// Paranthesis
 			@Override
 			public IExpressionResult caseAOpRightExpression(AOpRightExpression object) {
-				AExpression exprRight = object.getRight();
-
-				IExpressionResult right = evaluate(exprRight, interimResultMap);
-
-				for (IExpressionEvaluator evaluator : evaluators) {
-					IExpressionResult result = evaluator.caseAOpRightExpression(object, right);
-					if (result != null) {
-						return result;
-					}
-				}
-
-				return new UnresolvedExpressionResult();
+				IExpressionResult right = interpret(object.getRight(), interimResultMap);
+				return applyEvaluators(object, right);
 			}
 		};
 
@@ -285,6 +315,172 @@ public class ExpressionHelper {
 		return result;
 	}
 
+	/**
+	 * Evaluates a referenced input by getting the value of the referenced equation input
+	 * @param object the referenced input
+	 * @param interimResultMap map of previously computed results
+	 * @return the result of the referenced input
+	 */
+	IExpressionResult evaluateReferencedInput(ReferencedInput object, Map<EObject, IExpressionResult> interimResultMap) {
+		return evaluateReferencedInput(object, interimResultMap, null);
+	}
+
+	/**
+	 * Evaluates a referenced input by getting the value of the referenced equation input
+	 * @param object the referenced input
+	 * @param interimResultMap map of previously computed results
+	 * @param getterCache the getter cache of the compiled expression or null to ask all getters
+	 * @return the result of the referenced input
+	 */
+	IExpressionResult evaluateReferencedInput(ReferencedInput object, Map<EObject, IExpressionResult> interimResultMap, DispatchCache<IInputGetter> getterCache) {
+		profileInputs(1);
+
+		IEquationInput equationInput;
+
+		if (object.getDefinition() != null) {
+			equationInput = getReferencedDefinitionInput(object);
+			if (equationInput == null) {
+				return new UnresolvedExpressionResult(object);
+			}
+		} else {
+			equationInput = object.getReference();
+		}
+
+		if (interimResultMap.containsKey(equationInput)) {
+			return interimResultMap.get(equationInput);
+		}
+
+		if (equationInput instanceof EquationIntermediateResult) {
+			EquationIntermediateResult eir = (EquationIntermediateResult) equationInput;
+			Equation eq = (Equation) eir.eContainer();
+			AExpression expression = eq.getExpression();
+			IExpressionResult calculatedResult = interimResultMap.get(expression);
+			return calculatedResult;
+		} else {
+			return performGet(equationInput, getterCache);
+		}
+	}
+
+	/**
+	 * Evaluates a set function on the values of its inputs
+	 * @param object the set function
+	 * @param interimResultMap map of previously computed results
+	 * @return the result of the set function
+	 */
+	IExpressionResult evaluateSetFunction(SetFunction object, Map<EObject, IExpressionResult> interimResultMap) {
+		return evaluateSetFunction(object, interimResultMap, null, null);
+	}
+
+	/**
+	 * Evaluates a set function on the values of its inputs
+	 * @param object the set function
+	 * @param interimResultMap map of previously computed results
+	 * @param getterCache the getter cache of the compiled expression or null to ask all getters
+	 * @param evaluatorCache the evaluator cache of the compiled expression or null to ask all evaluators
+	 * @return the result of the set function
+	 */
+	IExpressionResult evaluateSetFunction(SetFunction object, Map<EObject, IExpressionResult> interimResultMap,
+			DispatchCache<IInputGetter> getterCache, DispatchCache<IExpressionEvaluator> evaluatorCache) {
+		List<ATypeInstance> typeInstances = getSetFunctionInput(object);
+		List<IExpressionResult> getResults = new ArrayList<>();
+
+		profileInputs(typeInstances.size());
+
+		for (ATypeInstance typeInstance : typeInstances) {
+			if (interimResultMap.containsKey(typeInstance)) {
+				getResults.add(interimResultMap.get(typeInstance));
+			} else {
+				getResults.add(performGet(typeInstance, getterCache));
+			}
+		}
+
+		return applyEvaluators(object, getResults, evaluatorCache);
+	}
+
+	/**
+	 * Applies the first applicable evaluator to an operation with two operands
+	 * @param object the operation
+	 * @param left the result of the left operand
+	 * @param right the result of the right operand
+	 * @return the result of the operation
+	 */
+	IExpressionResult applyEvaluators(ALeftOpRightExpression object, IExpressionResult left, IExpressionResult right) {
+		return applyEvaluators(object, left, right, null);
+	}
+
+	/**
+	 * Applies the first applicable evaluator to an operation with two operands
+	 * starting with the evaluator remembered by a compiled expression
+	 * @param object the operation
+	 * @param left the result of the left operand
+	 * @param right the result of the right operand
+	 * @param evaluatorCache the evaluator cache of the compiled expression or null to ask all evaluators
+	 * @return the result of the operation
+	 */
+	IExpressionResult applyEvaluators(ALeftOpRightExpression object, IExpressionResult left, IExpressionResult right, DispatchCache<IExpressionEvaluator> evaluatorCache) {
+		IExpressionResult result = DispatchCache.dispatch(evaluatorCache, evaluators, Arrays.asList(left, right), evaluator -> evaluator.caseALeftOpRightExpression(object, left, right));
+		if (result != null) {
+			return result;
+		}
+
+		return new UnresolvedExpressionResult();
+	}
+
+	/**
+	 * Applies the first applicable evaluator to an operation with a single operand
+	 * @param object the operation
+	 * @param right the result of the operand
+	 * @return the result of the operation
+	 */
+	IExpressionResult applyEvaluators(AOpRightExpression object, IExpressionResult right) {
+		return applyEvaluators(object, right, null);
+	}
+
+	/**
+	 * Applies the first applicable evaluator to an operation with a single operand
+	 * starting with the evaluator remembered by a compiled expression
+	 * @param object the operation
+	 * @param right the result of the operand
+	 * @param evaluatorCache the evaluator cache of the compiled expression or null to ask all evaluators
+	 * @return the result of the operation
+	 */
+	IExpressionResult applyEvaluators(AOpRightExpression object, IExpressionResult right, DispatchCache<IExpressionEvaluator> evaluatorCache) {
+		IExpressionResult result = DispatchCache.dispatch(evaluatorCache, evaluators, Collections.singletonList(right), evaluator -> evaluator.caseAOpRightExpression(object, right));
+		if (result != null) {
+			return result;
+		}
+
+		return new UnresolvedExpressionResult();
+	}
+
+	/**
+	 * Applies the first applicable evaluator to a function operating on a set of values
+	 * @param object the function
+	 * @param set the results of the function inputs
+	 * @return the result of the function
+	 */
+	IExpressionResult applyEvaluators(AAdvancedFunction object, List<IExpressionResult> set) {
+		return applyEvaluators(object, set, null);
+	}
+
+	/**
+	 * Applies the first applicable evaluator to a function operating on a set of values
+	 * starting with the evaluator remembered by a compiled expression
+	 * @param object the function
+	 * @param set the results of the function inputs
+	 * @param evaluatorCache the evaluator cache of the compiled expression or null to ask all evaluators
+	 * @return the result of the function
+	 */
+	IExpressionResult applyEvaluators(AAdvancedFunction object, List<IExpressionResult> set, DispatchCache<IExpressionEvaluator> evaluatorCache) {
+		IExpressionResult result = DispatchCache.dispatch(evaluatorCache, evaluators, set, evaluator -> evaluator.caseAAdvancedFunction(object, set));
+		if (result != null) {
+			return result;
+		}
+
+		// No evaluator was applicable
+		return new UnresolvedExpressionResult();
+	}
+
 	/**
 	 * Gets a list of a all type instances that the passed set function would use as input
 	 * @param setFunction the set function
@@ -305,7 +501,8 @@ public class ExpressionHelper {
 		List<ATypeInstance> inputs = new ArrayList<>();
 
 		// Find all child seis that also compute the set function
-		Set<StructuralElementInstance> childrenWithSetFunction = getChildrenWithSetFunction(sei, setFunction, inputs);
+		SetFunctionInputIndex index = getSetFunctionInputIndex();
+		Set<StructuralElementInstance> childrenWithSetFunction = getChildrenWithSetFunction(sei, setFunction, inputs, index);
 		
 		// Get the CA in which the current Set resides. All TypeInstances of this category shall not be
 		// part of the inputs to be processed by this SetFunction. Accordingly they have to be removed
@@ -318,25 +515,21 @@ public class ExpressionHelper {
 			
 			@Override
 			public boolean isMatching(StructuralElementInstance treeSei) {
+				profileSetTraversal();
+
 				boolean isMatching = false;
-				// Get all nested TypeInstances to the current treeSei and see if one
-				// is matching to the definition of what is referenced by the SET function
-				List<CategoryAssignment> currentCas = new LinkedList<>(treeSei.getCategoryAssignments());
-			
-				Collection<ATypeInstance> typeInstances = VirSatEcoreUtil.getAllContentsOfType(currentCas, ATypeInstance.class, true);
-				typeInstances.addAll(currentCas);
-				
-				// Remove the local type instances. This prevents the creation of cyclic input for the set function
-				// i.e. it prevents that expressions such as mass = summary{mass} create a cycle by including the local
-				// mass property in the inputs of the summary set function
-				typeInstances.remove(currentCa);
-				typeInstances.removeAll(currentCa.getPropertyInstances());
+				// Get all nested TypeInstances to the current treeSei that are matching
+				// to the definition of what is referenced by the SET function
+				List<ATypeInstance> typeInstances = index.getTypeInstances(treeSei, typeDefinition);
 				
 				// Loop over all identified ATypeInstances
 				for (ATypeInstance aTypeInstance : typeInstances) {
-					boolean correctType = aTypeInstance.getType() == typeDefinition;
+					// Skip the local type instances. This prevents the creation of cyclic input for the set function
+					// i.e. it prevents that expressions such as mass = summary{mass} create a cycle by including the local
+					// mass property in the inputs of the summary set function
+					boolean isLocal = aTypeInstance == currentCa || currentCa.getPropertyInstances().contains(aTypeInstance);
 					boolean notComputedByChild = !childrenWithSetFunction.contains(treeSei);
-					if (correctType && notComputedByChild) {
+					if (!isLocal && notComputedByChild) {
 						// For composed property instances we have to get the category assignment
 						// to be able to work with them, thus try to decompose it
 						ATypeInstance decomposedTypeInstance = aTypeInstance;
@@ -388,17 +581,16 @@ public class ExpressionHelper {
 	 * @param setFunction the set function
 	 * @param inputs the list of current inputs. 
 	 * Instances that compute already set function for a child are added here.
+	 * @param index the index providing the equations of the resources of the children
 	 * @return all child seis that compute the same set function for their sub trees
 	 */
-	private Set<StructuralElementInstance> getChildrenWithSetFunction(StructuralElementInstance sei, SetFunction setFunction, List<ATypeInstance> inputs) {
+	private Set<StructuralElementInstance> getChildrenWithSetFunction(StructuralElementInstance sei, SetFunction setFunction, List<ATypeInstance> inputs, SetFunctionInputIndex index) {
 		Set<StructuralElementInstance> childrenWithSetFunction = new HashSet<>();
 
 		if (setFunction.getDepth() == AAdvancedFunctionOp.DEPTH_INFINITE) {
 			List<StructuralElementInstance> children = sei.getChildren();
 			for (StructuralElementInstance child : children) {
-				VirSatEcoreUtil.getAllContentsOfType(child.eResource(), Equation.class, true).forEachRemaining(eObject -> {
-					Equation equation = (Equation) eObject;
-
+				for (Equation equation : index.getEquations(child.eResource())) {
 					// Check if the expression computes the same set function but for the child sei
 					AExpression expression = equation.getExpression();
 					if (expression instanceof SetFunction && !childrenWithSetFunction.contains(getStructuralElementInstance(expression))) {
@@ -414,7 +606,7 @@ public class ExpressionHelper {
 							childrenWithSetFunction.addAll(child.getDeepChildren());
 						}
 					}
-				});
+				}
 			}
 		}
 
@@ -608,12 +800,28 @@ public class ExpressionHelper {
 	 */
 
 	public IResultSetter getResultSetter(ATypeInstance instance) {
-		for (IResultSetter setter : resultSetters) {
-			if (setter.isApplicableFor(instance)) {
-				return setter;
-			}
-		}
-		return null;
+		return getResultSetter(instance, null);
+	}
+
+	/**
+	 * Gets the setter applicable for the result of an equation. The setter is
+	 * remembered by the compiled equation for the next evaluation.
+	 * @param equation the equation whose result is assigned
+	 * @param instance The instance which to which we want to assign a result
+	 * @return The setter applicable for this instance. null if no setter is applicable
+	 */
+	public IResultSetter getResultSetter(Equation equation, ATypeInstance instance) {
+		return getResultSetter(instance, CompiledEquation.getCompiledEquation(equation).getSetterCache());
+	}
+
+	/**
+	 * Gets the setter applicable for a certain instance starting with the remembered setter
+	 * @param instance The instance which to which we want to assign a result
+	 * @param setterCache the setter cache of a compiled equation or null to ask all setters
+	 * @return The setter applicable for this instance. null if no setter is applicable
+	 */
+	private IResultSetter getResultSetter(ATypeInstance instance, DispatchCache<IResultSetter> setterCache) {
+		return DispatchCache.dispatch(setterCache, resultSetters, Collections.singletonList(instance), setter -> setter.isApplicableFor(instance) ? setter : null);
 	}
 
 	/**
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+import de.dlr.sc.virsat.commons.datastructures.DependencyTree;
+import de.dlr.sc.virsat.model.calculation.compute.problem.CyclicEquationProblem;
+import de.dlr.sc.virsat.model.calculation.compute.problem.EvaluationProblem;
+import de.dlr.sc.virsat.model.dvlm.Repository;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationSection;
+import de.dlr.sc.virsat.model.dvlm.calculation.IEquationSectionContainer;
+import de.dlr.sc.virsat.model.dvlm.roles.IUserContext;
+import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
+
+/**
+ * Evaluates all equations of a repository in memory. In contrast to the {@link IncrementalEquationBuilder}
+ * it neither needs a workspace nor an editing domain: the repository can be loaded into a plain resource set,
+ * the results are written directly to the model and problems are returned instead of being turned into markers.
+ * Nothing gets saved, this is left to the caller.
+ */
+public class HeadlessEquationEvaluator {
+
+	/**
+	 * The outcome of evaluating the equations of a repository
+	 */
+	public static class Evaluation {
+
+		private Map<Equation, IExpressionResult> mapEquationToResult = new LinkedHashMap<>();
+		private List<EvaluationProblem> problems = new ArrayList<>();
+
+		/**
+		 * Gets the results of all equations that could be evaluated
+		 * @return the results by their equation
+		 */
+		public Map<Equation, IExpressionResult> getResults() {
+			return Collections.unmodifiableMap(mapEquationToResult);
+		}
+
+		/**
+		 * Gets the problems that occurred during the evaluation, including equations on dependency cycles
+		 * @return the problems
+		 */
+		public List<EvaluationProblem> getProblems() {
+			return Collections.unmodifiableList(problems);
+		}
+
+		/**
+		 * Checks if the evaluation went through without problems
+		 * @return true if no problem occurred
+		 */
+		public boolean isOk() {
+			return problems.isEmpty();
+		}
+	}
+
+	private ExpressionHelper exprHelper;
+	private EquationHelper equationHelper;
+
+	/**
+	 * Constructor for an evaluator using the contributed expression extensions
+	 */
+	public HeadlessEquationEvaluator() {
+		this(new ExpressionHelper());
+	}
+
+	/**
+	 * Constructor for an evaluator using the given expression helper
+	 * @param exprHelper the expression helper to evaluate the expressions with
+	 */
+	public HeadlessEquationEvaluator(ExpressionHelper exprHelper) {
+		this.exprHelper = exprHelper;
+		this.equationHelper = new EquationHelper(exprHelper);
+	}
+
+	/**
+	 * Evaluates all equations of the given repository and its structural element instances.
+	 * Equations that are part of a dependency cycle are reported as problems and not evaluated.
+	 * @param repository the repository to evaluate
+	 * @param userContext the user context for checking the write permissions
+	 * @return the results and problems of the evaluation
+	 */
+	public Evaluation evaluate(Repository repository, IUserContext userContext) {
+		return evaluate(getAllEquations(repository), userContext);
+	}
+
+	/**
+	 * Evaluates the given equations
+	 * @param equations the equations to evaluate
+	 * @param userContext the user context for checking the write permissions
+	 * @return the results and problems of the evaluation
+	 */
+	public Evaluation evaluate(List<Equation> equations, IUserContext userContext) {
+		Evaluation evaluation = new Evaluation();
+		Map<EObject, IExpressionResult> mapExpressionToResult = new HashMap<>();
+
+		exprHelper.beginEvaluationPass();
+		try {
+			DependencyTree<EObject> tree = equationHelper.createDependencyTree(equations);
+			tree.removeCycles(cycleNode -> evaluation.problems.add(new CyclicEquationProblem(cycleNode)));
+			evaluation.problems.addAll(equationHelper.evaluate(tree, userContext, mapExpressionToResult));
+		} finally {
+			exprHelper.endEvaluationPass();
+		}
+
+		for (Equation equation : equations) {
+			IExpressionResult result = mapExpressionToResult.get(equation);
+			if (result != null) {
+				evaluation.mapEquationToResult.put(equation, result);
+			}
+		}
+
+		return evaluation;
+	}
+
+	/**
+	 * Collects the equations of all structural element instances of the repository.
+	 * All resources of the resource set are resolved first, so that equations depending on
+	 * elements in other resources can be evaluated.
+	 * @param repository the repository
+	 * @return the equations of the repository
+	 */
+	public List<Equation> getAllEquations(Repository repository) {
+		Resource resource = repository.eResource();
+		if (resource != null && resource.getResourceSet() != null) {
+			EcoreUtil.resolveAll(resource.getResourceSet());
+		} else {
+			EcoreUtil.resolveAll(repository);
+		}
+
+		List<Equation> equations = new ArrayList<>();
+		List<IEquationSectionContainer> containers = VirSatEcoreUtil.getAllContentsOfType(repository.getRootEntities(), IEquationSectionContainer.class, true);
+		for (IEquationSectionContainer container : containers) {
+			EquationSection section = container.getEquationSection();
+			if (section != null) {
+				equations.addAll(section.getEquations());
+			}
+		}
+		return equations;
+	}
+}
@@ -9,6 +9,8 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.calculation.compute;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -24,6 +26,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
@@ -34,7 +37,6 @@ import de.dlr.sc.virsat.model.calculation.compute.problem.EvaluationProblem;
 import de.dlr.sc.virsat.model.calculation.marker.VirSatEquationMarkerHelper;
 import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
 import de.dlr.sc.virsat.model.dvlm.calculation.EquationSection;
-import de.dlr.sc.virsat.model.dvlm.calculation.IEquationResult;
 import de.dlr.sc.virsat.model.dvlm.calculation.IEquationSectionContainer;
 import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
 import de.dlr.sc.virsat.model.dvlm.categories.ATypeInstance;
@@ -50,6 +52,12 @@ import de.dlr.sc.virsat.project.structure.VirSatProjectCommons;
 public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 
 	public static final String BUILDER_ID = "de.dlr.sc.virsat.model.calculation.compute.builder";
+	
+	/**
+	 * System property enabling the profiling mode of the builder. If set to true, the effort of
+	 * each equation is written as CSV report to the unversioned folder of the project after each build.
+	 */
+	public static final String PROFILING_PROPERTY = "de.dlr.sc.virsat.model.calculation.profiling";
 
 	private ExpressionHelper exprHelper = new ExpressionHelper();
 	private EquationHelper dependencyHelper = new EquationHelper(exprHelper);
@@ -57,6 +65,9 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 	private List<EvaluationProblem> equationProblems;
 	private List<EObject> objectsWithOldMarkers;
 	
+	// Dependencies between the equations of the last build, null if they are not known
+	private EquationDependencyGraph dependencyGraph;
+	
 	protected VirSatEquationMarkerHelper vemHelper;
 	
 	/**
@@ -86,6 +97,18 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 		createEquationEvaluationProblemMarkers();
 	}
 
+	@Override
+	protected void transactionalFullBuild(IProgressMonitor monitor) {
+		super.transactionalFullBuild(monitor);
+		writeDependencyGraph();
+	}
+	
+	@Override
+	protected void transactionalIncrementalBuild(IResourceDelta delta, IProgressMonitor monitor) {
+		super.transactionalIncrementalBuild(delta, monitor);
+		writeDependencyGraph();
+	}
+
 	@Override
 	public void fullBuild(IProgressMonitor monitor) {
 		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "IncrementalEquationBuilder: Starting full build"));
@@ -98,8 +121,14 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 		
 		// Build the dependency tree
 		List<Equation> equations = getAllEquationsInProject(resourceSet);
-		DependencyTree<EObject> tree = dependencyHelper.createDependencyTree(equations);
-		buildEquations(tree, monitor);
+		exprHelper.beginEvaluationPass();
+		try {
+			dependencyGraph = resourceSet.hasError() ? null : EquationDependencyGraph.create(equations, exprHelper);
+			DependencyTree<EObject> tree = dependencyHelper.createDependencyTree(equations);
+			buildEquations(tree, monitor);
+		} finally {
+			exprHelper.endEvaluationPass();
+		}
 		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "IncrementalEquationBuilder: Finished full build"));
 	}
 
@@ -118,7 +147,10 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 		}
 		
 		// Set of equations we definitely have to update because they are in a changed resource
+		// together with the changed inputs whose dependent equations we have to update
 		Set<EObject> equationResults = new HashSet<>();
+		Set<String> changedResources = new HashSet<>();
+		Set<String> removedResources = new HashSet<>();
 		
 		try {
 			delta.accept(new IResourceDeltaVisitor() {
@@ -129,12 +161,15 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
  
 					int resourceDeltaKind = delta.getKind();
 					boolean isRemoved = resourceDeltaKind == IResourceDelta.REMOVED;
-					if ((iResource instanceof IFile) && (!isRemoved)) {
+					if ((iResource instanceof IFile) && isRemoved && VirSatProjectCommons.isDvlmFile((IFile) iResource)) {
+						removedResources.add(getResourceUri((IFile) iResource));
+					} else if ((iResource instanceof IFile) && (!isRemoved)) {
 						IFile iFile = (IFile) iResource;
 
 						// Only build model files
 						boolean isDvlmModelFile = VirSatProjectCommons.isDvlmFile(iFile);
 						if (isDvlmModelFile) {
+							changedResources.add(getResourceUri(iFile));
 							Resource resource = resourceSet.safeGetResource(iFile, false);
 							
 							// Were are actually processing files here so make sure the resources all get saved
@@ -145,7 +180,7 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 								return true;
 							}
 
-							equationResults.addAll(getAllEquationResultsInResource(resource));
+							equationResults.addAll(getAllEquationResultsAndInputsInResource(resource));
 						}
 					}
 
@@ -157,30 +192,52 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 			return;
 		}
 		
+		// If the dependencies of the last build are known, only the resources affected
+		// by the changes have to be loaded. Otherwise fall back to loading the whole project.
+		EquationDependencyGraph knownDependencyGraph = removedResources.isEmpty() ? getDependencyGraph(changedResources) : null;
+		Set<String> affectedResources = knownDependencyGraph != null ? knownDependencyGraph.getAffectedResources(changedResources) : null;
+		List<Equation> equations = affectedResources != null ? getAllEquationsInResources(resourceSet, affectedResources) : null;
+		if (equations == null) {
+			affectedResources = null;
+			equations = getAllEquationsInProject(resourceSet);
+		}
+		
 		// Build the dependency tree
-		List<Equation> equations = getAllEquationsInProject(resourceSet);
-		DependencyTree<EObject> tree = dependencyHelper.createDependencyTree(equations);
+		exprHelper.beginEvaluationPass();
+		try {
+			EquationDependencyGraph rebuiltDependencyGraph = resourceSet.hasError() ? null : EquationDependencyGraph.create(equations, exprHelper);
+			if (affectedResources != null && rebuiltDependencyGraph != null) {
+				knownDependencyGraph.replace(affectedResources, rebuiltDependencyGraph);
+				dependencyGraph = knownDependencyGraph;
+			} else {
+				dependencyGraph = affectedResources != null ? null : rebuiltDependencyGraph;
+			}
+			
+			DependencyTree<EObject> tree = dependencyHelper.createDependencyTree(equations);
 
-		tree.trim(equationResults);		
-		subMonitor.worked(1);
+			tree.trim(equationResults);		
+			subMonitor.worked(1);
 		
-		objectsWithOldMarkers.clear();
-		objectsWithOldMarkers.addAll(tree.getNodes());
-		tree.getNodes().forEach(node -> {
-			// We also need to get all the instances that custom result setters may affect
-			if (node instanceof TypeInstanceResult) {
-				ATypeInstance resultInstance = ((TypeInstanceResult) node).getReference();
-				IResultSetter resultSetter = exprHelper.getResultSetter(resultInstance);
-				if (resultSetter != null) {
-					objectsWithOldMarkers.addAll(resultSetter.getAffectedTypeInstances(resultInstance));
+			objectsWithOldMarkers.clear();
+			objectsWithOldMarkers.addAll(tree.getNodes());
+			tree.getNodes().forEach(node -> {
+				// We also need to get all the instances that custom result setters may affect
+				if (node instanceof TypeInstanceResult) {
+					ATypeInstance resultInstance = ((TypeInstanceResult) node).getReference();
+					IResultSetter resultSetter = exprHelper.getResultSetter(resultInstance);
+					if (resultSetter != null) {
+						objectsWithOldMarkers.addAll(resultSetter.getAffectedTypeInstances(resultInstance));
+					}
 				}
-			}
-		});
-		objectsWithOldMarkers.addAll(equations);
+			});
+			objectsWithOldMarkers.addAll(equations);
 		
-		subMonitor.beginTask("Evaluating equations...", MAX_TASKS);
-		buildEquations(tree, monitor);
-		subMonitor.worked(1);
+			subMonitor.beginTask("Evaluating equations...", MAX_TASKS);
+			buildEquations(tree, monitor);
+			subMonitor.worked(1);
+		} finally {
+			exprHelper.endEvaluationPass();
+		}
 		
 		subMonitor.beginTask("Saving resources...", MAX_TASKS);
 		Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "IncrementalEquationBuilder: Finsihed incremental build"));
@@ -220,6 +277,87 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 		return equations;
 	};
 	
+	/**
+	 * Gathers all equations in the given resources without loading any other resources
+	 * @param resourceSet resource set of the project
+	 * @param resourceUris the uris of the resources to load
+	 * @return a list of Equations or null if some resource could not be loaded
+	 */
+	private List<Equation> getAllEquationsInResources(VirSatResourceSet resourceSet, Set<String> resourceUris) {
+		List<Resource> resources = new ArrayList<>();
+		try {
+			for (String resourceUri : resourceUris) {
+				resources.add(resourceSet.getResource(URI.createURI(resourceUri), true));
+			}
+		} catch (Exception e) {
+			Activator.getDefault().getLog().log(new Status(IStatus.WARNING, Activator.getPluginId(), "IncrementalEquationBuilder: Could not load affected resources, loading the whole project", e));
+			return null;
+		}
+		
+		if (resourceSet.hasError()) {
+			return null;
+		}
+		
+		List<Equation> equations = new ArrayList<>();
+		List<IEquationSectionContainer> equationSectionContainers = VirSatEcoreUtil.getAllContentsOfType(resources, null, IEquationSectionContainer.class, false);
+		for (IEquationSectionContainer container : equationSectionContainers) {
+			EquationSection section = container.getEquationSection();
+			if (section != null) {
+				equations.addAll(section.getEquations());
+			}
+		}
+		return equations;
+	}
+	
+	/**
+	 * Gets the dependencies between the equations of the last build. In case this builder did not
+	 * build the project yet, the dependencies are read from the unversioned folder of the project.
+	 * They are only used if none of the resources has been changed outside of the given resources since then.
+	 * @param changedResources the uris of the resources that are about to be built
+	 * @return the dependency graph or null if it is not known or outdated
+	 */
+	private EquationDependencyGraph getDependencyGraph(Set<String> changedResources) {
+		if (dependencyGraph == null) {
+			try {
+				EquationDependencyGraph persistedDependencyGraph = EquationDependencyGraph.read(getVirSatProject());
+				if (persistedDependencyGraph != null && persistedDependencyGraph.isUpToDate(changedResources)) {
+					Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "IncrementalEquationBuilder: Using persisted equation dependencies"));
+					return persistedDependencyGraph;
+				}
+			} catch (IOException e) {
+				Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "IncrementalEquationBuilder: Could not read equation dependencies", e));
+			}
+		}
+		return dependencyGraph;
+	}
+	
+	/**
+	 * Writes the dependencies between the equations of the last build into the unversioned folder of the project.
+	 * This needs to be called after the resources have been saved, so that the stored time stamps match the files.
+	 * If the dependencies are not known, outdated dependencies are deleted.
+	 */
+	protected void writeDependencyGraph() {
+		try {
+			if (dependencyGraph != null) {
+				dependencyGraph.updateTimestamps();
+				dependencyGraph.write(getVirSatProject());
+			} else {
+				EquationDependencyGraph.delete(getVirSatProject());
+			}
+		} catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "IncrementalEquationBuilder: Could not write equation dependencies", e));
+		}
+	}
+	
+	/**
+	 * Gets the uri of the EMF resource of a file
+	 * @param file the file
+	 * @return the platform resource uri of the file as string
+	 */
+	private String getResourceUri(IFile file) {
+		return URI.createPlatformResourceURI(file.getFullPath().toString(), true).toString();
+	}
+	
 	/**
 	 * Writes all errors from resourceSet to log
 	 * @param resourceSet resource set to get errors from
@@ -252,10 +390,11 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 	/**
 	 * Call this method to get all Equations from a given EMF Resource
 	 * @param resource The EMF Resource to look in for equations
-	 * @return A list with all contained SEIs
+	 * @return A set with the results of all contained equations and all contained type instances,
+	 * since the equations using them as input have to be updated as well
 	 */
-	private Set<IEquationResult> getAllEquationResultsInResource(Resource resource) {
-		Set<IEquationResult> equations = new HashSet<>();
+	private Set<EObject> getAllEquationResultsAndInputsInResource(Resource resource) {
+		Set<EObject> equations = new HashSet<>();
 		
 		try {
 			EcoreUtil.resolveAll(resource);
@@ -263,6 +402,8 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 				if (object instanceof Equation) {
 					Equation equation = (Equation) object;
 					equations.add(equation.getResult());
+				} else if (object instanceof ATypeInstance) {
+					equations.add(object);
 				}
 			});
 				
@@ -293,11 +434,35 @@ public class IncrementalEquationBuilder extends AVirSatTransactionalBuilder {
 		subMonitor.beginTask("Evaluating equations...", MAX_TASKS);
 		
 		// Evaluate the tree in the correct order
-		equationProblems = dependencyHelper.evaluate(tree, getUserContext());
+		if (Boolean.getBoolean(PROFILING_PROPERTY)) {
+			EquationProfiler profiler = new EquationProfiler();
+			dependencyHelper.setProfiler(profiler);
+			try {
+				equationProblems = dependencyHelper.evaluate(tree, getUserContext());
+			} finally {
+				dependencyHelper.setProfiler(null);
+			}
+			writeProfilingReport(profiler);
+		} else {
+			equationProblems = dependencyHelper.evaluate(tree, getUserContext());
+		}
 		
 		subMonitor.worked(1);
 	}
 	
+	/**
+	 * Writes the report of the profiled evaluation into the unversioned folder of the project
+	 * @param profiler the profiler that recorded the evaluation
+	 */
+	private void writeProfilingReport(EquationProfiler profiler) {
+		try {
+			Path report = profiler.writeReport(getProject());
+			Activator.getDefault().getLog().log(new Status(Status.INFO, Activator.getPluginId(), "IncrementalEquationBuilder: Wrote profiling report to " + report));
+		} catch (IOException e) {
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "IncrementalEquationBuilder: Could not write profiling report", e));
+		}
+	}
+	
 	/**
 	 * Create markers for out of date objects
 	 */
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import de.dlr.sc.virsat.model.calculation.compute.extensions.ValuePropertyGetter;
+
+/**
+ * Extender through which a concept opts in to evaluating its values with margins as intervals.
+ * A concept subclasses this extender with a constructor without parameters that passes the
+ * full qualified names of its margin properties by the full qualified names of their value properties.
+ * The subclass is contributed to the extension point {@link ExpressionExtensionRegistry#EXTENSION_POINT_ID}
+ * with a priority below the priority 0 of the {@link DefaultExpressionExtender}, so that its getter
+ * is asked before the default getter of value properties:
+ * <pre>
+ * &lt;extension point="de.dlr.sc.virsat.model.edit.TypeInstanceSetterProvider"&gt;
+ *    &lt;typeInstanceSetterProvider class="my.concept.MyMarginExpressionExtender" priority="-1"/&gt;
+ * &lt;/extension&gt;
+ * </pre>
+ * The resulting intervals are evaluated by the default evaluators.
+ */
+public class MarginExpressionExtender implements IExpressionExtender {
+
+	private final Map<String, String> mapValueToMarginProperty;
+
+	/**
+	 * Constructor for an extender providing the given margins
+	 * @param mapValueToMarginProperty the full qualified names of the margin properties by the full qualified names of their value properties
+	 */
+	public MarginExpressionExtender(Map<String, String> mapValueToMarginProperty) {
+		this.mapValueToMarginProperty = mapValueToMarginProperty;
+	}
+
+	@Override
+	public List<IResultSetter> getTypeInstanceSetters() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public List<IInputGetter> getInputGetters() {
+		return Collections.singletonList(new ValuePropertyGetter(mapValueToMarginProperty));
+	}
+
+	@Override
+	public List<IExpressionEvaluator> getExpressionEvaluators() {
+		return Collections.emptyList();
+	}
+}
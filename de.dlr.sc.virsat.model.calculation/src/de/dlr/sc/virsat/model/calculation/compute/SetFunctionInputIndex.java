@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.resource.Resource;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.categories.ATypeDefinition;
+import de.dlr.sc.virsat.model.dvlm.categories.ATypeInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
+
+/**
+ * Index of the inputs that set functions search for in the structural element instance tree.
+ * The type instances of a structural element instance and the equations of a resource are collected
+ * on first access and then reused by all set functions of the same evaluation pass. The index
+ * assumes that the structure of the model does not change while it is in use.
+ */
+public class SetFunctionInputIndex {
+
+	private Map<StructuralElementInstance, Map<ATypeDefinition, List<ATypeInstance>>> mapSeiToTypeInstances = new HashMap<>();
+	private Map<Resource, List<Equation>> mapResourceToEquations = new HashMap<>();
+
+	/**
+	 * Gets all type instances nested in the category assignments of the given sei that are typed by the given definition.
+	 * The type instances are in the same order as they are found by traversing the contents of the category assignments.
+	 * @param sei the structural element instance to get the type instances for
+	 * @param typeDefinition the type definition of the type instances
+	 * @return the type instances of the given type
+	 */
+	public List<ATypeInstance> getTypeInstances(StructuralElementInstance sei, ATypeDefinition typeDefinition) {
+		Map<ATypeDefinition, List<ATypeInstance>> mapTypeToInstances = mapSeiToTypeInstances.computeIfAbsent(sei, this::indexTypeInstances);
+		return mapTypeToInstances.getOrDefault(typeDefinition, Collections.emptyList());
+	}
+
+	/**
+	 * Gets all equations contained in the given resource
+	 * @param resource the resource to get the equations from, may be null
+	 * @return the equations in the resource
+	 */
+	public List<Equation> getEquations(Resource resource) {
+		if (resource == null) {
+			return Collections.emptyList();
+		}
+		return mapResourceToEquations.computeIfAbsent(resource, this::indexEquations);
+	}
+
+	/**
+	 * Gets the number of structural element instances whose contents have been traversed for this index
+	 * @return the number of indexed structural element instances
+	 */
+	public int getIndexedSeiCount() {
+		return mapSeiToTypeInstances.size();
+	}
+
+	/**
+	 * Traverses the category assignments of the given sei and groups all contained type instances by their type
+	 * @param sei the structural element instance to be indexed
+	 * @return the type instances of the sei by their type
+	 */
+	protected Map<ATypeDefinition, List<ATypeInstance>> indexTypeInstances(StructuralElementInstance sei) {
+		List<CategoryAssignment> cas = new LinkedList<>(sei.getCategoryAssignments());
+		Collection<ATypeInstance> typeInstances = VirSatEcoreUtil.getAllContentsOfType(cas, ATypeInstance.class, true);
+		typeInstances.addAll(cas);
+
+		Map<ATypeDefinition, List<ATypeInstance>> mapTypeToInstances = new LinkedHashMap<>();
+		for (ATypeInstance typeInstance : typeInstances) {
+			mapTypeToInstances.computeIfAbsent(typeInstance.getType(), type -> new ArrayList<>()).add(typeInstance);
+		}
+		return mapTypeToInstances;
+	}
+
+	/**
+	 * Collects all equations of the given resource
+	 * @param resource the resource to be indexed
+	 * @return the equations in the resource
+	 */
+	private List<Equation> indexEquations(Resource resource) {
+		List<Equation> equations = new ArrayList<>();
+		VirSatEcoreUtil.getAllContentsOfType(resource, Equation.class, true).forEachRemaining(eObject -> equations.add((Equation) eObject));
+		return equations;
+	}
+}
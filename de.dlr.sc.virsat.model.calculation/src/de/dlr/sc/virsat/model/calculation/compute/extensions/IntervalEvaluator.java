@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute.extensions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.dlr.sc.virsat.model.calculation.compute.IExpressionEvaluator;
+import de.dlr.sc.virsat.model.calculation.compute.IExpressionResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.AAdvancedFunction;
+import de.dlr.sc.virsat.model.dvlm.calculation.ALeftOpRightExpression;
+import de.dlr.sc.virsat.model.dvlm.calculation.AOpRightExpression;
+
+/**
+ * Evaluator implementation for intervals. It handles all operations with at least one
+ * interval operand, number literals taking part in such an operation are treated as point intervals.
+ */
+
+public class IntervalEvaluator implements IExpressionEvaluator {
+
+	@Override
+	public IExpressionResult caseAOpRightExpression(AOpRightExpression object, IExpressionResult right) {
+		if (right instanceof IntervalResult) {
+			IntervalResultHelper intervalHelper = new IntervalResultHelper((IntervalResult) right);
+			return intervalHelper.applyMathOperator(object.getOperator());
+		}
+		return null;
+	}
+
+	@Override
+	public IExpressionResult caseALeftOpRightExpression(ALeftOpRightExpression object, IExpressionResult left, IExpressionResult right) {
+		boolean hasInterval = left instanceof IntervalResult || right instanceof IntervalResult;
+		IntervalResult leftInterval = toInterval(left);
+		IntervalResult rightInterval = toInterval(right);
+		if (hasInterval && leftInterval != null && rightInterval != null) {
+			IntervalResultHelper intervalHelper = new IntervalResultHelper(leftInterval);
+			return intervalHelper.applyMathOperator(object.getOperator(), rightInterval);
+		}
+		return null;
+	}
+	
+	@Override
+	public IExpressionResult caseAAdvancedFunction(AAdvancedFunction object, List<IExpressionResult> set) {
+		boolean hasInterval = false;
+		List<IntervalResult> intervalResults = new ArrayList<>();
+		for (IExpressionResult input : set) {
+			IntervalResult interval = toInterval(input);
+			if (interval == null) {
+				return null;
+			}
+			hasInterval |= input instanceof IntervalResult;
+			intervalResults.add(interval);
+		}
+		
+		if (!hasInterval) {
+			return null;
+		}
+		
+		IntervalSetFunctionHelper setHelper = new IntervalSetFunctionHelper(intervalResults);
+		return setHelper.applySetOperator(object);
+	}
+	
+	/**
+	 * Converts a result to an interval
+	 * @param result the result to convert
+	 * @return the interval or null if the result cannot be represented as interval
+	 */
+	private IntervalResult toInterval(IExpressionResult result) {
+		if (result instanceof IntervalResult) {
+			return (IntervalResult) result;
+		} else if (result instanceof NumberLiteralResult) {
+			return IntervalResult.of((NumberLiteralResult) result);
+		}
+		return null;
+	}
+}
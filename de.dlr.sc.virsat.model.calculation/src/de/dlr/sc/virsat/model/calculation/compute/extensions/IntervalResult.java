@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute.extensions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.dlr.sc.virsat.model.calculation.compute.IExpressionResult;
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+import de.dlr.sc.virsat.model.dvlm.qudv.AQuantityKind;
+import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
+
+/**
+ * Implements a result container for values with an uncertainty. The result consists
+ * of a nominal value and the interval [lower, upper] the actual value is guaranteed to lie in.
+ * An interval with NaN bounds is empty.
+ */
+
+public class IntervalResult implements IExpressionResult {
+	private final double lower;
+	private final double nominal;
+	private final double upper;
+	private final Map<AQuantityKind, Double> baseQuantityKinds;
+
+	/**
+	 * An interval result with no specified quantity kinds
+	 * @param lower the lower bound
+	 * @param nominal the nominal value
+	 * @param upper the upper bound
+	 */
+	public IntervalResult(double lower, double nominal, double upper) {
+		this(lower, nominal, upper, new HashMap<>());
+	}
+
+	/**
+	 * An interval result
+	 * @param lower the lower bound
+	 * @param nominal the nominal value
+	 * @param upper the upper bound
+	 * @param quantityKinds the quantity kinds of the values
+	 */
+	public IntervalResult(double lower, double nominal, double upper, Map<AQuantityKind, Double> quantityKinds) {
+		this.lower = lower;
+		this.nominal = nominal;
+		this.upper = upper;
+		this.baseQuantityKinds = quantityKinds;
+	}
+
+	/**
+	 * Creates a point interval from a number literal result
+	 * @param numberLiteralResult the number literal result
+	 * @return an interval whose bounds both equal the value of the number literal
+	 */
+	public static IntervalResult of(NumberLiteralResult numberLiteralResult) {
+		double value = new NumberLiteralHelper(numberLiteralResult.getNumberLiteral()).getValue();
+		return new IntervalResult(value, value, value, numberLiteralResult.getQuantityKinds());
+	}
+
+	public double getLower() {
+		return lower;
+	}
+
+	public double getNominal() {
+		return nominal;
+	}
+
+	public double getUpper() {
+		return upper;
+	}
+
+	/**
+	 * Get the quantity kinds associated with the result
+	 * @return The quantity kinds associated with this result
+	 */
+	public Map<AQuantityKind, Double> getQuantityKinds() {
+		return baseQuantityKinds;
+	}
+
+	/**
+	 * Checks if the interval is empty
+	 * @return true iff one of the bounds is not a number
+	 */
+	public boolean isEmpty() {
+		return Double.isNaN(lower) || Double.isNaN(upper);
+	}
+
+	/**
+	 * Checks if a value lies within the interval
+	 * @param value the value to check
+	 * @return true iff lower <= value <= upper
+	 */
+	public boolean contains(double value) {
+		return lower <= value && value <= upper;
+	}
+
+	/**
+	 * Gets the nominal value as number literal result, e.g. for storing it in a value property
+	 * @return the nominal value with the quantity kinds of this result
+	 */
+	public NumberLiteralResult getNominalResult() {
+		NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
+		resultLiteral.setValue(Double.toString(nominal));
+		return new NumberLiteralResult(resultLiteral, baseQuantityKinds);
+	}
+
+	/**
+	 * Checks if the interval only consists of its nominal value
+	 * @return true iff both bounds equal the nominal value
+	 */
+	public boolean isPoint() {
+		return Double.compare(lower, nominal) == 0 && Double.compare(nominal, upper) == 0;
+	}
+
+	@Override
+	public String toString() {
+		// A point interval carries no uncertainty, so it is shown like a plain number
+		if (isPoint()) {
+			return getNominalResult().toString();
+		}
+		return nominal + " [" + lower + ", " + upper + "]";
+	}
+
+	@Override
+	public boolean equals(IExpressionResult obj, double eps) {
+		if (obj instanceof IntervalResult) {
+			IntervalResult ir = (IntervalResult) obj;
+
+			boolean equalValues = equals(lower, ir.lower, eps) && equals(nominal, ir.nominal, eps) && equals(upper, ir.upper, eps);
+			boolean equalQuantityKinds = QudvUnitHelper.getInstance().haveSameQuantityKind(getQuantityKinds(), ir.getQuantityKinds());
+
+			return equalValues && equalQuantityKinds;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Compares two values relative to their magnitude, infinite values have to be identical
+	 * @param value1 the first value
+	 * @param value2 the second value
+	 * @param eps the precision level
+	 * @return true iff the values are equal up to epsilon
+	 */
+	private boolean equals(double value1, double value2, double eps) {
+		if (Double.compare(value1, value2) == 0) {
+			return true;
+		}
+		return Math.abs(value1 - value2) <= eps * Math.max(Math.abs(value1), Math.abs(value2));
+	}
+}
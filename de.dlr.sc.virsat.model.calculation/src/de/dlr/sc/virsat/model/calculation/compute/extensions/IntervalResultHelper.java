@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute.extensions;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.MathOperator;
+
+/**
+ * Helper class for applying operations to interval results. The nominal value and the quantity kinds
+ * are computed exactly like for number literals, the bounds are computed with interval arithmetic:
+ * the resulting interval contains the result of the operation for every combination of values
+ * from the input intervals.
+ */
+
+public class IntervalResultHelper {
+
+	private static final double TWO_PI = 2 * Math.PI;
+	private static final double HALF_PI = Math.PI / 2;
+
+	private IntervalResult intervalResult;
+
+	/**
+	 * Create a new helper
+	 * @param intervalResult the interval this helper will be used for
+	 */
+	public IntervalResultHelper(IntervalResult intervalResult) {
+		this.intervalResult = intervalResult;
+	}
+
+	/**
+	 * Apply a 2 input operation to the interval together with a passed rhs interval
+	 * @param operator the operation
+	 * @param rhsResult the right hand side interval
+	 * @return the result of the calculation
+	 */
+	public IntervalResult applyMathOperator(MathOperator operator, IntervalResult rhsResult) {
+		NumberLiteralResult nominalResult = new NumberLiteralResultHelper(intervalResult.getNominalResult())
+				.applyMathOperator(operator, rhsResult.getNominalResult());
+		double nominal = new NumberLiteralHelper(nominalResult.getNumberLiteral()).getValue();
+
+		double a = intervalResult.getLower();
+		double b = intervalResult.getUpper();
+		double c = rhsResult.getLower();
+		double d = rhsResult.getUpper();
+
+		double[] bounds;
+		if (intervalResult.isEmpty() || rhsResult.isEmpty()) {
+			bounds = empty();
+		} else if (operator.equals(MathOperator.PLUS)) {
+			bounds = new double[] {a + c, b + d};
+		} else if (operator.equals(MathOperator.MINUS)) {
+			bounds = new double[] {a - d, b - c};
+		} else if (operator.equals(MathOperator.MULTIPLY)) {
+			bounds = multiply(a, b, c, d);
+		} else if (operator.equals(MathOperator.DIVIDE)) {
+			double[] reciprocal = reciprocal(c, d);
+			bounds = Double.isNaN(reciprocal[0]) ? empty() : multiply(a, b, reciprocal[0], reciprocal[1]);
+		} else if (operator.equals(MathOperator.POWER)) {
+			bounds = power(a, b, c, d);
+		} else {
+			bounds = empty();
+		}
+
+		return new IntervalResult(bounds[0], nominal, bounds[1], nominalResult.getQuantityKinds());
+	}
+
+	/**
+	 * Apply an operation on the base interval
+	 * @param operator the operation
+	 * @return the result of the calculation
+	 */
+	public IntervalResult applyMathOperator(MathOperator operator) {
+		NumberLiteralResult nominalResult = new NumberLiteralResultHelper(intervalResult.getNominalResult()).applyMathOperator(operator);
+		double nominal = new NumberLiteralHelper(nominalResult.getNumberLiteral()).getValue();
+
+		double a = intervalResult.getLower();
+		double b = intervalResult.getUpper();
+
+		double[] bounds;
+		if (intervalResult.isEmpty()) {
+			bounds = empty();
+		} else {
+			switch (operator) {
+				case PLUS:
+					bounds = new double[] {a, b};
+					break;
+				case MINUS:
+					bounds = new double[] {-b, -a};
+					break;
+				case SIN:
+					bounds = periodic(a, b, HALF_PI, -HALF_PI, NumberLiteralResultHelper.getFunction(operator));
+					break;
+				case COS:
+					bounds = periodic(a, b, 0, Math.PI, NumberLiteralResultHelper.getFunction(operator));
+					break;
+				case TAN:
+					bounds = tan(a, b);
+					break;
+				case ACOS:
+					bounds = monotone(a, b, -1, 1, false, NumberLiteralResultHelper.getFunction(operator));
+					break;
+				case ASIN:
+					bounds = monotone(a, b, -1, 1, true, NumberLiteralResultHelper.getFunction(operator));
+					break;
+				case SQRT:
+				case LOG:
+				case LD:
+				case LN:
+					bounds = monotone(a, b, 0, Double.POSITIVE_INFINITY, true, NumberLiteralResultHelper.getFunction(operator));
+					break;
+				default:
+					bounds = monotone(a, b, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, true, NumberLiteralResultHelper.getFunction(operator));
+					break;
+			}
+		}
+
+		return new IntervalResult(bounds[0], nominal, bounds[1], nominalResult.getQuantityKinds());
+	}
+
+	/**
+	 * Creates the bounds of an empty interval
+	 * @return the bounds of an empty interval
+	 */
+	private static double[] empty() {
+		return new double[] {Double.NaN, Double.NaN};
+	}
+
+	/**
+	 * Multiplies two bounds. In contrast to plain floating point arithmetic zero times
+	 * an infinite bound is zero, since the infinite bound is never actually reached.
+	 * @param x the first bound
+	 * @param y the second bound
+	 * @return the product of the bounds
+	 */
+	private static double multiplyBounds(double x, double y) {
+		if (x == 0 || y == 0) {
+			return 0;
+		}
+		return x * y;
+	}
+
+	/**
+	 * Computes [a, b] * [c, d]
+	 * @param a lower bound of the left interval
+	 * @param b upper bound of the left interval
+	 * @param c lower bound of the right interval
+	 * @param d upper bound of the right interval
+	 * @return the bounds of the product
+	 */
+	static double[] multiply(double a, double b, double c, double d) {
+		double ac = multiplyBounds(a, c);
+		double ad = multiplyBounds(a, d);
+		double bc = multiplyBounds(b, c);
+		double bd = multiplyBounds(b, d);
+		return new double[] {Math.min(Math.min(ac, ad), Math.min(bc, bd)), Math.max(Math.max(ac, ad), Math.max(bc, bd))};
+	}
+
+	/**
+	 * Computes 1 / [c, d]. If the interval contains zero as inner point the reciprocal
+	 * consists of two disjoint intervals, in this case their hull (-inf, inf) is returned.
+	 * @param c the lower bound
+	 * @param d the upper bound
+	 * @return the bounds of the reciprocal, empty if the interval is [0, 0]
+	 */
+	static double[] reciprocal(double c, double d) {
+		if (c == 0 && d == 0) {
+			return empty();
+		} else if (c > 0 || d < 0) {
+			return new double[] {1 / d, 1 / c};
+		} else if (c == 0) {
+			return new double[] {1 / d, Double.POSITIVE_INFINITY};
+		} else if (d == 0) {
+			return new double[] {Double.NEGATIVE_INFINITY, 1 / c};
+		}
+		return new double[] {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+	}
+
+	/**
+	 * Computes [a, b] ^ [c, d]. Integer exponents are defined for all bases, for
+	 * all other exponents the base is restricted to its non negative part.
+	 * @param a lower bound of the base
+	 * @param b upper bound of the base
+	 * @param c lower bound of the exponent
+	 * @param d upper bound of the exponent
+	 * @return the bounds of the power
+	 */
+	static double[] power(double a, double b, double c, double d) {
+		if (c == d && c == Math.rint(c) && !Double.isInfinite(c)) {
+			return integerPower(a, b, c);
+		}
+
+		double lower = Math.max(a, 0);
+		if (lower > b) {
+			return empty();
+		}
+
+		double[] corners = {Math.pow(lower, c), Math.pow(lower, d), Math.pow(b, c), Math.pow(b, d)};
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (double corner : corners) {
+			min = Math.min(min, corner);
+			max = Math.max(max, corner);
+		}
+		return new double[] {min, max};
+	}
+
+	/**
+	 * Computes [a, b] ^ n for an integer n
+	 * @param a lower bound of the base
+	 * @param b upper bound of the base
+	 * @param n the integer exponent
+	 * @return the bounds of the power
+	 */
+	private static double[] integerPower(double a, double b, double n) {
+		if (n == 0) {
+			return new double[] {1, 1};
+		} else if (n < 0) {
+			double[] positivePower = integerPower(a, b, -n);
+			return reciprocal(positivePower[0], positivePower[1]);
+		}
+
+		double powA = Math.pow(a, n);
+		double powB = Math.pow(b, n);
+		boolean isEven = n % 2 == 0;
+		if (!isEven || a >= 0) {
+			return new double[] {powA, powB};
+		} else if (b <= 0) {
+			return new double[] {powB, powA};
+		}
+		return new double[] {0, Math.max(powA, powB)};
+	}
+
+	/**
+	 * Applies a monotone function on [a, b] restricted to the domain of the function
+	 * @param a the lower bound
+	 * @param b the upper bound
+	 * @param domainLower lower bound of the domain of the function
+	 * @param domainUpper upper bound of the domain of the function
+	 * @param isIncreasing true if the function is increasing, false if it is decreasing
+	 * @param function the function
+	 * @return the bounds of the image
+	 */
+	private static double[] monotone(double a, double b, double domainLower, double domainUpper, boolean isIncreasing, UnivariateFunction function) {
+		double lower = Math.max(a, domainLower);
+		double upper = Math.min(b, domainUpper);
+		if (lower > upper) {
+			return empty();
+		}
+
+		double valueLower = function.value(lower);
+		double valueUpper = function.value(upper);
+		return isIncreasing ? new double[] {valueLower, valueUpper} : new double[] {valueUpper, valueLower};
+	}
+
+	/**
+	 * Applies a function with period 2 pi and range [-1, 1] on [a, b]
+	 * @param a the lower bound
+	 * @param b the upper bound
+	 * @param maximum a point at which the function takes its maximum 1
+	 * @param minimum a point at which the function takes its minimum -1
+	 * @param function the function
+	 * @return the bounds of the image
+	 */
+	private static double[] periodic(double a, double b, double maximum, double minimum, UnivariateFunction function) {
+		if (Double.isInfinite(a) || Double.isInfinite(b) || b - a >= TWO_PI) {
+			return new double[] {-1, 1};
+		}
+
+		double valueA = function.value(a);
+		double valueB = function.value(b);
+		double lower = containsPeriodicPoint(a, b, minimum, TWO_PI) ? -1 : Math.min(valueA, valueB);
+		double upper = containsPeriodicPoint(a, b, maximum, TWO_PI) ? 1 : Math.max(valueA, valueB);
+		return new double[] {lower, upper};
+	}
+
+	/**
+	 * Applies the tangent on [a, b]
+	 * @param a the lower bound
+	 * @param b the upper bound
+	 * @return the bounds of the image, (-inf, inf) if the interval contains a pole
+	 */
+	private static double[] tan(double a, double b) {
+		if (Double.isInfinite(a) || Double.isInfinite(b) || b - a >= Math.PI || containsPeriodicPoint(a, b, HALF_PI, Math.PI)) {
+			return new double[] {Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+		}
+		return new double[] {Math.tan(a), Math.tan(b)};
+	}
+
+	/**
+	 * Checks if [a, b] contains a point offset + k * period for some integer k
+	 * @param a the lower bound
+	 * @param b the upper bound
+	 * @param offset the offset of the points
+	 * @param period the period of the points
+	 * @return true iff such a point lies within the interval
+	 */
+	private static boolean containsPeriodicPoint(double a, double b, double offset, double period) {
+		double k = Math.ceil((a - offset) / period);
+		return offset + k * period <= b;
+	}
+}
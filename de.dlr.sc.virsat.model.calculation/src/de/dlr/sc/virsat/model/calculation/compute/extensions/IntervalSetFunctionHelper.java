@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute.extensions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.dlr.sc.virsat.model.calculation.compute.AAdvancedFunctionOp;
+import de.dlr.sc.virsat.model.dvlm.calculation.AAdvancedFunction;
+import de.dlr.sc.virsat.model.dvlm.qudv.AQuantityKind;
+
+/**
+ * Helper function for applying set functions to intervals
+ */
+
+public class IntervalSetFunctionHelper {
+	
+	private List<IntervalResult> intervalResults;
+	
+	/**
+	 * Constructor taking the input for a set function
+	 * @param intervalResults the input
+	 */
+	public IntervalSetFunctionHelper(List<IntervalResult> intervalResults) {
+		this.intervalResults = intervalResults;
+	}
+	
+	/**
+	 * Applies a set function. The nominal result is computed from the nominal inputs,
+	 * the bounds are computed by the set function operation from the bounds of the inputs.
+	 * @param advancedFunction the advanced function operator
+	 * @return the result of the operation
+	 */
+	public IntervalResult applySetOperator(AAdvancedFunction advancedFunction) {
+		double[] lowerBounds = new double[intervalResults.size()];
+		double[] nominals = new double[intervalResults.size()];
+		double[] upperBounds = new double[intervalResults.size()];
+		
+		@SuppressWarnings("unchecked")
+		Map<AQuantityKind, Double>[] inputQuantityKinds = (HashMap<AQuantityKind, Double>[]) new HashMap[intervalResults.size()];
+		
+		for (int i = 0; i < intervalResults.size(); ++i) {
+			IntervalResult input = intervalResults.get(i);
+			lowerBounds[i] = input.getLower();
+			nominals[i] = input.getNominal();
+			upperBounds[i] = input.getUpper();
+			inputQuantityKinds[i] = input.getQuantityKinds();
+		}
+		
+		String setOperator = advancedFunction.getOperator();
+		AAdvancedFunctionOp op = new AdvancedFunctionHelper(setOperator).getSetFunctionOp();
+		double nominal = op.apply(nominals);
+		double[] bounds = op.applyOnBounds(lowerBounds, upperBounds);
+		Map<AQuantityKind, Double> quantityKindResults = op.applyOnQuantityKinds(advancedFunction, inputQuantityKinds);
+		
+		return new IntervalResult(bounds[0], nominal, bounds[1], quantityKindResults);
+	}
+}
@@ -179,7 +179,7 @@ public class NumberLiteralResultHelper {
 	 * @param operator the math operator
 	 * @return the computation to evaluate the operator
 	 */
-	private UnivariateFunction getFunction(MathOperator operator) {
+	static UnivariateFunction getFunction(MathOperator operator) {
 		switch (operator) {
 			case COS:
 				return new Cos();
@@ -15,6 +15,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.math3.util.Precision;
+
 import de.dlr.sc.virsat.model.calculation.compute.IExpressionResult;
 import de.dlr.sc.virsat.model.calculation.compute.IResultSetter;
 import de.dlr.sc.virsat.model.calculation.compute.problem.EvaluationProblem;
@@ -39,12 +41,45 @@ import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
 
 public class NumberLiteralSetter implements IResultSetter {
 	
+	/**
+	 * System property for the number of ULPs by which a computed value may differ from the
+	 * stored value and still be considered unchanged
+	 */
+	public static final String ULP_TOLERANCE_PROPERTY = "de.dlr.sc.virsat.model.calculation.ulpTolerance";
+	public static final int DEFAULT_ULP_TOLERANCE = 1;
+	
+	private final int ulpTolerance;
+	
+	/**
+	 * Constructor using the ULP tolerance from the system properties or the default tolerance
+	 */
+	public NumberLiteralSetter() {
+		this(Integer.getInteger(ULP_TOLERANCE_PROPERTY, DEFAULT_ULP_TOLERANCE));
+	}
+	
+	/**
+	 * Constructor
+	 * @param ulpTolerance the number of ULPs by which a new value may differ from the stored value without being set
+	 * @throws IllegalArgumentException if the tolerance is negative
+	 */
+	public NumberLiteralSetter(int ulpTolerance) {
+		if (ulpTolerance < 0) {
+			throw new IllegalArgumentException("The ULP tolerance must not be negative but was " + ulpTolerance);
+		}
+		this.ulpTolerance = ulpTolerance;
+	}
+	
 	@Override
 	public List<EvaluationProblem> set(ATypeInstance instance, IExpressionResult result) {
 		if (instance instanceof ValuePropertyInstance && result instanceof NumberLiteralResult) {
 			return set((ValuePropertyInstance) instance, (NumberLiteralResult) result);
 		}
 		
+		// Value properties can only hold a single value, so intervals are stored by their nominal value
+		if (instance instanceof ValuePropertyInstance && result instanceof IntervalResult) {
+			return set((ValuePropertyInstance) instance, ((IntervalResult) result).getNominalResult());
+		}
+		
 		return Collections.singletonList(new UnknownExpressionProblem(instance, result));
 	}
 	
@@ -82,18 +117,50 @@ public class NumberLiteralSetter implements IResultSetter {
 		}
 		
 		ATypeDefinition type = instance.getType();
+		String value;
 		if (type instanceof IntProperty) {
 			// Check if the target instance is a integer property and if so, cut off the fractionals
 			NumberLiteralHelper nlh = new NumberLiteralHelper(result.getNumberLiteral());
 			int integerValue = (int) nlh.getValue();
-			instance.setValue(String.valueOf(integerValue));
+			value = String.valueOf(integerValue);
 		} else {
 			// Otherwise we can directly set the value
-			instance.setValue(result.toString());
+			value = result.toString();
+		}
+		
+		// Only touch the model if the value actually changed, so that an unchanged
+		// result neither sends notifications nor makes the resource dirty
+		if (isChanged(instance.getValue(), value)) {
+			instance.setValue(value);
 		}
 		
 		return setProblems;
 	}
+	
+	/**
+	 * Checks if a new value differs from the stored value. Both values are
+	 * compared as numbers in the unit of the instance within the ULP tolerance.
+	 * @param storedValue the value currently stored in the instance
+	 * @param newValue the value to be stored
+	 * @return true if the new value should be set
+	 */
+	protected boolean isChanged(String storedValue, String newValue) {
+		if (newValue.equals(storedValue)) {
+			return false;
+		}
+		if (storedValue == null) {
+			return true;
+		}
+		
+		try {
+			double stored = Double.parseDouble(storedValue);
+			double computed = Double.parseDouble(newValue);
+			boolean bothNaN = Double.isNaN(stored) && Double.isNaN(computed);
+			return !bothNaN && !Precision.equals(stored, computed, ulpTolerance);
+		} catch (NumberFormatException e) {
+			return true;
+		}
+	}
 
 	@Override
 	public boolean isApplicableFor(ATypeInstance instance) {
@@ -36,8 +36,42 @@ public class OpSummary extends AAdvancedFunctionOp {
 
 	@Override
 	public double apply(double[] inputs) {
-		Sum sum = new Sum();
-		return sum.evaluate(inputs);
+		// Kahan summation: the low order bits lost in each addition are carried over to the next one,
+		// so that the error does not grow with the number of inputs. Even and odd inputs are summed
+		// up independently, which halves the chain of dependent additions.
+		double evenSum = 0;
+		double evenCompensation = 0;
+		double oddSum = 0;
+		double oddCompensation = 0;
+		
+		int pairedLength = inputs.length - inputs.length % 2;
+		for (int i = 0; i < pairedLength; i += 2) {
+			double evenInput = inputs[i] - evenCompensation;
+			double nextEvenSum = evenSum + evenInput;
+			evenCompensation = (nextEvenSum - evenSum) - evenInput;
+			evenSum = nextEvenSum;
+			
+			double oddInput = inputs[i + 1] - oddCompensation;
+			double nextOddSum = oddSum + oddInput;
+			oddCompensation = (nextOddSum - oddSum) - oddInput;
+			oddSum = nextOddSum;
+		}
+		
+		if (pairedLength < inputs.length) {
+			double lastInput = inputs[pairedLength] - evenCompensation;
+			double nextEvenSum = evenSum + lastInput;
+			evenCompensation = (nextEvenSum - evenSum) - lastInput;
+			evenSum = nextEvenSum;
+		}
+		
+		double sum = evenSum + (oddSum - oddCompensation - evenCompensation);
+		
+		// Infinite inputs turn the compensation into NaN. In that case the plain sum is the correct result.
+		if (Double.isNaN(sum)) {
+			return new Sum().evaluate(inputs);
+		}
+		
+		return sum;
 	}
 
 	@Override
@@ -9,6 +9,7 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.calculation.compute.extensions;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,8 +18,12 @@ import org.eclipse.emf.ecore.EObject;
 import de.dlr.sc.virsat.model.calculation.compute.IExpressionResult;
 import de.dlr.sc.virsat.model.calculation.compute.IInputGetter;
 import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
 import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+import de.dlr.sc.virsat.model.dvlm.calculation.TypeInstanceResult;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
 import de.dlr.sc.virsat.model.dvlm.categories.propertydefinitions.EnumValueDefinition;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.APropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.EnumUnitPropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.UnitValuePropertyInstance;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ValuePropertyInstance;
@@ -28,39 +33,48 @@ import de.dlr.sc.virsat.model.dvlm.qudv.AUnit;
 import de.dlr.sc.virsat.model.dvlm.qudv.util.QudvUnitHelper;
 
 /**
- * Implements a getter for ValueProperties
+ * Implements a getter for ValueProperties.
+ * Value properties can be given an explicit margin property of the same category. If the margin
+ * of such a value property is set, the value is returned as {@link IntervalResult}
+ * [value - margin, value + margin]. A margin with a dimensionless unit such as percent
+ * is relative to the value, any other margin is absolute.
  * @author muel_s8
  *
  */
 
 public class ValuePropertyGetter implements IInputGetter {
 
+	private final Map<String, String> mapValueToMarginProperty;
+	
+	/**
+	 * Getter for value properties without margins
+	 */
+	public ValuePropertyGetter() {
+		this(Collections.emptyMap());
+	}
+	
+	/**
+	 * Getter for value properties with the given margins. Concepts opt in to margins by
+	 * contributing a {@link de.dlr.sc.virsat.model.calculation.compute.MarginExpressionExtender}.
+	 * @param mapValueToMarginProperty the full qualified names of the margin properties by the full qualified names of their value properties
+	 */
+	public ValuePropertyGetter(Map<String, String> mapValueToMarginProperty) {
+		this.mapValueToMarginProperty = mapValueToMarginProperty;
+	}
+	
 	@Override
 	public IExpressionResult get(EObject input) {
 		return new PropertyinstancesSwitch<IExpressionResult>() {
 			@Override
 			public IExpressionResult caseValuePropertyInstance(ValuePropertyInstance vpi) {
-				NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
-				resultLiteral.setValue(vpi.getValue());
-				
-				// Now check if this is not just a ValuePropertyInstance but also
-				// a UnitValuePropertyInstance with an assigned unit. If so we need
-				// to convert the value to its corresponding value in SI units
-				
-				Map<AQuantityKind, Double> baseQuantityKinds = new HashMap<>();
+				NumberLiteralResult result = getNumberLiteralResult(vpi);
 				
-				if (vpi instanceof UnitValuePropertyInstance) {
-					AUnit unit = ((UnitValuePropertyInstance) vpi).getUnit();
-					if (unit != null) {
-						NumberLiteralHelper nlh = new NumberLiteralHelper(resultLiteral);
-						double baseValue = QudvUnitHelper.getInstance().convertFromSourceUnitToBaseUnit(unit, nlh.getValue());
-						resultLiteral.setValue(String.valueOf(baseValue));
-						
-						baseQuantityKinds = QudvUnitHelper.getInstance().getBaseQuantityKinds(unit.getQuantityKind());
-					}
+				ValuePropertyInstance marginInstance = getMarginInstance(vpi);
+				if (marginInstance != null) {
+					return createIntervalResult(result, marginInstance);
 				}
 				
-				return new NumberLiteralResult(resultLiteral, baseQuantityKinds);
+				return result;
 			};
 			
 			public IExpressionResult caseEnumUnitPropertyInstance(EnumUnitPropertyInstance epi) {
@@ -89,5 +103,106 @@ public class ValuePropertyGetter implements IInputGetter {
 			};
 		}.doSwitch(input);
 	}
-
+	
+	/**
+	 * Gets the value of a value property instance converted to SI units
+	 * @param vpi the value property instance
+	 * @return the value of the instance
+	 */
+	private NumberLiteralResult getNumberLiteralResult(ValuePropertyInstance vpi) {
+		NumberLiteral resultLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
+		resultLiteral.setValue(vpi.getValue());
+		
+		// Now check if this is not just a ValuePropertyInstance but also
+		// a UnitValuePropertyInstance with an assigned unit. If so we need
+		// to convert the value to its corresponding value in SI units
+		
+		Map<AQuantityKind, Double> baseQuantityKinds = new HashMap<>();
+		
+		if (vpi instanceof UnitValuePropertyInstance) {
+			AUnit unit = ((UnitValuePropertyInstance) vpi).getUnit();
+			if (unit != null) {
+				NumberLiteralHelper nlh = new NumberLiteralHelper(resultLiteral);
+				double baseValue = QudvUnitHelper.getInstance().convertFromSourceUnitToBaseUnit(unit, nlh.getValue());
+				resultLiteral.setValue(String.valueOf(baseValue));
+				
+				baseQuantityKinds = QudvUnitHelper.getInstance().getBaseQuantityKinds(unit.getQuantityKind());
+			}
+		}
+		
+		return new NumberLiteralResult(resultLiteral, baseQuantityKinds);
+	}
+	
+	/**
+	 * Searches the category assignment of a value property instance for the margin declared for its property.
+	 * Margins that are computed by an equation of the category assignment are derived from the
+	 * value itself rather than describing its uncertainty, hence they are ignored.
+	 * @param vpi the value property instance
+	 * @return the margin instance or null if there is no margin for the instance
+	 */
+	protected ValuePropertyInstance getMarginInstance(ValuePropertyInstance vpi) {
+		if (!(vpi.eContainer() instanceof CategoryAssignment) || vpi.getType() == null) {
+			return null;
+		}
+		
+		String marginFqn = mapValueToMarginProperty.get(vpi.getType().getFullQualifiedName());
+		if (marginFqn == null) {
+			return null;
+		}
+		
+		CategoryAssignment ca = (CategoryAssignment) vpi.eContainer();
+		for (APropertyInstance propertyInstance : ca.getPropertyInstances()) {
+			if (propertyInstance instanceof ValuePropertyInstance && propertyInstance.getType() != null
+					&& marginFqn.equals(propertyInstance.getType().getFullQualifiedName())) {
+				return isComputed(ca, propertyInstance) ? null : (ValuePropertyInstance) propertyInstance;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Checks if a property instance is the result of an equation of its category assignment
+	 * @param ca the category assignment
+	 * @param propertyInstance the property instance
+	 * @return true iff an equation of the category assignment computes the property instance
+	 */
+	private boolean isComputed(CategoryAssignment ca, APropertyInstance propertyInstance) {
+		if (ca.getEquationSection() == null) {
+			return false;
+		}
+		
+		for (Equation equation : ca.getEquationSection().getEquations()) {
+			if (equation.getResult() instanceof TypeInstanceResult
+					&& ((TypeInstanceResult) equation.getResult()).getReference() == propertyInstance) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Creates the interval of a value with a margin. A margin that is not set or zero yields the plain value.
+	 * @param result the value
+	 * @param marginInstance the margin instance
+	 * @return the interval containing all values within the margin
+	 */
+	private IExpressionResult createIntervalResult(NumberLiteralResult result, ValuePropertyInstance marginInstance) {
+		double margin = new NumberLiteralHelper(getNumberLiteralResult(marginInstance).getNumberLiteral()).getValue();
+		if (Double.isNaN(margin) || margin == 0) {
+			return result;
+		}
+		
+		double nominal = new NumberLiteralHelper(result.getNumberLiteral()).getValue();
+		if (marginInstance instanceof UnitValuePropertyInstance) {
+			AUnit marginUnit = ((UnitValuePropertyInstance) marginInstance).getUnit();
+			if (marginUnit != null && QudvUnitHelper.getInstance().isDimensionless(marginUnit)) {
+				margin = margin * nominal;
+			}
+		}
+		
+		margin = Math.abs(margin);
+		return new IntervalResult(nominal - margin, nominal, nominal + margin, result.getQuantityKinds());
+	}
 }
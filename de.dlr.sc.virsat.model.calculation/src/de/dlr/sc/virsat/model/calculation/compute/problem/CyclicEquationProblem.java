@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.model.calculation.compute.problem;
+
+import org.eclipse.emf.ecore.EObject;
+
+import de.dlr.sc.virsat.model.calculation.marker.VirSatEquationMarkerHelper;
+
+/**
+ * This equation evaluation problem represents that an object is part of
+ * a cycle in the dependencies of the equations and thus could not be evaluated.
+ */
+
+public class CyclicEquationProblem extends EvaluationProblem {
+
+	/**
+	 * Default constructor
+	 * @param problematicObject the object on the cycle
+	 */
+	public CyclicEquationProblem(EObject problematicObject) {
+		super(problematicObject);
+	}
+	
+	@Override
+	public String toString() {
+		return "Cyclic equation dependency detected";
+	}
+	
+	@Override
+	public String getMarkerID() {
+		return VirSatEquationMarkerHelper.ID_CYCLIC_EQUATION_MARKER;
+	}
+}
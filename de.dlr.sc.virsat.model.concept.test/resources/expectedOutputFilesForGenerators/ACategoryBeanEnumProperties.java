@@ -94,7 +94,7 @@ public abstract class ATestCategoryA extends ABeanCategoryAssignment implements
 	
 	private void safeAccessEnumProperty() {
 		if (enumProperty.getTypeInstance() == null) {
-			enumProperty.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("enumProperty"));
+			enumProperty.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(0, "enumProperty"));
 		}
 	}
 	
@@ -131,7 +131,7 @@ public abstract class ATestCategoryA extends ABeanCategoryAssignment implements
 	
 	private void safeAccessEmptyEnumProperty() {
 		if (emptyEnumProperty.getTypeInstance() == null) {
-			emptyEnumProperty.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("emptyEnumProperty"));
+			emptyEnumProperty.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(1, "emptyEnumProperty"));
 		}
 	}
 	
@@ -89,7 +89,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTestEReference() {
 		if (testEReference.getTypeInstance() == null) {
-			testEReference.setTypeInstance((EReferencePropertyInstance) helper.getPropertyInstance("testEReference"));
+			testEReference.setTypeInstance((EReferencePropertyInstance) helper.getPropertyInstance(0, "testEReference"));
 		}
 	}
 	
@@ -116,7 +116,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTestEReferenceArrayBean() {
 		if (testEReferenceArrayBean.getArrayInstance() == null) {
-			testEReferenceArrayBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testEReferenceArray"));
+			testEReferenceArrayBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "testEReferenceArray"));
 		}
 	}
 	
@@ -101,7 +101,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpSringArrayDynamicBean() {
 		if (tpSringArrayDynamicBean.getArrayInstance() == null) {
-			tpSringArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpSringArrayDynamic"));
+			tpSringArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "tpSringArrayDynamic"));
 		}
 	}
 	
@@ -118,7 +118,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpSringArrayStaticBean() {
 		if (tpSringArrayStaticBean.getArrayInstance() == null) {
-			tpSringArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpSringArrayStatic"));
+			tpSringArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "tpSringArrayStatic"));
 		}
 	}
 	
@@ -135,7 +135,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpIntArrayDynamicBean() {
 		if (tpIntArrayDynamicBean.getArrayInstance() == null) {
-			tpIntArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpIntArrayDynamic"));
+			tpIntArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "tpIntArrayDynamic"));
 		}
 	}
 	
@@ -152,7 +152,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpIntArrayStaticBean() {
 		if (tpIntArrayStaticBean.getArrayInstance() == null) {
-			tpIntArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpIntArrayStatic"));
+			tpIntArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(3, "tpIntArrayStatic"));
 		}
 	}
 	
@@ -169,7 +169,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpFloatArrayDynamicBean() {
 		if (tpFloatArrayDynamicBean.getArrayInstance() == null) {
-			tpFloatArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpFloatArrayDynamic"));
+			tpFloatArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(4, "tpFloatArrayDynamic"));
 		}
 	}
 	
@@ -186,7 +186,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpFloatArrayStaticBean() {
 		if (tpFloatArrayStaticBean.getArrayInstance() == null) {
-			tpFloatArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpFloatArrayStatic"));
+			tpFloatArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(5, "tpFloatArrayStatic"));
 		}
 	}
 	
@@ -203,7 +203,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpBooleanArrayDynamicBean() {
 		if (tpBooleanArrayDynamicBean.getArrayInstance() == null) {
-			tpBooleanArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpBooleanArrayDynamic"));
+			tpBooleanArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(6, "tpBooleanArrayDynamic"));
 		}
 	}
 	
@@ -220,7 +220,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpBooleanArrayStaticBean() {
 		if (tpBooleanArrayStaticBean.getArrayInstance() == null) {
-			tpBooleanArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpBooleanArrayStatic"));
+			tpBooleanArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(7, "tpBooleanArrayStatic"));
 		}
 	}
 	
@@ -237,7 +237,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpResourceDynamichBean() {
 		if (tpResourceDynamichBean.getArrayInstance() == null) {
-			tpResourceDynamichBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpResourceDynamich"));
+			tpResourceDynamichBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(8, "tpResourceDynamich"));
 		}
 	}
 	
@@ -254,7 +254,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpResourceStaticBean() {
 		if (tpResourceStaticBean.getArrayInstance() == null) {
-			tpResourceStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpResourceStatic"));
+			tpResourceStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(9, "tpResourceStatic"));
 		}
 	}
 	
@@ -271,7 +271,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpEnumDynamichBean() {
 		if (tpEnumDynamichBean.getArrayInstance() == null) {
-			tpEnumDynamichBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpEnumDynamich"));
+			tpEnumDynamichBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(10, "tpEnumDynamich"));
 		}
 	}
 	
@@ -288,7 +288,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpEnumStaticBean() {
 		if (tpEnumStaticBean.getArrayInstance() == null) {
-			tpEnumStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("tpEnumStatic"));
+			tpEnumStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(11, "tpEnumStatic"));
 		}
 	}
 	
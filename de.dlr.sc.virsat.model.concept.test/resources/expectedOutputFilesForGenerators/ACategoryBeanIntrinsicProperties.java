@@ -99,7 +99,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpSring() {
 		if (tpSring.getTypeInstance() == null) {
-			tpSring.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("tpSring"));
+			tpSring.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(0, "tpSring"));
 		}
 	}
 	
@@ -131,7 +131,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpInt() {
 		if (tpInt.getTypeInstance() == null) {
-			tpInt.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("tpInt"));
+			tpInt.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(1, "tpInt"));
 		}
 	}
 	
@@ -168,7 +168,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpFloat() {
 		if (tpFloat.getTypeInstance() == null) {
-			tpFloat.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("tpFloat"));
+			tpFloat.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(2, "tpFloat"));
 		}
 	}
 	
@@ -205,7 +205,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpBoolean() {
 		if (tpBoolean.getTypeInstance() == null) {
-			tpBoolean.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("tpBoolean"));
+			tpBoolean.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(3, "tpBoolean"));
 		}
 	}
 	
@@ -237,7 +237,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpResource() {
 		if (tpResource.getTypeInstance() == null) {
-			tpResource.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance("tpResource"));
+			tpResource.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance(4, "tpResource"));
 		}
 	}
 	
@@ -269,7 +269,7 @@ public abstract class ATestCategory extends ABeanCategoryAssignment implements I
 	
 	private void safeAccessTpEnum() {
 		if (tpEnum.getTypeInstance() == null) {
-			tpEnum.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("tpEnum"));
+			tpEnum.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(5, "tpEnum"));
 		}
 	}
 	
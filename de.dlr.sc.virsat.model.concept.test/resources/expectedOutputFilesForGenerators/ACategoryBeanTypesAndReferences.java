@@ -92,7 +92,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	
 	private void safeAccessTestSubCategory() {
 		if (testSubCategory.getTypeInstance() == null) {
-			ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance("testSubCategory");
+			ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance(0, "testSubCategory");
 			testSubCategory.setTypeInstance(propertyInstance);
 		}
 	}
@@ -114,7 +114,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	private BeanPropertyReference<TestCategoryA> testRefCategory = new BeanPropertyReference<>();
 	
 	private void safeAccessTestRefCategory() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("testRefCategory");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(1, "testRefCategory");
 		testRefCategory.setTypeInstance(propertyInstance);
 	}
 	
@@ -146,7 +146,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	private BeanPropertyReference<BeanPropertyString> testRefProperty = new BeanPropertyReference<>();
 	
 	private void safeAccessTestRefProperty() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("testRefProperty");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(2, "testRefProperty");
 		testRefProperty.setTypeInstance(propertyInstance);
 	}
 	
@@ -94,7 +94,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	
 	private void safeAccessTestSubCategoryArrayDynamic() {
 		if (testSubCategoryArrayDynamic.getArrayInstance() == null) {
-			testSubCategoryArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testSubCategoryArrayDynamic"));
+			testSubCategoryArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "testSubCategoryArrayDynamic"));
 		}
 	}
 	
@@ -107,7 +107,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	
 	private void safeAccessTestSubCategoryArrayDynamicBean() {
 		if (testSubCategoryArrayDynamicBean.getArrayInstance() == null) {
-			testSubCategoryArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testSubCategoryArrayDynamic"));
+			testSubCategoryArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "testSubCategoryArrayDynamic"));
 		}
 	}
 	
@@ -124,7 +124,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	
 	private void safeAccessTestSubCategoryArrayStatic() {
 		if (testSubCategoryArrayStatic.getArrayInstance() == null) {
-			testSubCategoryArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testSubCategoryArrayStatic"));
+			testSubCategoryArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "testSubCategoryArrayStatic"));
 		}
 	}
 	
@@ -137,7 +137,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	
 	private void safeAccessTestSubCategoryArrayStaticBean() {
 		if (testSubCategoryArrayStaticBean.getArrayInstance() == null) {
-			testSubCategoryArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testSubCategoryArrayStatic"));
+			testSubCategoryArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "testSubCategoryArrayStatic"));
 		}
 	}
 	
@@ -154,7 +154,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	
 		private void safeAccessTestRefCategoryArrayDynamic() {
 			if (testRefCategoryArrayDynamic.getArrayInstance() == null) {
-				testRefCategoryArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testRefCategoryArrayDynamic"));
+				testRefCategoryArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "testRefCategoryArrayDynamic"));
 			}
 		}
 	
@@ -167,7 +167,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 		
 		private void safeAccessTestRefCategoryArrayDynamicBean() {
 			if (testRefCategoryArrayDynamicBean.getArrayInstance() == null) {
-				testRefCategoryArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testRefCategoryArrayDynamic"));
+				testRefCategoryArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "testRefCategoryArrayDynamic"));
 			}
 		}
 		
@@ -184,7 +184,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	
 		private void safeAccessTestRefCategoryArrayStatic() {
 			if (testRefCategoryArrayStatic.getArrayInstance() == null) {
-				testRefCategoryArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testRefCategoryArrayStatic"));
+				testRefCategoryArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(3, "testRefCategoryArrayStatic"));
 			}
 		}
 	
@@ -197,7 +197,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 		
 		private void safeAccessTestRefCategoryArrayStaticBean() {
 			if (testRefCategoryArrayStaticBean.getArrayInstance() == null) {
-				testRefCategoryArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testRefCategoryArrayStatic"));
+				testRefCategoryArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(3, "testRefCategoryArrayStatic"));
 			}
 		}
 		
@@ -214,7 +214,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	
 		private void safeAccessTestRefPropertyArrayDynamic() {
 			if (testRefPropertyArrayDynamic.getArrayInstance() == null) {
-				testRefPropertyArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testRefPropertyArrayDynamic"));
+				testRefPropertyArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(4, "testRefPropertyArrayDynamic"));
 			}
 		}
 	
@@ -227,7 +227,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 		
 		private void safeAccessTestRefPropertyArrayDynamicBean() {
 			if (testRefPropertyArrayDynamicBean.getArrayInstance() == null) {
-				testRefPropertyArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testRefPropertyArrayDynamic"));
+				testRefPropertyArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(4, "testRefPropertyArrayDynamic"));
 			}
 		}
 		
@@ -244,7 +244,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 	
 		private void safeAccessTestRefPropertyArrayStatic() {
 			if (testRefPropertyArrayStatic.getArrayInstance() == null) {
-				testRefPropertyArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testRefPropertyArrayStatic"));
+				testRefPropertyArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(5, "testRefPropertyArrayStatic"));
 			}
 		}
 	
@@ -257,7 +257,7 @@ public abstract class ATestCategoryB extends ABeanCategoryAssignment implements
 		
 		private void safeAccessTestRefPropertyArrayStaticBean() {
 			if (testRefPropertyArrayStaticBean.getArrayInstance() == null) {
-				testRefPropertyArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testRefPropertyArrayStatic"));
+				testRefPropertyArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(5, "testRefPropertyArrayStatic"));
 			}
 		}
 		
@@ -338,7 +338,7 @@ class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
 	«importManager.register(ArrayInstance)»
 	private void «propertyMethodSafeAccess(property)» {
 		if («property.name».getArrayInstance() == null) {
-			«property.name».setArrayInstance((ArrayInstance) helper.getPropertyInstance("«property.name»"));
+			«property.name».setArrayInstance((ArrayInstance) helper.getPropertyInstance(«propertyIndex(property)», "«property.name»"));
 		}
 	}
 	'''
@@ -347,7 +347,7 @@ class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
 	«importManager.register(ArrayInstance)»
 	private void «propertyMethodSafeAccessBean(property)» {
 		if («property.name»Bean.getArrayInstance() == null) {
-			«property.name»Bean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("«property.name»"));
+			«property.name»Bean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(«propertyIndex(property)», "«property.name»"));
 		}
 	}
 	'''
@@ -587,7 +587,7 @@ class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
 	protected def declareSafeAccessAttributeMethod(AProperty property, Class<? extends APropertyInstance> castTypeClass) '''
 	private void «propertyMethodSafeAccess(property)» {
 		if («property.name».getTypeInstance() == null) {
-			«property.name».setTypeInstance((«castTypeClass.simpleName») helper.getPropertyInstance("«property.name»"));
+			«property.name».setTypeInstance((«castTypeClass.simpleName») helper.getPropertyInstance(«propertyIndex(property)», "«property.name»"));
 		}
 	}
 	'''
@@ -835,7 +835,7 @@ class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
 				
 				private void «propertyMethodSafeAccess(property)» {
 					if («property.name».getTypeInstance() == null) {
-						ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance("«property.name»");
+						ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance(«propertyIndex(property)», "«property.name»");
 						«property.name».setTypeInstance(propertyInstance);
 					}
 				}
@@ -871,7 +871,7 @@ class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
 					private BeanPropertyReference<«property.referenceType.name»> «property.name» = new BeanPropertyReference<>();
 					
 					private void «propertyMethodSafeAccess(property)» {
-						ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("«property.name»");
+						ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(«propertyIndex(property)», "«property.name»");
 						«property.name».setTypeInstance(propertyInstance);
 					}
 					
@@ -906,7 +906,7 @@ class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
 					private BeanPropertyReference<«referencedPropertyType.simpleName»> «property.name» = new BeanPropertyReference<>();
 
 					private void «propertyMethodSafeAccess(property)» {
-						ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("«property.name»");
+						ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(«propertyIndex(property)», "«property.name»");
 						«property.name».setTypeInstance(propertyInstance);
 					}
 
@@ -978,6 +978,15 @@ class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
 	// *************************************************************************************
 	// * utils
 	// *************************************************************************************
+	/**
+	 * The index of the property in all properties of its category. Instances of the category
+	 * hold their property instances in this order, which allows the beans to access them directly.
+	 */
+	protected def propertyIndex(AProperty property) {
+		val container = property.eContainer
+		return if (container instanceof Category) container.allProperties.indexOf(property) else -1;
+	}
+	
 	protected def propertyMethodGet(AProperty property) {
 		return "get" + property.name.toFirstUpper;
 	}
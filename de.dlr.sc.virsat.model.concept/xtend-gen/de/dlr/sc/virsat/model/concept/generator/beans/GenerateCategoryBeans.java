@@ -631,7 +631,10 @@ public class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
     _builder.append("\t\t");
     String _name_1 = property.getName();
     _builder.append(_name_1, "\t\t");
-    _builder.append(".setArrayInstance((ArrayInstance) helper.getPropertyInstance(\"");
+    _builder.append(".setArrayInstance((ArrayInstance) helper.getPropertyInstance(");
+    int _propertyIndex = this.propertyIndex(property);
+    _builder.append(Integer.valueOf(_propertyIndex), "\t\t");
+    _builder.append(", \"");
     String _name_2 = property.getName();
     _builder.append(_name_2, "\t\t");
     _builder.append("\"));");
@@ -662,7 +665,10 @@ public class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
     _builder.append("\t\t");
     String _name_1 = property.getName();
     _builder.append(_name_1, "\t\t");
-    _builder.append("Bean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(\"");
+    _builder.append("Bean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(");
+    int _propertyIndex = this.propertyIndex(property);
+    _builder.append(Integer.valueOf(_propertyIndex), "\t\t");
+    _builder.append(", \"");
     String _name_2 = property.getName();
     _builder.append(_name_2, "\t\t");
     _builder.append("\"));");
@@ -1276,7 +1282,10 @@ public class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
     _builder.append(".setTypeInstance((");
     String _simpleName = castTypeClass.getSimpleName();
     _builder.append(_simpleName, "\t\t");
-    _builder.append(") helper.getPropertyInstance(\"");
+    _builder.append(") helper.getPropertyInstance(");
+    int _propertyIndex = this.propertyIndex(property);
+    _builder.append(Integer.valueOf(_propertyIndex), "\t\t");
+    _builder.append(", \"");
     String _name_2 = property.getName();
     _builder.append(_name_2, "\t\t");
     _builder.append("\"));");
@@ -1969,7 +1978,10 @@ public class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
         _builder.append(".getTypeInstance() == null) {");
         _builder.newLineIfNotEmpty();
         _builder.append("\t\t");
-        _builder.append("ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance(\"");
+        _builder.append("ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance(");
+        int _propertyIndex = GenerateCategoryBeans.this.propertyIndex(property);
+        _builder.append(Integer.valueOf(_propertyIndex), "\t\t");
+        _builder.append(", \"");
         String _name_3 = property.getName();
         _builder.append(_name_3, "\t\t");
         _builder.append("\");");
@@ -2062,7 +2074,10 @@ public class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
           _builder.append(" {");
           _builder.newLineIfNotEmpty();
           _builder.append("\t");
-          _builder.append("ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(\"");
+          _builder.append("ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(");
+          int _propertyIndex = GenerateCategoryBeans.this.propertyIndex(property);
+          _builder.append(Integer.valueOf(_propertyIndex), "\t");
+          _builder.append(", \"");
           String _name_2 = property.getName();
           _builder.append(_name_2, "\t");
           _builder.append("\");");
@@ -2187,7 +2202,10 @@ public class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
           _builder_1.append(" {");
           _builder_1.newLineIfNotEmpty();
           _builder_1.append("\t");
-          _builder_1.append("ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(\"");
+          _builder_1.append("ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(");
+          int _propertyIndex = GenerateCategoryBeans.this.propertyIndex(property);
+          _builder_1.append(Integer.valueOf(_propertyIndex), "\t");
+          _builder_1.append(", \"");
           String _name_13 = property.getName();
           _builder_1.append(_name_13, "\t");
           _builder_1.append("\");");
@@ -2401,6 +2419,21 @@ public class GenerateCategoryBeans extends AGeneratorGapGenerator<Category> {
     }.doSwitch(property);
   }
   
+  /**
+   * The index of the property in all properties of its category. Instances of the category
+   * hold their property instances in this order, which allows the beans to access them directly.
+   */
+  protected int propertyIndex(final AProperty property) {
+    final EObject container = property.eContainer();
+    int _xifexpression = (int) 0;
+    if ((container instanceof Category)) {
+      _xifexpression = ((Category)container).getAllProperties().indexOf(property);
+    } else {
+      _xifexpression = (-1);
+    }
+    return _xifexpression;
+  }
+  
   protected String propertyMethodGet(final AProperty property) {
     String _firstUpper = StringExtensions.toFirstUpper(property.getName());
     return ("get" + _firstUpper);
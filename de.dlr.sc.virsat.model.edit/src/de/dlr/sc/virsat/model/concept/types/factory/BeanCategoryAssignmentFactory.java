@@ -32,15 +32,23 @@ public class BeanCategoryAssignmentFactory {
 
 	/**
 	 * Standard Constructor that directly sets the Bean registry to search for the correct
-	 * Extension point and attributes. Another constructor for injecting the registry is
-	 * intended for testing purposes.
+	 * Extension point and attributes. The registry is shared by all factories. Another constructor
+	 * for injecting the registry is intended for testing purposes.
 	 */
 	public BeanCategoryAssignmentFactory() {
-		beanRegistry = new BeanRegistry(
+		this(BeanRegistry.getRegistry(
 				EXTENSION_POINT_BEAN_FACTORY_ID,
 				EXTENSION_POINT_BEAN_FACTORY_ELEMENT_ID,
 				EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_ID,
-				EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_CA);
+				EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_CA));
+	}
+	
+	/**
+	 * Constructor for injecting the Bean registry
+	 * @param beanRegistry the registry used to create the beans
+	 */
+	public BeanCategoryAssignmentFactory(BeanRegistry beanRegistry) {
+		this.beanRegistry = beanRegistry;
 	}
 	
 	/**
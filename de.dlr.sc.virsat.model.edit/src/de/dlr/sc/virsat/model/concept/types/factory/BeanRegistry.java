@@ -9,12 +9,24 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.concept.types.factory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExecutableExtension;
+import org.eclipse.core.runtime.IExecutableExtensionFactory;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IRegistryEventListener;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 
@@ -22,13 +34,17 @@ import de.dlr.sc.virsat.model.dvlm.provider.DVLMEditPlugin;
 
 /**
  * Bean registry, that scans all Configuration Elements in the plugin.xml
- * related to the Bean Factories.
+ * related to the Bean Factories. The class of each bean is resolved only once,
+ * afterwards new beans are created by a cached constructor. Use {@link #getRegistry}
+ * to share one registry per extension point configuration.
  * 
  * @author fisc_ph
  *
  */
-public class BeanRegistry {
+public class BeanRegistry implements IRegistryEventListener {
 
+	private static final Map<List<String>, BeanRegistry> MAP_CONFIGURATION_TO_REGISTRY = new ConcurrentHashMap<>();
+	
 	private String extensionPointID;
 	private String extensionPointElementID;
 	private String extensionPointElementBeanAttributeID;
@@ -36,6 +52,7 @@ public class BeanRegistry {
 	private boolean extensionRegistryAvailable;
 
 	private Map<String, IConfigurationElement> mapIdToBean = new HashMap<>();
+	private Map<String, Supplier<Object>> mapIdToBeanSupplier = new ConcurrentHashMap<>();
 	public static final String BEAN_PACKAGE_NAME = "model";
 
 	/**
@@ -59,6 +76,75 @@ public class BeanRegistry {
 		init();
 	}
 
+	/**
+	 * Call this method to get the registry for the given extension point. The registry
+	 * is only created and scanned once and then shared by all callers asking for the same
+	 * extension point, element and attributes. When the contributions to the extension point
+	 * change, the shared registry is dropped and a new one is created on the next call.
+	 * 
+	 * @param extensionPointID
+	 *            the Extension point id to look for
+	 * @param extensionPointElementID
+	 *            the actual element in the extension point to look for
+	 * @param extensionPointElementBeanAttributeID
+	 *            the ID attribute in the element
+	 * @param extensionPointElementBeanClassAttributeID
+	 *            the Class attribute in the element
+	 * @return the shared registry of the extension point
+	 */
+	public static BeanRegistry getRegistry(String extensionPointID, String extensionPointElementID,
+			String extensionPointElementBeanAttributeID, String extensionPointElementBeanClassAttributeID) {
+		List<String> configuration = Arrays.asList(extensionPointID, extensionPointElementID,
+				extensionPointElementBeanAttributeID, extensionPointElementBeanClassAttributeID);
+		
+		return MAP_CONFIGURATION_TO_REGISTRY.computeIfAbsent(configuration, key -> {
+			BeanRegistry beanRegistry = new BeanRegistry(
+					extensionPointID, 
+					extensionPointElementID, 
+					extensionPointElementBeanAttributeID, 
+					extensionPointElementBeanClassAttributeID);
+			
+			IExtensionRegistry registry = Platform.getExtensionRegistry();
+			if (registry != null) {
+				registry.addListener(beanRegistry, extensionPointID);
+			}
+			return beanRegistry;
+		});
+	}
+	
+	/**
+	 * Drops this registry from the shared registries, so that the next call
+	 * to {@link #getRegistry} scans the contributions again
+	 */
+	protected void invalidate() {
+		MAP_CONFIGURATION_TO_REGISTRY.values().remove(this);
+		
+		IExtensionRegistry registry = Platform.getExtensionRegistry();
+		if (registry != null) {
+			registry.removeListener(this);
+		}
+	}
+	
+	@Override
+	public void added(IExtension[] extensions) {
+		invalidate();
+	}
+
+	@Override
+	public void removed(IExtension[] extensions) {
+		invalidate();
+	}
+
+	@Override
+	public void added(IExtensionPoint[] extensionPoints) {
+		invalidate();
+	}
+
+	@Override
+	public void removed(IExtensionPoint[] extensionPoints) {
+		invalidate();
+	}
+
 	/**
 	 * Call this method to actually scan for correct entries in the plugin.xml
 	 * and Configuration Elements respectively
@@ -91,13 +177,50 @@ public class BeanRegistry {
 	 *             an exception in case the Bean cannot be created
 	 */
 	public Object createBeanInstanceForId(String id) throws CoreException {
+		Supplier<Object> beanSupplier = mapIdToBeanSupplier.get(id);
+		if (beanSupplier == null) {
+			// Resolve outside of the map, since resolving may create beans which again access the registry
+			beanSupplier = resolveBeanSupplier(id);
+			mapIdToBeanSupplier.putIfAbsent(id, beanSupplier);
+		}
+		
+		try {
+			return beanSupplier.get();
+		} catch (BeanCreationException e) {
+			throw new CoreException(new Status(Status.ERROR, DVLMEditPlugin.PLUGIN_ID, "Could not create bean of type " + id, e.getCause()));
+		}
+	}
+	
+	/**
+	 * Resolves the class of the bean for the given ID and creates a supplier for new beans of this class.
+	 * This method is called only once per ID.
+	 * 
+	 * @param id
+	 *            the ID / full qualified name of the DVLM type in the concept
+	 * @return a supplier creating new beans for the given id
+	 * @throws CoreException
+	 *             an exception in case the Bean class cannot be resolved
+	 */
+	protected Supplier<Object> resolveBeanSupplier(String id) throws CoreException {
 		if (extensionRegistryAvailable) {
 			IConfigurationElement configurationElement = mapIdToBean.get(id);
 			if (configurationElement == null) {
 				throw new CoreException(new Status(Status.ERROR, DVLMEditPlugin.PLUGIN_ID, "Could not create bean of type " + id));
 			} else {
-				Object object = configurationElement.createExecutableExtension(extensionPointElementBeanClassAttributeID);
-				return object;
+				// The configuration element hides the class loader of the contributing bundle,
+				// so the class is obtained from a bean created by the extension registry
+				Object bean = configurationElement.createExecutableExtension(extensionPointElementBeanClassAttributeID);
+				if (bean instanceof IExecutableExtension || bean instanceof IExecutableExtensionFactory) {
+					// These beans need to be initialized by the extension registry
+					return () -> {
+						try {
+							return configurationElement.createExecutableExtension(extensionPointElementBeanClassAttributeID);
+						} catch (CoreException e) {
+							throw new BeanCreationException(e);
+						}
+					};
+				}
+				return createConstructorSupplier(id, bean.getClass());
 			}
 		} else {
 			// No registry available, this means the code runs as plain java
@@ -105,13 +228,56 @@ public class BeanRegistry {
 			int lastDotIndex = id.lastIndexOf('.');
 			String beanClassName = id.substring(0, lastDotIndex) + "." + BEAN_PACKAGE_NAME
 					+ id.substring(lastDotIndex);
-			Object instance;
 			try {
-				instance = Class.forName(beanClassName).newInstance();
-				return instance;
-			} catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+				return createConstructorSupplier(id, Class.forName(beanClassName));
+			} catch (ClassNotFoundException e) {
 				throw new CoreException(new Status(Status.ERROR, DVLMEditPlugin.PLUGIN_ID, "Could not create bean of type " + id, e));
 			}
 		}
 	}
+	
+	/**
+	 * Creates a supplier that calls the default constructor of the given bean class.
+	 * The constructor is resolved once as method handle, so creating a bean needs no reflective access checks.
+	 * 
+	 * @param id
+	 *            the ID / full qualified name of the DVLM type in the concept
+	 * @param beanClass
+	 *            the class of the bean
+	 * @return a supplier creating new beans
+	 * @throws CoreException
+	 *             an exception in case the bean class has no accessible default constructor
+	 */
+	private Supplier<Object> createConstructorSupplier(String id, Class<?> beanClass) throws CoreException {
+		MethodHandle constructor;
+		try {
+			constructor = MethodHandles.publicLookup().findConstructor(beanClass, MethodType.methodType(void.class))
+					.asType(MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new CoreException(new Status(Status.ERROR, DVLMEditPlugin.PLUGIN_ID, "Could not create bean of type " + id, e));
+		}
+		
+		return () -> {
+			try {
+				return (Object) constructor.invokeExact();
+			} catch (Throwable e) {
+				throw new BeanCreationException(e);
+			}
+		};
+	}
+	
+	/**
+	 * Exception thrown by a cached bean supplier in case the bean cannot be created
+	 */
+	private static class BeanCreationException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Constructor for the exception
+		 * @param cause the reason why the bean could not be created
+		 */
+		BeanCreationException(Throwable cause) {
+			super(cause);
+		}
+	}
 }
@@ -31,15 +31,23 @@ public class BeanStructuralElementInstanceFactory {
 
 	/**
 	 * Standard Constructor that directly sets the Bean registry to search for the correct
-	 * Extension point and attributes. Another constructor for injecting the registry is
-	 * intended for testing purposes.
+	 * Extension point and attributes. The registry is shared by all factories. Another constructor
+	 * for injecting the registry is intended for testing purposes.
 	 */
 	public BeanStructuralElementInstanceFactory() {
-		beanRegistry = new BeanRegistry(
+		this(BeanRegistry.getRegistry(
 				EXTENSION_POINT_BEAN_FACTORY_ID,
 				EXTENSION_POINT_BEAN_FACTORY_ELEMENT_ID,
 				EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_ID,
-				EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_SEI);
+				EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_SEI));
+	}
+	
+	/**
+	 * Constructor for injecting the Bean registry
+	 * @param beanRegistry the registry used to create the beans
+	 */
+	public BeanStructuralElementInstanceFactory(BeanRegistry beanRegistry) {
+		this.beanRegistry = beanRegistry;
 	}
 	
 	/**
@@ -12,6 +12,7 @@ package de.dlr.sc.virsat.model.concept.types.structural;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -128,6 +129,18 @@ public abstract class ABeanStructuralElementInstance implements IBeanStructuralE
 		return bcaHelper.getAllBeanCategories(sei, catBeanClazz);
 	}
 	
+	@Override
+	public <BEAN_TYPE extends IBeanCategoryAssignment> Stream<BEAN_TYPE> streamAll(Class<BEAN_TYPE> catBeanClazz) {
+		return streamAll(catBeanClazz, 0);
+	}
+	
+	@Override
+	public <BEAN_TYPE extends IBeanCategoryAssignment> Stream<BEAN_TYPE> streamAll(Class<BEAN_TYPE> catBeanClazz, int maxDepth) {
+		BeanCategoryAssignmentHelper bcaHelper = new BeanCategoryAssignmentHelper();
+		Stream<StructuralElementInstance> seis = Stream.concat(Stream.of(sei), BeanStructuralElementInstanceHelper.streamDeepChildren(sei, maxDepth));
+		return seis.flatMap(caContainer -> bcaHelper.streamBeanCategories(caContainer, catBeanClazz));
+	}
+	
 	@Override
 	public List<BeanCategoryAssignment> getCategoryAssignments() {
 		BeanCategoryAssignmentHelper bcaHelper = new BeanCategoryAssignmentHelper();
@@ -224,6 +237,17 @@ public abstract class ABeanStructuralElementInstance implements IBeanStructuralE
 		return bseiHelper.wrapAllBeanSeisOfType(sei.getDeepChildren(), beanSeiClazz);
 	}
 	
+	@Override
+	public <SEI_TYPE extends IBeanStructuralElementInstance> Stream<SEI_TYPE> streamDeepChildren(Class<SEI_TYPE> beanSeiClazz) {
+		return streamDeepChildren(beanSeiClazz, BeanStructuralElementInstanceHelper.UNLIMITED_DEPTH);
+	}
+	
+	@Override
+	public <SEI_TYPE extends IBeanStructuralElementInstance> Stream<SEI_TYPE> streamDeepChildren(Class<SEI_TYPE> beanSeiClazz, int maxDepth) {
+		BeanStructuralElementInstanceHelper bseiHelper = new BeanStructuralElementInstanceHelper();
+		return bseiHelper.streamBeanSeisOfType(BeanStructuralElementInstanceHelper.streamDeepChildren(sei, maxDepth), beanSeiClazz);
+	}
+	
 	@Override
 	public Command add(EditingDomain ed, IBeanStructuralElementInstance bsei) {
 		return AddCommand.create(ed, sei, StructuralPackage.Literals.STRUCTURAL_ELEMENT_INSTANCE__CHILDREN, bsei.getStructuralElementInstance());
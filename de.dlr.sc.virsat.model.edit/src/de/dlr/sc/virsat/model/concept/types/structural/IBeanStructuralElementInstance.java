@@ -11,6 +11,7 @@ package de.dlr.sc.virsat.model.concept.types.structural;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.edit.domain.EditingDomain;
@@ -129,6 +130,26 @@ public interface IBeanStructuralElementInstance extends IBeanUuid, IBeanDelete,
 	 */
 	<SEI_TYPE extends IBeanStructuralElementInstance> List<SEI_TYPE> getDeepChildren(Class<SEI_TYPE> beanSeiClazz);
 	
+	/**
+	 * This method lazily streams all deep child Bean wrapped StructuralElementInstances of a given Type.
+	 * Children are only visited and wrapped while the stream is consumed, e.g. until findFirst found a match.
+	 * @param beanSeiClazz The Type to be filtered for as java class
+	 * @param <SEI_TYPE> the generic of the BeanStructuralElementInstance
+	 * @return a stream of the deep children in the same order as {@link #getDeepChildren(Class)}
+	 */
+	<SEI_TYPE extends IBeanStructuralElementInstance> Stream<SEI_TYPE> streamDeepChildren(Class<SEI_TYPE> beanSeiClazz);
+	
+	/**
+	 * This method lazily streams the deep child Bean wrapped StructuralElementInstances of a given Type up to a given depth.
+	 * The depth is the distance from this StructuralElementInstance, which has depth 0, while its direct children have depth 1.
+	 * This StructuralElementInstance itself is never part of the stream.
+	 * @param beanSeiClazz The Type to be filtered for as java class
+	 * @param maxDepth the maximal depth, 1 for only the direct children or -1 for no limit
+	 * @param <SEI_TYPE> the generic of the BeanStructuralElementInstance
+	 * @return a stream of the deep children up to the given depth
+	 */
+	<SEI_TYPE extends IBeanStructuralElementInstance> Stream<SEI_TYPE> streamDeepChildren(Class<SEI_TYPE> beanSeiClazz, int maxDepth);
+	
 	/**
 	 * Method to remove A Child SEI Bean from the StructuralElement Instance Bean
 	 * @param ed The EditingDomain in which the command should act.
@@ -145,6 +166,27 @@ public interface IBeanStructuralElementInstance extends IBeanUuid, IBeanDelete,
 	 */
 	<BEAN_TYPE extends IBeanCategoryAssignment> List<BEAN_TYPE> getAll(Class<BEAN_TYPE> catBeanClazz);
 	
+	/**
+	 * Method to lazily stream all CategoryAssignments of a special given type of this StructuralElementInstance.
+	 * The Category Assignments are only wrapped while the stream is consumed. This is the same as
+	 * {@link #streamAll(Class, int)} with depth 0.
+	 * @param catBeanClazz The class type of the Category Assignment Bean to look for
+	 * @param <BEAN_TYPE> the generic type for the bean
+	 * @return a stream of the given Category assignment beans in the same order as {@link #getAll(Class)}
+	 */
+	<BEAN_TYPE extends IBeanCategoryAssignment> Stream<BEAN_TYPE> streamAll(Class<BEAN_TYPE> catBeanClazz);
+	
+	/**
+	 * Method to lazily stream all CategoryAssignments of a special given type of this StructuralElementInstance
+	 * and of its deep children up to a given depth. The depth is counted as for {@link #streamDeepChildren(Class, int)},
+	 * i.e. this StructuralElementInstance has depth 0 and its direct children have depth 1.
+	 * @param catBeanClazz The class type of the Category Assignment Bean to look for
+	 * @param maxDepth the maximal depth of the children, 0 for only this StructuralElementInstance, 1 to include the direct children or -1 for no limit
+	 * @param <BEAN_TYPE> the generic type for the bean
+	 * @return a stream of the given Category assignment beans
+	 */
+	<BEAN_TYPE extends IBeanCategoryAssignment> Stream<BEAN_TYPE> streamAll(Class<BEAN_TYPE> catBeanClazz, int maxDepth);
+	
 	/**
 	 * Get method to get the first CategoryAssignment of a special given type
 	 * Intended for use on category assignments with Cardinality 1
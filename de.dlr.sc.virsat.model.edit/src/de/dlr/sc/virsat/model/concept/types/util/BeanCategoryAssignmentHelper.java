@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.emf.ecore.EObject;
@@ -119,6 +120,27 @@ public class BeanCategoryAssignmentHelper {
 		return Collections.unmodifiableList(caBeans);
 	}
 	
+	/**
+	 * Call this method to lazily hand back the appropriate Type of CategoryAssignment. A category assignment
+	 * is only wrapped once the stream reaches it.
+	 * @param caContainer The contains where the Category Assignments reside. Usually it is a SrurturalElementInstance
+	 * @param catBeanClazz the BeanClass describing the type that will be handed back.
+	 * @param <CA_TYPE> Generic type of the Method derived from BeanCategory. Should be set to one of the concepts generated Bean Categories.
+	 * @return a Stream of CategoryAssignments which are wrapped into the Beans Model
+	 */
+	public <CA_TYPE extends IBeanCategoryAssignment> Stream<CA_TYPE> streamBeanCategories(ICategoryAssignmentContainer caContainer, Class<CA_TYPE> catBeanClazz) {
+		BeanCategoryAssignmentFactory beanCaFactory = new BeanCategoryAssignmentFactory();
+		
+		return caContainer.getCategoryAssignments().stream().map(ca -> {
+			try {
+				return beanCaFactory.getInstanceFor(ca);
+			} catch (CoreException e) {
+				// Same as for the lists, CAs of concepts that are not installed locally are ignored
+				return null;
+			}
+		}).filter(catBeanClazz::isInstance).map(catBeanClazz::cast);
+	}
+	
 	/**
 	 * Call this method to hand back the CategoryAssignment wrapped in a BeanCategoryAssignment
 	 * @param caContainer The container where the Category Assignments reside. Usually a StructuralElementInstance
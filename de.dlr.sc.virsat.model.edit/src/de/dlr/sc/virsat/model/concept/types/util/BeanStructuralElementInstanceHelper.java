@@ -9,12 +9,20 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.concept.types.util;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.emf.ecore.EObject;
@@ -33,6 +41,25 @@ import de.dlr.sc.virsat.model.dvlm.structural.util.StructuralElementInstanceHelp
 
 public class BeanStructuralElementInstanceHelper {
 
+	public static final int UNLIMITED_DEPTH = -1;
+	
+	private BeanStructuralElementInstanceFactory beanSeiFactory;
+	
+	/**
+	 * Constructor for a helper using the standard bean factory
+	 */
+	public BeanStructuralElementInstanceHelper() {
+		this(new BeanStructuralElementInstanceFactory());
+	}
+	
+	/**
+	 * Constructor for a helper using the given bean factory
+	 * @param beanSeiFactory the factory used for wrapping structural element instances into beans
+	 */
+	public BeanStructuralElementInstanceHelper(BeanStructuralElementInstanceFactory beanSeiFactory) {
+		this.beanSeiFactory = beanSeiFactory;
+	}
+	
 	/**
 	 * This gets all the direct children structural element instances of a structural element instance that have a certain type
 	 * @param sei the parent structural element instance
@@ -57,8 +84,6 @@ public class BeanStructuralElementInstanceHelper {
 	public <SEI_TYPE extends IBeanStructuralElementInstance> List<SEI_TYPE> wrapAllBeanSeisOfType(Collection<StructuralElementInstance> subSeis, Class<SEI_TYPE> beanSeiClazz) {	
 		List<SEI_TYPE> beanSeis = new LinkedList<>();
 
-		BeanStructuralElementInstanceFactory beanSeiFactory = new BeanStructuralElementInstanceFactory();
-
 		for (StructuralElementInstance sei : subSeis) {
 			try {
 				ABeanStructuralElementInstance beanSei = (ABeanStructuralElementInstance) beanSeiFactory.getInstanceFor(sei);
@@ -75,6 +100,72 @@ public class BeanStructuralElementInstanceHelper {
 		return Collections.unmodifiableList(beanSeis);
 	}
 	
+	/**
+	 * This method takes a stream of SEIs and lazily wraps them into a given Type of Bean. An SEI
+	 * is only wrapped once the stream reaches it, so terminating the stream early saves wrapping the remaining SEIs.
+	 * @param seis a stream of SEIs from which the specific SEI-types should be filtered from
+	 * @param beanSeiClazz generic bean type of the structural element instance
+	 * @param <SEI_TYPE> Generic type of the Method derived from BeanCategory. Should be set to one of the concepts generated Bean Categories.
+	 * @return a stream of Beans of the given type that wrap the matching SEIs
+	 */
+	public <SEI_TYPE extends IBeanStructuralElementInstance> Stream<SEI_TYPE> streamBeanSeisOfType(Stream<StructuralElementInstance> seis, Class<SEI_TYPE> beanSeiClazz) {
+		return seis.map(sei -> {
+			try {
+				return beanSeiFactory.getInstanceFor(sei);
+			} catch (CoreException e) {
+				// Same as for the lists, SEIs of concepts that are not installed locally are ignored
+				return null;
+			}
+		}).filter(beanSeiClazz::isInstance).map(beanSeiClazz::cast);
+	}
+	
+	/**
+	 * This method lazily streams the deep children of an SEI in the same depth first order as
+	 * {@link StructuralElementInstance#getDeepChildren()}. The children of an SEI are only
+	 * visited once the stream reaches them. The depth is the distance from the given SEI, which has
+	 * depth 0 and is not part of the stream, while its direct children have depth 1.
+	 * @param sei the SEI from which to start
+	 * @param maxDepth the maximal depth of the children, 0 for no children, 1 for only the direct children or {@link #UNLIMITED_DEPTH}
+	 * @return a stream of all children of the SEI up to the given depth
+	 * @throws IllegalArgumentException if the maximal depth is neither {@link #UNLIMITED_DEPTH} nor a non-negative depth
+	 */
+	public static Stream<StructuralElementInstance> streamDeepChildren(StructuralElementInstance sei, int maxDepth) {
+		if (maxDepth < UNLIMITED_DEPTH) {
+			throw new IllegalArgumentException("Maximal depth has to be non-negative or " + UNLIMITED_DEPTH + " but is " + maxDepth);
+		}
+		
+		// Each level of the tree which is currently traversed is represented by an iterator over its children
+		Deque<Iterator<StructuralElementInstance>> openLevels = new ArrayDeque<>();
+		if (maxDepth != 0) {
+			openLevels.push(sei.getChildren().iterator());
+		}
+		
+		Iterator<StructuralElementInstance> iterator = new Iterator<StructuralElementInstance>() {
+			@Override
+			public boolean hasNext() {
+				while (!openLevels.isEmpty() && !openLevels.peek().hasNext()) {
+					openLevels.pop();
+				}
+				return !openLevels.isEmpty();
+			}
+			
+			@Override
+			public StructuralElementInstance next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				
+				StructuralElementInstance child = openLevels.peek().next();
+				if (maxDepth == UNLIMITED_DEPTH || openLevels.size() < maxDepth) {
+					openLevels.push(child.getChildren().iterator());
+				}
+				return child;
+			}
+		};
+		
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+	
 	/**
 	 * Call this method to get the parent SEI of this CA which is of a given type
 	 * @param eObject an object from where to start searching for the parent
@@ -91,25 +91,31 @@ public class RoleManagementCheckCommand extends AbstractCommand implements Comma
 	 * @return true or false
 	 */
 	private boolean canBeExecutedByCurrentUser() {
-		EObject eObject = commandParameter.getEOwner();
-		if (eObject != null && !RightsHelper.hasWritePermission(eObject, userContext)) {
-			return false;
-		}
-
-		if (wrappedCommand instanceof RemoveCommand) {
-			// For a remove operation the commandParameter.getEOwner() is the
-			// parent of the object we are removing
-			// Therefore we additionally need to check permissions for the
-			// objects we are removing
-			Collection<?> objectsToRemove = commandParameter.collection;
-			for (Object obj : objectsToRemove) {
-				if (!RightsHelper.hasWritePermission((EObject) obj, userContext)) {
-					return false;
+		// The model is not changed while checking, so the permissions can be shared by all objects of the command
+		RightsHelper.beginPermissionCache();
+		try {
+			EObject eObject = commandParameter.getEOwner();
+			if (eObject != null && !RightsHelper.hasWritePermission(eObject, userContext)) {
+				return false;
+			}
+	
+			if (wrappedCommand instanceof RemoveCommand) {
+				// For a remove operation the commandParameter.getEOwner() is the
+				// parent of the object we are removing
+				// Therefore we additionally need to check permissions for the
+				// objects we are removing
+				Collection<?> objectsToRemove = commandParameter.collection;
+				for (Object obj : objectsToRemove) {
+					if (!RightsHelper.hasWritePermission((EObject) obj, userContext)) {
+						return false;
+					}
 				}
 			}
+	
+			return true;
+		} finally {
+			RightsHelper.endPermissionCache();
 		}
-
-		return true;
 	}
 
 	@Override
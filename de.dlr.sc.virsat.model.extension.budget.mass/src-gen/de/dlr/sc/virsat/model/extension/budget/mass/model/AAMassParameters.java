@@ -88,7 +88,7 @@ public abstract class AAMassParameters extends GenericCategory implements IBeanC
 	
 	private void safeAccessMass() {
 		if (mass.getTypeInstance() == null) {
-			mass.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("mass"));
+			mass.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(0, "mass"));
 		}
 	}
 	
@@ -125,7 +125,7 @@ public abstract class AAMassParameters extends GenericCategory implements IBeanC
 	
 	private void safeAccessMassWithMargin() {
 		if (massWithMargin.getTypeInstance() == null) {
-			massWithMargin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("massWithMargin"));
+			massWithMargin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(1, "massWithMargin"));
 		}
 	}
 	
@@ -162,7 +162,7 @@ public abstract class AAMassParameters extends GenericCategory implements IBeanC
 	
 	private void safeAccessMassMargin() {
 		if (massMargin.getTypeInstance() == null) {
-			massMargin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("massMargin"));
+			massMargin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(2, "massMargin"));
 		}
 	}
 	
@@ -199,7 +199,7 @@ public abstract class AAMassParameters extends GenericCategory implements IBeanC
 	
 	private void safeAccessMargin() {
 		if (margin.getTypeInstance() == null) {
-			margin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("margin"));
+			margin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(3, "margin"));
 		}
 	}
 	
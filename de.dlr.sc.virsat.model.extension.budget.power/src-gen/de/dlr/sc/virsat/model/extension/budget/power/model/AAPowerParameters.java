@@ -90,7 +90,7 @@ public abstract class AAPowerParameters extends GenericCategory implements IBean
 	
 	private void safeAccessAvgPower() {
 		if (avgPower.getTypeInstance() == null) {
-			avgPower.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("avgPower"));
+			avgPower.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(0, "avgPower"));
 		}
 	}
 	
@@ -127,7 +127,7 @@ public abstract class AAPowerParameters extends GenericCategory implements IBean
 	
 	private void safeAccessMinPower() {
 		if (minPower.getTypeInstance() == null) {
-			minPower.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("minPower"));
+			minPower.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(1, "minPower"));
 		}
 	}
 	
@@ -164,7 +164,7 @@ public abstract class AAPowerParameters extends GenericCategory implements IBean
 	
 	private void safeAccessMaxPower() {
 		if (maxPower.getTypeInstance() == null) {
-			maxPower.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("maxPower"));
+			maxPower.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(2, "maxPower"));
 		}
 	}
 	
@@ -201,7 +201,7 @@ public abstract class AAPowerParameters extends GenericCategory implements IBean
 	
 	private void safeAccessAvgPowerWithMargin() {
 		if (avgPowerWithMargin.getTypeInstance() == null) {
-			avgPowerWithMargin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("avgPowerWithMargin"));
+			avgPowerWithMargin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(3, "avgPowerWithMargin"));
 		}
 	}
 	
@@ -238,7 +238,7 @@ public abstract class AAPowerParameters extends GenericCategory implements IBean
 	
 	private void safeAccessAvgPowerMargin() {
 		if (avgPowerMargin.getTypeInstance() == null) {
-			avgPowerMargin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("avgPowerMargin"));
+			avgPowerMargin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(4, "avgPowerMargin"));
 		}
 	}
 	
@@ -275,7 +275,7 @@ public abstract class AAPowerParameters extends GenericCategory implements IBean
 	
 	private void safeAccessMargin() {
 		if (margin.getTypeInstance() == null) {
-			margin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("margin"));
+			margin.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(5, "margin"));
 		}
 	}
 	
@@ -85,7 +85,7 @@ public abstract class APowerEquipment extends APowerParameters implements IBeanC
 	
 	private void safeAccessPowerValues() {
 		if (powerValues.getArrayInstance() == null) {
-			powerValues.setArrayInstance((ArrayInstance) helper.getPropertyInstance("powerValues"));
+			powerValues.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "powerValues"));
 		}
 	}
 	
@@ -98,7 +98,7 @@ public abstract class APowerEquipment extends APowerParameters implements IBeanC
 	
 	private void safeAccessPowerValuesBean() {
 		if (powerValuesBean.getArrayInstance() == null) {
-			powerValuesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("powerValues"));
+			powerValuesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "powerValues"));
 		}
 	}
 	
@@ -92,7 +92,7 @@ public abstract class APowerState extends GenericCategory implements IBeanCatego
 	private BeanPropertyReference<State> mode = new BeanPropertyReference<>();
 	
 	private void safeAccessMode() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("mode");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(0, "mode");
 		mode.setTypeInstance(propertyInstance);
 	}
 	
@@ -125,7 +125,7 @@ public abstract class APowerState extends GenericCategory implements IBeanCatego
 	
 	private void safeAccessPower() {
 		if (power.getTypeInstance() == null) {
-			power.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("power"));
+			power.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(1, "power"));
 		}
 	}
 	
@@ -162,7 +162,7 @@ public abstract class APowerState extends GenericCategory implements IBeanCatego
 	
 	private void safeAccessAvgPower() {
 		if (avgPower.getTypeInstance() == null) {
-			avgPower.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("avgPower"));
+			avgPower.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(2, "avgPower"));
 		}
 	}
 	
@@ -199,7 +199,7 @@ public abstract class APowerState extends GenericCategory implements IBeanCatego
 	
 	private void safeAccessDutyCycle() {
 		if (dutyCycle.getTypeInstance() == null) {
-			dutyCycle.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("dutyCycle"));
+			dutyCycle.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(3, "dutyCycle"));
 		}
 	}
 	
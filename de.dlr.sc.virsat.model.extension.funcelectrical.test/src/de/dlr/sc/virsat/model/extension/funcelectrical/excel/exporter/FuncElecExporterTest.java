@@ -20,11 +20,11 @@ import java.time.LocalDateTime;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.eclipse.core.runtime.CoreException;
 import org.junit.Test;
 
+import de.dlr.sc.virsat.excel.exporter.ExcelExportHelper;
 import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 import de.dlr.sc.virsat.model.extension.funcelectrical.excel.AExcelFuncIO;
@@ -75,18 +75,17 @@ public class FuncElecExporterTest extends ExcelTestCase {
 
 		FuncElecExporter feExporter = new FuncElecExporter(localDateTime);
 		feExporter.export(sei, iStream);
-		Workbook wb = feExporter.getWb();
+		ExcelExportHelper helper = feExporter.getHelper();
 
-		Sheet sheet = wb.getSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS);
 		for (int i = 0; i < sei.getCategoryAssignments().size(); ++i) {
 			CategoryAssignment interfaceEnd = sei.getCategoryAssignments().get(i);
-			Row row = sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + i);
+			Row row = helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS, AExcelFuncIO.COMMON_ROW_START_TABLE + i);
 			Cell cell = row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_NAME);
 			assertEquals("Interface end name exported correctly", interfaceEnd.getName(), cell.toString());
 			cell = row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_FQN);
 			assertEquals("Interface end fqn exported correctly", interfaceEnd.getFullQualifiedInstanceName(), cell.toString());
 		}
-		Row row = sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size());
+		Row row = helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS, AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size());
 		assertNull("Line after alle entries correctly empty", row);
 	}
 
@@ -98,15 +97,14 @@ public class FuncElecExporterTest extends ExcelTestCase {
 
 		FuncElecExporter feExporter = new FuncElecExporter(localDateTime);
 		feExporter.export(sei, iStream);
-		Workbook wb = feExporter.getWb();
+		ExcelExportHelper helper = feExporter.getHelper();
 
-		Sheet sheet = wb.getSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACES);
 		for (int i = 0; i < sei.getCategoryAssignments().size(); ++i) {
-			Row row = sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + i);
+			Row row = helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACES, AExcelFuncIO.COMMON_ROW_START_TABLE + i);
 			Cell cell = row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_NAME);
 			assertEquals("Interface exported correctly", sei.getCategoryAssignments().get(i).getName(), cell.toString());
 		}
-		assertNull("Line after all entries correctly empty", sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size()));
+		assertNull("Line after all entries correctly empty", helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACES, AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size()));
 	}
 
 	@Test
@@ -117,17 +115,15 @@ public class FuncElecExporterTest extends ExcelTestCase {
 
 		FuncElecExporter feExporter = new FuncElecExporter(localDateTime);
 		feExporter.export(sei, iStream);
-		Workbook wb = feExporter.getWb();
-
-		Sheet sheet = wb.getSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACETYPES);
+		ExcelExportHelper helper = feExporter.getHelper();
 
 		for (int i = 0; i < sei.getCategoryAssignments().size(); ++i) {
 			CategoryAssignment interfaceType = sei.getCategoryAssignments().get(i);
-			Row row = sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + i);
+			Row row = helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACETYPES, AExcelFuncIO.COMMON_ROW_START_TABLE + i);
 			Cell cell = row.getCell(AExcelFuncIO.INTERFACETYPES_COLUMN_INTERFACETYPE_NAME);
 			assertEquals("Type " + i + "exported correctly", interfaceType.getName(), cell.toString());
 		}
-		assertNull("Line after all entries correctly empty", sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size()));
+		assertNull("Line after all entries correctly empty", helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACETYPES, AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size()));
 	}
 
 	@Test
@@ -138,18 +134,17 @@ public class FuncElecExporterTest extends ExcelTestCase {
 
 		FuncElecExporter feExporter = new FuncElecExporter(localDateTime);
 		feExporter.export(sei, iStream);
-		Workbook wb = feExporter.getWb();
+		ExcelExportHelper helper = feExporter.getHelper();
 
-		Sheet sheet = wb.getSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS);
 		for (int i = 0; i < sei.getCategoryAssignments().size(); ++i) {
 			CategoryAssignment interfaceEnd = sei.getCategoryAssignments().get(i);
-			Row row = sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + i);
+			Row row = helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS, AExcelFuncIO.COMMON_ROW_START_TABLE + i);
 			Cell cell = row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_NAME);
 			assertEquals("Interface end name exported correctly", interfaceEnd.getName(), cell.toString());
 			cell = row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_FQN);
 			assertEquals("Interface end fqn exported correctly", interfaceEnd.getFullQualifiedInstanceName(), cell.toString());
 		}
-		assertNull("Line after all entries correctly empty", sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size()));
+		assertNull("Line after all entries correctly empty", helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS, AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size()));
 	}
 
 	@Test
@@ -160,17 +155,16 @@ public class FuncElecExporterTest extends ExcelTestCase {
 
 		FuncElecExporter feExporter = new FuncElecExporter(localDateTime);
 		feExporter.export(sei, iStream);
-		Workbook wb = feExporter.getWb();
+		ExcelExportHelper helper = feExporter.getHelper();
 
-		Sheet sheet = wb.getSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS);
 		for (int i = 0; i < sei.getCategoryAssignments().size(); ++i) {
 			CategoryAssignment interfaceEnd = sei.getCategoryAssignments().get(i);
-			Row row = sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + i);
+			Row row = helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS, AExcelFuncIO.COMMON_ROW_START_TABLE + i);
 			Cell cell = row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_NAME);
 			assertEquals("Interface end name exported correctly", interfaceEnd.getName(), cell.toString());
 			cell = row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_FQN);
 			assertEquals("Interface end fqn exported correctly", interfaceEnd.getFullQualifiedInstanceName(), cell.toString());
 		}
-		assertNull("Line after all entries correctly empty", sheet.getRow(AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size()));
+		assertNull("Line after all entries correctly empty", helper.getRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS, AExcelFuncIO.COMMON_ROW_START_TABLE + sei.getCategoryAssignments().size()));
 	}
 }
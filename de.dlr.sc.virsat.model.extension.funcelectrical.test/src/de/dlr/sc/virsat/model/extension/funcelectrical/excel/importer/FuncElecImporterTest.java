@@ -12,11 +12,14 @@ package de.dlr.sc.virsat.model.extension.funcelectrical.excel.importer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.eclipse.core.runtime.CoreException;
 import org.junit.Before;
@@ -26,6 +29,8 @@ import de.dlr.sc.virsat.excel.fault.Fault;
 import de.dlr.sc.virsat.model.concept.types.util.BeanCategoryAssignmentHelper;
 import de.dlr.sc.virsat.model.dvlm.types.impl.VirSatUuid;
 import de.dlr.sc.virsat.model.extension.funcelectrical.Activator;
+import de.dlr.sc.virsat.model.extension.funcelectrical.excel.AExcelFuncIO;
+import de.dlr.sc.virsat.model.extension.funcelectrical.model.Interface;
 import de.dlr.sc.virsat.model.extension.funcelectrical.model.InterfaceEnd;
 import de.dlr.sc.virsat.model.extension.funcelectrical.test.ExcelTestCase;
 
@@ -98,4 +103,53 @@ public class FuncElecImporterTest extends ExcelTestCase {
 		assertEquals("Interface2", elementConf.getStructuralElementInstance().getCategoryAssignments().get(0).getName());
 		assertEquals("Interface3", elementConf.getStructuralElementInstance().getCategoryAssignments().get(1).getName());
 	}
+
+	/**
+	 * Creates a workbook which renames the interface end POW_IN of the second element configuration
+	 * and adds an interface starting at the interface end with the given name
+	 * @param interfaceEndFrom the full qualified name of the interface end the new interface starts at
+	 * @return the workbook
+	 */
+	private XSSFWorkbook createRenamingWorkbook(String interfaceEndFrom) {
+		XSSFWorkbook wb = new XSSFWorkbook();
+		Sheet interfaceEndSheet = wb.createSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS);
+		Row interfaceEndRow = interfaceEndSheet.createRow(AExcelFuncIO.COMMON_ROW_START_TABLE);
+		interfaceEndRow.createCell(AExcelFuncIO.COMMON_COLUMN_UUID).setCellValue("a2643ddb-e6a1-4015-9b80-be931f0c5a37");
+		interfaceEndRow.createCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_NAME).setCellValue("POW_RENAMED");
+		interfaceEndRow.createCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_TYPE).setCellValue("KILL");
+		// The importer does not read the last row of a sheet
+		interfaceEndSheet.createRow(AExcelFuncIO.COMMON_ROW_START_TABLE + 1);
+
+		Sheet interfaceSheet = wb.createSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACES);
+		Row interfaceRow = interfaceSheet.createRow(AExcelFuncIO.COMMON_ROW_START_TABLE);
+		interfaceRow.createCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_NAME).setCellValue("RenamedInterface");
+		interfaceRow.createCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_FROM).setCellValue(interfaceEndFrom);
+		interfaceRow.createCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_TO).setCellValue("ConfigurationTree1.InterfaceEnds.POW_OUT");
+		interfaceSheet.createRow(AExcelFuncIO.COMMON_ROW_START_TABLE + 1);
+		return wb;
+	}
+
+	@Test
+	public void testImportInterfacesToRenamedInterfaceEnd() throws IOException {
+		addElementsToRepository();
+		try (XSSFWorkbook wb = createRenamingWorkbook("ConfigurationTree1.InterfaceEnds.POW_RENAMED")) {
+			new FuncElecImporter().importExcel(elementConf2.getStructuralElementInstance(), repository, wb);
+		}
+
+		BeanCategoryAssignmentHelper bCaHelper = new BeanCategoryAssignmentHelper();
+		List<Interface> interfaces = bCaHelper.getAllBeanCategories(elementConf2.getStructuralElementInstance(), Interface.class);
+		assertEquals("The interface has been imported", 1, interfaces.size());
+		assertEquals("The interface refers to the renamed interface end", "POW_RENAMED", interfaces.get(0).getInterfaceEndFrom().getName());
+	}
+
+	@Test
+	public void testImportInterfacesToOldInterfaceEndName() throws IOException {
+		addElementsToRepository();
+		try (XSSFWorkbook wb = createRenamingWorkbook("ConfigurationTree1.InterfaceEnds.POW_IN")) {
+			new FuncElecImporter().importExcel(elementConf2.getStructuralElementInstance(), repository, wb);
+			fail("The old name of the renamed interface end can not be resolved anymore");
+		} catch (IllegalArgumentException e) {
+			assertTrue("The missing interface end is reported", e.getMessage().contains("ConfigurationTree1.InterfaceEnds.POW_IN"));
+		}
+	}
 }
@@ -84,7 +84,7 @@ public abstract class ADataInterfaceType extends InterfaceType implements IBeanC
 	
 	private void safeAccessElectricalStandard() {
 		if (electricalStandard.getTypeInstance() == null) {
-			electricalStandard.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("electricalStandard"));
+			electricalStandard.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(0, "electricalStandard"));
 		}
 	}
 	
@@ -84,7 +84,7 @@ public abstract class AFixedVoltageDefinition extends VoltageDefinition implemen
 	
 	private void safeAccessNominalValue() {
 		if (nominalValue.getTypeInstance() == null) {
-			nominalValue.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("nominalValue"));
+			nominalValue.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(0, "nominalValue"));
 		}
 	}
 	
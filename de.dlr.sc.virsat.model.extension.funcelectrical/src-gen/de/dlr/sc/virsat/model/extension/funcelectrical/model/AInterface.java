@@ -87,7 +87,7 @@ public abstract class AInterface extends GenericCategory implements IBeanCategor
 	private BeanPropertyReference<InterfaceEnd> interfaceEndFrom = new BeanPropertyReference<>();
 	
 	private void safeAccessInterfaceEndFrom() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("interfaceEndFrom");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(0, "interfaceEndFrom");
 		interfaceEndFrom.setTypeInstance(propertyInstance);
 	}
 	
@@ -119,7 +119,7 @@ public abstract class AInterface extends GenericCategory implements IBeanCategor
 	private BeanPropertyReference<InterfaceEnd> interfaceEndTo = new BeanPropertyReference<>();
 	
 	private void safeAccessInterfaceEndTo() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("interfaceEndTo");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(1, "interfaceEndTo");
 		interfaceEndTo.setTypeInstance(propertyInstance);
 	}
 	
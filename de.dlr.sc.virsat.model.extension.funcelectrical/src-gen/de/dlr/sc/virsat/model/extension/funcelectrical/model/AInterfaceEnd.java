@@ -86,7 +86,7 @@ public abstract class AInterfaceEnd extends GenericCategory implements IBeanCate
 	private BeanPropertyReference<InterfaceType> type = new BeanPropertyReference<>();
 	
 	private void safeAccessType() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("type");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(0, "type");
 		type.setTypeInstance(propertyInstance);
 	}
 	
@@ -85,7 +85,7 @@ public abstract class APowerInterfaceType extends InterfaceType implements IBean
 	
 	private void safeAccessVoltages() {
 		if (voltages.getArrayInstance() == null) {
-			voltages.setArrayInstance((ArrayInstance) helper.getPropertyInstance("voltages"));
+			voltages.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "voltages"));
 		}
 	}
 	
@@ -98,7 +98,7 @@ public abstract class APowerInterfaceType extends InterfaceType implements IBean
 	
 	private void safeAccessVoltagesBean() {
 		if (voltagesBean.getArrayInstance() == null) {
-			voltagesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("voltages"));
+			voltagesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "voltages"));
 		}
 	}
 	
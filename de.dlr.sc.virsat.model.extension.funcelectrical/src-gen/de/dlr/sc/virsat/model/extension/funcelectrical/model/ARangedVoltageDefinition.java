@@ -85,7 +85,7 @@ public abstract class ARangedVoltageDefinition extends VoltageDefinition impleme
 	
 	private void safeAccessMinVoltage() {
 		if (minVoltage.getTypeInstance() == null) {
-			minVoltage.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("minVoltage"));
+			minVoltage.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(0, "minVoltage"));
 		}
 	}
 	
@@ -122,7 +122,7 @@ public abstract class ARangedVoltageDefinition extends VoltageDefinition impleme
 	
 	private void safeAccessMaxVoltage() {
 		if (maxVoltage.getTypeInstance() == null) {
-			maxVoltage.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("maxVoltage"));
+			maxVoltage.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(1, "maxVoltage"));
 		}
 	}
 	
@@ -21,7 +21,6 @@ import java.util.Objects;
 import java.util.stream.Stream;
 
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.ecore.EObject;
@@ -84,8 +83,9 @@ public class FuncElecExporter implements IExport {
 								
 					export(sei, iStream);
 					File file = new File(path + "/" + sei.getFullQualifiedInstanceName() + ".xlsx");
-					FileOutputStream out = new FileOutputStream(file);
-					helper.getWb().write(out);
+					try (FileOutputStream out = new FileOutputStream(file)) {
+						helper.write(out);
+					}
 				} catch (IOException e) {
 					Status status = new Status(Status.ERROR, Activator.getPluginId(), "Failed to perform an export operation!" + System.lineSeparator() + e.getMessage(), e);
 					StatusManager.getManager().handle(status, StatusManager.LOG | StatusManager.SHOW);
@@ -152,13 +152,12 @@ public class FuncElecExporter implements IExport {
 	 * @param exportSei Structural element instance to be exported
 	 */
 	private void createDataSheetInterfaces(StructuralElementInstance exportSei) {
-		XSSFSheet sheet = createSheetIfNeeded(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACES);
+		helper.getOrCreateDataSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACES);
 		BeanCategoryAssignmentHelper bCaHelper = new BeanCategoryAssignmentHelper();
 		List<Interface> seiInterfaces = bCaHelper.getAllBeanCategories(exportSei, Interface.class);	
-		helper.instantiateCells(sheet, seiInterfaces.size() + AExcelFuncIO.COMMON_ROW_START_TABLE, AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_TO + 1);
 		int i = AExcelFuncIO.COMMON_ROW_START_TABLE;
 		for (Interface iface : seiInterfaces) {
-			Row row = sheet.getRow(i);
+			Row row = helper.getDataRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACES, i, AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_TO + 1);
 			row.getCell(AExcelFuncIO.COMMON_COLUMN_UUID).setCellValue(helper.getCreationHelper().createRichTextString(iface.getTypeInstance().getUuid().toString()));
 			row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_NAME).setCellValue(helper.getCreationHelper().createRichTextString(iface.getName()));
 			if (iface.getInterfaceEndFrom() != null) {
@@ -176,15 +175,14 @@ public class FuncElecExporter implements IExport {
 	 * @param exportSei Structural element instance to be exported
 	 */
 	private void createDataSheetInterfaceTypes(StructuralElementInstance exportSei) {
-		XSSFSheet sheet = createSheetIfNeeded(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACETYPES);
+		helper.getOrCreateDataSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACETYPES);
 		// get all the interface types from the model
 		BeanCategoryAssignmentHelper bCaHelper = new BeanCategoryAssignmentHelper();
 		List<InterfaceType> seiInterfaceTypes = bCaHelper.getAllBeanCategories(exportSei, InterfaceType.class);
 
-		helper.instantiateCells(sheet, seiInterfaceTypes.size() + AExcelFuncIO.COMMON_ROW_START_TABLE, AExcelFuncIO.INTERFACETYPES_COLUMN_INTERFACETYPE_NAME + 1);
 		int i = AExcelFuncIO.COMMON_ROW_START_TABLE;
 		for (InterfaceType ifaceType : seiInterfaceTypes) {
-			Row row = sheet.getRow(i);
+			Row row = helper.getDataRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACETYPES, i, AExcelFuncIO.INTERFACETYPES_COLUMN_INTERFACETYPE_NAME + 1);
 			row.getCell(AExcelFuncIO.COMMON_COLUMN_UUID).setCellValue(helper.getCreationHelper().createRichTextString(ifaceType.getTypeInstance().getUuid().toString()));
 			row.getCell(AExcelFuncIO.INTERFACETYPES_COLUMN_INTERFACETYPE_NAME).setCellValue(helper.getCreationHelper().createRichTextString(ifaceType.getName()));
 			i++;
@@ -196,16 +194,15 @@ public class FuncElecExporter implements IExport {
 	 * @param exportSei Structural element instance to be exported
 	 */
 	private void createDataSheetInterfaceEnds(StructuralElementInstance exportSei) {
-		XSSFSheet sheet = createSheetIfNeeded(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS);
+		helper.getOrCreateDataSheet(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS);
 		// get all the interface ends
 		BeanCategoryAssignmentHelper bCaHelper = new BeanCategoryAssignmentHelper();
 		List<InterfaceEnd> seiInterfaceEnds = bCaHelper.getAllBeanCategories(exportSei, InterfaceEnd.class);
-		helper.instantiateCells(sheet, seiInterfaceEnds.size() + AExcelFuncIO.COMMON_ROW_START_TABLE, AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_FQN + 1);
 
 		// for each interface end, fill out a row
 		int i = AExcelFuncIO.COMMON_ROW_START_TABLE;
 		for (InterfaceEnd ifaceEnd : seiInterfaceEnds) {
-			Row row = sheet.getRow(i);
+			Row row = helper.getDataRow(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACEENDS, i, AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_FQN + 1);
 			row.getCell(AExcelFuncIO.COMMON_COLUMN_UUID).setCellValue(helper.getCreationHelper().createRichTextString(ifaceEnd.getTypeInstance().getUuid().toString()));
 			row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_NAME).setCellValue(helper.getCreationHelper().createRichTextString(ifaceEnd.getName()));
 			row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_TYPE).setCellValue(helper.getCreationHelper().createRichTextString(""));
@@ -215,19 +212,6 @@ public class FuncElecExporter implements IExport {
 		}
 	}
 	
-	/**
-	 * Creates the sheet if it is not already there
-	 * @param sheetName the name of the sheet
-	 * @return sheet the created sheet
-	 */
-	private XSSFSheet createSheetIfNeeded(String sheetName) {
-		XSSFSheet sheet = helper.getWb().getSheet(sheetName);
-		if (sheet == null) {
-			sheet = helper.getWb().createSheet(sheetName);
-		}
-		return sheet;
-	}
-	
 	/**
 	 * returns the type of an interface end if exists
 	 * @param ifaceEnd interface end object
@@ -249,4 +233,12 @@ public class FuncElecExporter implements IExport {
 	protected XSSFWorkbook getWb() {
 		return helper.getWb();
 	}
+	
+	/**
+	 * gets the export helper holding the template and the streamed data rows
+	 * @return the export helper
+	 */
+	protected ExcelExportHelper getHelper() {
+		return helper;
+	}
 }
@@ -19,6 +19,7 @@ import org.eclipse.emf.ecore.EObject;
 
 import de.dlr.sc.virsat.excel.fault.Fault;
 import de.dlr.sc.virsat.excel.importer.ExcelImportHelper;
+import de.dlr.sc.virsat.excel.importer.ExcelImportIndex;
 import de.dlr.sc.virsat.excel.importer.IImport;
 import de.dlr.sc.virsat.model.concept.types.structural.BeanStructuralElementInstance;
 import de.dlr.sc.virsat.model.concept.types.util.BeanCategoryAssignmentHelper;
@@ -46,11 +47,11 @@ public class FuncElecImporter implements IImport {
 
 	private StructuralElementInstance sei;
 	private XSSFWorkbook wb;
-	private List<InterfaceType> ifaceTypes;
-	private List<InterfaceEnd> seiInterfaceEnds;
-	private List<InterfaceEnd> ecInterfaceEnds;
-	private List<InterfaceType> ifaceCTypes;
-	private List<Interface> ifaces;
+	private ExcelImportIndex<InterfaceType> ifaceTypes;
+	private ExcelImportIndex<InterfaceEnd> seiInterfaceEnds;
+	private ExcelImportIndex<InterfaceEnd> ecInterfaceEnds;
+	private ExcelImportIndex<InterfaceType> ifaceCTypes;
+	private ExcelImportIndex<Interface> ifaces;
 	private Concept concept;
 
 	@Override
@@ -91,11 +92,13 @@ public class FuncElecImporter implements IImport {
 		ActiveConceptHelper acHelper = new ActiveConceptHelper(repository);
 		concept = acHelper.getConcept(Activator.getPluginId());
 
-		seiInterfaceEnds = bCaHelper.getAllBeanCategories(sei, InterfaceEnd.class);
-		ifaceCTypes = bCaHelper.getAllBeanCategories(sei, InterfaceType.class);
-		ifaceTypes = feaHelper.getAllInterfaceTypes(repository);
-		ifaces = bCaHelper.getAllBeanCategories(sei, Interface.class);
-		ecInterfaceEnds = bCaHelper.getAllBeanCategoriesFromRoot(seiHelper.getRoot(), InterfaceEnd.class);
+		// Index the existing elements once, so that each row is resolved without scanning them again
+		seiInterfaceEnds = new ExcelImportIndex<>(bCaHelper.getAllBeanCategories(sei, InterfaceEnd.class));
+		ifaceCTypes = new ExcelImportIndex<>(bCaHelper.getAllBeanCategories(sei, InterfaceType.class));
+		ifaceTypes = new ExcelImportIndex<>(feaHelper.getAllInterfaceTypes(repository));
+		ifaces = new ExcelImportIndex<>(bCaHelper.getAllBeanCategories(sei, Interface.class));
+		ecInterfaceEnds = new ExcelImportIndex<>(bCaHelper.getAllBeanCategoriesFromRoot(seiHelper.getRoot(), InterfaceEnd.class), 
+			interfaceEnd -> interfaceEnd.getTypeInstance().getFullQualifiedInstanceName());
 	}
 
 	/**
@@ -125,28 +128,41 @@ public class FuncElecImporter implements IImport {
 				// change the name if it is not empty , if it is empty throw a fault
 				ifaceEnd.setName(row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_NAME).toString());
 				// if interfaceType exists, set it, if it does not exist throw a fault
-				int interfaceTypeIndex = ExcelImportHelper.containsABeanCategoryAssignmentName(row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_TYPE).toString(), ifaceTypes);
-				ifaceEnd.setType(ifaceTypes.get(interfaceTypeIndex));
+				ifaceEnd.setType(getInterfaceType(row));
 				beanSei.add(ifaceEnd);
+				// Index the new interface end once it is contained, so that interfaces can refer to it
+				ecInterfaceEnds.add(ifaceEnd);
 			} else {
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, seiInterfaceEnds);
+				InterfaceEnd ifaceEnd = seiInterfaceEnds.requireByUuid(tempUUID);
 				// Control the delete column if element is deleted move to the next row
 				String tempDelete = Objects.toString(row.getCell(AExcelFuncIO.COMMON_COLUMN_DELETE), "");
 				if (tempDelete.contains(AExcelFuncIO.COMMON_DELETEMARK_VALUE)) {
-					beanSei.remove(seiInterfaceEnds.get(check));
+					ecInterfaceEnds.remove(ifaceEnd);
+					beanSei.remove(ifaceEnd);
 				} else {
 					// change the name if it is not empty , if it is empty throw a fault
 					String tempInterfaceEndName = Objects.toString(row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_NAME).toString(), "");
-					seiInterfaceEnds.get(check).setName(tempInterfaceEndName);
+					// Re-index the interface end under its new name, so that interfaces can refer to the renamed end
+					ecInterfaceEnds.remove(ifaceEnd);
+					ifaceEnd.setName(tempInterfaceEndName);
+					ecInterfaceEnds.add(ifaceEnd);
 					// if type exists change the type, if not return a fault
-					int interfaceTypeIndex = ExcelImportHelper.containsABeanCategoryAssignmentName(row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_TYPE).toString(), ifaceTypes);
-					InterfaceType interfaceType = (interfaceTypeIndex >= 0) ? ifaceTypes.get(interfaceTypeIndex) : null;
-					seiInterfaceEnds.get(check).setType(interfaceType);
+					ifaceEnd.setType(getInterfaceType(row));
 				}
 			}
 		}
 	}
 
+	/**
+	 * Gets the interface type referenced by the type column of an interface end row
+	 * @param row the interface end row
+	 * @return the interface type or null if the row does not reference a type
+	 */
+	private InterfaceType getInterfaceType(Row row) {
+		String type = Objects.toString(row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_TYPE), "");
+		return "".equals(type) ? null : ifaceTypes.requireByName(type);
+	}
+
 	/**
 	* Imports the interfaces to Element Configuration
 	*/
@@ -172,30 +188,26 @@ public class FuncElecImporter implements IImport {
 				//create new interface and add it to our interface collection
 				Interface iface = new Interface(concept);
 				iface.setName(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_NAME).toString());
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentFullQualifiedInstanceName(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_FROM).toString(), ecInterfaceEnds);
-				iface.setInterfaceEndFrom(ecInterfaceEnds.get(check));
-				check = ExcelImportHelper.containsABeanCategoryAssignmentFullQualifiedInstanceName(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_TO).toString(), ecInterfaceEnds);
-				iface.setInterfaceEndTo(ecInterfaceEnds.get(check));
+				iface.setInterfaceEndFrom(ecInterfaceEnds.requireByName(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_FROM).toString()));
+				iface.setInterfaceEndTo(ecInterfaceEnds.requireByName(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_TO).toString()));
 				beanSei.add(iface);
 				// creation is done, continue the import with the next row in excel
 			} else {
 				// Control the delete column if element is deleted move to the next row
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, ifaces);
+				Interface iface = ifaces.requireByUuid(tempUUID);
 				String tempDelete = Objects.toString(row.getCell(AExcelFuncIO.COMMON_COLUMN_DELETE), "");
 				if (tempDelete.toString().contains(AExcelFuncIO.COMMON_DELETEMARK_VALUE)) {
-					beanSei.remove(ifaces.get(check));
+					beanSei.remove(iface);
 				} else {
 					// Change the InterfaceName by controlling if it is empty or not
 					String tempInterfaceName = Objects.toString(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_NAME), "");
-					ifaces.get(check).setName(tempInterfaceName);
+					iface.setName(tempInterfaceName);
 					// Change the From interface end
 					String tempInterfaceFrom = Objects.toString(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_FROM), "");
-					int check2 = ExcelImportHelper.containsABeanCategoryAssignmentFullQualifiedInstanceName(tempInterfaceFrom, ecInterfaceEnds);
-					ifaces.get(check).setInterfaceEndFrom(ecInterfaceEnds.get(check2));
+					iface.setInterfaceEndFrom(ecInterfaceEnds.requireByName(tempInterfaceFrom));
 					// Change the To interface end
 					String tempInterfaceTo = Objects.toString(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_TO), "");
-					check2 = ExcelImportHelper.containsABeanCategoryAssignmentFullQualifiedInstanceName(tempInterfaceTo, ecInterfaceEnds);
-					ifaces.get(check).setInterfaceEndTo(ecInterfaceEnds.get(check2));
+					iface.setInterfaceEndTo(ecInterfaceEnds.requireByName(tempInterfaceTo));
 				}
 			}
 		}
@@ -228,15 +240,15 @@ public class FuncElecImporter implements IImport {
 				ifaceTypeCollection.add(ifaceTyp);
 				// creation is done, continue the import with the next row in excel
 			} else {
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, ifaceCTypes);
+				InterfaceType ifaceType = ifaceCTypes.requireByUuid(tempUUID);
 				// Control the delete column if element is deleted move to the next row
 				String tempDelete = Objects.toString(row.getCell(AExcelFuncIO.COMMON_COLUMN_DELETE), "");
 				if (tempDelete.contains(AExcelFuncIO.COMMON_DELETEMARK_VALUE)) {
-					ifaceTypeCollection.remove(ifaceCTypes.get(check));
+					ifaceTypeCollection.remove(ifaceType);
 				} else {
 					// Change the InterfaceTypeName by controlling if it is empty or not
 					String tempInterfaceType = Objects.toString(row.getCell(AExcelFuncIO.INTERFACETYPES_COLUMN_INTERFACETYPE_NAME), "");
-					ifaceCTypes.get(check).setName(tempInterfaceType);
+					ifaceType.setName(tempInterfaceType);
 				}
 			}
 		}
@@ -27,5 +27,9 @@ public enum FuncFaultType implements IFaultType {
 	 CANT_DELETE_NON_EXISTING_INTERFACE_TYPE,
 	 CANT_DELETE_NON_EXISTING_INTERFACE,
 	 CAN_ONLY_IMPORT_ELEMENT_DEFINITON_OR_INTERFACE_TYPE_COLLECTION,
-	 FROM_INTERFACE_END_NOT_FOUND;
+	 FROM_INTERFACE_END_NOT_FOUND,
+	 INTERFACE_TYPE_IS_NOT_UNIQUE,
+	 INTERFACE_TYPE_NAME_IS_NOT_UNIQUE,
+	 FROM_INTERFACE_END_IS_NOT_UNIQUE,
+	 TO_INTERFACE_END_IS_NOT_UNIQUE;
 }
@@ -10,8 +10,10 @@
 package de.dlr.sc.virsat.model.extension.funcelectrical.excel.importer;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
@@ -21,6 +23,7 @@ import org.eclipse.emf.ecore.EObject;
 import de.dlr.sc.virsat.excel.fault.Fault;
 import de.dlr.sc.virsat.excel.fault.FaultType;
 import de.dlr.sc.virsat.excel.importer.ExcelImportHelper;
+import de.dlr.sc.virsat.excel.importer.ExcelImportIndex;
 import de.dlr.sc.virsat.model.concept.types.util.BeanCategoryAssignmentHelper;
 import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.concepts.util.ActiveConceptHelper;
@@ -45,11 +48,11 @@ public class ImportValidator {
 	// attributes
 	private XSSFWorkbook wb;
 	private StructuralElementInstance importSei;
-	private List<InterfaceType> itcTypes;
-	private List<Interface> ifaces;
-	private List<InterfaceType> ifaceTypes;
-	private List<InterfaceEnd> seiInterfaceEnds;
-	private List<InterfaceEnd> ecInterfaceEnds;
+	private ExcelImportIndex<InterfaceType> itcTypes;
+	private ExcelImportIndex<Interface> ifaces;
+	private ExcelImportIndex<InterfaceType> ifaceTypes;
+	private ExcelImportIndex<InterfaceEnd> seiInterfaceEnds;
+	private ExcelImportIndex<InterfaceEnd> ecInterfaceEnds;
 	private List<Fault> faultList;
 
 	/**
@@ -66,14 +69,15 @@ public class ImportValidator {
 		BeanCategoryAssignmentHelper bCaHelper = new BeanCategoryAssignmentHelper();
 		FuncElectricalArchitectureHelper feaHelper = new FuncElectricalArchitectureHelper();
 		StructuralElementInstanceHelper seiHelper = new StructuralElementInstanceHelper(importSei);
-		seiInterfaceEnds = bCaHelper.getAllBeanCategories(importSei, InterfaceEnd.class);
-		itcTypes = bCaHelper.getAllBeanCategories(importSei, InterfaceType.class);
+		seiInterfaceEnds = new ExcelImportIndex<>(bCaHelper.getAllBeanCategories(importSei, InterfaceEnd.class));
+		itcTypes = new ExcelImportIndex<>(bCaHelper.getAllBeanCategories(importSei, InterfaceType.class));
 		// Grab the repository using the concept
 		Repository repository = (Repository) ActiveConceptHelper.getConcept(importSei.getType()).eContainer();
-		ifaceTypes = feaHelper.getAllInterfaceTypes(repository);
+		ifaceTypes = new ExcelImportIndex<>(feaHelper.getAllInterfaceTypes(repository));
 		faultList = new ArrayList<Fault>();
-		ifaces = bCaHelper.getAllBeanCategories(importSei, Interface.class);
-		ecInterfaceEnds = bCaHelper.getAllBeanCategoriesFromRoot(seiHelper.getRoot(), InterfaceEnd.class);
+		ifaces = new ExcelImportIndex<>(bCaHelper.getAllBeanCategories(importSei, Interface.class));
+		ecInterfaceEnds = new ExcelImportIndex<>(bCaHelper.getAllBeanCategoriesFromRoot(seiHelper.getRoot(), InterfaceEnd.class), 
+			interfaceEnd -> interfaceEnd.getTypeInstance().getFullQualifiedInstanceName());
 	}
 
 	/**
@@ -128,8 +132,7 @@ public class ImportValidator {
 					faultList.add(new Fault(FuncFaultType.CANT_DELETE_NON_EXISTING_INTERFACE_END, sheetIndex, i));
 				}
 			} else {
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, seiInterfaceEnds);
-				if (check < 0) {
+				if (seiInterfaceEnds.getByUuid(tempUUID) == null) {
 					faultList.add(new Fault(FuncFaultType.INTERFACE_END_UUID_NOT_FOUND, sheetIndex, i));
 				}
 			}
@@ -145,9 +148,10 @@ public class ImportValidator {
 			// control if the interface Type Exists
 			String type = Objects.toString(row.getCell(AExcelFuncIO.INTERFACEEND_COLUMN_INTERFACEEND_TYPE), "");
 			if (!type.equals("")) {
-				int interfaceTypeIndex = ExcelImportHelper.containsABeanCategoryAssignmentName(type, ifaceTypes);
-				if (interfaceTypeIndex < 0) {
+				if (ifaceTypes.getByName(type) == null) {
 					faultList.add(new Fault(FuncFaultType.INTERFACE_TYPE_DOES_NOT_EXIST, sheetIndex, i));
+				} else if (ifaceTypes.isDuplicateName(type)) {
+					faultList.add(new Fault(FuncFaultType.INTERFACE_TYPE_IS_NOT_UNIQUE, sheetIndex, i));
 				}
 			}
 		}
@@ -179,8 +183,7 @@ public class ImportValidator {
 					faultList.add(new Fault(FuncFaultType.CANT_DELETE_NON_EXISTING_INTERFACE, sheetIndex, i));
 				}
 			} else {
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, ifaces);
-				if (check < 0) {
+				if (ifaces.getByUuid(tempUUID) == null) {
 					faultList.add(new Fault(FuncFaultType.INTERFACE_UUID_NOT_FOUND, sheetIndex, i));
 				}
 			}
@@ -195,15 +198,17 @@ public class ImportValidator {
 			}
 			// Control if the FromInterfaceEnd does exist or not
 			String tempInterfaceFrom = Objects.toString(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_FROM), "");
-			int check = ExcelImportHelper.containsABeanCategoryAssignmentFullQualifiedInstanceName(tempInterfaceFrom, ecInterfaceEnds);
-			if (check < 0) {
+			if (ecInterfaceEnds.getByName(tempInterfaceFrom) == null) {
 				faultList.add(new Fault(FuncFaultType.FROM_INTERFACE_END_NOT_FOUND, sheetIndex, i));
+			} else if (ecInterfaceEnds.isDuplicateName(tempInterfaceFrom)) {
+				faultList.add(new Fault(FuncFaultType.FROM_INTERFACE_END_IS_NOT_UNIQUE, sheetIndex, i));
 			}
 			// Control if the ToInterfaceEnd does exist or not
 			String tempInterfaceTo = Objects.toString(row.getCell(AExcelFuncIO.INTERFACE_COLUMN_INTERFACE_TO), "");
-			check = ExcelImportHelper.containsABeanCategoryAssignmentFullQualifiedInstanceName(tempInterfaceTo, ecInterfaceEnds);
-			if (check < 0) {
+			if (ecInterfaceEnds.getByName(tempInterfaceTo) == null) {
 				faultList.add(new Fault(FuncFaultType.TO_INTERFACE_END_NOT_FOUND, sheetIndex, i));
+			} else if (ecInterfaceEnds.isDuplicateName(tempInterfaceTo)) {
+				faultList.add(new Fault(FuncFaultType.TO_INTERFACE_END_IS_NOT_UNIQUE, sheetIndex, i));
 			}
 		}
 	}
@@ -219,6 +224,8 @@ public class ImportValidator {
 		}
 
 		final int sheetIndex = wb.getSheetIndex(AExcelFuncIO.TEMPLATE_SHEETNAME_INTERFACETYPES);
+		// Interface ends refer to the interface types by name, so each name may only be used once
+		Set<String> interfaceTypeNames = new HashSet<>();
 
 		// Travel through all rows to find a fault
 		for (int i = AExcelFuncIO.COMMON_ROW_START_TABLE; i < sheet.getLastRowNum(); i++) {
@@ -235,8 +242,7 @@ public class ImportValidator {
 					faultList.add(new Fault(FuncFaultType.CANT_DELETE_NON_EXISTING_INTERFACE_TYPE, sheetIndex, i));
 				}
 			} else {
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, itcTypes);
-				if (check < 0) {
+				if (itcTypes.getByUuid(tempUUID) == null) {
 					faultList.add(new Fault(FuncFaultType.INTERFACE_TYPE_UUID_NOT_FOUND, sheetIndex, i));
 				}
 			}
@@ -248,6 +254,8 @@ public class ImportValidator {
 			String tempInterfaceType = Objects.toString(row.getCell(AExcelFuncIO.INTERFACETYPES_COLUMN_INTERFACETYPE_NAME), "");
 			if ("".equals(tempInterfaceType)) {
 				faultList.add(new Fault(FuncFaultType.INTERFACE_TYPE_NAME_IS_NOT_SET, sheetIndex, i));
+			} else if (!tempDelete.equals(AExcelFuncIO.COMMON_DELETEMARK_VALUE) && !interfaceTypeNames.add(tempInterfaceType)) {
+				faultList.add(new Fault(FuncFaultType.INTERFACE_TYPE_NAME_IS_NOT_UNIQUE, sheetIndex, i));
 			}
 		}
 	}
@@ -114,7 +114,7 @@ public abstract class AMaturity extends GenericCategory implements IBeanCategory
 	
 	private void safeAccessLevel() {
 		if (level.getTypeInstance() == null) {
-			level.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("level"));
+			level.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(0, "level"));
 		}
 	}
 	
@@ -151,7 +151,7 @@ public abstract class AMaturity extends GenericCategory implements IBeanCategory
 	
 	private void safeAccessTrl() {
 		if (trl.getTypeInstance() == null) {
-			trl.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("trl"));
+			trl.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(1, "trl"));
 		}
 	}
 	
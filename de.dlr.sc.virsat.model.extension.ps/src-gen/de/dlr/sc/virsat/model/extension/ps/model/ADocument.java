@@ -91,7 +91,7 @@ public abstract class ADocument extends GenericCategory implements IBeanCategory
 	
 	private void safeAccessDocumentName() {
 		if (documentName.getTypeInstance() == null) {
-			documentName.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("documentName"));
+			documentName.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(0, "documentName"));
 		}
 	}
 	
@@ -123,7 +123,7 @@ public abstract class ADocument extends GenericCategory implements IBeanCategory
 	
 	private void safeAccessNote() {
 		if (note.getTypeInstance() == null) {
-			note.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("note"));
+			note.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(1, "note"));
 		}
 	}
 	
@@ -155,7 +155,7 @@ public abstract class ADocument extends GenericCategory implements IBeanCategory
 	
 	private void safeAccessUrl() {
 		if (url.getTypeInstance() == null) {
-			url.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("url"));
+			url.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(2, "url"));
 		}
 	}
 	
@@ -187,7 +187,7 @@ public abstract class ADocument extends GenericCategory implements IBeanCategory
 	
 	private void safeAccessFile() {
 		if (file.getTypeInstance() == null) {
-			file.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance("file"));
+			file.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance(3, "file"));
 		}
 	}
 	
@@ -81,7 +81,7 @@ public abstract class AAttributeValue extends GenericCategory implements IBeanCa
 	private BeanPropertyReference<RequirementAttribute> attType = new BeanPropertyReference<>();
 	
 	private void safeAccessAttType() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("attType");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(0, "attType");
 		attType.setTypeInstance(propertyInstance);
 	}
 	
@@ -112,7 +112,7 @@ public abstract class AAttributeValue extends GenericCategory implements IBeanCa
 	
 	private void safeAccessValue() {
 		if (value.getTypeInstance() == null) {
-			value.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("value"));
+			value.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(1, "value"));
 		}
 	}
 	
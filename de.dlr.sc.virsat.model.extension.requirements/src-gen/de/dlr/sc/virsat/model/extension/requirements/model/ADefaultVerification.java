@@ -77,7 +77,7 @@ public abstract class ADefaultVerification extends IVerification implements IBea
 	private BeanPropertyReference<VerificationType> verificationType = new BeanPropertyReference<>();
 	
 	private void safeAccessVerificationType() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("verificationType");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(0, "verificationType");
 		verificationType.setTypeInstance(propertyInstance);
 	}
 	
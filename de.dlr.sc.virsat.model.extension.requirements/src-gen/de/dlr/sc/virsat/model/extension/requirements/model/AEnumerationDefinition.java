@@ -80,7 +80,7 @@ public abstract class AEnumerationDefinition extends GenericCategory implements
 	
 	private void safeAccessLiterals() {
 		if (literals.getArrayInstance() == null) {
-			literals.setArrayInstance((ArrayInstance) helper.getPropertyInstance("literals"));
+			literals.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "literals"));
 		}
 	}
 	
@@ -93,7 +93,7 @@ public abstract class AEnumerationDefinition extends GenericCategory implements
 	
 	private void safeAccessLiteralsBean() {
 		if (literalsBean.getArrayInstance() == null) {
-			literalsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("literals"));
+			literalsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "literals"));
 		}
 	}
 	
@@ -80,7 +80,7 @@ public abstract class AExistenceVerification extends ModelVerification implement
 	
 		private void safeAccessTarget() {
 			if (target.getArrayInstance() == null) {
-				target.setArrayInstance((ArrayInstance) helper.getPropertyInstance("target"));
+				target.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "target"));
 			}
 		}
 	
@@ -93,7 +93,7 @@ public abstract class AExistenceVerification extends ModelVerification implement
 		
 		private void safeAccessTargetBean() {
 			if (targetBean.getArrayInstance() == null) {
-				targetBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("target"));
+				targetBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "target"));
 			}
 		}
 		
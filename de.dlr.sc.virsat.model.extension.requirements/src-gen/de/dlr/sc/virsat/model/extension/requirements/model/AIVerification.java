@@ -91,7 +91,7 @@ public abstract class AIVerification extends GenericCategory implements IBeanCat
 	
 	private void safeAccessStatus() {
 		if (status.getTypeInstance() == null) {
-			status.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("status"));
+			status.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(0, "status"));
 		}
 	}
 	
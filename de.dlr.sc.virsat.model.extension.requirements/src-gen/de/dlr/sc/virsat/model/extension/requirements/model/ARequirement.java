@@ -99,7 +99,7 @@ public abstract class ARequirement extends RequirementObject implements IBeanCat
 	private BeanPropertyReference<RequirementType> reqType = new BeanPropertyReference<>();
 	
 	private void safeAccessReqType() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("reqType");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(0, "reqType");
 		reqType.setTypeInstance(propertyInstance);
 	}
 	
@@ -130,7 +130,7 @@ public abstract class ARequirement extends RequirementObject implements IBeanCat
 	
 	private void safeAccessElements() {
 		if (elements.getArrayInstance() == null) {
-			elements.setArrayInstance((ArrayInstance) helper.getPropertyInstance("elements"));
+			elements.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "elements"));
 		}
 	}
 	
@@ -143,7 +143,7 @@ public abstract class ARequirement extends RequirementObject implements IBeanCat
 	
 	private void safeAccessElementsBean() {
 		if (elementsBean.getArrayInstance() == null) {
-			elementsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("elements"));
+			elementsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "elements"));
 		}
 	}
 	
@@ -159,7 +159,7 @@ public abstract class ARequirement extends RequirementObject implements IBeanCat
 	
 	private void safeAccessStatus() {
 		if (status.getTypeInstance() == null) {
-			status.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("status"));
+			status.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(2, "status"));
 		}
 	}
 	
@@ -195,7 +195,7 @@ public abstract class ARequirement extends RequirementObject implements IBeanCat
 	
 	private void safeAccessVerification() {
 		if (verification.getArrayInstance() == null) {
-			verification.setArrayInstance((ArrayInstance) helper.getPropertyInstance("verification"));
+			verification.setArrayInstance((ArrayInstance) helper.getPropertyInstance(3, "verification"));
 		}
 	}
 	
@@ -208,7 +208,7 @@ public abstract class ARequirement extends RequirementObject implements IBeanCat
 	
 	private void safeAccessVerificationBean() {
 		if (verificationBean.getArrayInstance() == null) {
-			verificationBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("verification"));
+			verificationBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(3, "verification"));
 		}
 	}
 	
@@ -98,7 +98,7 @@ public abstract class ARequirementAttribute extends GenericCategory implements I
 	
 	private void safeAccessType() {
 		if (type.getTypeInstance() == null) {
-			type.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("type"));
+			type.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(0, "type"));
 		}
 	}
 	
@@ -134,7 +134,7 @@ public abstract class ARequirementAttribute extends GenericCategory implements I
 	
 	private void safeAccessEnumeration() {
 		if (enumeration.getTypeInstance() == null) {
-			ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance("enumeration");
+			ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance(1, "enumeration");
 			enumeration.setTypeInstance(propertyInstance);
 		}
 	}
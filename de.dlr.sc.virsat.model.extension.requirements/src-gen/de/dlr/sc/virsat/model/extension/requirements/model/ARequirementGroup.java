@@ -79,7 +79,7 @@ public abstract class ARequirementGroup extends RequirementObject implements IBe
 	
 	private void safeAccessChildren() {
 		if (children.getArrayInstance() == null) {
-			children.setArrayInstance((ArrayInstance) helper.getPropertyInstance("children"));
+			children.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "children"));
 		}
 	}
 	
@@ -92,7 +92,7 @@ public abstract class ARequirementGroup extends RequirementObject implements IBe
 	
 	private void safeAccessChildrenBean() {
 		if (childrenBean.getArrayInstance() == null) {
-			childrenBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("children"));
+			childrenBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "children"));
 		}
 	}
 	
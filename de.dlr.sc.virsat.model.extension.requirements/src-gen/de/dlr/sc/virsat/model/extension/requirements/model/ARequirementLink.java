@@ -93,7 +93,7 @@ public abstract class ARequirementLink extends GenericCategory implements IBeanC
 	
 	private void safeAccessType() {
 		if (type.getTypeInstance() == null) {
-			type.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("type"));
+			type.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(0, "type"));
 		}
 	}
 	
@@ -128,7 +128,7 @@ public abstract class ARequirementLink extends GenericCategory implements IBeanC
 	private BeanPropertyReference<Requirement> subject = new BeanPropertyReference<>();
 	
 	private void safeAccessSubject() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("subject");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(1, "subject");
 		subject.setTypeInstance(propertyInstance);
 	}
 	
@@ -159,7 +159,7 @@ public abstract class ARequirementLink extends GenericCategory implements IBeanC
 	
 		private void safeAccessTargets() {
 			if (targets.getArrayInstance() == null) {
-				targets.setArrayInstance((ArrayInstance) helper.getPropertyInstance("targets"));
+				targets.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "targets"));
 			}
 		}
 	
@@ -172,7 +172,7 @@ public abstract class ARequirementLink extends GenericCategory implements IBeanC
 		
 		private void safeAccessTargetsBean() {
 			if (targetsBean.getArrayInstance() == null) {
-				targetsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("targets"));
+				targetsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "targets"));
 			}
 		}
 		
@@ -86,7 +86,7 @@ public abstract class ARequirementTrace extends GenericCategory implements IBean
 	
 		private void safeAccessTarget() {
 			if (target.getArrayInstance() == null) {
-				target.setArrayInstance((ArrayInstance) helper.getPropertyInstance("target"));
+				target.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "target"));
 			}
 		}
 	
@@ -99,7 +99,7 @@ public abstract class ARequirementTrace extends GenericCategory implements IBean
 		
 		private void safeAccessTargetBean() {
 			if (targetBean.getArrayInstance() == null) {
-				targetBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("target"));
+				targetBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "target"));
 			}
 		}
 		
@@ -80,7 +80,7 @@ public abstract class ARequirementType extends GenericCategory implements IBeanC
 	
 	private void safeAccessAttributes() {
 		if (attributes.getArrayInstance() == null) {
-			attributes.setArrayInstance((ArrayInstance) helper.getPropertyInstance("attributes"));
+			attributes.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "attributes"));
 		}
 	}
 	
@@ -93,7 +93,7 @@ public abstract class ARequirementType extends GenericCategory implements IBeanC
 	
 	private void safeAccessAttributesBean() {
 		if (attributesBean.getArrayInstance() == null) {
-			attributesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("attributes"));
+			attributesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "attributes"));
 		}
 	}
 	
@@ -85,7 +85,7 @@ public abstract class ARequirementsConfiguration extends GenericCategory impleme
 	
 	private void safeAccessFileName() {
 		if (fileName.getTypeInstance() == null) {
-			fileName.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("fileName"));
+			fileName.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(0, "fileName"));
 		}
 	}
 	
@@ -116,7 +116,7 @@ public abstract class ARequirementsConfiguration extends GenericCategory impleme
 	
 	private void safeAccessTypeDefinitions() {
 		if (typeDefinitions.getArrayInstance() == null) {
-			typeDefinitions.setArrayInstance((ArrayInstance) helper.getPropertyInstance("typeDefinitions"));
+			typeDefinitions.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "typeDefinitions"));
 		}
 	}
 	
@@ -129,7 +129,7 @@ public abstract class ARequirementsConfiguration extends GenericCategory impleme
 	
 	private void safeAccessTypeDefinitionsBean() {
 		if (typeDefinitionsBean.getArrayInstance() == null) {
-			typeDefinitionsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("typeDefinitions"));
+			typeDefinitionsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "typeDefinitions"));
 		}
 	}
 	
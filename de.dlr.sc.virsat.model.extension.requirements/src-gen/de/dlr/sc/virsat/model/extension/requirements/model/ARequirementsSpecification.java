@@ -87,7 +87,7 @@ public abstract class ARequirementsSpecification extends GenericCategory impleme
 	
 	private void safeAccessExportFile() {
 		if (exportFile.getTypeInstance() == null) {
-			exportFile.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance("exportFile"));
+			exportFile.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance(0, "exportFile"));
 		}
 	}
 	
@@ -118,7 +118,7 @@ public abstract class ARequirementsSpecification extends GenericCategory impleme
 	
 	private void safeAccessRequirements() {
 		if (requirements.getArrayInstance() == null) {
-			requirements.setArrayInstance((ArrayInstance) helper.getPropertyInstance("requirements"));
+			requirements.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "requirements"));
 		}
 	}
 	
@@ -131,7 +131,7 @@ public abstract class ARequirementsSpecification extends GenericCategory impleme
 	
 	private void safeAccessRequirementsBean() {
 		if (requirementsBean.getArrayInstance() == null) {
-			requirementsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("requirements"));
+			requirementsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "requirements"));
 		}
 	}
 	
@@ -147,7 +147,7 @@ public abstract class ARequirementsSpecification extends GenericCategory impleme
 	
 	private void safeAccessLinks() {
 		if (links.getArrayInstance() == null) {
-			links.setArrayInstance((ArrayInstance) helper.getPropertyInstance("links"));
+			links.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "links"));
 		}
 	}
 	
@@ -160,7 +160,7 @@ public abstract class ARequirementsSpecification extends GenericCategory impleme
 	
 	private void safeAccessLinksBean() {
 		if (linksBean.getArrayInstance() == null) {
-			linksBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("links"));
+			linksBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "links"));
 		}
 	}
 	
@@ -80,7 +80,7 @@ public abstract class AVerificationConfiguration extends GenericCategory impleme
 	
 	private void safeAccessVerificationTypes() {
 		if (verificationTypes.getArrayInstance() == null) {
-			verificationTypes.setArrayInstance((ArrayInstance) helper.getPropertyInstance("verificationTypes"));
+			verificationTypes.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "verificationTypes"));
 		}
 	}
 	
@@ -93,7 +93,7 @@ public abstract class AVerificationConfiguration extends GenericCategory impleme
 	
 	private void safeAccessVerificationTypesBean() {
 		if (verificationTypesBean.getArrayInstance() == null) {
-			verificationTypesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("verificationTypes"));
+			verificationTypesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "verificationTypes"));
 		}
 	}
 	
@@ -94,7 +94,7 @@ public abstract class AVerificationType extends GenericCategory implements IBean
 	
 	private void safeAccessVerDescription() {
 		if (verDescription.getTypeInstance() == null) {
-			verDescription.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("verDescription"));
+			verDescription.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(0, "verDescription"));
 		}
 	}
 	
@@ -125,7 +125,7 @@ public abstract class AVerificationType extends GenericCategory implements IBean
 	
 	private void safeAccessVerType() {
 		if (verType.getTypeInstance() == null) {
-			verType.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("verType"));
+			verType.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(1, "verType"));
 		}
 	}
 	
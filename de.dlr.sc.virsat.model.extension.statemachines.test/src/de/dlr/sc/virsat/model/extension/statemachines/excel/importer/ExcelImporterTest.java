@@ -11,11 +11,23 @@
 package de.dlr.sc.virsat.model.extension.statemachines.excel.importer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Before;
 import org.junit.Test;
@@ -23,6 +35,9 @@ import org.junit.Test;
 import de.dlr.sc.virsat.concept.unittest.util.ConceptXmiLoader;
 import de.dlr.sc.virsat.excel.fault.Fault;
 import de.dlr.sc.virsat.excel.fault.FaultType;
+import de.dlr.sc.virsat.excel.importer.ExcelImportIndex;
+import de.dlr.sc.virsat.excel.importer.ExcelStreamingReader;
+import de.dlr.sc.virsat.model.concept.types.category.ABeanCategoryAssignment;
 import de.dlr.sc.virsat.model.concept.types.structural.ABeanStructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
 import de.dlr.sc.virsat.model.dvlm.concepts.util.ActiveConceptHelper;
@@ -48,6 +63,12 @@ public class ExcelImporterTest {
 	private static final int STATE_WITHOUT_NAME = 3;
 	private static final int EXPECTED_STATECOUNT = 4;
 	private static final int EXPECTED_TRANSITIONCOUNT = 4;
+	private static final int GENERATED_STATECOUNT = 100000;
+	private static final int GENERATED_TRANSITIONCOUNT = 100;
+	private static final int SCALING_STATECOUNT = 20000;
+	private static final int SCALING_STATES_PER_TRANSITION = 10;
+	private static final int LINEAR_SCALING_FACTOR = 2;
+	private static final int DUPLICATE_STATE_ROWS = 3;
 
 	ABeanStructuralElementInstance elementDefinition;
 
@@ -150,6 +171,230 @@ public class ExcelImporterTest {
 		assertEquals(expectedFault, fault);
 	}
 
+	@Test
+	public void importStreamedValidatorTest() throws IOException {
+		File file = File.createTempFile("StateMachineValidation", ".xlsx");
+		file.deleteOnExit();
+		try (InputStream iStream = Activator.getResourceContentAsString("/resources/StateMachineIVTest.xlsx")) {
+			Files.copy(iStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		List<Fault> domFaults;
+		try (InputStream iStream = new FileInputStream(file); XSSFWorkbook wb = new XSSFWorkbook(iStream)) {
+			domFaults = new ImportValidator(stateMaschine.getTypeInstance(), wb).validate();
+		}
+
+		List<Fault> streamedFaults;
+		try (ExcelStreamingReader reader = new ExcelStreamingReader(file)) {
+			streamedFaults = new SMImporter().validate(stateMaschine.getTypeInstance(), reader);
+		}
+
+		assertFalse("The file has faults", domFaults.isEmpty());
+		assertEquals("Streamed validation reports the same faults as the validation of the loaded workbook", domFaults, streamedFaults);
+		file.delete();
+	}
+
+	/**
+	 * Writes a workbook with many new states and some transitions between them
+	 * @param file the file to write to
+	 * @throws IOException
+	 */
+	private void writeGeneratedWorkbook(File file) throws IOException {
+		SXSSFWorkbook wb = new SXSSFWorkbook();
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			Sheet stateSheet = wb.createSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
+			for (int i = 0; i < GENERATED_STATECOUNT; i++) {
+				Row row = stateSheet.createRow(AExcelStatIO.COMMON_ROW_START_TABLE + i);
+				row.createCell(AExcelStatIO.STATE_COLUMN_STATE_NAME).setCellValue("generatedState" + i);
+			}
+			Sheet transitionSheet = wb.createSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
+			for (int i = 0; i < GENERATED_TRANSITIONCOUNT; i++) {
+				Row row = transitionSheet.createRow(AExcelStatIO.COMMON_ROW_START_TABLE + i);
+				row.createCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_NAME).setCellValue("generatedTransition" + i);
+				row.createCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM).setCellValue("generatedState" + i);
+				row.createCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO).setCellValue("generatedState" + (i + 1));
+			}
+			wb.write(out);
+		} finally {
+			wb.dispose();
+		}
+	}
+
+	/**
+	 * Describes the imported states and transitions for comparing import results
+	 * @param importedStateMachine the state machine
+	 * @return the names of the states and the transitions with their states
+	 */
+	private List<String> describe(StateMachine importedStateMachine) {
+		List<String> description = importedStateMachine.getStates().stream().map(State::getName).collect(Collectors.toList());
+		for (Transition transition : importedStateMachine.getTransitions()) {
+			description.add(transition.getName() + ":" + transition.getStateFrom().getName() + "->" + transition.getStateTo().getName());
+		}
+		return description;
+	}
+
+	@Test
+	public void importStreamedExcelTest() throws IOException {
+		File file = File.createTempFile("StateMachineImport", ".xlsx");
+		file.deleteOnExit();
+		writeGeneratedWorkbook(file);
+
+		// Import the workbook once completely loaded and once streamed
+		StateMachine domStateMachine = new StateMachine(conceptStateMachines);
+		try (InputStream iStream = new FileInputStream(file); XSSFWorkbook wb = new XSSFWorkbook(iStream)) {
+			new SMImporter().importExcel(domStateMachine.getTypeInstance(), null, wb);
+		}
+		List<String> domDescription = describe(domStateMachine);
+
+		StateMachine streamedStateMachine = new StateMachine(conceptStateMachines);
+		try (ExcelStreamingReader reader = new ExcelStreamingReader(file)) {
+			new SMImporter().importExcel(streamedStateMachine.getTypeInstance(), null, reader);
+		}
+		List<String> streamedDescription = describe(streamedStateMachine);
+
+		assertEquals("All states have been streamed", GENERATED_STATECOUNT, streamedStateMachine.getStates().size());
+		assertEquals("All transitions have been streamed", GENERATED_TRANSITIONCOUNT, streamedStateMachine.getTransitions().size());
+		assertEquals("Streamed import creates the same model as the import of the loaded workbook", domDescription, streamedDescription);
+		file.delete();
+	}
+
+	/**
+	 * Creates a state machine with the given number of states
+	 * @param stateCount the number of states
+	 * @return the state machine
+	 */
+	private StateMachine createStateMachine(int stateCount) {
+		StateMachine largeStateMachine = new StateMachine(conceptStateMachines);
+		for (int i = 0; i < stateCount; i++) {
+			State state = new State(conceptStateMachines);
+			state.setName("state" + i);
+			largeStateMachine.getStates().add(state);
+		}
+		return largeStateMachine;
+	}
+
+	/**
+	 * Creates a workbook which renames all states of the state machine
+	 * and adds transitions which refer to the states by their new names
+	 * @param largeStateMachine the state machine
+	 * @param transitionCount the number of transitions to add
+	 * @return the workbook
+	 */
+	private XSSFWorkbook createRenamingWorkbook(StateMachine largeStateMachine, int transitionCount) {
+		XSSFWorkbook wb = new XSSFWorkbook();
+		Sheet stateSheet = wb.createSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
+		List<State> states = largeStateMachine.getStates();
+		for (int i = 0; i < states.size(); i++) {
+			Row row = stateSheet.createRow(AExcelStatIO.COMMON_ROW_START_TABLE + i);
+			row.createCell(AExcelStatIO.COMMON_COLUMN_UUID).setCellValue(states.get(i).getUuid());
+			row.createCell(AExcelStatIO.STATE_COLUMN_STATE_NAME).setCellValue("renamedState" + i);
+		}
+		Sheet transitionSheet = wb.createSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
+		for (int i = 0; i < transitionCount; i++) {
+			Row row = transitionSheet.createRow(AExcelStatIO.COMMON_ROW_START_TABLE + i);
+			row.createCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_NAME).setCellValue("transition" + i);
+			row.createCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM).setCellValue("renamedState" + i);
+			row.createCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO).setCellValue("renamedState" + (i + 1));
+		}
+		return wb;
+	}
+
+	/**
+	 * Importer counting how often its indices are filled and looked up
+	 */
+	private static class CountingSMImporter extends SMImporter {
+		private int indexAccesses;
+
+		@Override
+		protected <T extends ABeanCategoryAssignment> ExcelImportIndex<T> createIndex(List<T> beans) {
+			return new ExcelImportIndex<T>(beans) {
+				@Override
+				public void add(T bean) {
+					indexAccesses++;
+					super.add(bean);
+				}
+
+				@Override
+				public T getByUuid(String uuid) {
+					indexAccesses++;
+					return super.getByUuid(uuid);
+				}
+
+				@Override
+				public T getByName(String name) {
+					indexAccesses++;
+					return super.getByName(name);
+				}
+			};
+		}
+	}
+
+	/**
+	 * Imports a renaming workbook into a state machine with the given number of states
+	 * @param stateCount the number of states
+	 * @return the number of accesses to the indices of the import
+	 * @throws IOException
+	 */
+	private int importRenamingWorkbook(int stateCount) throws IOException {
+		StateMachine largeStateMachine = createStateMachine(stateCount);
+		CountingSMImporter importer = new CountingSMImporter();
+		try (XSSFWorkbook wb = createRenamingWorkbook(largeStateMachine, stateCount / SCALING_STATES_PER_TRANSITION)) {
+			importer.importExcel(largeStateMachine.getTypeInstance(), null, wb);
+		}
+
+		int lastState = stateCount - 1;
+		assertEquals("All states have been renamed", "renamedState" + lastState, largeStateMachine.getStates().get(lastState).getName());
+		assertEquals("All transitions have been imported", stateCount / SCALING_STATES_PER_TRANSITION, largeStateMachine.getTransitions().size());
+		assertEquals("Transitions are resolved by the new state names", "renamedState1", largeStateMachine.getTransitions().get(0).getStateTo().getName());
+		return importer.indexAccesses;
+	}
+
+	@Test
+	public void importExcelScalesLinearlyTest() throws IOException {
+		int halfAccesses = importRenamingWorkbook(SCALING_STATECOUNT / 2);
+		int fullAccesses = importRenamingWorkbook(SCALING_STATECOUNT);
+
+		// Scanning all states for each row would need four times as many accesses for twice the rows
+		assertTrue("Index accesses grow linearly with the number of rows", fullAccesses <= LINEAR_SCALING_FACTOR * halfAccesses);
+	}
+
+	@Test
+	public void importValidatorDuplicateNamesTest() throws IOException {
+		// A second state with the name of an existing state makes references to this name ambiguous
+		State duplicateState = new State(conceptStateMachines);
+		duplicateState.setName("state1");
+		stateMaschine.getStates().add(duplicateState);
+
+		try (XSSFWorkbook wb = new XSSFWorkbook()) {
+			Sheet headerSheet = wb.createSheet(AExcelStatIO.TEMPLATE_SHEETNAME_HEADER);
+			headerSheet.createRow(AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_UUID).createCell(1).setCellValue(elementDefinition.getUuid());
+			headerSheet.createRow(AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_NAME).createCell(1).setCellValue(elementDefinition.getName());
+
+			// The second and the deleted third state use the name of the first one
+			Sheet stateSheet = wb.createSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
+			List<State> states = stateMaschine.getStates();
+			for (int i = 0; i < DUPLICATE_STATE_ROWS; i++) {
+				Row row = stateSheet.createRow(AExcelStatIO.COMMON_ROW_START_TABLE + i);
+				row.createCell(AExcelStatIO.COMMON_COLUMN_UUID).setCellValue(states.get(i).getUuid());
+				row.createCell(AExcelStatIO.STATE_COLUMN_STATE_NAME).setCellValue("sameState");
+			}
+			stateSheet.getRow(AExcelStatIO.COMMON_ROW_START_TABLE + 2).createCell(AExcelStatIO.COMMON_COLUMN_DELETE).setCellValue(AExcelStatIO.COMMON_DELETEMARK_VALUE);
+
+			Sheet transitionSheet = wb.createSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
+			Row transitionRow = transitionSheet.createRow(AExcelStatIO.COMMON_ROW_START_TABLE);
+			transitionRow.createCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_NAME).setCellValue("ambiguousTransition");
+			transitionRow.createCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM).setCellValue("state1");
+			transitionRow.createCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO).setCellValue("state2");
+
+			List<Fault> expectedFaults = new ArrayList<>();
+			expectedFaults.add(new Fault(StatFaultType.STATE_NAME_IS_NOT_UNIQUE, wb.getSheetIndex(stateSheet), AExcelStatIO.COMMON_ROW_START_TABLE + 1));
+			expectedFaults.add(new Fault(StatFaultType.FROM_STATE_IS_NOT_UNIQUE, wb.getSheetIndex(transitionSheet), AExcelStatIO.COMMON_ROW_START_TABLE));
+
+			List<Fault> faults = new ImportValidator(stateMaschine.getTypeInstance(), wb).validate();
+			assertEquals("Duplicate names are reported", expectedFaults, faults);
+		}
+	}
+
 	@Test
 	public void withoutSheetTest() throws IOException {
 		InputStream iStream = Activator.getResourceContentAsString("/resources/StateMachineTestWithoutSheets.xlsx");
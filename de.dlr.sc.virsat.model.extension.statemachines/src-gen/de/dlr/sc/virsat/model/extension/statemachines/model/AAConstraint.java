@@ -87,7 +87,7 @@ public abstract class AAConstraint extends GenericCategory implements IBeanCateg
 	private BeanPropertyReference<State> stateConstraining = new BeanPropertyReference<>();
 	
 	private void safeAccessStateConstraining() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("stateConstraining");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(0, "stateConstraining");
 		stateConstraining.setTypeInstance(propertyInstance);
 	}
 	
@@ -119,7 +119,7 @@ public abstract class AAConstraint extends GenericCategory implements IBeanCateg
 	private BeanPropertyReference<State> stateInfluenced = new BeanPropertyReference<>();
 	
 	private void safeAccessStateInfluenced() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("stateInfluenced");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(1, "stateInfluenced");
 		stateInfluenced.setTypeInstance(propertyInstance);
 	}
 	
@@ -85,7 +85,7 @@ public abstract class AState extends GenericCategory implements IBeanCategoryAss
 	
 	private void safeAccessDetail() {
 		if (detail.getTypeInstance() == null) {
-			detail.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("detail"));
+			detail.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(0, "detail"));
 		}
 	}
 	
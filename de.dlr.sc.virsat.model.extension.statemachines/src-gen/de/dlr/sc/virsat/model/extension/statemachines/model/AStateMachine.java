@@ -105,7 +105,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	
 	private void safeAccessType() {
 		if (type.getTypeInstance() == null) {
-			type.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("type"));
+			type.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(0, "type"));
 		}
 	}
 	
@@ -141,7 +141,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	private BeanPropertyReference<State> initialState = new BeanPropertyReference<>();
 	
 	private void safeAccessInitialState() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("initialState");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(1, "initialState");
 		initialState.setTypeInstance(propertyInstance);
 	}
 	
@@ -174,7 +174,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	
 	private void safeAccessStates() {
 		if (states.getArrayInstance() == null) {
-			states.setArrayInstance((ArrayInstance) helper.getPropertyInstance("states"));
+			states.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "states"));
 		}
 	}
 	
@@ -187,7 +187,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	
 	private void safeAccessStatesBean() {
 		if (statesBean.getArrayInstance() == null) {
-			statesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("states"));
+			statesBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "states"));
 		}
 	}
 	
@@ -204,7 +204,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	
 	private void safeAccessTransitions() {
 		if (transitions.getArrayInstance() == null) {
-			transitions.setArrayInstance((ArrayInstance) helper.getPropertyInstance("transitions"));
+			transitions.setArrayInstance((ArrayInstance) helper.getPropertyInstance(3, "transitions"));
 		}
 	}
 	
@@ -217,7 +217,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	
 	private void safeAccessTransitionsBean() {
 		if (transitionsBean.getArrayInstance() == null) {
-			transitionsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("transitions"));
+			transitionsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(3, "transitions"));
 		}
 	}
 	
@@ -234,7 +234,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	
 	private void safeAccessConstraints() {
 		if (constraints.getArrayInstance() == null) {
-			constraints.setArrayInstance((ArrayInstance) helper.getPropertyInstance("constraints"));
+			constraints.setArrayInstance((ArrayInstance) helper.getPropertyInstance(4, "constraints"));
 		}
 	}
 	
@@ -247,7 +247,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	
 	private void safeAccessConstraintsBean() {
 		if (constraintsBean.getArrayInstance() == null) {
-			constraintsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("constraints"));
+			constraintsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(4, "constraints"));
 		}
 	}
 	
@@ -264,7 +264,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	
 	private void safeAccessTriggerEvents() {
 		if (triggerEvents.getArrayInstance() == null) {
-			triggerEvents.setArrayInstance((ArrayInstance) helper.getPropertyInstance("triggerEvents"));
+			triggerEvents.setArrayInstance((ArrayInstance) helper.getPropertyInstance(5, "triggerEvents"));
 		}
 	}
 	
@@ -277,7 +277,7 @@ public abstract class AStateMachine extends GenericCategory implements IBeanCate
 	
 	private void safeAccessTriggerEventsBean() {
 		if (triggerEventsBean.getArrayInstance() == null) {
-			triggerEventsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("triggerEvents"));
+			triggerEventsBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(5, "triggerEvents"));
 		}
 	}
 	
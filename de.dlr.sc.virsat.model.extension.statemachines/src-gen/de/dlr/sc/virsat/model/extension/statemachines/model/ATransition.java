@@ -88,7 +88,7 @@ public abstract class ATransition extends GenericCategory implements IBeanCatego
 	private BeanPropertyReference<State> stateFrom = new BeanPropertyReference<>();
 	
 	private void safeAccessStateFrom() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("stateFrom");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(0, "stateFrom");
 		stateFrom.setTypeInstance(propertyInstance);
 	}
 	
@@ -120,7 +120,7 @@ public abstract class ATransition extends GenericCategory implements IBeanCatego
 	private BeanPropertyReference<State> stateTo = new BeanPropertyReference<>();
 	
 	private void safeAccessStateTo() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("stateTo");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(1, "stateTo");
 		stateTo.setTypeInstance(propertyInstance);
 	}
 	
@@ -152,7 +152,7 @@ public abstract class ATransition extends GenericCategory implements IBeanCatego
 	private BeanPropertyReference<TransitionTriggerEvent> trigger = new BeanPropertyReference<>();
 	
 	private void safeAccessTrigger() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("trigger");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(2, "trigger");
 		trigger.setTypeInstance(propertyInstance);
 	}
 	
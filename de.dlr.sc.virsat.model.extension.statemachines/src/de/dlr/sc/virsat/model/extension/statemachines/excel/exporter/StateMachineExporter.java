@@ -17,7 +17,6 @@ import java.io.InputStream;
 import java.time.LocalDateTime;
 
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.ecore.EObject;
@@ -72,7 +71,7 @@ public class StateMachineExporter implements IExport {
 				// and write the results
 				File file = new File(newPath);
 				try (FileOutputStream out = new FileOutputStream(file)) {
-					helper.getWb().write(out);
+					helper.write(out);
 				}
 			} catch (IOException e) {
 				Status status = new Status(Status.ERROR, Activator.getPluginId(), "Failed to perform an export operation!" + System.lineSeparator() + e.getMessage(), e);
@@ -111,17 +110,13 @@ public class StateMachineExporter implements IExport {
 	* Creates the data sheet for States and populates it with the data
 	*/
 	private void createDataSheetStates() {
-		XSSFSheet sheet = helper.getWb().getSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
-		if (sheet == null) {
-			sheet = helper.getWb().createSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
-		}
+		helper.getOrCreateDataSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
 		StateMachine stateMaschine = new StateMachine(exportCa);
 		IBeanList<State> states = stateMaschine.getStates();
-		helper.instantiateCells(sheet, states.size() + AExcelStatIO.COMMON_ROW_START_TABLE, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM + 1);
 		// for each interface end, fill out a row
 		int i = AExcelStatIO.COMMON_ROW_START_TABLE;
 		for (State state : states) {
-			Row row = sheet.getRow(i);
+			Row row = helper.getDataRow(AExcelStatIO.TEMPLATE_SHEETNAME_STATES, i, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM + 1);
 			row.getCell(AExcelStatIO.COMMON_COLUMN_UUID).setCellValue(helper.getCreationHelper().createRichTextString(state.getTypeInstance().getUuid().toString()));
 			row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_NAME).setCellValue(helper.getCreationHelper().createRichTextString(state.getName()));
 			i++;
@@ -132,18 +127,14 @@ public class StateMachineExporter implements IExport {
 	* Creates the data sheet for Transitions and populates it with the data
 	*/
 	private void createDataSheetTransitions() {
-		XSSFSheet sheet = helper.getWb().getSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
-		if (sheet == null) {
-			sheet = helper.getWb().createSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
-		}
+		helper.getOrCreateDataSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
 
 		StateMachine stateMaschine = new StateMachine(exportCa);
 		IBeanList<Transition> transitions = stateMaschine.getTransitions();
-		helper.instantiateCells(sheet, transitions.size() + AExcelStatIO.COMMON_ROW_START_TABLE, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO + 1);
 		int i = AExcelStatIO.COMMON_ROW_START_TABLE;
 
 		for (Transition transition : transitions) {
-			Row row = sheet.getRow(i);
+			Row row = helper.getDataRow(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS, i, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO + 1);
 			row.getCell(AExcelStatIO.COMMON_COLUMN_UUID).setCellValue(helper.getCreationHelper().createRichTextString(transition.getTypeInstance().getUuid().toString()));
 			row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_NAME).setCellValue(helper.getCreationHelper().createRichTextString(transition.getName()));
 			if (transition.getStateFrom() != null) {
@@ -9,11 +9,12 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.extension.statemachines.excel.importer;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 
-import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.eclipse.emf.ecore.EObject;
@@ -21,6 +22,9 @@ import org.eclipse.emf.ecore.EObject;
 import de.dlr.sc.virsat.excel.fault.Fault;
 import de.dlr.sc.virsat.excel.fault.FaultType;
 import de.dlr.sc.virsat.excel.importer.ExcelImportHelper;
+import de.dlr.sc.virsat.excel.importer.ExcelImportIndex;
+import de.dlr.sc.virsat.excel.importer.ExcelStreamingReader;
+import de.dlr.sc.virsat.excel.importer.IExcelRowHandler;
 import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 import de.dlr.sc.virsat.model.extension.statemachines.excel.AExcelStatIO;
@@ -30,13 +34,19 @@ import de.dlr.sc.virsat.model.extension.statemachines.model.Transition;
 
 /**
  * Class for checking the validity of an excel file before importing it.
+ * The rows are either read from a loaded workbook or streamed from the file,
+ * both ways validate each row the same way.
  */
 public class ImportValidator {
 	private XSSFWorkbook wb;
 	private StructuralElementInstance importSei;
-	private List<State> states;
-	private List<Transition> transitions;
+	private ExcelImportIndex<State> stateIndex;
+	private ExcelImportIndex<Transition> transitionIndex;
 	private List<Fault> faultList;
+	// Transitions refer to the states by name, so each name may only be used once
+	private Set<String> stateNames;
+	private String headerUuid;
+	private String headerName;
 
 	/**
 	 * Create a new validator
@@ -44,14 +54,23 @@ public class ImportValidator {
 	 * @param wb the excel file
 	 */
 	public ImportValidator(EObject object, XSSFWorkbook wb) {
+		this(object);
+		this.wb = wb;
+	}
+
+	/**
+	 * Create a new validator for the streamed rows of an excel file
+	 * @param object will be used as the root object for integrating the data
+	 */
+	public ImportValidator(EObject object) {
 		if (object instanceof CategoryAssignment) {
 			CategoryAssignment ca = (CategoryAssignment) object;
 			StateMachine stateMaschine = new StateMachine(ca);
 			importSei = (StructuralElementInstance) stateMaschine.getTypeInstance().eContainer();
-			states = stateMaschine.getStates();
-			transitions = stateMaschine.getTransitions();
-			this.wb = wb;
+			stateIndex = new ExcelImportIndex<>(stateMaschine.getStates());
+			transitionIndex = new ExcelImportIndex<>(stateMaschine.getTransitions());
 			faultList = new ArrayList<Fault>();
+			stateNames = new HashSet<>();
 		}
 	}
 
@@ -67,97 +86,147 @@ public class ImportValidator {
 	}
 
 	/**
-	 * Validates the transitions when importing a state machine
+	 * Validates the streamed rows of an excel file
+	 * @param reader the reader providing the rows of the sheets
+	 * @return faultList the list of faults
+	 * @throws IOException if the file cannot be read
 	 */
-	private void validateTransitions() {
-		final XSSFSheet sheet = wb.getSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
+	public List<Fault> validate(ExcelStreamingReader reader) throws IOException {
+		reader.readSheet(AExcelStatIO.TEMPLATE_SHEETNAME_HEADER, this::validateHeaderRow);
+		validateHeaderValues(reader.getSheetIndex(AExcelStatIO.TEMPLATE_SHEETNAME_HEADER));
+
+		final int stateSheetIndex = reader.getSheetIndex(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
+		reader.readSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES, 
+			(rowNumber, cells) -> validateRow(rowNumber, cells, AExcelStatIO.STATE_COLUMN_STATE_NAME + 1, 
+				() -> validateState(stateSheetIndex, rowNumber, cells)));
+
+		final int transitionSheetIndex = reader.getSheetIndex(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
+		reader.readSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS, 
+			(rowNumber, cells) -> validateRow(rowNumber, cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO + 1, 
+				() -> validateTransition(transitionSheetIndex, rowNumber, cells)));
+		return faultList;
+	}
+
+	/**
+	 * Validates the rows of a sheet of the loaded workbook
+	 * @param sheetName the name of the sheet
+	 * @param handler the validation of a single row
+	 */
+	private void validateRows(String sheetName, IExcelRowHandler handler) {
+		final XSSFSheet sheet = wb.getSheet(sheetName);
 
 		if (sheet == null) {
 			return;
 		}
 
+		// Travel through all rows to find a fault
+		for (int i = AExcelStatIO.COMMON_ROW_START_TABLE; i <= sheet.getLastRowNum(); i++) {
+			handler.handleRow(i, ExcelImportHelper.getCellValues(sheet.getRow(i)));
+		}
+	}
+
+	/**
+	 * Validates a row if it is part of the table and not empty
+	 * @param rowNumber the number of the row
+	 * @param cells the cell values of the row
+	 * @param cellCount expected cell number in each row
+	 * @param rowValidator the validation of a single row
+	 */
+	private void validateRow(int rowNumber, List<String> cells, int cellCount, Runnable rowValidator) {
+		// if the row is empty move on the next rows
+		if (rowNumber >= AExcelStatIO.COMMON_ROW_START_TABLE && !ExcelImportHelper.isEmpty(cells, cellCount)) {
+			rowValidator.run();
+		}
+	}
+
+	/**
+	 * Validates the transitions when importing a state machine
+	 */
+	private void validateTransitions() {
 		final int sheetIndex = wb.getSheetIndex(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
+		validateRows(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS, 
+			(rowNumber, cells) -> validateRow(rowNumber, cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO + 1, 
+				() -> validateTransition(sheetIndex, rowNumber, cells)));
+	}
 
-		// Travel through all rows to find a fault
-		for (int i = AExcelStatIO.COMMON_ROW_START_TABLE; i < sheet.getLastRowNum(); i++) {
-			// if the row is empty move on the next rows
-			if (ExcelImportHelper.isEmpty(i, sheet, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO + 1)) {
-				continue;
-			}
-			Row row = sheet.getRow(i);
-			String tempUUID = Objects.toString(row.getCell(AExcelStatIO.COMMON_COLUMN_UUID), "");
-			String tempDelete = Objects.toString(row.getCell(AExcelStatIO.COMMON_COLUMN_DELETE), "");
-			if ("".equals(tempUUID)) {
-
-				if (tempDelete.equals(AExcelStatIO.COMMON_DELETEMARK_VALUE)) {
-					faultList.add(new Fault(StatFaultType.CANT_DELETE_NON_EXISTING_TRANSITION, sheetIndex, i));
-				}
-			} else {
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, transitions);
-				if (check < 0) {
-					faultList.add(new Fault(StatFaultType.TRANSITION_UUID_NOT_FOUND, sheetIndex, i));
-				}
-			}
-			// control the delete column, value of this column can be 1 or nothing	
-			if (!(tempDelete.equals(AExcelStatIO.COMMON_DELETEMARK_VALUE) || tempDelete.equals(""))) {
-				faultList.add(new Fault(FaultType.DELETE_COLUMN_CAN_BE_EMPTY_OR_1, sheetIndex, i));
-			}
-			// Control if the FromState does exist or not
-			String tempTransitionFrom = Objects.toString(row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM), "");
-			int check = ExcelImportHelper.containsABeanCategoryAssignmentName(tempTransitionFrom, states);
-			if (check < 0) {
-				faultList.add(new Fault(StatFaultType.FROM_STATE_NOT_FOUND, sheetIndex, i));
+	/**
+	 * Validates a transition row when importing a state machine
+	 * @param sheetIndex the index of the transition sheet
+	 * @param i the number of the row
+	 * @param cells the cell values of the row
+	 */
+	private void validateTransition(int sheetIndex, int i, List<String> cells) {
+		String tempUUID = ExcelImportHelper.getCellValue(cells, AExcelStatIO.COMMON_COLUMN_UUID);
+		String tempDelete = ExcelImportHelper.getCellValue(cells, AExcelStatIO.COMMON_COLUMN_DELETE);
+		if ("".equals(tempUUID)) {
+
+			if (tempDelete.equals(AExcelStatIO.COMMON_DELETEMARK_VALUE)) {
+				faultList.add(new Fault(StatFaultType.CANT_DELETE_NON_EXISTING_TRANSITION, sheetIndex, i));
 			}
-			// Control if the ToState does exist or not
-			String tempTransitionTo = Objects.toString(row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO), "");
-			check = ExcelImportHelper.containsABeanCategoryAssignmentName(tempTransitionTo, states);
-			if (check < 0) {
-				faultList.add(new Fault(StatFaultType.TO_STATE_NOT_FOUND, sheetIndex, i));
+		} else {
+			if (transitionIndex.getByUuid(tempUUID) == null) {
+				faultList.add(new Fault(StatFaultType.TRANSITION_UUID_NOT_FOUND, sheetIndex, i));
 			}
 		}
+		// control the delete column, value of this column can be 1 or nothing	
+		if (!(tempDelete.equals(AExcelStatIO.COMMON_DELETEMARK_VALUE) || tempDelete.equals(""))) {
+			faultList.add(new Fault(FaultType.DELETE_COLUMN_CAN_BE_EMPTY_OR_1, sheetIndex, i));
+		}
+		// Control if the FromState does exist and is unique
+		String tempTransitionFrom = ExcelImportHelper.getCellValue(cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM);
+		if (stateIndex.getByName(tempTransitionFrom) == null) {
+			faultList.add(new Fault(StatFaultType.FROM_STATE_NOT_FOUND, sheetIndex, i));
+		} else if (stateIndex.isDuplicateName(tempTransitionFrom)) {
+			faultList.add(new Fault(StatFaultType.FROM_STATE_IS_NOT_UNIQUE, sheetIndex, i));
+		}
+		// Control if the ToState does exist and is unique
+		String tempTransitionTo = ExcelImportHelper.getCellValue(cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO);
+		if (stateIndex.getByName(tempTransitionTo) == null) {
+			faultList.add(new Fault(StatFaultType.TO_STATE_NOT_FOUND, sheetIndex, i));
+		} else if (stateIndex.isDuplicateName(tempTransitionTo)) {
+			faultList.add(new Fault(StatFaultType.TO_STATE_IS_NOT_UNIQUE, sheetIndex, i));
+		}
 	}
 
 	/**
 	 * Validates the states when importing a state machine
 	 */
 	private void validateStates() {
-		final XSSFSheet sheet = wb.getSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
-
-		if (sheet == null) {
-			return;
-		}
-
 		final int sheetIndex = wb.getSheetIndex(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
+		validateRows(AExcelStatIO.TEMPLATE_SHEETNAME_STATES, 
+			(rowNumber, cells) -> validateRow(rowNumber, cells, AExcelStatIO.STATE_COLUMN_STATE_NAME + 1, 
+				() -> validateState(sheetIndex, rowNumber, cells)));
+	}
 
-		// Travel through all rows to find a fault
-		for (int i = AExcelStatIO.COMMON_ROW_START_TABLE; i < sheet.getLastRowNum(); i++) {
-			// if the row is empty move on the next rows
-			if (ExcelImportHelper.isEmpty(i, sheet, AExcelStatIO.STATE_COLUMN_STATE_NAME + 1)) {
-				continue;
-			}
-			Row row = sheet.getRow(i);
-			String tempUUID = Objects.toString(row.getCell(AExcelStatIO.COMMON_COLUMN_UUID), "");
-			String tempDelete = Objects.toString(row.getCell(AExcelStatIO.COMMON_COLUMN_DELETE), "");
-			if ("".equals(tempUUID)) {
-				if (tempDelete.equals(AExcelStatIO.COMMON_DELETEMARK_VALUE)) {
-					faultList.add(new Fault(StatFaultType.CANT_DELETE_NON_EXISTING_STATE, sheetIndex, i));
-				}
-			} else {
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, states);
-				if (check < 0) {
-					faultList.add(new Fault(StatFaultType.STATE_UUID_NOT_FOUND, sheetIndex, i));
-				}
-			}
-			// control the delete column, value of this column can be 1 or nothing
-			if (!(tempDelete.equals(AExcelStatIO.COMMON_DELETEMARK_VALUE) || tempDelete.equals(""))) {
-				faultList.add(new Fault(FaultType.DELETE_COLUMN_CAN_BE_EMPTY_OR_1, sheetIndex, i));
+	/**
+	 * Validates a state row when importing a state machine
+	 * @param sheetIndex the index of the state sheet
+	 * @param i the number of the row
+	 * @param cells the cell values of the row
+	 */
+	private void validateState(int sheetIndex, int i, List<String> cells) {
+		String tempUUID = ExcelImportHelper.getCellValue(cells, AExcelStatIO.COMMON_COLUMN_UUID);
+		String tempDelete = ExcelImportHelper.getCellValue(cells, AExcelStatIO.COMMON_COLUMN_DELETE);
+		if ("".equals(tempUUID)) {
+			if (tempDelete.equals(AExcelStatIO.COMMON_DELETEMARK_VALUE)) {
+				faultList.add(new Fault(StatFaultType.CANT_DELETE_NON_EXISTING_STATE, sheetIndex, i));
 			}
-			//State_name cannot be null
-			String tempStateName = Objects.toString(row.getCell(AExcelStatIO.STATE_COLUMN_STATE_NAME), "");
-			if ("".equals(tempStateName)) {
-				faultList.add(new Fault(StatFaultType.STATE_NAME_IS_NOT_SET, sheetIndex, i));
+		} else {
+			if (stateIndex.getByUuid(tempUUID) == null) {
+				faultList.add(new Fault(StatFaultType.STATE_UUID_NOT_FOUND, sheetIndex, i));
 			}
 		}
+		// control the delete column, value of this column can be 1 or nothing
+		if (!(tempDelete.equals(AExcelStatIO.COMMON_DELETEMARK_VALUE) || tempDelete.equals(""))) {
+			faultList.add(new Fault(FaultType.DELETE_COLUMN_CAN_BE_EMPTY_OR_1, sheetIndex, i));
+		}
+		//State_name cannot be null
+		String tempStateName = ExcelImportHelper.getCellValue(cells, AExcelStatIO.STATE_COLUMN_STATE_NAME);
+		if ("".equals(tempStateName)) {
+			faultList.add(new Fault(StatFaultType.STATE_NAME_IS_NOT_SET, sheetIndex, i));
+		} else if (!tempDelete.equals(AExcelStatIO.COMMON_DELETEMARK_VALUE) && !stateNames.add(tempStateName)) {
+			faultList.add(new Fault(StatFaultType.STATE_NAME_IS_NOT_UNIQUE, sheetIndex, i));
+		}
 	}
 
 	/**
@@ -165,16 +234,37 @@ public class ImportValidator {
 	 */
 	public void validateHeaders() {
 		final XSSFSheet sheet = wb.getSheet(AExcelStatIO.TEMPLATE_SHEETNAME_HEADER);
-		final int sheetIndex = wb.getSheetIndex(AExcelStatIO.TEMPLATE_SHEETNAME_HEADER);
+		if (sheet != null) {
+			validateHeaderRow(AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_UUID, ExcelImportHelper.getCellValues(sheet.getRow(AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_UUID)));
+			validateHeaderRow(AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_NAME, ExcelImportHelper.getCellValues(sheet.getRow(AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_NAME)));
+		}
+		validateHeaderValues(wb.getSheetIndex(AExcelStatIO.TEMPLATE_SHEETNAME_HEADER));
+	}
 
+	/**
+	 * Remembers the values of the header rows which identify the imported Structural element
+	 * @param rowNumber the number of the row
+	 * @param cells the cell values of the row
+	 */
+	private void validateHeaderRow(int rowNumber, List<String> cells) {
+		if (rowNumber == AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_UUID) {
+			headerUuid = ExcelImportHelper.getCellValue(cells, 1);
+		} else if (rowNumber == AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_NAME) {
+			headerName = ExcelImportHelper.getCellValue(cells, 1);
+		}
+	}
+
+	/**
+	 * Validates the remembered header values against the imported Structural element
+	 * @param sheetIndex the index of the header sheet
+	 */
+	private void validateHeaderValues(int sheetIndex) {
 		// Control if we are importing the correct Structural element by comparing UUIDs
-		String tempUUID = Objects.toString(sheet.getRow(AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_UUID).getCell(1), "");
-		if (!(importSei.getUuid().toString().equals(tempUUID))) {
+		if (!(importSei.getUuid().toString().equals(headerUuid))) {
 			faultList.add(new Fault(FaultType.STRUCTURAL_ELEMENT_UUIDS_DO_NOT_MATCH, sheetIndex, AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_UUID));
 		}
 		// Control if we are importing the correct Structural element by comparing NAMEs
-		String tempName = Objects.toString(sheet.getRow(AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_NAME).getCell(1), "");
-		if (!(importSei.getName().equals(tempName))) {
+		if (!(importSei.getName().equals(headerName))) {
 			faultList.add(new Fault(FaultType.STRUCTURAL_ELEMENT_NAMES_DO_NOT_MATCH, sheetIndex, AExcelStatIO.HEADER_ROW_STRUCTURALELEMENT_NAME));
 		}
 	}
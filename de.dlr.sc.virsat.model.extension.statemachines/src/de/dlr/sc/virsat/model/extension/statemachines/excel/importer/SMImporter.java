@@ -9,17 +9,20 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.extension.statemachines.excel.importer;
 
+import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
+import java.util.function.Consumer;
 
-import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.eclipse.emf.ecore.EObject;
 
 import de.dlr.sc.virsat.excel.fault.Fault;
 import de.dlr.sc.virsat.excel.importer.ExcelImportHelper;
-import de.dlr.sc.virsat.excel.importer.IImport;
+import de.dlr.sc.virsat.excel.importer.ExcelImportIndex;
+import de.dlr.sc.virsat.excel.importer.ExcelStreamingReader;
+import de.dlr.sc.virsat.excel.importer.IStreamingImport;
+import de.dlr.sc.virsat.model.concept.types.category.ABeanCategoryAssignment;
 import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
 import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
@@ -30,70 +33,118 @@ import de.dlr.sc.virsat.model.extension.statemachines.model.Transition;
 
 /**
  * Class for Importing Excel files.
+ * The rows are either read from a loaded workbook or streamed from the file,
+ * both ways import each row the same way. States and transitions are
+ * resolved through indices which are built once per import run. A reference
+ * which can not be resolved fails the import, the validation reports these
+ * references beforehand.
  */
-public class SMImporter implements IImport {
-	private XSSFWorkbook wb;
+public class SMImporter implements IStreamingImport {
 	private StateMachine stateMaschine;
 	private Concept concept;
+	private ExcelImportIndex<State> stateIndex;
+	private ExcelImportIndex<Transition> transitionIndex;
 
 	@Override
 	public void importExcel(EObject eObject, Repository repository, XSSFWorkbook wb) {
-		init(eObject, repository, wb);
-		importStates();
-		importTransitions();
+		init(eObject);
+		importRows(wb.getSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES), AExcelStatIO.STATE_COLUMN_STATE_NAME + 1, this::importState);
+		indexImportedStates();
+		importRows(wb.getSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS), AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO + 1, this::importTransition);
+	}
+
+	@Override
+	public void importExcel(EObject eObject, Repository repository, ExcelStreamingReader reader) throws IOException {
+		init(eObject);
+		// Transitions refer to the states by name, so the states have to be imported first
+		reader.readSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES, 
+			(rowNumber, cells) -> importRow(rowNumber, cells, AExcelStatIO.STATE_COLUMN_STATE_NAME + 1, this::importState));
+		indexImportedStates();
+		reader.readSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS, 
+			(rowNumber, cells) -> importRow(rowNumber, cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO + 1, this::importTransition));
 	}
 
 	/**
-	 * imports the transitions
+	 * Imports the rows of a sheet of a loaded workbook
+	 * @param sheet the sheet or null if the workbook does not provide it
+	 * @param cellCount expected cell number in each row
+	 * @param rowImporter the import of a single row
 	 */
-	private void importTransitions() {
-		final Sheet sheet = wb.getSheet(AExcelStatIO.TEMPLATE_SHEETNAME_TRANSITIONS);
-
+	private void importRows(Sheet sheet, int cellCount, Consumer<List<String>> rowImporter) {
 		if (sheet == null) {
 			return;
 		}
 		// go through each row to find out what to do
+		for (int i = AExcelStatIO.COMMON_ROW_START_TABLE; i <= sheet.getLastRowNum(); i++) {
+			importRow(i, ExcelImportHelper.getCellValues(sheet.getRow(i)), cellCount, rowImporter);
+		}
+	}
 
-		for (int i = AExcelStatIO.COMMON_ROW_START_TABLE; i < sheet.getLastRowNum(); i++) {
-			if (ExcelImportHelper.isEmpty(i, sheet, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO + 1)) {
-				continue;
-			}
-			Row row = sheet.getRow(i);
-			List<State> states = stateMaschine.getStates();
-			List<Transition> transitions = stateMaschine.getTransitions();
-			// Get the UUID of the first transition
-			String tempUUID = Objects.toString(row.getCell(AExcelStatIO.COMMON_COLUMN_UUID), "");
-			// figure out if we are creating a new Transition
-
-			if ("".equals(tempUUID)) {
-				//create new transition and add it to our State Machine
-				Transition transition = new Transition(concept);
-				transition.setName(row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_NAME).toString());
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentName(row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM).toString(), states);
-				transition.setStateFrom((states.get(check)));
-				check = ExcelImportHelper.containsABeanCategoryAssignmentName(row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO).toString(), states);
-				transition.setStateTo(states.get(check));
-				transitions.add(transition);
-				// creation is done, continue the import with the next row in excel
+	/**
+	 * Imports a row if it is part of the table and not empty
+	 * @param rowNumber the number of the row
+	 * @param cells the cell values of the row
+	 * @param cellCount expected cell number in each row
+	 * @param rowImporter the import of a single row
+	 */
+	private void importRow(int rowNumber, List<String> cells, int cellCount, Consumer<List<String>> rowImporter) {
+		if (rowNumber >= AExcelStatIO.COMMON_ROW_START_TABLE && !ExcelImportHelper.isEmpty(cells, cellCount)) {
+			rowImporter.accept(cells);
+		}
+	}
+
+	/**
+	 * Rebuilds the index of the states after the states have been imported,
+	 * so that the transitions are resolved against the new and renamed states
+	 */
+	private void indexImportedStates() {
+		stateIndex = createIndex(stateMaschine.getStates());
+	}
+
+	/**
+	 * Creates an index the rows are resolved against
+	 * @param beans the beans to be indexed
+	 * @param <T> the type of the indexed beans
+	 * @return the index of the beans
+	 */
+	protected <T extends ABeanCategoryAssignment> ExcelImportIndex<T> createIndex(List<T> beans) {
+		return new ExcelImportIndex<>(beans);
+	}
+
+	/**
+	 * imports a transition
+	 * @param cells the cell values of the transition row
+	 */
+	private void importTransition(List<String> cells) {
+		List<Transition> transitions = stateMaschine.getTransitions();
+		// Get the UUID of the transition
+		String tempUUID = ExcelImportHelper.getCellValue(cells, AExcelStatIO.COMMON_COLUMN_UUID);
+		// figure out if we are creating a new Transition
+
+		if ("".equals(tempUUID)) {
+			//create new transition and add it to our State Machine
+			Transition transition = new Transition(concept);
+			transition.setName(ExcelImportHelper.getCellValue(cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_NAME));
+			transition.setStateFrom(stateIndex.requireByName(ExcelImportHelper.getCellValue(cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM)));
+			transition.setStateTo(stateIndex.requireByName(ExcelImportHelper.getCellValue(cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO)));
+			transitions.add(transition);
+			// creation is done, continue the import with the next row in excel
+		} else {
+			// Control the delete column if element is deleted move to the next row
+			Transition transition = transitionIndex.requireByUuid(tempUUID);
+			String tempDelete = ExcelImportHelper.getCellValue(cells, AExcelStatIO.COMMON_COLUMN_DELETE);
+			if (tempDelete.contains(AExcelStatIO.COMMON_DELETEMARK_VALUE)) {
+				transitions.remove(transition);
 			} else {
-				// Control the delete column if element is deleted move to the next row
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, transitions);
-				String tempDelete = Objects.toString(row.getCell(AExcelStatIO.COMMON_COLUMN_DELETE), "");
-				if (tempDelete.toString().contains(AExcelStatIO.COMMON_DELETEMARK_VALUE)) {
-					transitions.remove(check);
-				} else {
-					// Change the Transition name by controlling if it is empty or not
-					String tempName = Objects.toString(row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_NAME), "");
-					transitions.get(check).setName(tempName);
-					// Change the From State 
-					String tempStateFrom = Objects.toString(row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM), "");
-					int check2 = ExcelImportHelper.containsABeanCategoryAssignmentName(tempStateFrom, states);
-					transitions.get(check).setStateFrom(states.get(check2));
-					// Change the To State
-					String tempInterfaceTo = Objects.toString(row.getCell(AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO), "");
-					check2 = ExcelImportHelper.containsABeanCategoryAssignmentName(tempInterfaceTo, states);
-					transitions.get(check).setStateTo(states.get(check2));
-				}
+				// Change the Transition name by controlling if it is empty or not
+				String tempName = ExcelImportHelper.getCellValue(cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_NAME);
+				transition.setName(tempName);
+				// Change the From State 
+				String tempStateFrom = ExcelImportHelper.getCellValue(cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_FROM);
+				transition.setStateFrom(stateIndex.requireByName(tempStateFrom));
+				// Change the To State
+				String tempInterfaceTo = ExcelImportHelper.getCellValue(cells, AExcelStatIO.TRANSITION_COLUMN_TRANSITION_TO);
+				transition.setStateTo(stateIndex.requireByName(tempInterfaceTo));
 			}
 		}
 	}
@@ -101,52 +152,41 @@ public class SMImporter implements IImport {
 	/**
 	 * Acts like a constructor
 	 * @param eObject Object to import
-	 * @param repository the repository
-	 * @param wb XSSFWorkbook
 	 */
-	private void init(EObject eObject, Repository repository, XSSFWorkbook wb) {
+	private void init(EObject eObject) {
 		if (eObject instanceof CategoryAssignment) {
 			CategoryAssignment ca = (CategoryAssignment) eObject;
 			this.stateMaschine = new StateMachine(ca);
-			this.wb = wb;
 			this.concept = stateMaschine.getConcept();
+			this.stateIndex = createIndex(stateMaschine.getStates());
+			this.transitionIndex = createIndex(stateMaschine.getTransitions());
 		}
 	}
 	
 	/**
-	 * Imports the states
+	 * Imports a state
+	 * @param cells the cell values of the state row
 	 */
-	private void importStates() {
-		final Sheet sheet = wb.getSheet(AExcelStatIO.TEMPLATE_SHEETNAME_STATES);
-		if (sheet == null) {
-			return;
-		}
-		// go through each row to find out what to do
-		for (int i = AExcelStatIO.COMMON_ROW_START_TABLE; i < sheet.getLastRowNum(); i++) {
-			if (ExcelImportHelper.isEmpty(i, sheet, AExcelStatIO.STATE_COLUMN_STATE_NAME + 1)) {
-				continue;
-			}
-			Row row = sheet.getRow(i);
-			List<State> states = stateMaschine.getStates();
-			// Get the UUID of the first state
-			String tempUUID = Objects.toString(row.getCell(AExcelStatIO.COMMON_COLUMN_UUID), "");
-			// figure out if we are creating a new State
-			if ("".equals(tempUUID)) {
-				State state = new State(concept);
-				// change the name if it is not empty , if it is empty throw a fault
-				state.setName(row.getCell(AExcelStatIO.STATE_COLUMN_STATE_NAME).toString());
-				states.add(state);
+	private void importState(List<String> cells) {
+		List<State> states = stateMaschine.getStates();
+		// Get the UUID of the state
+		String tempUUID = ExcelImportHelper.getCellValue(cells, AExcelStatIO.COMMON_COLUMN_UUID);
+		// figure out if we are creating a new State
+		if ("".equals(tempUUID)) {
+			State state = new State(concept);
+			// change the name if it is not empty , if it is empty throw a fault
+			state.setName(ExcelImportHelper.getCellValue(cells, AExcelStatIO.STATE_COLUMN_STATE_NAME));
+			states.add(state);
+		} else {
+			State state = stateIndex.requireByUuid(tempUUID);
+			// Control the delete column if element is deleted move to the next row
+			String tempDelete = ExcelImportHelper.getCellValue(cells, AExcelStatIO.COMMON_COLUMN_DELETE);
+			if (tempDelete.contains(AExcelStatIO.COMMON_DELETEMARK_VALUE)) {
+				states.remove(state);
 			} else {
-				int check = ExcelImportHelper.containsABeanCategoryAssignmentUUID(tempUUID, states);
-				// Control the delete column if element is deleted move to the next row
-				String tempDelete = Objects.toString(row.getCell(AExcelStatIO.COMMON_COLUMN_DELETE), "");
-				if (tempDelete.contains(AExcelStatIO.COMMON_DELETEMARK_VALUE)) {
-					states.remove(check);
-				} else {
-					// change the name if it is not empty , if it is empty throw a fault
-					String tempStateName = Objects.toString(row.getCell(AExcelStatIO.STATE_COLUMN_STATE_NAME).toString(), "");
-					states.get(check).setName(tempStateName);
-				}
+				// change the name if it is not empty , if it is empty throw a fault
+				String tempStateName = ExcelImportHelper.getCellValue(cells, AExcelStatIO.STATE_COLUMN_STATE_NAME);
+				state.setName(tempStateName);
 			}
 		}
 	}
@@ -161,4 +201,10 @@ public class SMImporter implements IImport {
 		ImportValidator iValidator = new ImportValidator(object, wb);
 		return iValidator.validate();
 	}
+
+	@Override
+	public List<Fault> validate(EObject object, ExcelStreamingReader reader) throws IOException {
+		ImportValidator iValidator = new ImportValidator(object);
+		return iValidator.validate(reader);
+	}
 }
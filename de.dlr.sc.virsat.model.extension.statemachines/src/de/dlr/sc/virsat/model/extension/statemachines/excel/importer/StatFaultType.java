@@ -21,5 +21,8 @@ public enum StatFaultType implements IFaultType {
 		 CANT_DELETE_NON_EXISTING_STATE,
 		 TRANSITION_UUID_NOT_FOUND,
 		 FROM_STATE_NOT_FOUND,
-		 TO_STATE_NOT_FOUND;
+		 TO_STATE_NOT_FOUND,
+		 STATE_NAME_IS_NOT_UNIQUE,
+		 FROM_STATE_IS_NOT_UNIQUE,
+		 TO_STATE_IS_NOT_UNIQUE;
 }
@@ -11,9 +11,16 @@ package de.dlr.sc.virsat.model.concept.types.factory;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IExtension;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -26,6 +33,7 @@ import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
 import de.dlr.sc.virsat.model.dvlm.concepts.util.ActiveConceptHelper;
 import de.dlr.sc.virsat.model.extension.tests.model.AConceptTestCase;
 import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryBeanA;
+import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryBeanB;
 
 /**
  * This class tests the CategoryAssignmentBeanFactory
@@ -79,4 +87,94 @@ public class BeanCategoryAssignmentFactoryTest extends AConceptTestCase {
 		caBeanFactory.getInstanceFor(ca);
 	}
 
+	/**
+	 * Bean registry that counts how often the class of a bean is resolved
+	 */
+	private static class CountingBeanRegistry extends BeanRegistry {
+		
+		private Map<String, Integer> mapIdToResolutions = new HashMap<>();
+		
+		/**
+		 * Creates a registry for the category assignment beans
+		 */
+		CountingBeanRegistry() {
+			super(BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ID,
+					BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ELEMENT_ID,
+					BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_ID,
+					BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_CA);
+		}
+		
+		@Override
+		protected Supplier<Object> resolveBeanSupplier(String id) throws CoreException {
+			mapIdToResolutions.merge(id, 1, Integer::sum);
+			return super.resolveBeanSupplier(id);
+		}
+	}
+	
+	@Test
+	public void testGetRegistryIsShared() {
+		BeanRegistry registry = BeanRegistry.getRegistry(
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ELEMENT_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_CA);
+		BeanRegistry sameRegistry = BeanRegistry.getRegistry(
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ELEMENT_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_CA);
+		assertSame("The registry of an extension point is shared", registry, sameRegistry);
+		
+		BeanRegistry otherElementRegistry = BeanRegistry.getRegistry(
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ID,
+				BeanStructuralElementInstanceFactory.EXTENSION_POINT_BEAN_FACTORY_ELEMENT_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_CA);
+		assertNotSame("Registries of other elements are not shared", registry, otherElementRegistry);
+	}
+	
+	@Test
+	public void testGetRegistryAfterRegistryChange() {
+		BeanRegistry registry = BeanRegistry.getRegistry(
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ELEMENT_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_CA);
+		
+		registry.added(new IExtension[0]);
+		
+		BeanRegistry rescannedRegistry = BeanRegistry.getRegistry(
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ELEMENT_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_ID,
+				BeanCategoryAssignmentFactory.EXTENSION_POINT_BEAN_FACTORY_ATTRIBUTE_CA);
+		assertNotSame("Changed contributions are scanned again", registry, rescannedRegistry);
+	}
+	
+	@Test
+	public void testGetInstanceForManyCategoryAssignments() throws CoreException {
+		final int COUNT_CATEGORY_ASSIGNMENTS = 100000;
+		final String FQN_BEAN_A = "de.dlr.sc.virsat.model.extension.tests.TestCategoryBeanA";
+		final String FQN_BEAN_B = "de.dlr.sc.virsat.model.extension.tests.TestCategoryBeanB";
+		
+		Category categoryA = ActiveConceptHelper.getCategory(concept, "TestCategoryBeanA");
+		Category categoryB = ActiveConceptHelper.getCategory(concept, "TestCategoryBeanB");
+		CountingBeanRegistry registry = new CountingBeanRegistry();
+		BeanCategoryAssignmentFactory factory = new BeanCategoryAssignmentFactory(registry);
+		
+		for (int i = 0; i < COUNT_CATEGORY_ASSIGNMENTS; i++) {
+			boolean isBeanA = i % 2 == 0;
+			CategoryAssignment ca = CategoriesFactory.eINSTANCE.createCategoryAssignment();
+			ca.setType(isBeanA ? categoryA : categoryB);
+			
+			IBeanCategoryAssignment caBean = factory.getInstanceFor(ca);
+			Class<?> expectedBeanClass = isBeanA ? TestCategoryBeanA.class : TestCategoryBeanB.class;
+			assertEquals("Created bean is of correct type", expectedBeanClass, caBean.getClass());
+			assertSame("Bean has a type instance set", ca, caBean.getTypeInstance());
+		}
+		
+		assertEquals("Only the two bean classes got resolved", 2, registry.mapIdToResolutions.size());
+		assertEquals("Bean A got resolved once", Integer.valueOf(1), registry.mapIdToResolutions.get(FQN_BEAN_A));
+		assertEquals("Bean B got resolved once", Integer.valueOf(1), registry.mapIdToResolutions.get(FQN_BEAN_B));
+	}
 }
@@ -15,6 +15,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.After;
 import org.junit.Before;
@@ -213,6 +214,39 @@ public class BeanCategoryAssignmentHelperTest extends AConceptTestCase {
 		//CHECKSTYLE:ON
 	}
 	
+	@Test
+	public void testStreamBeanCategories() {
+		TestStructuralElement testSeRoot = new TestStructuralElement(concept);
+		TestStructuralElement testSeChild = new TestStructuralElement(concept);
+		TestStructuralElement testSeGrandChild = new TestStructuralElement(concept);
+		testSeRoot.add(testSeChild);
+		testSeChild.add(testSeGrandChild);
+		
+		testSeRoot.add(new TestCategoryBeanA(concept));
+		testSeRoot.add(new TestCategoryBeanB(concept));
+		testSeRoot.add(new TestCategoryBeanA(concept));
+		testSeChild.add(new TestCategoryBeanA(concept));
+		TestCategoryBeanA testCaBeanGrandChild = new TestCategoryBeanA(concept);
+		testSeGrandChild.add(testCaBeanGrandChild);
+		
+		BeanCategoryAssignmentHelper bCaHelper = new BeanCategoryAssignmentHelper();
+		StructuralElementInstance seiRoot = testSeRoot.getStructuralElementInstance();
+		
+		assertEquals("Stream contains the same beans as the list", testSeRoot.getAll(TestCategoryBeanA.class),
+				testSeRoot.streamAll(TestCategoryBeanA.class).collect(Collectors.toList()));
+		assertEquals("Stream contains the same beans as the list", testSeRoot.getAll(TestCategoryBeanB.class),
+				bCaHelper.streamBeanCategories(seiRoot, TestCategoryBeanB.class).collect(Collectors.toList()));
+		assertEquals("Unlimited stream contains the same beans as the search from the root", bCaHelper.getAllBeanCategoriesFromRoot(seiRoot, TestCategoryBeanA.class),
+				testSeRoot.streamAll(TestCategoryBeanA.class, BeanStructuralElementInstanceHelper.UNLIMITED_DEPTH).collect(Collectors.toList()));
+		
+		final int COUNT_CA_A_UP_TO_CHILD = 3;
+		assertEquals("Depth 0 only contains the beans of the root", testSeRoot.getAll(TestCategoryBeanA.class),
+				testSeRoot.streamAll(TestCategoryBeanA.class, 0).collect(Collectors.toList()));
+		assertEquals("Depth 1 stops at the children", COUNT_CA_A_UP_TO_CHILD, testSeRoot.streamAll(TestCategoryBeanA.class, 1).count());
+		assertEquals("Find first stops at the first match", testSeGrandChild.getFirst(TestCategoryBeanA.class),
+				testSeGrandChild.streamAll(TestCategoryBeanA.class).findFirst().get());
+	}
+	
 	@Test
 	public void testGetFirstBeanCategory() {
 		TestStructuralElement testSe = new TestStructuralElement(concept);
@@ -15,12 +15,20 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.eclipse.core.runtime.CoreException;
 import org.junit.Before;
 import org.junit.Test;
 
+import de.dlr.sc.virsat.model.concept.types.factory.BeanStructuralElementInstanceFactory;
+import de.dlr.sc.virsat.model.concept.types.structural.IBeanStructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
 import de.dlr.sc.virsat.model.extension.tests.model.AConceptTestCase;
 import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryAllProperty;
 import de.dlr.sc.virsat.model.extension.tests.model.TestStructuralElement;
@@ -176,4 +184,91 @@ public class BeanStructuralElementInstanceHelperTest extends AConceptTestCase {
 		assertThat("Correct elements", filteredSupers, hasItems(super1, super2));
 		assertThat("Correct elements", filteredSuperOther, hasItems(superOther1, superOther2));
 	}
+	
+	@Test
+	public void testStreamDeepChildren() {
+		TestStructuralElement rootElement = new TestStructuralElement(concept);
+		TestStructuralElement child1 = new TestStructuralElement(concept);
+		TestStructuralElementOther childOther1 = new TestStructuralElementOther(concept);
+		TestStructuralElement grandChild1 = new TestStructuralElement(concept);
+		TestStructuralElementOther grandChildOther1 = new TestStructuralElementOther(concept);
+		TestStructuralElement grandGrandChild1 = new TestStructuralElement(concept);
+		
+		rootElement.add(child1);
+		rootElement.add(childOther1);
+		child1.add(grandChild1);
+		childOther1.add(grandChildOther1);
+		grandChild1.add(grandGrandChild1);
+		
+		assertEquals("Stream contains the same deep children as the list", rootElement.getDeepChildren(TestStructuralElement.class),
+				rootElement.streamDeepChildren(TestStructuralElement.class).collect(Collectors.toList()));
+		assertEquals("Stream contains the same deep children as the list", rootElement.getDeepChildren(TestStructuralElementOther.class),
+				rootElement.streamDeepChildren(TestStructuralElementOther.class).collect(Collectors.toList()));
+		assertEquals("Depth 1 contains the direct children", rootElement.getChildren(TestStructuralElement.class),
+				rootElement.streamDeepChildren(TestStructuralElement.class, 1).collect(Collectors.toList()));
+		assertThat("Depth 2 contains the grand children", rootElement.streamDeepChildren(TestStructuralElement.class, 2).collect(Collectors.toList()), hasItems(child1, grandChild1));
+		assertEquals("Depth 2 does not contain the grand grand children", 2, rootElement.streamDeepChildren(TestStructuralElement.class, 2).count());
+		assertEquals("Depth 0 contains no children", 0, rootElement.streamDeepChildren(TestStructuralElement.class, 0).count());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testStreamDeepChildrenInvalidDepth() {
+		final int INVALID_DEPTH = -2;
+		TestStructuralElement rootElement = new TestStructuralElement(concept);
+		BeanStructuralElementInstanceHelper.streamDeepChildren(rootElement.getStructuralElementInstance(), INVALID_DEPTH);
+	}
+	
+	@Test
+	public void testStreamDeepChildrenWrapsOnlyVisitedSeis() {
+		final int COUNT_CHILDREN = 100;
+		final int COUNT_GRAND_CHILDREN = 99;
+		final int INDEX_CHILD_OF_TARGET = 2;
+		final int INDEX_TARGET = 9;
+		
+		TestStructuralElement rootElement = new TestStructuralElement(concept);
+		StructuralElementInstance rootSei = rootElement.getStructuralElementInstance();
+		StructuralElement se = rootSei.getType();
+		StructuralElement seOther = new TestStructuralElementOther(concept).getStructuralElementInstance().getType();
+		
+		// Build a tree with 10,000 SEIs of which only a single one is of the other type
+		StructuralElementInstance target = null;
+		for (int i = 0; i < COUNT_CHILDREN; i++) {
+			StructuralElementInstance child = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+			child.setType(se);
+			rootSei.getChildren().add(child);
+			for (int j = 0; j < COUNT_GRAND_CHILDREN; j++) {
+				boolean isTarget = i == INDEX_CHILD_OF_TARGET && j == INDEX_TARGET;
+				StructuralElementInstance grandChild = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+				grandChild.setType(isTarget ? seOther : se);
+				child.getChildren().add(grandChild);
+				if (isTarget) {
+					target = grandChild;
+				}
+			}
+		}
+		
+		int[] countWrappedSeis = {0};
+		BeanStructuralElementInstanceFactory countingFactory = new BeanStructuralElementInstanceFactory() {
+			@Override
+			public IBeanStructuralElementInstance getInstanceFor(StructuralElementInstance structuralElementInstance) throws CoreException {
+				countWrappedSeis[0]++;
+				return super.getInstanceFor(structuralElementInstance);
+			}
+		};
+		BeanStructuralElementInstanceHelper bseiHelper = new BeanStructuralElementInstanceHelper(countingFactory);
+		
+		Optional<TestStructuralElementOther> firstOther = bseiHelper.streamBeanSeisOfType(
+				BeanStructuralElementInstanceHelper.streamDeepChildren(rootSei, BeanStructuralElementInstanceHelper.UNLIMITED_DEPTH),
+				TestStructuralElementOther.class).findFirst();
+		
+		assertEquals("Found the only SEI of the other type", target, firstOther.get().getStructuralElementInstance());
+		assertEquals("Only the SEIs up to the match got wrapped", rootSei.getDeepChildren().indexOf(target) + 1, countWrappedSeis[0]);
+		
+		countWrappedSeis[0] = 0;
+		long countOthersInFirstLevel = bseiHelper.streamBeanSeisOfType(
+				BeanStructuralElementInstanceHelper.streamDeepChildren(rootSei, 1), TestStructuralElementOther.class).count();
+		
+		assertEquals("There is no SEI of the other type among the direct children", 0, countOthersInFirstLevel);
+		assertEquals("Only the direct children got wrapped", COUNT_CHILDREN, countWrappedSeis[0]);
+	}
 }
@@ -10,12 +10,22 @@
 package de.dlr.sc.virsat.model.extension.tests.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.common.util.ECollections;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import de.dlr.sc.virsat.model.dvlm.categories.Category;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.APropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.categories.util.CategoryAssignmentHelper;
 import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
 import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
 
@@ -27,12 +37,13 @@ import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
 public class TestCategoryAllPropertyTest extends AConceptTestCase {
 
 	private TestCategoryAllProperty tcAllProperty;
+	private Concept concept;
 	
 	@Before
 	public void setup() {
 		prepareEditingDomain();
 
-		Concept concept = loadConceptFromPlugin();
+		concept = loadConceptFromPlugin();
 		tcAllProperty = new TestCategoryAllProperty(concept);
 	}
 	
@@ -176,4 +187,114 @@ public class TestCategoryAllPropertyTest extends AConceptTestCase {
 		assertEquals("SetValue send information correctly into the ValuePropertyInstance", TEST_VALUE_ONE, vpiValue, TEST_EPSILON);
 		assertEquals("GetValue is receiving correct Value", TEST_VALUE_ONE, beanValue, TEST_EPSILON);
 	}
+	
+	/**
+	 * Searches a property instance by its name the way it was done before the property index existed
+	 * @param ca the category assignment to search in
+	 * @param propertyName the name of the property
+	 * @return the property instance with the given name
+	 */
+	private APropertyInstance findPropertyInstance(CategoryAssignment ca, String propertyName) {
+		for (APropertyInstance propInstance : ca.getPropertyInstances()) {
+			if (propertyName.equals(propInstance.getType().getName())) {
+				return propInstance;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Gets the property instances the bean accesses through its getters
+	 * @param bean the bean
+	 * @return the property instances in the order of the properties of the category
+	 */
+	private List<APropertyInstance> getPropertyInstancesOfGetters(TestCategoryAllProperty bean) {
+		return Arrays.asList(
+			bean.getTestStringBean().getTypeInstance(),
+			bean.getTestIntBean().getTypeInstance(),
+			bean.getTestFloatBean().getTypeInstance(),
+			bean.getTestBoolBean().getTypeInstance(),
+			bean.getTestResourceBean().getTypeInstance(),
+			bean.getTestEnumBean().getTypeInstance()
+		);
+	}
+	
+	/**
+	 * Category assignment helper that counts how the property instances are looked up
+	 */
+	private static class CountingCategoryAssignmentHelper extends CategoryAssignmentHelper {
+		
+		private int indexedLookups;
+		private int nameLookups;
+		
+		/**
+		 * Creates a helper for the given category assignment
+		 * @param ca the category assignment
+		 */
+		CountingCategoryAssignmentHelper(CategoryAssignment ca) {
+			super(ca);
+		}
+		
+		@Override
+		public APropertyInstance getPropertyInstance(int propertyIndex, String propertyName) {
+			indexedLookups++;
+			return super.getPropertyInstance(propertyIndex, propertyName);
+		}
+		
+		@Override
+		public APropertyInstance getPropertyInstance(String propertyName) {
+			nameLookups++;
+			return super.getPropertyInstance(propertyName);
+		}
+	}
+	
+	/**
+	 * Creates a bean that looks up its property instances through the given helper
+	 * @param ca the category assignment of the bean
+	 * @param countingHelper the helper to be used by the bean
+	 * @return the bean
+	 */
+	private TestCategoryAllProperty createBean(CategoryAssignment ca, CategoryAssignmentHelper countingHelper) {
+		return new TestCategoryAllProperty(ca) {
+			{
+				helper = countingHelper;
+			}
+		};
+	}
+	
+	@Test
+	public void testGettersHitPropertyIndex() {
+		CategoryAssignment ca = tcAllProperty.getTypeInstance();
+		Map<String, Integer> propertyIndex = CategoryAssignmentHelper.getPropertyIndex((Category) ca.getType());
+		List<String> propertyNames = Arrays.asList("testString", "testInt", "testFloat", "testBool", "testResource", "testEnum");
+		CountingCategoryAssignmentHelper countingHelper = new CountingCategoryAssignmentHelper(ca);
+		List<APropertyInstance> propertyInstances = getPropertyInstancesOfGetters(createBean(ca, countingHelper));
+		
+		assertEquals("Every getter looks up its instance by the index", propertyNames.size(), countingHelper.indexedLookups);
+		assertEquals("No getter falls back to the search by name", 0, countingHelper.nameLookups);
+		
+		for (int i = 0; i < propertyNames.size(); i++) {
+			String propertyName = propertyNames.get(i);
+			int index = propertyIndex.get(propertyName);
+			assertEquals("Generated slot matches the index of the category", i, index);
+			assertSame("Getter returns the instance at the slot of the index", ca.getPropertyInstances().get(index), propertyInstances.get(i));
+			assertSame("Getter returns the same instance as the search by name", findPropertyInstance(ca, propertyName), propertyInstances.get(i));
+			assertEquals("Index also knows the full qualified name", index, (int) propertyIndex.get(propertyInstances.get(i).getType().getFullQualifiedName()));
+		}
+	}
+	
+	@Test
+	public void testGettersFallBackToNameLookup() {
+		CategoryAssignment ca = new TestCategoryAllProperty(concept).getTypeInstance();
+		ECollections.reverse(ca.getPropertyInstances());
+		CountingCategoryAssignmentHelper countingHelper = new CountingCategoryAssignmentHelper(ca);
+		TestCategoryAllProperty reorderedBean = createBean(ca, countingHelper);
+		
+		List<String> propertyNames = Arrays.asList("testString", "testInt", "testFloat", "testBool", "testResource", "testEnum");
+		List<APropertyInstance> propertyInstances = getPropertyInstancesOfGetters(reorderedBean);
+		assertEquals("Every moved instance is searched by its name", propertyNames.size(), countingHelper.nameLookups);
+		for (int i = 0; i < propertyNames.size(); i++) {
+			assertSame("Getter finds the moved instance by its name", findPropertyInstance(ca, propertyNames.get(i)), propertyInstances.get(i));
+		}
+	}
 }
@@ -85,7 +85,7 @@ public abstract class AEReferenceTest extends GenericCategory implements IBeanCa
 	
 	private void safeAccessEReferenceTest() {
 		if (eReferenceTest.getTypeInstance() == null) {
-			eReferenceTest.setTypeInstance((EReferencePropertyInstance) helper.getPropertyInstance("eReferenceTest"));
+			eReferenceTest.setTypeInstance((EReferencePropertyInstance) helper.getPropertyInstance(0, "eReferenceTest"));
 		}
 	}
 	
@@ -109,7 +109,7 @@ public abstract class ATestCategoryAllProperty extends GenericCategory implement
 	
 	private void safeAccessTestString() {
 		if (testString.getTypeInstance() == null) {
-			testString.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("testString"));
+			testString.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(0, "testString"));
 		}
 	}
 	
@@ -141,7 +141,7 @@ public abstract class ATestCategoryAllProperty extends GenericCategory implement
 	
 	private void safeAccessTestInt() {
 		if (testInt.getTypeInstance() == null) {
-			testInt.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("testInt"));
+			testInt.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(1, "testInt"));
 		}
 	}
 	
@@ -178,7 +178,7 @@ public abstract class ATestCategoryAllProperty extends GenericCategory implement
 	
 	private void safeAccessTestFloat() {
 		if (testFloat.getTypeInstance() == null) {
-			testFloat.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("testFloat"));
+			testFloat.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(2, "testFloat"));
 		}
 	}
 	
@@ -215,7 +215,7 @@ public abstract class ATestCategoryAllProperty extends GenericCategory implement
 	
 	private void safeAccessTestBool() {
 		if (testBool.getTypeInstance() == null) {
-			testBool.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance("testBool"));
+			testBool.setTypeInstance((ValuePropertyInstance) helper.getPropertyInstance(3, "testBool"));
 		}
 	}
 	
@@ -247,7 +247,7 @@ public abstract class ATestCategoryAllProperty extends GenericCategory implement
 	
 	private void safeAccessTestResource() {
 		if (testResource.getTypeInstance() == null) {
-			testResource.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance("testResource"));
+			testResource.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance(4, "testResource"));
 		}
 	}
 	
@@ -279,7 +279,7 @@ public abstract class ATestCategoryAllProperty extends GenericCategory implement
 	
 	private void safeAccessTestEnum() {
 		if (testEnum.getTypeInstance() == null) {
-			testEnum.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("testEnum"));
+			testEnum.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(5, "testEnum"));
 		}
 	}
 	
@@ -96,7 +96,7 @@ public abstract class ATestCategoryBase extends GenericCategory implements IBean
 	
 	private void safeAccessTestArray() {
 		if (testArray.getArrayInstance() == null) {
-			testArray.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testArray"));
+			testArray.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "testArray"));
 		}
 	}
 	
@@ -109,7 +109,7 @@ public abstract class ATestCategoryBase extends GenericCategory implements IBean
 	
 	private void safeAccessTestArrayBean() {
 		if (testArrayBean.getArrayInstance() == null) {
-			testArrayBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testArray"));
+			testArrayBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "testArray"));
 		}
 	}
 	
@@ -126,7 +126,7 @@ public abstract class ATestCategoryBase extends GenericCategory implements IBean
 	
 	private void safeAccessTestBaseProperty() {
 		if (testBaseProperty.getTypeInstance() == null) {
-			testBaseProperty.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("testBaseProperty"));
+			testBaseProperty.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(1, "testBaseProperty"));
 		}
 	}
 	
@@ -162,7 +162,7 @@ public abstract class ATestCategoryBase extends GenericCategory implements IBean
 	private BeanPropertyReference<TestCategoryBase> testReference = new BeanPropertyReference<>();
 	
 	private void safeAccessTestReference() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("testReference");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(2, "testReference");
 		testReference.setTypeInstance(propertyInstance);
 	}
 	
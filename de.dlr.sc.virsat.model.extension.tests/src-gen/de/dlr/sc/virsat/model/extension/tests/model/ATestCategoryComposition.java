@@ -83,7 +83,7 @@ public abstract class ATestCategoryComposition extends GenericCategory implement
 	
 	private void safeAccessTestSubCategory() {
 		if (testSubCategory.getTypeInstance() == null) {
-			ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance("testSubCategory");
+			ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance(0, "testSubCategory");
 			testSubCategory.setTypeInstance(propertyInstance);
 		}
 	}
@@ -87,7 +87,7 @@ public abstract class ATestCategoryCompositionArray extends GenericCategory impl
 	
 	private void safeAccessTestCompositionArrayDynamic() {
 		if (testCompositionArrayDynamic.getArrayInstance() == null) {
-			testCompositionArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testCompositionArrayDynamic"));
+			testCompositionArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "testCompositionArrayDynamic"));
 		}
 	}
 	
@@ -100,7 +100,7 @@ public abstract class ATestCategoryCompositionArray extends GenericCategory impl
 	
 	private void safeAccessTestCompositionArrayDynamicBean() {
 		if (testCompositionArrayDynamicBean.getArrayInstance() == null) {
-			testCompositionArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testCompositionArrayDynamic"));
+			testCompositionArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "testCompositionArrayDynamic"));
 		}
 	}
 	
@@ -117,7 +117,7 @@ public abstract class ATestCategoryCompositionArray extends GenericCategory impl
 	
 	private void safeAccessTestCompositionArrayStatic() {
 		if (testCompositionArrayStatic.getArrayInstance() == null) {
-			testCompositionArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testCompositionArrayStatic"));
+			testCompositionArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "testCompositionArrayStatic"));
 		}
 	}
 	
@@ -130,7 +130,7 @@ public abstract class ATestCategoryCompositionArray extends GenericCategory impl
 	
 	private void safeAccessTestCompositionArrayStaticBean() {
 		if (testCompositionArrayStaticBean.getArrayInstance() == null) {
-			testCompositionArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testCompositionArrayStatic"));
+			testCompositionArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "testCompositionArrayStatic"));
 		}
 	}
 	
@@ -84,7 +84,7 @@ public abstract class ATestCategoryExtends extends TestCategoryBase implements I
 	
 	private void safeAccessTestExtendsProperty() {
 		if (testExtendsProperty.getTypeInstance() == null) {
-			testExtendsProperty.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("testExtendsProperty"));
+			testExtendsProperty.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(0, "testExtendsProperty"));
 		}
 	}
 	
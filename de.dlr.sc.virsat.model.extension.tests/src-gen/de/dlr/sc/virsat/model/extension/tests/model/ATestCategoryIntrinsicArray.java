@@ -86,7 +86,7 @@ public abstract class ATestCategoryIntrinsicArray extends GenericCategory implem
 	
 	private void safeAccessTestStringArrayDynamicBean() {
 		if (testStringArrayDynamicBean.getArrayInstance() == null) {
-			testStringArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testStringArrayDynamic"));
+			testStringArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "testStringArrayDynamic"));
 		}
 	}
 	
@@ -103,7 +103,7 @@ public abstract class ATestCategoryIntrinsicArray extends GenericCategory implem
 	
 	private void safeAccessTestStringArrayStaticBean() {
 		if (testStringArrayStaticBean.getArrayInstance() == null) {
-			testStringArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testStringArrayStatic"));
+			testStringArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "testStringArrayStatic"));
 		}
 	}
 	
@@ -88,7 +88,7 @@ public abstract class ATestCategoryReference extends GenericCategory implements
 	private BeanPropertyReference<TestCategoryAllProperty> testRefCategory = new BeanPropertyReference<>();
 	
 	private void safeAccessTestRefCategory() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("testRefCategory");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(0, "testRefCategory");
 		testRefCategory.setTypeInstance(propertyInstance);
 	}
 	
@@ -120,7 +120,7 @@ public abstract class ATestCategoryReference extends GenericCategory implements
 	private BeanPropertyReference<BeanPropertyString> testRefProperty = new BeanPropertyReference<>();
 	
 	private void safeAccessTestRefProperty() {
-		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance("testRefProperty");
+		ReferencePropertyInstance propertyInstance = (ReferencePropertyInstance) helper.getPropertyInstance(1, "testRefProperty");
 		testRefProperty.setTypeInstance(propertyInstance);
 	}
 	
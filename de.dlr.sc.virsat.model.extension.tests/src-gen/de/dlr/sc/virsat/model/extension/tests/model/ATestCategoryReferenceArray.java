@@ -89,7 +89,7 @@ public abstract class ATestCategoryReferenceArray extends GenericCategory implem
 	
 		private void safeAccessTestCategoryReferenceArrayDynamic() {
 			if (testCategoryReferenceArrayDynamic.getArrayInstance() == null) {
-				testCategoryReferenceArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testCategoryReferenceArrayDynamic"));
+				testCategoryReferenceArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "testCategoryReferenceArrayDynamic"));
 			}
 		}
 	
@@ -102,7 +102,7 @@ public abstract class ATestCategoryReferenceArray extends GenericCategory implem
 		
 		private void safeAccessTestCategoryReferenceArrayDynamicBean() {
 			if (testCategoryReferenceArrayDynamicBean.getArrayInstance() == null) {
-				testCategoryReferenceArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testCategoryReferenceArrayDynamic"));
+				testCategoryReferenceArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(0, "testCategoryReferenceArrayDynamic"));
 			}
 		}
 		
@@ -119,7 +119,7 @@ public abstract class ATestCategoryReferenceArray extends GenericCategory implem
 	
 		private void safeAccessTestCategoryReferenceArrayStatic() {
 			if (testCategoryReferenceArrayStatic.getArrayInstance() == null) {
-				testCategoryReferenceArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testCategoryReferenceArrayStatic"));
+				testCategoryReferenceArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "testCategoryReferenceArrayStatic"));
 			}
 		}
 	
@@ -132,7 +132,7 @@ public abstract class ATestCategoryReferenceArray extends GenericCategory implem
 		
 		private void safeAccessTestCategoryReferenceArrayStaticBean() {
 			if (testCategoryReferenceArrayStaticBean.getArrayInstance() == null) {
-				testCategoryReferenceArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testCategoryReferenceArrayStatic"));
+				testCategoryReferenceArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(1, "testCategoryReferenceArrayStatic"));
 			}
 		}
 		
@@ -149,7 +149,7 @@ public abstract class ATestCategoryReferenceArray extends GenericCategory implem
 	
 		private void safeAccessTestPropertyReferenceArrayDynamic() {
 			if (testPropertyReferenceArrayDynamic.getArrayInstance() == null) {
-				testPropertyReferenceArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testPropertyReferenceArrayDynamic"));
+				testPropertyReferenceArrayDynamic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "testPropertyReferenceArrayDynamic"));
 			}
 		}
 	
@@ -162,7 +162,7 @@ public abstract class ATestCategoryReferenceArray extends GenericCategory implem
 		
 		private void safeAccessTestPropertyReferenceArrayDynamicBean() {
 			if (testPropertyReferenceArrayDynamicBean.getArrayInstance() == null) {
-				testPropertyReferenceArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testPropertyReferenceArrayDynamic"));
+				testPropertyReferenceArrayDynamicBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(2, "testPropertyReferenceArrayDynamic"));
 			}
 		}
 		
@@ -179,7 +179,7 @@ public abstract class ATestCategoryReferenceArray extends GenericCategory implem
 	
 		private void safeAccessTestPropertyReferenceArrayStatic() {
 			if (testPropertyReferenceArrayStatic.getArrayInstance() == null) {
-				testPropertyReferenceArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testPropertyReferenceArrayStatic"));
+				testPropertyReferenceArrayStatic.setArrayInstance((ArrayInstance) helper.getPropertyInstance(3, "testPropertyReferenceArrayStatic"));
 			}
 		}
 	
@@ -192,7 +192,7 @@ public abstract class ATestCategoryReferenceArray extends GenericCategory implem
 		
 		private void safeAccessTestPropertyReferenceArrayStaticBean() {
 			if (testPropertyReferenceArrayStaticBean.getArrayInstance() == null) {
-				testPropertyReferenceArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance("testPropertyReferenceArrayStatic"));
+				testPropertyReferenceArrayStaticBean.setArrayInstance((ArrayInstance) helper.getPropertyInstance(3, "testPropertyReferenceArrayStatic"));
 			}
 		}
 		
@@ -85,7 +85,7 @@ public abstract class ATestCrossLinkedParametersWithCalculation extends GenericC
 	
 	private void safeAccessCalcedTrl() {
 		if (calcedTrl.getTypeInstance() == null) {
-			calcedTrl.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("calcedTrl"));
+			calcedTrl.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(0, "calcedTrl"));
 		}
 	}
 	
@@ -83,7 +83,7 @@ public abstract class ATestMassParameters extends GenericCategory implements IBe
 	
 	private void safeAccessMass() {
 		if (mass.getTypeInstance() == null) {
-			ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance("mass");
+			ComposedPropertyInstance propertyInstance = (ComposedPropertyInstance) helper.getPropertyInstance(0, "mass");
 			mass.setTypeInstance(propertyInstance);
 		}
 	}
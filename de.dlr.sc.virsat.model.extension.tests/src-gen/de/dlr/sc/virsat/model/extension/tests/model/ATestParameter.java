@@ -85,7 +85,7 @@ public abstract class ATestParameter extends GenericCategory implements IBeanCat
 	
 	private void safeAccessDefaultValue() {
 		if (defaultValue.getTypeInstance() == null) {
-			defaultValue.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("defaultValue"));
+			defaultValue.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(0, "defaultValue"));
 		}
 	}
 	
@@ -118,7 +118,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessShape() {
 		if (shape.getTypeInstance() == null) {
-			shape.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance("shape"));
+			shape.setTypeInstance((EnumUnitPropertyInstance) helper.getPropertyInstance(0, "shape"));
 		}
 	}
 	
@@ -155,7 +155,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessGeometryFile() {
 		if (geometryFile.getTypeInstance() == null) {
-			geometryFile.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance("geometryFile"));
+			geometryFile.setTypeInstance((ResourcePropertyInstance) helper.getPropertyInstance(1, "geometryFile"));
 		}
 	}
 	
@@ -187,7 +187,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessRadius() {
 		if (radius.getTypeInstance() == null) {
-			radius.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("radius"));
+			radius.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(2, "radius"));
 		}
 	}
 	
@@ -224,7 +224,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessSizeX() {
 		if (sizeX.getTypeInstance() == null) {
-			sizeX.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("sizeX"));
+			sizeX.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(3, "sizeX"));
 		}
 	}
 	
@@ -261,7 +261,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessSizeY() {
 		if (sizeY.getTypeInstance() == null) {
-			sizeY.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("sizeY"));
+			sizeY.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(4, "sizeY"));
 		}
 	}
 	
@@ -298,7 +298,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessSizeZ() {
 		if (sizeZ.getTypeInstance() == null) {
-			sizeZ.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("sizeZ"));
+			sizeZ.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(5, "sizeZ"));
 		}
 	}
 	
@@ -335,7 +335,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessColor() {
 		if (color.getTypeInstance() == null) {
-			color.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("color"));
+			color.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(6, "color"));
 		}
 	}
 	
@@ -372,7 +372,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessTransparency() {
 		if (transparency.getTypeInstance() == null) {
-			transparency.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("transparency"));
+			transparency.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(7, "transparency"));
 		}
 	}
 	
@@ -409,7 +409,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessPositionX() {
 		if (positionX.getTypeInstance() == null) {
-			positionX.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("positionX"));
+			positionX.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(8, "positionX"));
 		}
 	}
 	
@@ -446,7 +446,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessPositionY() {
 		if (positionY.getTypeInstance() == null) {
-			positionY.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("positionY"));
+			positionY.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(9, "positionY"));
 		}
 	}
 	
@@ -483,7 +483,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessPositionZ() {
 		if (positionZ.getTypeInstance() == null) {
-			positionZ.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("positionZ"));
+			positionZ.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(10, "positionZ"));
 		}
 	}
 	
@@ -520,7 +520,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessRotationX() {
 		if (rotationX.getTypeInstance() == null) {
-			rotationX.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("rotationX"));
+			rotationX.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(11, "rotationX"));
 		}
 	}
 	
@@ -557,7 +557,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessRotationY() {
 		if (rotationY.getTypeInstance() == null) {
-			rotationY.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("rotationY"));
+			rotationY.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(12, "rotationY"));
 		}
 	}
 	
@@ -594,7 +594,7 @@ public abstract class AVisualisation extends GenericCategory implements IBeanCat
 	
 	private void safeAccessRotationZ() {
 		if (rotationZ.getTypeInstance() == null) {
-			rotationZ.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance("rotationZ"));
+			rotationZ.setTypeInstance((UnitValuePropertyInstance) helper.getPropertyInstance(13, "rotationZ"));
 		}
 	}
 	
@@ -15,6 +15,15 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.ecore.EObject;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -23,6 +32,7 @@ import de.dlr.sc.virsat.model.dvlm.categories.Category;
 import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.PropertyinstancesFactory;
 import de.dlr.sc.virsat.model.dvlm.categories.propertyinstances.ValuePropertyInstance;
+import de.dlr.sc.virsat.model.dvlm.general.IAssignedDiscipline;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
@@ -192,4 +202,219 @@ public class RightsHelperTest {
 		assertFalse("No we cannot write to the object", RightsHelper.hasWritePermission(ca, null));
 		assertFalse("No we cannot write to the object", RightsHelper.hasWritePermission(vpi, null));
 	}
+	
+	/**
+	 * Creates a user context
+	 * @param userName the name of the user
+	 * @param isSuperUser true if the user is a super user
+	 * @return the user context
+	 */
+	private IUserContext createUserContext(String userName, boolean isSuperUser) {
+		return new IUserContext() {
+			@Override
+			public boolean isSuperUser() {
+				return isSuperUser;
+			}
+			
+			@Override
+			public String getUserName() {
+				return userName;
+			}
+		};
+	}
+	
+	/**
+	 * Reference implementation of the write permission check as it was implemented
+	 * before the permissions could be cached
+	 * @param eObject the object to check
+	 * @param userContext the user context
+	 * @return true if the object allows writing
+	 */
+	private static boolean hasWritePermissionReference(EObject eObject, IUserContext userContext) {
+		if (userContext == null) {
+			return false;
+		}
+		
+		EObject currentObject = eObject;
+		while (currentObject != null && !(currentObject instanceof IAssignedDiscipline)) {
+			currentObject = currentObject.eContainer();
+		}
+		if (currentObject == null) {
+			return true;
+		}
+		
+		boolean hasWritePermission = false;
+		Discipline disc = ((IAssignedDiscipline) currentObject).getAssignedDiscipline();
+		if (disc != null && !disc.getUser().isEmpty()) {
+			hasWritePermission = disc.getUser().equals(userContext.getUserName());
+		}
+		return hasWritePermission || userContext.isSuperUser();
+	}
+	
+	/**
+	 * Creates a tree of seis with various disciplines and returns all objects of it
+	 * together with some objects that are not contained in any sei
+	 * @param numberOfSeis the number of child seis
+	 * @return all created objects
+	 */
+	private List<EObject> createModel(int numberOfSeis) {
+		final String[] USERS = {"UserA", "UserB", ""};
+		
+		Category c = CategoriesFactory.eINSTANCE.createCategory();
+		StructuralElement se = StructuralFactory.eINSTANCE.createStructuralElement();
+		se.setIsApplicableForAll(true);
+		c.getApplicableFor().add(se);
+		
+		List<EObject> objects = new ArrayList<>();
+		StructuralElementInstance root = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		root.setType(se);
+		objects.add(root);
+		
+		for (int i = 0; i < numberOfSeis; i++) {
+			StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+			sei.setType(se);
+			root.getChildren().add(sei);
+			
+			// Leave every fourth sei without a discipline
+			if (i % (USERS.length + 1) != USERS.length) {
+				Discipline discipline = RolesFactory.eINSTANCE.createDiscipline();
+				discipline.setUser(USERS[i % (USERS.length + 1)]);
+				sei.setAssignedDiscipline(discipline);
+			}
+			
+			CategoryAssignment ca = CategoriesFactory.eINSTANCE.createCategoryAssignment();
+			ca.setType(c);
+			ValuePropertyInstance vpi = PropertyinstancesFactory.eINSTANCE.createValuePropertyInstance();
+			sei.getCategoryAssignments().add(ca);
+			ca.getPropertyInstances().add(vpi);
+			objects.addAll(Arrays.asList(sei, ca, vpi));
+		}
+		
+		// Objects without any container
+		objects.add(CategoriesFactory.eINSTANCE.createCategoryAssignment());
+		objects.add(PropertyinstancesFactory.eINSTANCE.createValuePropertyInstance());
+		
+		return objects;
+	}
+	
+	@Test
+	public void testFilterWritable() {
+		final int NUMBER_OF_SEIS = 8;
+		List<EObject> objects = createModel(NUMBER_OF_SEIS);
+		List<IUserContext> userContexts = Arrays.asList(
+			createUserContext("UserA", false),
+			createUserContext("UserB", false),
+			createUserContext("UserA", true),
+			null
+		);
+		
+		for (IUserContext userContext : userContexts) {
+			List<EObject> expectedObjects = new ArrayList<>();
+			for (EObject object : objects) {
+				if (hasWritePermissionReference(object, userContext)) {
+					expectedObjects.add(object);
+				}
+			}
+			
+			assertEquals("Writable objects are filtered in order", expectedObjects, RightsHelper.filterWritable(objects, userContext));
+		}
+	}
+	
+	@Test
+	public void testPermissionCache() {
+		Category c = CategoriesFactory.eINSTANCE.createCategory();
+		StructuralElement se = StructuralFactory.eINSTANCE.createStructuralElement();
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		CategoryAssignment ca = CategoriesFactory.eINSTANCE.createCategoryAssignment();
+		sei.setType(se);
+		ca.setType(c);
+		c.getApplicableFor().add(se);
+		sei.getCategoryAssignments().add(ca);
+		
+		Discipline discipline = RolesFactory.eINSTANCE.createDiscipline();
+		discipline.setUser("UserA");
+		sei.setAssignedDiscipline(discipline);
+		
+		IUserContext userContextA = createUserContext("UserA", false);
+		IUserContext userContextB = createUserContext("UserB", false);
+		
+		RightsHelper.beginPermissionCache();
+		try {
+			assertTrue("UserA can write", RightsHelper.hasWritePermission(ca, userContextA));
+			assertFalse("UserB cannot write", RightsHelper.hasWritePermission(ca, userContextB));
+			
+			// Changes of the discipline are not seen while the cache is active
+			discipline.setUser("UserB");
+			assertTrue("Permission is memoised", RightsHelper.hasWritePermission(ca, userContextA));
+			assertFalse("Permission is memoised", RightsHelper.hasWritePermission(sei, userContextB));
+		} finally {
+			RightsHelper.endPermissionCache();
+		}
+		
+		assertFalse("Cache has been discarded", RightsHelper.hasWritePermission(ca, userContextA));
+		assertTrue("Cache has been discarded", RightsHelper.hasWritePermission(ca, userContextB));
+	}
+	
+	@Test
+	public void testHasWritePermissionConcurrently() throws Exception {
+		final int NUMBER_OF_THREADS = 16;
+		final int NUMBER_OF_SEIS = 200;
+		final int NUMBER_OF_ROUNDS = 50;
+		
+		List<EObject> objects = createModel(NUMBER_OF_SEIS);
+		List<IUserContext> userContexts = Arrays.asList(
+			createUserContext("UserA", false),
+			createUserContext("UserB", false),
+			createUserContext("UserC", true)
+		);
+		
+		// Compute the expected permissions single threaded with the reference implementation
+		List<List<Boolean>> expectedPermissions = new ArrayList<>();
+		for (IUserContext userContext : userContexts) {
+			List<Boolean> permissions = new ArrayList<>();
+			for (EObject object : objects) {
+				permissions.add(hasWritePermissionReference(object, userContext));
+			}
+			expectedPermissions.add(permissions);
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+		try {
+			List<Future<List<List<Boolean>>>> futures = new ArrayList<>();
+			for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+				// Let half of the threads use the permission cache
+				boolean useCache = i % 2 == 0;
+				Callable<List<List<Boolean>>> task = () -> {
+					List<List<Boolean>> actualPermissions = null;
+					for (int round = 0; round < NUMBER_OF_ROUNDS; round++) {
+						if (useCache) {
+							RightsHelper.beginPermissionCache();
+						}
+						try {
+							actualPermissions = new ArrayList<>();
+							for (IUserContext userContext : userContexts) {
+								List<Boolean> permissions = new ArrayList<>();
+								for (EObject object : objects) {
+									permissions.add(RightsHelper.hasWritePermission(object, userContext));
+								}
+								actualPermissions.add(permissions);
+							}
+						} finally {
+							if (useCache) {
+								RightsHelper.endPermissionCache();
+							}
+						}
+					}
+					return actualPermissions;
+				};
+				futures.add(executor.submit(task));
+			}
+			
+			for (Future<List<List<Boolean>>> future : futures) {
+				assertEquals("Concurrent checks match the reference implementation", expectedPermissions, future.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
@@ -9,8 +9,15 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.dvlm.categories.util;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 
 import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.categories.ATypeDefinition;
@@ -34,6 +41,7 @@ import de.dlr.sc.virsat.model.ecore.VirSatEcoreUtil;
  *
  */
 public class CategoryAssignmentHelper {
+	
 	private CategoryAssignment ca;
 
 	/**
@@ -64,27 +72,140 @@ public class CategoryAssignmentHelper {
 		
 		throw new RuntimeException("Property " + propertyName + " not found in CategoryAssignment");
 	}
+	
+	/**
+	 * This method returns the property instance of the current category
+	 * assignment which is expected at the given index. In case the instance
+	 * at the index is not bound to the given name, e.g. because the category
+	 * assignment is of an extending category, the instance is searched by its name.
+	 * 
+	 * @param propertyIndex
+	 *            the index of the property in the properties of its category
+	 * @param propertyName
+	 *            the name of the property to which to get the instance for
+	 * @return the instance in case it is found. Throws an exception in case it
+	 *         cannot be found.
+	 */
+	public APropertyInstance getPropertyInstance(int propertyIndex, String propertyName) {
+		APropertyInstance pi = getPropertyInstanceAt(propertyIndex, propertyName);
+		if (pi != null) {
+			return pi;
+		}
+		
+		return getPropertyInstance(propertyName);
+	}
 
 	/**
 	 * This method gets the property instance of the current category
 	 * assignment which is bound to the given name, if it exisets. Only for non-array
-	 * properties
+	 * properties. The instance is first looked up by the property index of the category
+	 * and then searched in all property instances.
 	 * 
 	 * @param propertyName
 	 *            the name of the property to which to get the instance for
 	 * @return the instance in case it is found, null otherwise
 	 */
 	public APropertyInstance tryGetPropertyInstance(String propertyName) {
+		ATypeDefinition type = ca.getType();
+		if (type instanceof Category) {
+			Integer propertyIndex = getPropertyIndex((Category) type).get(propertyName);
+			if (propertyIndex != null) {
+				APropertyInstance pi = getPropertyInstanceAt(propertyIndex, propertyName);
+				if (pi != null) {
+					return pi;
+				}
+			}
+		}
+		
 		for (APropertyInstance propInstance : ca.getPropertyInstances()) {
-			String propInstanceTypeName = propInstance.getType().getName();
-			String propInstanceTypeFqn = propInstance.getType().getFullQualifiedName();
-			if (propertyName.equals(propInstanceTypeName) || propertyName.equals(propInstanceTypeFqn)) {
+			if (isInstanceOf(propInstance, propertyName)) {
 				return propInstance;
 			}
 		}
 		return null;
 	}
 	
+	/**
+	 * Gets the property instance at the given index if it is bound to the given name
+	 * @param propertyIndex the index of the property instance
+	 * @param propertyName the name or full qualified name of the property
+	 * @return the instance in case it is at the given index, null otherwise
+	 */
+	private APropertyInstance getPropertyInstanceAt(int propertyIndex, String propertyName) {
+		EList<APropertyInstance> propInstances = ca.getPropertyInstances();
+		if (propertyIndex >= 0 && propertyIndex < propInstances.size()) {
+			APropertyInstance propInstance = propInstances.get(propertyIndex);
+			if (isInstanceOf(propInstance, propertyName)) {
+				return propInstance;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Checks if a property instance is bound to the given name
+	 * @param propInstance the property instance
+	 * @param propertyName the name or full qualified name of the property
+	 * @return true iff the type of the instance has the given name or full qualified name
+	 */
+	private static boolean isInstanceOf(APropertyInstance propInstance, String propertyName) {
+		ATypeDefinition propType = propInstance.getType();
+		return propertyName.equals(propType.getName()) || propertyName.equals(propType.getFullQualifiedName());
+	}
+	
+	/**
+	 * Gets the index from the names and full qualified names of the properties of a category
+	 * to their position in {@link Category#getAllProperties()}, which is the position of their
+	 * instances in a category assignment created by the {@link CategoryInstantiator}. The index
+	 * is created once per category and kept in an adapter of the category, so looking it up needs no lock
+	 * and it is released together with the category. Since a changed category only leads to misses in the index,
+	 * the property instances found through it always have to be checked.
+	 * @param category the category
+	 * @return the index from property names to their position
+	 */
+	public static Map<String, Integer> getPropertyIndex(Category category) {
+		PropertyIndexAdapter adapter = (PropertyIndexAdapter) EcoreUtil.getExistingAdapter(category, PropertyIndexAdapter.class);
+		if (adapter == null) {
+			// Only the first access to a category attaches the index
+			synchronized (category) {
+				adapter = (PropertyIndexAdapter) EcoreUtil.getExistingAdapter(category, PropertyIndexAdapter.class);
+				if (adapter == null) {
+					adapter = new PropertyIndexAdapter(category);
+					category.eAdapters().add(adapter);
+				}
+			}
+		}
+		return adapter.propertyIndex;
+	}
+	
+	/**
+	 * Adapter holding the index of the properties of the category it is attached to
+	 */
+	private static class PropertyIndexAdapter extends AdapterImpl {
+		
+		private final Map<String, Integer> propertyIndex;
+		
+		/**
+		 * Constructor creating the index of the given category
+		 * @param category the category
+		 */
+		PropertyIndexAdapter(Category category) {
+			Map<String, Integer> index = new HashMap<>();
+			List<AProperty> properties = category.getAllProperties();
+			for (int i = 0; i < properties.size(); i++) {
+				AProperty property = properties.get(i);
+				index.putIfAbsent(property.getName(), i);
+				index.putIfAbsent(property.getFullQualifiedName(), i);
+			}
+			propertyIndex = Collections.unmodifiableMap(index);
+		}
+		
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == PropertyIndexAdapter.class;
+		}
+	}
+	
 	/**
 	 * Call this method to get the PropertyInstance which is typed by the given
 	 * Property
@@ -70,6 +70,25 @@ public class QudvUnitHelper {
 		return INSTANCE;
 	}
 	
+	private final ThreadLocal<int[]> conversionCount = ThreadLocal.withInitial(() -> new int[1]);
+	
+	/**
+	 * Gets the number of values the current thread has converted from a unit to its base unit
+	 * or back so far. Profilers compare the count before and after an operation to know
+	 * how many conversions the operation needed. The count may overflow, differences stay correct.
+	 * @return the number of conversions of the current thread
+	 */
+	public int getConversionCount() {
+		return conversionCount.get()[0];
+	}
+	
+	/**
+	 * Counts a conversion of a value performed by the current thread
+	 */
+	private void countConversion() {
+		conversionCount.get()[0]++;
+	}
+	
 	/**
 	 * Creates a simpleUnit of the QUDV data model
 	 * @param name The name of the unit
@@ -1074,6 +1093,17 @@ public class QudvUnitHelper {
 	 * @return conversionValue the converted Value
 	 */
 	public double convertFromSourceUnitToBaseUnit(AUnit sourceUnit, double value) {
+		countConversion();
+		return toBaseUnit(sourceUnit, value);
+	}
+
+	/**
+	 * Recursively converts the given value from the given unit to its base unit
+	 * @param sourceUnit the source unit which will be converted in base units 
+	 * @param value the value that should be converted into the base unit
+	 * @return conversionValue the converted Value
+	 */
+	private double toBaseUnit(AUnit sourceUnit, double value) {
 		double conversionValue = 1.0;
 		if (sourceUnit instanceof SimpleUnit) {
 			conversionValue = value;
@@ -1083,19 +1113,19 @@ public class QudvUnitHelper {
 			conversionValue = value * acu.getFactor() + acu.getOffset();
 			
 			AUnit refUnit = acu.getReferenceUnit();
-			conversionValue = convertFromSourceUnitToBaseUnit(refUnit, conversionValue);
+			conversionValue = toBaseUnit(refUnit, conversionValue);
 		} else if (sourceUnit instanceof LinearConversionUnit) {
 			LinearConversionUnit lcu = (LinearConversionUnit) sourceUnit;
 			conversionValue = value * lcu.getFactor();
 			AUnit refUnit = lcu.getReferenceUnit();
-			conversionValue = convertFromSourceUnitToBaseUnit(refUnit, conversionValue);
+			conversionValue = toBaseUnit(refUnit, conversionValue);
 		} else if (sourceUnit instanceof DerivedUnit) {
 			DerivedUnit du = (DerivedUnit) sourceUnit;
 			List<UnitFactor> listOfUnitfactors = du.getFactor();
 			double subConValue; 
 			for (UnitFactor uf : listOfUnitfactors) {
 				//first get the conversion value recursively!
-				subConValue = convertFromSourceUnitToBaseUnit(uf.getUnit(), 1.0);
+				subConValue = toBaseUnit(uf.getUnit(), 1.0);
 				//apply the exponent
 				subConValue = Math.pow(subConValue, uf.getExponent());
 				conversionValue = conversionValue * subConValue;
@@ -1106,7 +1136,7 @@ public class QudvUnitHelper {
 			PrefixedUnit pu = (PrefixedUnit) sourceUnit;
 			conversionValue = pu.getPrefix().getFactor() * value;
 			AUnit refUnit = pu.getReferenceUnit();
-			conversionValue = convertFromSourceUnitToBaseUnit(refUnit, conversionValue);
+			conversionValue = toBaseUnit(refUnit, conversionValue);
 			
 		} else { // Unit was not set
 			conversionValue = conversionValue * value;
@@ -1123,18 +1153,29 @@ public class QudvUnitHelper {
 	 * @return conversionValue the converted Value
 	 */
 	public double convertFromBaseUnitToTargetUnit(AUnit targetUnit, double value) {
+		countConversion();
+		return fromBaseUnit(targetUnit, value);
+	}
+
+	/**
+	 * Recursively converts the given value from its base unit to the given target unit
+	 * @param targetUnit the target unit in which you want to convert 
+	 * @param value the value that should be converted into the target unit
+	 * @return conversionValue the converted Value
+	 */
+	private double fromBaseUnit(AUnit targetUnit, double value) {
 		double conversionValue = 1.0;
 		if (targetUnit instanceof SimpleUnit) {
 			conversionValue = value;
 		} else if (targetUnit instanceof AffineConversionUnit) {
 			AffineConversionUnit acu = (AffineConversionUnit) targetUnit;
 			AUnit refUnit = acu.getReferenceUnit();
-			conversionValue = convertFromBaseUnitToTargetUnit(refUnit, value);
+			conversionValue = fromBaseUnit(refUnit, value);
 			conversionValue = (conversionValue - acu.getOffset()) / acu.getFactor();
 		} else if (targetUnit instanceof LinearConversionUnit) {
 			LinearConversionUnit lcu = (LinearConversionUnit) targetUnit;
 			AUnit refUnit = lcu.getReferenceUnit();
-			conversionValue = convertFromBaseUnitToTargetUnit(refUnit, value);
+			conversionValue = fromBaseUnit(refUnit, value);
 			conversionValue = conversionValue / lcu.getFactor();
 		} else if (targetUnit instanceof DerivedUnit) {
 			DerivedUnit du = (DerivedUnit) targetUnit;
@@ -1142,7 +1183,7 @@ public class QudvUnitHelper {
 			double subConValue; 
 			for (UnitFactor uf : listOfUnitfactors) {
 				//first get the conversion value recursively!
-				subConValue = convertFromBaseUnitToTargetUnit(uf.getUnit(), 1.0);
+				subConValue = fromBaseUnit(uf.getUnit(), 1.0);
 				//apply the exponent
 				subConValue = Math.pow(subConValue, uf.getExponent());
 				conversionValue = conversionValue / subConValue;
@@ -1153,7 +1194,7 @@ public class QudvUnitHelper {
 			PrefixedUnit pu = (PrefixedUnit) targetUnit;
 			AUnit refUnit = pu.getReferenceUnit();
 			conversionValue = 1 / pu.getPrefix().getFactor() * value;
-			conversionValue = convertFromBaseUnitToTargetUnit(refUnit, conversionValue);
+			conversionValue = fromBaseUnit(refUnit, conversionValue);
 		} else { // Unit was not set
 			conversionValue = value / conversionValue;
 		}
@@ -9,56 +9,92 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.model.dvlm.roles;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.emf.ecore.resource.Resource;
 
 import de.dlr.sc.virsat.model.dvlm.general.IAssignedDiscipline;
 
 /**
- * Simple Helper method to determine the access rights on an EObject
+ * Simple Helper method to determine the access rights on an EObject.
+ * The helper does not hold any locks, it only reads the container hierarchy of the model.
+ * While a permission cache is active on the current thread, the write permission is
+ * computed only once per object with an assigned discipline and user context.
  */
 public class RightsHelper {
 	
+	/**
+	 * Cache of the write permissions of the objects with an assigned discipline. The cache
+	 * is bound to a thread and is only valid while the model is not changed, e.g. during the
+	 * check of a single command.
+	 */
+	private static class PermissionCache {
+		private int depth;
+		private Map<IUserContext, Map<IAssignedDiscipline, Boolean>> permissions = new IdentityHashMap<>();
+	}
+	
+	private static final ThreadLocal<PermissionCache> PERMISSION_CACHE = new ThreadLocal<>();
+	
 	/**
 	 * Private Constructor for Helper Class
 	 */
 	private RightsHelper() {
 	}
-
+	
 	/**
-	 * this method get the discipline of an object
-	 * @param eObj the object which has an discipline 
-	 * @return the discipline of the object
+	 * Activates the permission cache on the current thread. From now on the write permission of every
+	 * object with an assigned discipline is memoised until {@link #endPermissionCache()} is called.
+	 * Calls can be nested, the cache is discarded when the outermost scope ends. Callers have to make sure
+	 * that the assigned disciplines do not change while the cache is active.
 	 */
-	public static synchronized Discipline getDiscipline(EObject eObj) {
-		EObject currentObject = eObj;
-		while (!(currentObject instanceof IAssignedDiscipline)) {
-			currentObject = currentObject.eContainer();
-			
-			if ((currentObject == null) || (currentObject instanceof Resource)) {
-				return null;
-			}
+	public static void beginPermissionCache() {
+		PermissionCache cache = PERMISSION_CACHE.get();
+		if (cache == null) {
+			cache = new PermissionCache();
+			PERMISSION_CACHE.set(cache);
 		}
-		
-		return ((IAssignedDiscipline) currentObject).getAssignedDiscipline();
+		cache.depth++;
 	}
 	
 	/**
-	 * This method checks if there exists a parent of eObj that can have a discipline.
-	 * If no such parent exists, we dont need to do any rights management.
-	 * @param eObj the object we check
-	 * @return true iff a parent (or grandparent, etc.) that is an IAssignableDiscipline exists
+	 * Ends a scope started by {@link #beginPermissionCache()}
 	 */
-	private static synchronized boolean hasParentThatCanHaveDiscipline(EObject eObj) {
+	public static void endPermissionCache() {
+		PermissionCache cache = PERMISSION_CACHE.get();
+		if (cache != null && --cache.depth <= 0) {
+			PERMISSION_CACHE.remove();
+		}
+	}
+	
+	/**
+	 * This method finds the closest object in the container hierarchy that can have a discipline
+	 * @param eObj the object to start with
+	 * @return eObj itself, its closest container that is an IAssignedDiscipline or null if there is none
+	 */
+	private static IAssignedDiscipline getDisciplineOwner(EObject eObj) {
 		EObject currentObject = eObj;
 		while (currentObject != null) {
 			if (currentObject instanceof IAssignedDiscipline) {
-				return true;
+				return (IAssignedDiscipline) currentObject;
 			}
 			currentObject = currentObject.eContainer();
 		}
 		
-		return false;
+		return null;
+	}
+
+	/**
+	 * this method get the discipline of an object
+	 * @param eObj the object which has an discipline 
+	 * @return the discipline of the object
+	 */
+	public static Discipline getDiscipline(EObject eObj) {
+		IAssignedDiscipline disciplineOwner = getDisciplineOwner(eObj);
+		return disciplineOwner != null ? disciplineOwner.getAssignedDiscipline() : null;
 	}
 	
 	/**
@@ -69,32 +105,71 @@ public class RightsHelper {
 	 * @param userContext The User Context to be used when checking if the object is writable
 	 * @return true if the object allows writing, else false. Returns false in case userContext is null
 	 */
-	public static synchronized boolean hasWritePermission(EObject eObject, IUserContext userContext) {
+	public static boolean hasWritePermission(EObject eObject, IUserContext userContext) {
 		if (userContext != null) {
-			if (!hasParentThatCanHaveDiscipline(eObject)) {
+			IAssignedDiscipline disciplineOwner = getDisciplineOwner(eObject);
+			if (disciplineOwner == null) {
 				// If in the container hierarchy there exists no object with an assignable discipline
 				// We can skip any further checks to the write permission since we cannot obtain a discipline
 				// Note that this may be different than having an assignable discipline parent but no discipline assigned
 				return true;
 			}
 			
-			boolean hasWritePermission = false;
-			String registeredUserInApplication = userContext.getUserName();
-			
-			// the owner of the command is our object we work on
-			Discipline disc = getDiscipline(eObject);
-			if (disc != null) {
-				String userAssignedToDispline = disc.getUser();
-				if (!userAssignedToDispline.isEmpty()) {
-					hasWritePermission = userAssignedToDispline.equals(registeredUserInApplication);
-				}	
+			PermissionCache cache = PERMISSION_CACHE.get();
+			if (cache == null) {
+				return hasWritePermission(disciplineOwner, userContext);
 			}
 			
-			return hasWritePermission || userContext.isSuperUser();
+			Map<IAssignedDiscipline, Boolean> permissions = cache.permissions.computeIfAbsent(userContext, key -> new IdentityHashMap<>());
+			return permissions.computeIfAbsent(disciplineOwner, key -> hasWritePermission(key, userContext));
 		}
 		// False in case there is no suer context
 		return false;
 	}
+	
+	/**
+	 * This method checks the write access on an object that can have a discipline
+	 * @param disciplineOwner the object with the discipline
+	 * @param userContext The User Context to be used when checking if the object is writable
+	 * @return true if the object allows writing, else false
+	 */
+	private static boolean hasWritePermission(IAssignedDiscipline disciplineOwner, IUserContext userContext) {
+		boolean hasWritePermission = false;
+		String registeredUserInApplication = userContext.getUserName();
+		
+		// the owner of the command is our object we work on
+		Discipline disc = disciplineOwner.getAssignedDiscipline();
+		if (disc != null) {
+			String userAssignedToDispline = disc.getUser();
+			if (!userAssignedToDispline.isEmpty()) {
+				hasWritePermission = userAssignedToDispline.equals(registeredUserInApplication);
+			}	
+		}
+		
+		return hasWritePermission || userContext.isSuperUser();
+	}
+	
+	/**
+	 * This method filters the objects with write access. The write permission is
+	 * computed only once for all objects that share the same assigned discipline.
+	 * @param eObjects the objects to check
+	 * @param userContext The User Context to be used when checking if the objects are writable
+	 * @return the writable objects in the order of the given collection. Empty in case userContext is null
+	 */
+	public static List<EObject> filterWritable(Collection<? extends EObject> eObjects, IUserContext userContext) {
+		List<EObject> writableObjects = new ArrayList<>();
+		beginPermissionCache();
+		try {
+			for (EObject eObject : eObjects) {
+				if (hasWritePermission(eObject, userContext)) {
+					writableObjects.add(eObject);
+				}
+			}
+		} finally {
+			endPermissionCache();
+		}
+		return writableObjects;
+	}
 
 	/**
 	 * This method is intended for checking write access in single user mode.
@@ -24,6 +24,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -33,7 +34,10 @@ import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -320,6 +324,39 @@ public class VirSatTransactionalEditingDomainTest extends AProjectTestCase {
 		editingDomain.saveResource(rmResource);
 		assertFalse("All resources are saved, therefore the editing domain is not dirty", editingDomain.isDirty());
 	}
+	
+	@Test
+	public void testTakeUncommittedResources() throws CoreException {
+		Resource rmResource = rs.getRoleManagementResource();
+		IFile rmFile = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(rmResource.getURI().toPlatformString(true)));
+		
+		assertNull("Changes are not known before the first commit", editingDomain.takeUncommittedResources());
+		assertTrue("Nothing changed since the first commit", editingDomain.takeUncommittedResources().isEmpty());
+		
+		RoleManagement rm = rs.getRoleManagement();
+		Discipline discipline = RolesFactory.eINSTANCE.createDiscipline();
+		Command cmd = AddCommand.create(editingDomain, rm, RolesPackage.Literals.ROLE_MANAGEMENT__DISCIPLINES, discipline);
+		editingDomain.getCommandStack().execute(cmd);
+		editingDomain.saveResource(rmResource);
+		
+		Set<IResource> uncommittedResources = editingDomain.takeUncommittedResources();
+		assertThat("The saved resource is not committed yet", uncommittedResources, hasItem(rmFile));
+		assertTrue("The resources have been taken for a commit", editingDomain.takeUncommittedResources().isEmpty());
+		
+		editingDomain.restoreUncommittedResources(uncommittedResources);
+		assertEquals("The resources of a failed commit are handed back", uncommittedResources, editingDomain.takeUncommittedResources());
+		
+		// Files which are not saved through the editing domain are tracked as well
+		IFile documentFile = testProject.getFile("document.txt");
+		documentFile.create(new ByteArrayInputStream("test".getBytes()), true, null);
+		assertThat("The added file is not committed yet", editingDomain.takeUncommittedResources(), hasItem(documentFile));
+		
+		documentFile.delete(true, null);
+		assertThat("The removed file is not committed yet", editingDomain.takeUncommittedResources(), hasItem(documentFile));
+		
+		editingDomain.restoreUncommittedResources(null);
+		assertNull("Changes are not known after a failed commit of the whole project", editingDomain.takeUncommittedResources());
+	}
 
 	@Test
 	public void testAddResourceEventListener() {
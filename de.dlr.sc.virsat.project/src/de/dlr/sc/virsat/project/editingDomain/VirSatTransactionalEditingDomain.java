@@ -25,14 +25,19 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.core.commands.operations.IOperationHistoryListener;
 import org.eclipse.core.commands.operations.OperationHistoryEvent;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.common.util.URI;
@@ -108,6 +113,7 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 		// Make sure we are correctly handling resource changes from the workspace
 		//ResourcesPlugin.getWorkspace().addResourceChangeListener(new VirSatDebugResourceChangeListener());
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(initWorkSpaceChangeListener());
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(uncommittedResourcesListener, IResourceChangeEvent.POST_CHANGE);
 		
 		// Attach the listener so that we see which resources are affected by commands
 		// The information is needed to set the dirty flags for the resources
@@ -120,6 +126,8 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 	private VirSatResourceSet virSatResourceSet;
 	protected Set<URI> recentlyChangedResource = Collections.synchronizedSet(new HashSet<URI>());
 	private Map<Resource, Boolean> isResourceDirty = new ConcurrentHashMap<Resource, Boolean>();
+	private Set<IResource> uncommittedResources = new HashSet<>();
+	private boolean isTrackingUncommittedResources = false;
 
 	/**
 	 * a little helper method to print the recently saved resource to the console 
@@ -568,6 +576,79 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 		
 		// Call the VirSatResourceSet so we are sure it uses our correct Save Settings
 		virSatResourceSet.saveResource(resource, this, overrideWritePermissions);
+		
+		// Remember the file so that a commit can stage it without scanning the whole project
+		IFile file = ResourcesPlugin.getWorkspace().getRoot().getFile(new Path(resource.getURI().toPlatformString(true)));
+		synchronized (uncommittedResources) {
+			uncommittedResources.add(file);
+		}
+	}
+	
+	/**
+	 * Listener remembering all files of the project which have been added, changed or removed in the workspace.
+	 * This covers files which are not saved through this editing domain, such as documents attached to the model.
+	 */
+	private final IResourceChangeListener uncommittedResourcesListener = new IResourceChangeListener() {
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			IResourceDelta projectDelta = event.getDelta().findMember(getResourceSet().getProject().getFullPath());
+			if (projectDelta == null) {
+				return;
+			}
+			
+			Set<IResource> changedFiles = new HashSet<>();
+			try {
+				projectDelta.accept((delta) -> {
+					IResource resource = delta.getResource();
+					if (resource.isTeamPrivateMember() || resource.isDerived()) {
+						return false;
+					}
+					boolean isContentChanged = delta.getKind() != IResourceDelta.CHANGED || (delta.getFlags() & IResourceDelta.CONTENT) != 0;
+					if (resource.getType() == IResource.FILE && isContentChanged) {
+						changedFiles.add(resource);
+					}
+					return true;
+				});
+			} catch (CoreException e) {
+				Activator.getDefault().getLog().log(new Status(Status.ERROR, Activator.getPluginId(), "VirSatTransactionalEditingDomain: Failed to track the changed files", e));
+			}
+			
+			synchronized (uncommittedResources) {
+				uncommittedResources.addAll(changedFiles);
+			}
+		}
+	};
+	
+	/**
+	 * Use this method to take the workspace resources which have been added, changed or removed in the project
+	 * since the last commit, so that they can be committed. The changes are only known after a commit of the whole
+	 * project, since changes from before the editing domain has been created are not tracked. Changes happening after
+	 * this call are remembered for the next commit. In case the commit fails, the taken resources have to be handed back
+	 * with {@link #restoreUncommittedResources(Collection)}.
+	 * @return the uncommitted resources or null in case they are not known and the whole project has to be committed
+	 */
+	public Set<IResource> takeUncommittedResources() {
+		synchronized (uncommittedResources) {
+			boolean wasTracking = isTrackingUncommittedResources;
+			Set<IResource> takenResources = new HashSet<>(uncommittedResources);
+			uncommittedResources.clear();
+			isTrackingUncommittedResources = true;
+			return wasTracking ? takenResources : null;
+		}
+	}
+	
+	/**
+	 * Use this method to hand back resources taken with {@link #takeUncommittedResources()} which could not be committed
+	 * @param resources the resources which are still uncommitted or null in case the whole project has to be committed
+	 */
+	public void restoreUncommittedResources(Collection<IResource> resources) {
+		synchronized (uncommittedResources) {
+			if (resources == null) {
+				isTrackingUncommittedResources = false;
+			} else {
+				uncommittedResources.addAll(resources);
+			}
+		}
 	}
 	
 	/**
@@ -970,6 +1051,7 @@ public class VirSatTransactionalEditingDomain extends TransactionalEditingDomain
 			
 			((IWorkspaceCommandStack) commandStack).getOperationHistory().removeOperationHistoryListener(historyListener);
 			ResourcesPlugin.getWorkspace().removeResourceChangeListener(initWorkSpaceChangeListener());
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(uncommittedResourcesListener);
 			
 			// Remove all resources from the dirty state
 			getResourceSet().getResources().forEach((res) -> {
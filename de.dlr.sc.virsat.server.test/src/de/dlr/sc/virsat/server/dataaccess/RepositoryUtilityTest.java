@@ -12,6 +12,9 @@ package de.dlr.sc.virsat.server.dataaccess;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
 import org.junit.Before;
 import org.junit.Test;
@@ -43,6 +46,9 @@ public class RepositoryUtilityTest extends AProjectTestCase {
 	private StringProperty testProperty;
 	private ValuePropertyInstance testPropertyInstance;
 	private Discipline testDiscipline;
+	
+	private static final int ROOT_SEIS = 50;
+	private static final int CHILDREN_PER_ROOT_SEI = 99;
 
 	@Before
 	public void setUp() throws CoreException {
@@ -135,4 +141,42 @@ public class RepositoryUtilityTest extends AProjectTestCase {
 		assertEquals(testPropertyInstance, property);
 	}
 
+	@Test
+	public void testFindObjectByIdUpdatesIndex() throws CoreException {
+		StructuralElementInstance newSei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		newSei.setType(testSe);
+		String uuid = newSei.getUuid().toString();
+		assertNull("Sei not yet part of the repository", RepositoryUtility.findObjectById(uuid, repository));
+		
+		testSei.getChildren().add(newSei);
+		assertEquals("Added sei is found", newSei, RepositoryUtility.findSei(uuid, repository));
+		
+		testSei.getChildren().remove(newSei);
+		assertNull("Removed sei is not found anymore", RepositoryUtility.findSei(uuid, repository));
+	}
+	
+	@Test
+	public void testFindObjectByIdLargeRepository() throws CoreException {
+		List<StructuralElementInstance> seis = new ArrayList<>();
+		for (int i = 0; i < ROOT_SEIS; i++) {
+			StructuralElementInstance rootSei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+			rootSei.setType(testSe);
+			seis.add(rootSei);
+			for (int j = 0; j < CHILDREN_PER_ROOT_SEI; j++) {
+				StructuralElementInstance childSei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+				childSei.setType(testSe);
+				rootSei.getChildren().add(childSei);
+				seis.add(childSei);
+			}
+			repository.getRootEntities().add(rootSei);
+		}
+		
+		// Every sei is served by the index, so no lookup has to fall back to traversing the tree
+		RepositoryUuidIndex index = RepositoryUuidIndex.getIndex(repository);
+		for (StructuralElementInstance expectedSei : seis) {
+			String uuid = expectedSei.getUuid().toString();
+			assertEquals("Sei is indexed", expectedSei, index.get(uuid));
+			assertEquals("Sei is found", expectedSei, RepositoryUtility.findSei(uuid, repository));
+		}
+	}
 }
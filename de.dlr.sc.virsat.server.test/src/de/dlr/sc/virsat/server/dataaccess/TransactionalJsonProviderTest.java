@@ -12,17 +12,22 @@ package de.dlr.sc.virsat.server.dataaccess;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.annotation.Annotation;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
@@ -33,9 +38,12 @@ import javax.xml.bind.JAXBException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.common.command.Command;
 import org.eclipse.emf.edit.command.AddCommand;
+import org.eclipse.emf.transaction.RecordingCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.NoHeadException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.junit.After;
 import org.junit.Before;
@@ -44,6 +52,7 @@ import org.junit.Test;
 import de.dlr.sc.virsat.model.concept.types.property.BeanPropertyInt;
 import de.dlr.sc.virsat.model.concept.types.structural.BeanStructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.DVLMPackage;
+import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
 import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElement;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
@@ -60,6 +69,10 @@ public class TransactionalJsonProviderTest extends AServerRepositoryTest {
 	private Set<Class<?>> beanClass = new HashSet<>();
 	private MediaType mediaType;
 	private String testString = "test";
+	
+	private static final int REPEATED_REQUESTS = 1000;
+	private static final int REPEATED_WRITES = 100;
+	private static final int MAX_COMBINED_COMMITS = 5;
 
 	@Before
 	public void setUp() throws Exception {
@@ -154,7 +167,7 @@ public class TransactionalJsonProviderTest extends AServerRepositoryTest {
 	// Test the unmarshalling
 	@SuppressWarnings("unchecked")
 	@Test
-	public void testReadFrom() throws WebApplicationException, IOException, NoHeadException, GitAPIException, InterruptedException {
+	public void testReadFrom() throws WebApplicationException, IOException, NoHeadException, GitAPIException, InterruptedException, ExecutionException {
 
 		int initialCommits = countCommits();
 		
@@ -164,6 +177,7 @@ public class TransactionalJsonProviderTest extends AServerRepositoryTest {
 		StringBuffer buf = new StringBuffer(output);
 		InputStream entityStream = new ByteArrayInputStream(buf.toString().getBytes());
 		provider.readFrom((Class<Object>) type, type, null, mediaType, null, entityStream);
+		testServerRepository.waitForRequestedSync();
 		
 		assertEquals(testString, testBean.getName());
 		assertEquals("No new commit", initialCommits, countCommits());
@@ -176,8 +190,82 @@ public class TransactionalJsonProviderTest extends AServerRepositoryTest {
 		provider.readFrom((Class<Object>) type, type, null, mediaType, null, entityStream);
 		
 		assertEquals(newValue, testBean.getName());
+		testServerRepository.waitForRequestedSync();
 		assertEquals("One new commit", initialCommits + 1, countCommits());
 	}
+	
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testReadFromCombinesSyncs() throws WebApplicationException, IOException, GitAPIException, InterruptedException, ExecutionException {
+		int initialCommits = countCommits();
+		String output = writeToAndAssert();
+		
+		String lastValue = null;
+		for (int i = 0; i < REPEATED_WRITES; i++) {
+			lastValue = testString + "_" + i;
+			String changedOutput = output.replace("\"" + testString + "\"", "\"" + lastValue + "\"");
+			InputStream entityStream = new ByteArrayInputStream(changedOutput.getBytes());
+			provider.readFrom((Class<Object>) type, type, null, mediaType, null, entityStream);
+		}
+		assertEquals(lastValue, testBean.getName());
+		
+		testServerRepository.waitForRequestedSync();
+		
+		int newCommits = countCommits() - initialCommits;
+		assertTrue("Changes got synced", newCommits > 0);
+		assertTrue("Changes got combined into a few commits", newCommits <= MAX_COMBINED_COMMITS);
+		
+		// All changes have been committed and pushed
+		try (Git localGit = Git.open(testServerRepository.getLocalRepositoryPath());
+			Git remoteGit = Git.open(pathRepoRemote.toFile())) {
+			assertTrue("No uncommitted changes left", localGit.status().call().isClean());
+			assertEquals("Remote is up to date", localGit.getRepository().resolve(Constants.HEAD), remoteGit.getRepository().resolve(Constants.HEAD));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testReadFromAfterFailedSync() throws WebApplicationException, IOException, InterruptedException {
+		String output = writeToAndAssert();
+		
+		// Let the sync fail by pointing the local repository to a remote that does not exist
+		String remoteUrl;
+		try (Git localGit = Git.open(testServerRepository.getLocalRepositoryPath())) {
+			StoredConfig config = localGit.getRepository().getConfig();
+			remoteUrl = config.getString("remote", "origin", "url");
+			config.setString("remote", "origin", "url", pathRepoRemote.resolve("missing").toUri().toString());
+			config.save();
+		}
+		
+		String failedValue = testString + "_failed";
+		InputStream entityStream = new ByteArrayInputStream(output.replace(""" + testString + """, """ + failedValue + """).getBytes());
+		provider.readFrom((Class<Object>) type, type, null, mediaType, null, entityStream);
+		try {
+			testServerRepository.waitForRequestedSync();
+			fail("Sync to a missing remote fails");
+		} catch (ExecutionException e) {
+			assertNotNull("Failure of the sync is kept", testServerRepository.getSyncFailure());
+		}
+		
+		// The failure of the previous sync is not reported to the next write
+		try (Git localGit = Git.open(testServerRepository.getLocalRepositoryPath())) {
+			StoredConfig config = localGit.getRepository().getConfig();
+			config.setString("remote", "origin", "url", remoteUrl);
+			config.save();
+		}
+		
+		String newValue = testString + "_new";
+		entityStream = new ByteArrayInputStream(output.replace(""" + testString + """, """ + newValue + """).getBytes());
+		provider.readFrom((Class<Object>) type, type, null, mediaType, null, entityStream);
+		assertEquals(newValue, testBean.getName());
+		
+		try {
+			testServerRepository.waitForRequestedSync();
+		} catch (ExecutionException e) {
+			fail("Sync succeeds again once the remote is available");
+		}
+		assertNull("Successful sync clears the failure", testServerRepository.getSyncFailure());
+	}
 
 	@Test
 	public void testGetJAXBContext() throws JAXBException {
@@ -192,4 +280,44 @@ public class TransactionalJsonProviderTest extends AServerRepositoryTest {
 		assertNotSame("New context because the classes to register changed", context, context3);
 	}
 
+	@Test
+	public void testGetJAXBContextCachedPerRepository() throws WebApplicationException, IOException {
+		AtomicInteger createdContexts = new AtomicInteger();
+		provider = new TransactionalJsonProvider() {
+			@Override
+			protected JAXBContext createJAXBContext(Set<Class<?>> domainClasses, Annotation[] annotations, MediaType mediaType,
+					MultivaluedMap<String, ?> httpHeaders) throws JAXBException {
+				createdContexts.incrementAndGet();
+				return super.createJAXBContext(domainClasses, annotations, mediaType, httpHeaders);
+			}
+		};
+		provider.setServerRepository(testServerRepository);
+		
+		for (int i = 0; i < REPEATED_REQUESTS; i++) {
+			writeToAndAssert();
+		}
+		assertEquals("Context got created only once", 1, createdContexts.get());
+		
+		// Activating a concept invalidates the cache
+		VirSatTransactionalEditingDomain ed = testServerRepository.getEd();
+		Concept concept = loadConceptFromPlugin("de.dlr.sc.virsat.model.extension.tests");
+		ed.getCommandStack().execute(new RecordingCommand(ed) {
+			@Override
+			protected void doExecute() {
+				ed.getResourceSet().getRepository().getActiveConcepts().add(concept);
+			}
+		});
+		
+		for (int i = 0; i < REPEATED_REQUESTS; i++) {
+			writeToAndAssert();
+		}
+		assertEquals("Context got created again after activating a concept", 2, createdContexts.get());
+		
+		ed.getCommandStack().execute(new RecordingCommand(ed) {
+			@Override
+			protected void doExecute() {
+				ed.getResourceSet().getRepository().getActiveConcepts().remove(concept);
+			}
+		});
+	}
 }
@@ -10,12 +10,19 @@
 package de.dlr.sc.virsat.server.resources;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.xml.bind.JAXBException;
@@ -51,6 +58,7 @@ import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryIntrinsicArray;
 import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryReference;
 import de.dlr.sc.virsat.model.extension.tests.model.TestCategoryReferenceArray;
 import de.dlr.sc.virsat.model.extension.tests.model.TestStructuralElement;
+import de.dlr.sc.virsat.model.extension.tests.model.TestStructuralElementOther;
 import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
 import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
 import de.dlr.sc.virsat.server.servlet.VirSatModelAccessServlet;
@@ -85,6 +93,11 @@ public class ModelAccessResourceTest extends AServerRepositoryTest {
 
 	private static final String TEST_STRING = "testString";
 	
+	private static final String PAGED_SEI_NAME = "pagedSei";
+	private static final int PAGED_SEIS = 10;
+	private static final int PAGE_SIZE = 4;
+	private static final int LARGE_REPOSITORY_SEIS = 10000;
+	
 	@BeforeClass
 	public static void setUpTarget() {
 		webTarget = webTarget
@@ -192,6 +205,118 @@ public class ModelAccessResourceTest extends AServerRepositoryTest {
 		assertTrue("Right Sei found", entity.contains(tSei.getUuid()));
 	}
 	
+	/**
+	 * Adds children with a common name prefix to the test sei
+	 * @param count the number of children to be added
+	 * @param withOtherType if every second child should be of the other structural element type
+	 */
+	private void addPagedChildren(int count, boolean withOtherType) {
+		List<StructuralElementInstance> children = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			StructuralElementInstance child = withOtherType && i % 2 == 1
+					? new TestStructuralElementOther(conceptTest).getStructuralElementInstance()
+					: new TestStructuralElement(conceptTest).getStructuralElementInstance();
+			child.setName(PAGED_SEI_NAME + i);
+			children.add(child);
+		}
+		
+		RecordingCommand recordingCommand = new RecordingCommand(ed) {
+			@Override
+			protected void doExecute() {
+				sei.getChildren().addAll(children);
+			}
+		};
+		ed.getCommandStack().execute(recordingCommand);
+	}
+	
+	/**
+	 * Requests the sei list with the given query parameters
+	 * @param offset the offset of the page
+	 * @param limit the size of the page
+	 * @param type the type of the seis or null
+	 * @param depth the depth of the listing
+	 * @return the response
+	 */
+	private Response getSeis(int offset, int limit, String type, int depth) {
+		return webTarget
+				.path(ModelAccessResource.ROOT_SEIS)
+				.queryParam(ModelAccessResource.QP_OFFSET, offset)
+				.queryParam(ModelAccessResource.QP_LIMIT, limit)
+				.queryParam(ModelAccessResource.QP_TYPE, type)
+				.queryParam(ModelAccessResource.QP_DEPTH, depth)
+				.request()
+				.get();
+	}
+	
+	/**
+	 * Counts the listed seis that have been added as paged children
+	 * @param entity the json list
+	 * @return the number of paged children in the list
+	 */
+	private int countPagedSeis(String entity) {
+		return entity.split(PAGED_SEI_NAME, -1).length - 1;
+	}
+	
+	@Test
+	public void testRootSeisGetPaged() {
+		addPagedChildren(PAGED_SEIS, false);
+		
+		// Without depth only the root sei is listed
+		String entity = getSeis(0, -1, null, 0).readEntity(String.class);
+		assertTrue("Root sei listed", entity.contains(tSei.getUuid()));
+		assertEquals("No children listed", 0, countPagedSeis(entity));
+		
+		// The root sei is the first element, so the first page contains one child less
+		entity = getSeis(0, PAGE_SIZE, null, 1).readEntity(String.class);
+		assertEquals("First page", PAGE_SIZE - 1, countPagedSeis(entity));
+		
+		entity = getSeis(1, PAGE_SIZE, null, 1).readEntity(String.class);
+		assertEquals("Full page of children", PAGE_SIZE, countPagedSeis(entity));
+		assertTrue("Page starts with first child", entity.contains(PAGED_SEI_NAME + 0));
+		assertTrue("Page ends with the last child of the page", entity.contains(PAGED_SEI_NAME + (PAGE_SIZE - 1)));
+		
+		entity = getSeis(PAGED_SEIS + 1 - PAGE_SIZE / 2, PAGE_SIZE, null, 1).readEntity(String.class);
+		assertEquals("Last page only partially filled", PAGE_SIZE / 2, countPagedSeis(entity));
+		
+		Response response = getSeis(PAGED_SEIS + 1, PAGE_SIZE, null, 1);
+		assertEquals(HttpStatus.OK_200, response.getStatus());
+		assertEquals("Page behind the last sei is empty", "[]", response.readEntity(String.class));
+		
+		entity = getSeis(0, -1, null, -1).readEntity(String.class);
+		assertEquals("All seis listed", PAGED_SEIS, countPagedSeis(entity));
+		
+		assertEquals(HttpStatus.BAD_REQUEST_400, getSeis(-1, PAGE_SIZE, null, 1).getStatus());
+		assertEquals(HttpStatus.BAD_REQUEST_400, getSeis(0, -2, null, 1).getStatus());
+	}
+	
+	@Test
+	public void testRootSeisGetFilteredByType() {
+		addPagedChildren(PAGED_SEIS, true);
+		
+		String entity = getSeis(0, -1, TestStructuralElementOther.FULL_QUALIFIED_STRUCTURAL_ELEMENT_NAME, -1).readEntity(String.class);
+		assertEquals("Only seis of the other type listed", PAGED_SEIS / 2, countPagedSeis(entity));
+		assertTrue(entity.contains(PAGED_SEI_NAME + 1));
+		assertFalse(entity.contains(PAGED_SEI_NAME + 0));
+		
+		entity = getSeis(1, 1, TestStructuralElementOther.FULL_QUALIFIED_STRUCTURAL_ELEMENT_NAME, -1).readEntity(String.class);
+		assertEquals("Paging applies to the filtered seis", 1, countPagedSeis(entity));
+		assertTrue(entity.contains(PAGED_SEI_NAME + "3"));
+	}
+	
+	@Test
+	public void testRootSeisGetLargeRepository() {
+		addPagedChildren(LARGE_REPOSITORY_SEIS, false);
+		
+		Response response = getSeis(0, -1, null, -1);
+		assertEquals(HttpStatus.OK_200, response.getStatus());
+		assertNull("Response is streamed without knowing its length in advance", response.getHeaderString(HttpHeaders.CONTENT_LENGTH));
+		assertEquals("All seis listed", LARGE_REPOSITORY_SEIS, countPagedSeis(response.readEntity(String.class)));
+		
+		String entity = getSeis(LARGE_REPOSITORY_SEIS, PAGE_SIZE, null, -1).readEntity(String.class);
+		assertEquals("Last page", 1, countPagedSeis(entity));
+		assertTrue(entity.contains(PAGED_SEI_NAME + (LARGE_REPOSITORY_SEIS - 1)));
+	}
+	
 	/**
 	 * Get a testSubject at a path from the server
 	 * Then marshall it manually via the JAXBUtility using the classes
@@ -331,6 +456,52 @@ public class ModelAccessResourceTest extends AServerRepositoryTest {
 		testGetCa(tcReferenceArray);
 	}
 	
+	/**
+	 * Get the test ca conditionally
+	 * @param entityTag the entity tag of the last response or null
+	 * @return the response
+	 */
+	private Response getCaConditionally(EntityTag entityTag) {
+		return webTarget
+				.path(ModelAccessResource.CA)
+				.path(tcAllProperty.getUuid())
+				.request()
+				.header(HttpHeaders.IF_NONE_MATCH, entityTag)
+				.get();
+	}
+	
+	@Test
+	public void testCaGetNotModified() {
+		Response response = getCaConditionally(null);
+		assertEquals(HttpStatus.OK_200, response.getStatus());
+		EntityTag entityTag = response.getEntityTag();
+		assertNotNull("Response is tagged", entityTag);
+		
+		response = getCaConditionally(entityTag);
+		assertEquals("Unchanged model is not sent again", HttpStatus.NOT_MODIFIED_304, response.getStatus());
+		assertEquals(entityTag, response.getEntityTag());
+	}
+	
+	@Test
+	public void testCaGetModified() {
+		Response response = getCaConditionally(null);
+		assertEquals(HttpStatus.OK_200, response.getStatus());
+		EntityTag entityTag = response.getEntityTag();
+		
+		RecordingCommand recordingCommand = new RecordingCommand(ed) {
+			@Override
+			protected void doExecute() {
+				tcAllProperty.setTestString(TEST_STRING);
+			}
+		};
+		ed.getCommandStack().execute(recordingCommand);
+		
+		response = getCaConditionally(entityTag);
+		assertEquals("Changed model is sent again", HttpStatus.OK_200, response.getStatus());
+		assertNotEquals("Tag changed with the model", entityTag, response.getEntityTag());
+		assertTrue(response.readEntity(String.class).contains(TEST_STRING));
+	}
+	
 	/*
 	 * Test PUT various elements
 	 */
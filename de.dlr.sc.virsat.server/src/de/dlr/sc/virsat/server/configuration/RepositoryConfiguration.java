@@ -31,6 +31,13 @@ public class RepositoryConfiguration {
 	public static final String REMOTE_URL_KEY = "repository.remoteURI";
 	public static final String FUNCTIONAL_ACCOUNT_NAME_KEY = "repository.credentials.username";
 	public static final String FUNCTIONAL_ACCOUNT_PASSWORD_KEY = "repository.credentials.password";
+	public static final String SYNC_QUIET_PERIOD_KEY = "repository.sync.quietPeriod";
+	public static final String SYNC_MAX_DELAY_KEY = "repository.sync.maxDelay";
+	
+	// Time in milliseconds without further changes before changes get synchronized with the remote
+	public static final long DEFAULT_SYNC_QUIET_PERIOD = 1000;
+	// Maximum time in milliseconds a change waits for its synchronization, even if further changes keep coming in
+	public static final long DEFAULT_SYNC_MAX_DELAY = 10000;
 	
 	public RepositoryConfiguration() { }
 	
@@ -138,6 +145,41 @@ public class RepositoryConfiguration {
 		properties.setProperty(LOCAL_PATH_KEY, localPath);
 	}
 
+	/**
+	 * Gets the time in milliseconds the repository waits for further changes,
+	 * before it synchronizes the collected changes with the remote repository
+	 * @return the quiet period in milliseconds
+	 */
+	public long getSyncQuietPeriod() {
+		String syncQuietPeriod = properties.getProperty(SYNC_QUIET_PERIOD_KEY);
+		if (syncQuietPeriod == null || syncQuietPeriod.isEmpty()) {
+			return DEFAULT_SYNC_QUIET_PERIOD;
+		}
+		return Long.parseLong(syncQuietPeriod);
+	}
+
+	public void setSyncQuietPeriod(long syncQuietPeriod) {
+		properties.setProperty(SYNC_QUIET_PERIOD_KEY, Long.toString(syncQuietPeriod));
+	}
+
+	/**
+	 * Gets the maximum time in milliseconds a change waits for being synchronized with the
+	 * remote repository. Once it has passed, the sync is executed even if the quiet period
+	 * keeps getting extended by further changes.
+	 * @return the maximum delay in milliseconds
+	 */
+	public long getSyncMaxDelay() {
+		String syncMaxDelay = properties.getProperty(SYNC_MAX_DELAY_KEY);
+		if (syncMaxDelay == null || syncMaxDelay.isEmpty()) {
+			return DEFAULT_SYNC_MAX_DELAY;
+		}
+		return Long.parseLong(syncMaxDelay);
+	}
+
+	public void setSyncMaxDelay(long syncMaxDelay) {
+		properties.setProperty(SYNC_MAX_DELAY_KEY, Long.toString(syncMaxDelay));
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
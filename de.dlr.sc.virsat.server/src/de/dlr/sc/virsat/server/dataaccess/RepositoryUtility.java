@@ -54,6 +54,20 @@ public class RepositoryUtility {
 		
 	}
 	
+	/**
+	 * Resolves an object through the uuid index of the repository
+	 * @param uuid the uuid of the object
+	 * @param repository the repository to search
+	 * @return the indexed object or null if it is not indexed
+	 */
+	private static IUuid findIndexedObject(String uuid, Repository repository) {
+		RepositoryUuidIndex index = RepositoryUuidIndex.getIndex(repository);
+		if (index != null) {
+			return index.get(uuid);
+		}
+		return null;
+	}
+	
 	/**
 	 * Finds a sei instance by it's uuid
 	 * @param uuid the seis uuid
@@ -61,7 +75,12 @@ public class RepositoryUtility {
 	 * @throws CoreException
 	 */
 	public static StructuralElementInstance findSei(String uuid, Repository repository) throws CoreException {
+		IUuid indexedObject = findIndexedObject(uuid, repository);
+		if (indexedObject instanceof StructuralElementInstance) {
+			return (StructuralElementInstance) indexedObject;
+		}
 		
+		// Fall back to searching the tree, e.g. in case the sei is not yet loaded
 		List<StructuralElementInstance> match = new ArrayList<StructuralElementInstance>(); 
 		
 		TreeTraverser<IUuid> traverser = new TreeTraverser<IUuid>();
@@ -86,12 +105,19 @@ public class RepositoryUtility {
 	}
 	
 	/**
-	 * Iterates over all seis in the repository and matches the uuid on eobject level
+	 * Finds an object by it's uuid. The object is looked up in the uuid index of the repository.
+	 * If it is not indexed, all seis in the repository are iterated and the uuid is matched on eobject level
 	 * @param uuid
 	 * @param repository
 	 * @return
 	 */
 	public static IUuid findObjectById(String uuid, Repository repository) {
+		IUuid indexedObject = findIndexedObject(uuid, repository);
+		if (indexedObject != null) {
+			return indexedObject;
+		}
+		
+		// Fall back to searching the tree, e.g. in case the object is not yet loaded
 		List<IUuid> match = new ArrayList<IUuid>(); 
 		
 		TreeTraverser<IUuid> traverser = new TreeTraverser<IUuid>();
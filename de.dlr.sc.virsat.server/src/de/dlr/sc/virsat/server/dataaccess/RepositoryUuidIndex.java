@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.server.dataaccess;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+import de.dlr.sc.virsat.model.dvlm.Repository;
+import de.dlr.sc.virsat.model.dvlm.general.IUuid;
+import de.dlr.sc.virsat.model.dvlm.types.impl.VirSatUuid;
+
+/**
+ * Index of all objects with a uuid within the resource set of a repository.
+ * The index is attached as content adapter to the resource set and updates itself
+ * whenever objects are added, removed, loaded or unloaded or their uuid changes.
+ */
+public class RepositoryUuidIndex extends EContentAdapter {
+
+	private Map<String, IUuid> mapUuidToObject = new ConcurrentHashMap<>();
+
+	/**
+	 * Gets the index of the resource set containing the given repository.
+	 * In case there is no index yet, a new one gets attached to the resource set.
+	 * @param repository the repository to get the index for
+	 * @return the index or null in case the repository is not contained in a resource set
+	 */
+	public static RepositoryUuidIndex getIndex(Repository repository) {
+		Resource resource = repository.eResource();
+		if (resource == null || resource.getResourceSet() == null) {
+			return null;
+		}
+
+		ResourceSet resourceSet = resource.getResourceSet();
+		synchronized (resourceSet) {
+			for (Adapter adapter : resourceSet.eAdapters()) {
+				if (adapter instanceof RepositoryUuidIndex) {
+					return (RepositoryUuidIndex) adapter;
+				}
+			}
+
+			RepositoryUuidIndex index = new RepositoryUuidIndex();
+			resourceSet.eAdapters().add(index);
+			return index;
+		}
+	}
+
+	/**
+	 * Resolves an object by its uuid
+	 * @param uuid the uuid of the object
+	 * @return the object or null if there is no loaded object with the given uuid
+	 */
+	public IUuid get(String uuid) {
+		return mapUuidToObject.get(uuid);
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+
+		// Objects get their uuid set after being added to their container while loading a resource
+		Object notifier = notification.getNotifier();
+		Object feature = notification.getFeature();
+		if (notifier instanceof IUuid && feature instanceof EAttribute && ((EAttribute) feature).isID()) {
+			Object oldUuid = notification.getOldValue();
+			if (oldUuid instanceof VirSatUuid) {
+				mapUuidToObject.remove(oldUuid.toString(), notifier);
+			}
+			addToIndex((IUuid) notifier);
+		}
+	}
+
+	@Override
+	protected void setTarget(EObject target) {
+		super.setTarget(target);
+		if (target instanceof IUuid) {
+			addToIndex((IUuid) target);
+		}
+	}
+
+	@Override
+	protected void unsetTarget(EObject target) {
+		super.unsetTarget(target);
+		if (target instanceof IUuid) {
+			VirSatUuid uuid = ((IUuid) target).getUuid();
+			if (uuid != null) {
+				mapUuidToObject.remove(uuid.toString(), target);
+			}
+		}
+	}
+
+	@Override
+	protected boolean resolve() {
+		// Only index what is already loaded, resolving would load the whole project
+		return false;
+	}
+
+	/**
+	 * Adds an object with its current uuid to the index
+	 * @param object the object to be indexed
+	 */
+	private void addToIndex(IUuid object) {
+		VirSatUuid uuid = object.getUuid();
+		if (uuid != null) {
+			mapUuidToObject.put(uuid.toString(), object);
+		}
+	}
+}
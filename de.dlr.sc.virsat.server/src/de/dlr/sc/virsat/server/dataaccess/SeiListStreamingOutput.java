@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.server.dataaccess;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+
+import de.dlr.sc.virsat.commons.exception.AtomicExceptionReference;
+import de.dlr.sc.virsat.model.concept.types.factory.BeanStructuralElementInstanceFactory;
+import de.dlr.sc.virsat.model.concept.types.structural.ABeanStructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+
+/**
+ * Writes a flat json array of sei beans. The seis are visited depth first starting
+ * from the given seis and are wrapped and marshalled one by one, so that neither the
+ * complete model nor a list of beans has to be built. The list can be filtered by the
+ * type of the seis and paged by an offset and a limit. The seis are written in the
+ * same lightweight representation as a list of {@link ABeanStructuralElementInstance}.
+ * The page is marshalled into memory within an exclusive read of the editing domain,
+ * so that concurrent writes can not change it meanwhile. The response is only written
+ * to the client after the editing domain has been released again.
+ */
+public class SeiListStreamingOutput implements StreamingOutput {
+
+	public static final int UNLIMITED = -1;
+
+	private static final byte[] ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] ARRAY_SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+
+	private TransactionalEditingDomain ed;
+	private List<StructuralElementInstance> seis;
+	private Marshaller marshaller;
+	private int offset;
+	private int limit;
+	private String seFullQualifiedName;
+	private int depth;
+
+	private BeanStructuralElementInstanceFactory beanSeiFactory = new BeanStructuralElementInstanceFactory();
+	private int matchedSeis;
+	private int writtenSeis;
+
+	/**
+	 * Constructor for the streaming output
+	 * @param ed the editing domain of the seis
+	 * @param seis the seis to start the listing from
+	 * @param marshaller the marshaller used for writing the single beans
+	 * @param offset the number of matching seis to be skipped
+	 * @param limit the maximum number of seis to be written or {@link #UNLIMITED}
+	 * @param seFullQualifiedName the full qualified name of the structural element the seis have to be typed by or null to list all seis
+	 * @param depth the depth up to which children are listed, 0 for only the given seis or {@link #UNLIMITED}
+	 */
+	public SeiListStreamingOutput(TransactionalEditingDomain ed, List<StructuralElementInstance> seis, Marshaller marshaller,
+			int offset, int limit, String seFullQualifiedName, int depth) {
+		this.ed = ed;
+		this.seis = seis;
+		this.marshaller = marshaller;
+		this.offset = offset;
+		this.limit = limit;
+		this.seFullQualifiedName = seFullQualifiedName;
+		this.depth = depth;
+	}
+
+	@Override
+	public void write(OutputStream output) throws IOException, WebApplicationException {
+		matchedSeis = 0;
+		writtenSeis = 0;
+
+		AtomicExceptionReference<IOException> atomicIoException = new AtomicExceptionReference<>();
+		AtomicExceptionReference<Exception> atomicException = new AtomicExceptionReference<>();
+
+		// Writing to the client may block, so the page is copied before and not written while holding the editing domain
+		ByteArrayOutputStream page = new ByteArrayOutputStream();
+		page.write(ARRAY_START);
+		try {
+			ed.runExclusive(() -> {
+				try {
+					writeSeis(page, seis, 0);
+				} catch (IOException e) {
+					atomicIoException.set(e);
+				} catch (JAXBException | CoreException e) {
+					atomicException.set(e);
+				}
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new WebApplicationException(e);
+		}
+		atomicIoException.throwIfSet();
+		if (atomicException.get() != null) {
+			throw new WebApplicationException(atomicException.get());
+		}
+		page.write(ARRAY_END);
+		
+		page.writeTo(output);
+		output.flush();
+	}
+
+	/**
+	 * Writes the matching seis and descends into their children
+	 * @param output the stream to write to
+	 * @param currentSeis the seis on the current level
+	 * @param currentDepth the depth of the current level
+	 * @throws IOException
+	 * @throws JAXBException
+	 * @throws CoreException
+	 */
+	private void writeSeis(OutputStream output, List<StructuralElementInstance> currentSeis, int currentDepth) throws IOException, JAXBException, CoreException {
+		for (StructuralElementInstance sei : currentSeis) {
+			if (isLimitReached()) {
+				return;
+			}
+
+			if (isMatchingType(sei)) {
+				if (matchedSeis >= offset) {
+					writeSei(output, sei);
+				}
+				matchedSeis++;
+			}
+
+			if (depth == UNLIMITED || currentDepth < depth) {
+				writeSeis(output, sei.getChildren(), currentDepth + 1);
+			}
+		}
+	}
+
+	/**
+	 * Wraps a sei into its bean and writes it as element of the array
+	 * @param output the stream to write to
+	 * @param sei the sei to be written
+	 * @throws IOException
+	 * @throws JAXBException
+	 * @throws CoreException
+	 */
+	private void writeSei(OutputStream output, StructuralElementInstance sei) throws IOException, JAXBException, CoreException {
+		if (writtenSeis > 0) {
+			output.write(ARRAY_SEPARATOR);
+		}
+
+		ABeanStructuralElementInstance beanSei = (ABeanStructuralElementInstance) beanSeiFactory.getInstanceFor(sei);
+
+		// The beans are not annotated as root elements, so they get wrapped the same way the json provider
+		// wraps the elements of a list. Declaring the abstract bean type keeps the lightweight list representation.
+		marshaller.marshal(new JAXBElement<>(new QName(""), ABeanStructuralElementInstance.class, beanSei), output);
+		writtenSeis++;
+	}
+
+	/**
+	 * Checks if the sei is of the requested type
+	 * @param sei the sei to check
+	 * @return true if no type is requested or the sei is typed by the requested structural element
+	 */
+	private boolean isMatchingType(StructuralElementInstance sei) {
+		return seFullQualifiedName == null || seFullQualifiedName.equals(sei.getType().getFullQualifiedName());
+	}
+
+	private boolean isLimitReached() {
+		return limit != UNLIMITED && writtenSeis >= limit;
+	}
+}
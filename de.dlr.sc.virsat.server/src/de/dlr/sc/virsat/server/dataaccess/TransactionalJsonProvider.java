@@ -20,6 +20,8 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
@@ -38,6 +40,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.transaction.RecordingCommand;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.persistence.jaxb.MarshallerProperties;
 import org.eclipse.persistence.jaxb.rs.MOXyJsonProvider;
 
 import de.dlr.sc.virsat.commons.exception.AtomicExceptionReference;
@@ -45,6 +48,7 @@ import de.dlr.sc.virsat.model.concept.types.category.IBeanCategoryAssignment;
 import de.dlr.sc.virsat.model.concept.types.factory.BeanCategoryAssignmentFactory;
 import de.dlr.sc.virsat.model.concept.types.factory.BeanStructuralElementInstanceFactory;
 import de.dlr.sc.virsat.model.concept.types.structural.IBeanStructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.categories.Category;
 import de.dlr.sc.virsat.model.dvlm.concepts.Concept;
 import de.dlr.sc.virsat.model.dvlm.json.ABeanObjectAdapter;
@@ -66,6 +70,9 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 	private VirSatTransactionalEditingDomain ed;
 	private VirSatResourceSet resourceSet;
 	
+	// The registered classes and contexts per repository, accessed by concurrent requests
+	private final ConcurrentMap<Repository, RepositoryContextCache> mapRepositoryToContextCache = new ConcurrentHashMap<>();
+	
 	private static final Set<Class<?>> LIST_CLASSES = new HashSet<Class<?>>(
 			Arrays.asList(
 				IUuidAdapter.class,
@@ -84,15 +91,67 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 	}
 
 	/**
-	 * Get all category assignment classes that are present in the current concepts
+	 * Caches the bean classes that have to be registered for a repository together
+	 * with the JAXBContext created for them. The cache is only valid for the list of
+	 * active concepts it has been created for.
+	 */
+	private static class RepositoryContextCache {
+		
+		private final List<Concept> activeConcepts;
+		private Set<Class<?>> contextClasses;
+		private JAXBContext context;
+		
+		/**
+		 * Constructor for a new cache entry
+		 * @param activeConcepts the active concepts of the repository when creating the cache
+		 * @param classesToRegister the bean classes of the active concepts
+		 */
+		RepositoryContextCache(List<Concept> activeConcepts, Set<Class<?>> classesToRegister) {
+			this.activeConcepts = activeConcepts;
+			this.contextClasses = new HashSet<>(classesToRegister);
+		}
+		
+		/**
+		 * Checks if the cache has been created for the given active concepts
+		 * @param currentActiveConcepts the current active concepts of the repository
+		 * @return true if the cache can still be used
+		 */
+		boolean isValidFor(List<Concept> currentActiveConcepts) {
+			return activeConcepts.equals(currentActiveConcepts);
+		}
+	}
+	
+	/**
+	 * Gets the cached classes and context for the current repository. In case the
+	 * active concepts of the repository changed, the cache gets rebuilt. The lookup and
+	 * the rebuild happen atomically, so concurrent requests share the same cache entry.
+	 * @return the cache for the current repository
+	 */
+	private RepositoryContextCache getContextCache() {
+		Repository repository = resourceSet.getRepository();
+		List<Concept> activeConcepts = new ArrayList<>(repository.getActiveConcepts());
+		
+		RepositoryContextCache contextCache = mapRepositoryToContextCache.computeIfAbsent(repository, 
+			key -> new RepositoryContextCache(activeConcepts, getClassesToRegister(activeConcepts)));
+		if (!contextCache.isValidFor(activeConcepts)) {
+			contextCache = mapRepositoryToContextCache.compute(repository, (key, currentCache) -> 
+				currentCache != null && currentCache.isValidFor(activeConcepts) ? currentCache : new RepositoryContextCache(activeConcepts, getClassesToRegister(activeConcepts)));
+		}
+		
+		return contextCache;
+	}
+	
+	/**
+	 * Get all category assignment classes that are present in the given concepts
+	 * @param activeConcepts the concepts to get the classes for
 	 * @return Set<Class<?>> the classes
 	 */
-	private Set<Class<?>> getClassesToRegister() {
+	private Set<Class<?>> getClassesToRegister(List<Concept> activeConcepts) {
 		Set<Class<?>> allCaClasses = new HashSet<>();
 		BeanCategoryAssignmentFactory beanCaFactory = new BeanCategoryAssignmentFactory();
 		BeanStructuralElementInstanceFactory beanSeiFactory = new BeanStructuralElementInstanceFactory();
 		
-		for (Concept concept : resourceSet.getRepository().getActiveConcepts()) {
+		for (Concept concept : activeConcepts) {
 			for (Category category : concept.getNonAbstractCategories()) {
 				try {
 					IBeanCategoryAssignment bean = beanCaFactory.getInstanceFor(category);
@@ -114,6 +173,27 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 		return allCaClasses;
 	}
 	
+	/**
+	 * Creates a json marshaller for the current repository that is configured in the same
+	 * way as the marshaller used by this provider. It can be used to write several beans
+	 * one after another, e.g. when streaming a response.
+	 * @param domainClasses the classes to be marshalled in addition to the concept classes
+	 * @return the marshaller
+	 * @throws JAXBException
+	 */
+	public Marshaller createJsonMarshaller(Set<Class<?>> domainClasses) throws JAXBException {
+		JAXBContext context = getJAXBContext(new HashSet<>(domainClasses), null, MediaType.APPLICATION_JSON_TYPE, null);
+		
+		Marshaller marshaller = context.createMarshaller();
+		marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+		marshaller.setProperty(MarshallerProperties.JSON_INCLUDE_ROOT, isIncludeRoot());
+		marshaller.setProperty(MarshallerProperties.JSON_MARSHAL_EMPTY_COLLECTIONS, isMarshalEmptyCollections());
+		marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, isFormattedOutput());
+		marshaller.setEventHandler(eventHandler);
+		
+		return marshaller;
+	}
+	
 	@Override
 	protected void preWriteTo(Object object, Class<?> type, Type genericType,
 			Annotation[] annotations, MediaType mediaType,
@@ -254,7 +334,8 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 					arguments.getHttpHeaders(),
 					arguments.getEntityStream());
 				resourceSet.saveAllResources(new NullProgressMonitor(), ed);
-				repo.syncRepository();
+				// Don't let the client wait for the remote, the changes are synced in the background
+				repo.requestSync();
 				results.add(result);
 			} catch (WebApplicationException e) {
 				atomicWebAppException.set(e);
@@ -295,16 +376,35 @@ public class TransactionalJsonProvider extends MOXyJsonProvider {
 			// Currently this is only the case for the RootSeis,
 			// so we only register those missing classes here.
 			domainClasses.addAll(LIST_CLASSES);
-		} else {
-			// We assume that the registered classes in the concept can change any time
-			// so no cashing is possible and we have to get the current ones on each request
-			if (ed != null) {
-				domainClasses.addAll(getClassesToRegister());
+		} else if (ed != null) {
+			// The registered classes only change when the active concepts of the repository change.
+			// Therefore the classes and the context get cached per repository and are reused
+			// as long as they cover all the requested domain classes.
+			RepositoryContextCache contextCache = getContextCache();
+			synchronized (contextCache) {
+				if (contextCache.context == null || !contextCache.contextClasses.containsAll(domainClasses)) {
+					contextCache.contextClasses.addAll(domainClasses);
+					contextCache.context = createJAXBContext(new HashSet<>(contextCache.contextClasses), annotations, mediaType, httpHeaders);
+				}
+				return contextCache.context;
 			}
 		}
 		
-		// But the contexts are being cashed on domainClasses
-		// So it will reuse a context for the same domainClasses
+		return createJAXBContext(domainClasses, annotations, mediaType, httpHeaders);
+	}
+	
+	/**
+	 * Creates the JAXBContext for the given classes. The MOXy provider
+	 * reuses a context in case it has already been created for the same classes.
+	 * @param domainClasses the classes to be registered in the context
+	 * @param annotations the annotations of the request
+	 * @param mediaType the media type of the request
+	 * @param httpHeaders the http headers of the request
+	 * @return the JAXBContext
+	 * @throws JAXBException
+	 */
+	protected JAXBContext createJAXBContext(Set<Class<?>> domainClasses, Annotation[] annotations, MediaType mediaType,
+			MultivaluedMap<String, ?> httpHeaders) throws JAXBException {
 		return super.getJAXBContext(domainClasses, annotations, mediaType, httpHeaders);
 	}
 }
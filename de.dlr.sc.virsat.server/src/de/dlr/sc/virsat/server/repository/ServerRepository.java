@@ -18,15 +18,25 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.command.CommandStackListener;
 
 import de.dlr.sc.virsat.commons.exception.AtomicExceptionReference;
 import de.dlr.sc.virsat.project.editingDomain.VirSatEditingDomainRegistry;
@@ -34,6 +44,7 @@ import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
 import de.dlr.sc.virsat.project.resources.VirSatResourceSet;
 import de.dlr.sc.virsat.project.structure.VirSatProjectCommons;
 import de.dlr.sc.virsat.project.structure.nature.VirSatProjectNature;
+import de.dlr.sc.virsat.server.Activator;
 import de.dlr.sc.virsat.server.configuration.RepositoryConfiguration;
 import de.dlr.sc.virsat.team.IVirSatVersionControlBackend;
 import de.dlr.sc.virsat.team.VersionControlBackendProvider;
@@ -54,6 +65,17 @@ public class ServerRepository {
 	private IVirSatVersionControlBackend versionControlBackEnd;
 	private File localRepository;
 	
+	// Counts the changes to the model, used to detect if a client already has the current state
+	private final long creationTime = System.currentTimeMillis();
+	private AtomicLong modificationCounter = new AtomicLong();
+	private CommandStackListener modificationListener = (event) -> modificationCounter.incrementAndGet();
+	
+	// Requested syncs get collected and executed one after another in the background
+	private ScheduledExecutorService syncExecutor;
+	private ScheduledFuture<?> requestedSync;
+	private long requestedSyncPendingSince;
+	private Exception syncFailure;
+	
 	protected static final String PREFIX_LOCAL_REPO_NAME = "repo_";
 	/**
 	 * Constructor for a Server Repository.
@@ -157,6 +179,8 @@ public class ServerRepository {
 	public void removeRepository() throws CoreException, IOException {
 		AtomicExceptionReference<IOException> atomicException = new AtomicExceptionReference<>();
 		
+		stopRequestedSyncs();
+		
 		runInWorkspace((progress) -> {
 			try {
 				retrieveProjectFromConfiguration();
@@ -168,6 +192,10 @@ public class ServerRepository {
 					Files.walk(localRepositoryPath).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
 				}
 
+				if (ed != null) {
+					ed.getCommandStack().removeCommandStackListener(modificationListener);
+				}
+				
 				project = null;
 				resourceSet = null;
 				ed = null;
@@ -187,22 +215,160 @@ public class ServerRepository {
 	 */
 	public void syncRepository() throws Exception {
 		AtomicExceptionReference<Exception> atomicException = new AtomicExceptionReference<>();
+		String projectName = repositoryConfiguration.getProjectName();
 		
-		runInWorkspace((progress) -> {
+		// Only saving takes the lock of the editing domain. The update and commit talk to the remote
+		// without it, so that writes to the model do not wait for them. Resources changed by the update
+		// get reloaded by the editing domain under its lock once the workspace operation has finished.
+		if (ed != null) {
+			ed.saveAll();
+		}
+		
+		// Only stage the resources which have changed in the project, unless they are not known yet
+		Set<IResource> changedResources = (ed != null) ? ed.takeUncommittedResources() : null;
+		
+		try {
+			runInWorkspace((progress) -> {
+				try {
+					// Simple approach for the moment but maybe not enough for git. Maybe a sync has to be implemented for SVN and GIT
+					// in the backend. E.g. Usually Git should works like: 1. commit your changes locally. 2. Pull remote changes and merge.
+					// 3. push the merged changes.
+					versionControlBackEnd.update(project, changedResources, new NullProgressMonitor());
+					modificationCounter.incrementAndGet();
+				} catch (Exception e) {
+					atomicException.set(e);
+				}
+			});
+			
+			atomicException.throwIfSet();
+			
+			versionControlBackEnd.commit(project, SERVER_REPOSITORY_COMMIT_PUSH_MESSAGE + projectName, changedResources, new NullProgressMonitor());
+		} catch (Exception e) {
+			// Hand back the resources, so that they get committed with the next sync
+			if (ed != null) {
+				ed.restoreUncommittedResources(changedResources);
+			}
+			throw e;
+		}
+	}
+	
+	/**
+	 * Requests a sync of the repository without waiting for it. The sync is executed in the
+	 * background as soon as no further sync has been requested for the quiet period of
+	 * the repository configuration. This way changes following each other closely get
+	 * combined into a single update and commit. A steady stream of requests does not
+	 * postpone the sync for longer than the maximum delay of the repository configuration.
+	 * Failures of the background sync are logged and can be checked with {@link #getSyncFailure()}.
+	 */
+	public synchronized void requestSync() {
+		long now = System.currentTimeMillis();
+		
+		// A sync that is already running does not get interrupted,
+		// the new request will be executed after it has finished
+		boolean isPending = requestedSync != null && requestedSync.cancel(false);
+		if (!isPending) {
+			requestedSyncPendingSince = now;
+		}
+		
+		long remainingMaxDelay = Math.max(0, requestedSyncPendingSince + repositoryConfiguration.getSyncMaxDelay() - now);
+		long delay = Math.min(repositoryConfiguration.getSyncQuietPeriod(), remainingMaxDelay);
+		requestedSync = getSyncExecutor().schedule(this::executeRequestedSync, delay, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Gets the failure of the last background sync. The failure is kept until a sync succeeds,
+	 * since the changes of the failed sync get transferred by the next successful one.
+	 * @return the failure of the last background sync or null if it succeeded
+	 */
+	public synchronized Exception getSyncFailure() {
+		return syncFailure;
+	}
+	
+	/**
+	 * Executes a requested sync right away, without waiting for the rest of the
+	 * quiet period, and waits for it to finish.
+	 * @throws InterruptedException
+	 * @throws ExecutionException in case the sync failed
+	 */
+	public void waitForRequestedSync() throws InterruptedException, ExecutionException {
+		ScheduledFuture<?> sync;
+		synchronized (this) {
+			if (requestedSync != null && requestedSync.cancel(false)) {
+				requestedSync = getSyncExecutor().schedule(this::executeRequestedSync, 0, TimeUnit.MILLISECONDS);
+			}
+			sync = requestedSync;
+		}
+		
+		if (sync != null) {
 			try {
-				String projectName = repositoryConfiguration.getProjectName();
-
-				// Simple approach for the moment but maybe not enough for git. Maybe a sync has to be implemented for SVN and GIT
-				// in the backend. E.g. Usually Git should works like: 1. commit your changes locally. 2. Pull remote changes and merge.
-				// 3. push the merged changes.
-				versionControlBackEnd.update(project, new NullProgressMonitor());
-				versionControlBackEnd.commit(project, SERVER_REPOSITORY_COMMIT_PUSH_MESSAGE + projectName, new NullProgressMonitor());
-			} catch (Exception e) {
-				atomicException.set(e);
+				sync.get();
+			} catch (ExecutionException e) {
+				// The failure has been remembered by the sync and is reported below
 			}
-		});
+		}
 		
-		atomicException.throwIfSet();
+		synchronized (this) {
+			if (syncFailure != null) {
+				throw new ExecutionException("Failed to sync repository " + repositoryConfiguration.getProjectName(), syncFailure);
+			}
+		}
+	}
+	
+	/**
+	 * Executes the pending sync, so that no saved change gets lost, and stops the background execution
+	 */
+	protected void stopRequestedSyncs() {
+		try {
+			waitForRequestedSync();
+		} catch (ExecutionException e) {
+			// The failure has already been logged by the sync
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		synchronized (this) {
+			if (syncExecutor != null) {
+				syncExecutor.shutdown();
+				syncExecutor = null;
+			}
+			requestedSync = null;
+		}
+	}
+	
+	private synchronized ScheduledExecutorService getSyncExecutor() {
+		if (syncExecutor == null) {
+			syncExecutor = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+				Thread thread = new Thread(runnable, "ServerRepositorySync_" + repositoryConfiguration.getProjectName());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return syncExecutor;
+	}
+	
+	/**
+	 * Executes a requested sync in the background. Failures are logged and remembered,
+	 * so that they can be checked and get reported to waiters.
+	 * @return nothing
+	 * @throws Exception in case the sync failed
+	 */
+	private Void executeRequestedSync() throws Exception {
+		try {
+			syncRepository();
+		} catch (Exception e) {
+			Activator.getDefault().getLog().log(new Status(Status.ERROR, Activator.getPluginId(),
+					"Failed to sync repository " + repositoryConfiguration.getProjectName(), e));
+			synchronized (this) {
+				syncFailure = e;
+			}
+			throw e;
+		}
+		
+		synchronized (this) {
+			// A successful sync also transferred the changes of a previously failed one
+			syncFailure = null;
+		}
+		return null;
 	}
 	
 	public void retrieveProjectFromConfiguration() {
@@ -213,8 +379,24 @@ public class ServerRepository {
 	public void retrieveEdAndResurceSetFromConfiguration() {
 		retrieveProjectFromConfiguration();
 		
+		if (ed != null) {
+			ed.getCommandStack().removeCommandStackListener(modificationListener);
+		}
+		
 		resourceSet = VirSatResourceSet.getResourceSet(project);
 		ed = VirSatEditingDomainRegistry.INSTANCE.getEd(resourceSet);
+		
+		ed.getCommandStack().addCommandStackListener(modificationListener);
+		modificationCounter.incrementAndGet();
+	}
+	
+	/**
+	 * Creates a version tag of the current state of the model. The tag changes with
+	 * every command executed on the editing domain and every update from the remote repository.
+	 * @return the version tag of the current model state
+	 */
+	public String getModelVersionTag() {
+		return Long.toHexString(creationTime) + "-" + modificationCounter.get();
 	}
 	
 	private void runInWorkspace(IWorkspaceRunnable runnable) throws CoreException {
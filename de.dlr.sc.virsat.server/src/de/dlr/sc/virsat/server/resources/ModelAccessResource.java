@@ -10,19 +10,28 @@
 package de.dlr.sc.virsat.server.resources;
 
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.function.Function;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
-import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
 
 import org.eclipse.core.runtime.CoreException;
 
@@ -35,8 +44,8 @@ import de.dlr.sc.virsat.model.concept.types.structural.ABeanStructuralElementIns
 import de.dlr.sc.virsat.model.concept.types.structural.IBeanStructuralElementInstance;
 import de.dlr.sc.virsat.model.dvlm.Repository;
 import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
-import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
 import de.dlr.sc.virsat.server.dataaccess.RepositoryUtility;
+import de.dlr.sc.virsat.server.dataaccess.SeiListStreamingOutput;
 import de.dlr.sc.virsat.server.dataaccess.TransactionalJsonProvider;
 import de.dlr.sc.virsat.server.repository.RepoRegistry;
 import de.dlr.sc.virsat.server.repository.ServerRepository;
@@ -59,6 +68,11 @@ public class ModelAccessResource {
 	public static final String CA = "ca";
 	public static final String CA_AND_PROPERTIES = "caAndProperties";
 	public static final String PROPERTY = "property";
+	
+	public static final String QP_OFFSET = "offset";
+	public static final String QP_LIMIT = "limit";
+	public static final String QP_TYPE = "type";
+	public static final String QP_DEPTH = "depth";
 
 	@Inject
 	public ModelAccessResource(TransactionalJsonProvider provider) { 
@@ -74,9 +88,8 @@ public class ModelAccessResource {
 	public RepoModelAccessResource getConcreteResource(@PathParam("repoName") String repoName) {
 		ServerRepository repo = RepoRegistry.getInstance().getRepository(repoName);
 		if (repo != null) {
-			VirSatTransactionalEditingDomain ed = repo.getEd();
 			provider.setServerRepository(repo);
-			return new RepoModelAccessResource(ed.getResourceSet().getRepository());
+			return new RepoModelAccessResource(repo, provider);
 		}
 
 		return null;
@@ -85,34 +98,75 @@ public class ModelAccessResource {
 	/**
 	 * The resource to access the VirSat data model of a specific server repository
 	 * Provides the following endpoints:
-	 *   - Get roots seis
+	 *   - Get roots seis (paged and filtered by type and depth)
 	 *   - Get and update sei by uuid
 	 *   - Get disciplines
 	 *   - Get concepts
 	 *   - Get and update ca (with property uuids) by uuid
 	 *   - Get and update ca with properties by uuid
 	 *   - Get and update properties by uuid
+	 * All get endpoints tag their responses with the version of the model, so that
+	 * clients can use conditional requests to avoid transferring unchanged elements again.
 	 */
 	public static class RepoModelAccessResource {
 	
+		private ServerRepository serverRepository;
 		private Repository repository;
+		private TransactionalJsonProvider provider;
 		
-		public RepoModelAccessResource(Repository repository) {
-			this.repository = repository;
+		public RepoModelAccessResource(ServerRepository serverRepository, TransactionalJsonProvider provider) {
+			this.serverRepository = serverRepository;
+			this.repository = serverRepository.getEd().getResourceSet().getRepository();
+			this.provider = provider;
 		}
 		
 		private Response createBadRequestResponse(String msg) {
 			return Response.status(Response.Status.BAD_REQUEST).entity(msg).build();
 		}
 		
+		/**
+		 * Creates an entity tag for the current version of the model
+		 * @return the entity tag
+		 */
+		private EntityTag createEntityTag() {
+			return new EntityTag(serverRepository.getModelVersionTag());
+		}
+		
+		/**
+		 * Evaluates the preconditions of a conditional request against the current model version.
+		 * In case the client already has the current version, a not modified response is returned,
+		 * otherwise the response is created for the current version.
+		 * @param request the request to evaluate the preconditions on
+		 * @param createResponse creates the response for the entity tag of the current model version
+		 * @return a server response
+		 */
+		private Response createConditionalResponse(Request request, Function<EntityTag, Response> createResponse) {
+			EntityTag entityTag = createEntityTag();
+			ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+			if (notModified != null) {
+				return notModified.build();
+			}
+			return createResponse.apply(entityTag);
+		}
+		
+		/**
+		 * Creates an ok response with the entity tagged by the model version
+		 * @param entity the entity to be sent
+		 * @param entityTag the model version the entity has been created from
+		 * @return a server response
+		 */
+		private Response createTaggedResponse(Object entity, EntityTag entityTag) {
+			return Response.ok(entity).tag(entityTag).build();
+		}
+		
 		@GET
 		@Path(PROPERTY + "/{propertyUuid}")
 		@Produces(MediaType.APPLICATION_JSON)
-		public Response getProperty(@PathParam("propertyUuid") String propertyUuid) {
-			return Response.status(Response.Status.OK).entity(
+		public Response getProperty(@PathParam("propertyUuid") String propertyUuid, @Context Request request) {
+			return createConditionalResponse(request, entityTag -> createTaggedResponse(
 					new BeanPropertyFactory().getInstanceFor(
 							RepositoryUtility.findProperty(propertyUuid, repository)
-					)).build();
+					), entityTag));
 		}
 		
 		@PUT
@@ -125,20 +179,23 @@ public class ModelAccessResource {
 		/**
 		 * Returns a response with the category assignment with the caUuid
 		 * @param caUuid uuid of the category assignment
+		 * @param request the request to evaluate the preconditions on
 		 * @return a server response
 		 */
 		@GET
 		@Path(CA + "/{caUuid}")
 		@Produces(MediaType.APPLICATION_JSON)
-		public Response getCa(@PathParam("caUuid") String caUuid) {
-			try {
-				return Response.status(Response.Status.OK).entity(
-						new BeanCategoryAssignmentFactory().getInstanceFor(
-								RepositoryUtility.findCa(caUuid, repository)
-						)).build();
-			} catch (CoreException e) {
-				return createBadRequestResponse(e.getMessage());
-			}
+		public Response getCa(@PathParam("caUuid") String caUuid, @Context Request request) {
+			return createConditionalResponse(request, entityTag -> {
+				try {
+					return createTaggedResponse(
+							new BeanCategoryAssignmentFactory().getInstanceFor(
+									RepositoryUtility.findCa(caUuid, repository)
+							), entityTag);
+				} catch (CoreException e) {
+					return createBadRequestResponse(e.getMessage());
+				}
+			});
 		}
 		
 		@PUT
@@ -149,46 +206,59 @@ public class ModelAccessResource {
 		}
 		
 		/**
-		 * Returns a response with a list of the root seis
+		 * Returns a response with a flat list of the root seis and their children up to the given depth.
+		 * The list is streamed, so that large repositories don't have to be kept in memory as a whole.
+		 * @param offset the number of matching seis to be skipped
+		 * @param limit the maximum number of seis in the list or -1 for all
+		 * @param type the full qualified name of the structural element to filter the seis by
+		 * @param depth the depth up to which children are listed, 0 for only the root seis or -1 for all
+		 * @param request the request to evaluate the preconditions on
 		 * @return a server response
 		 */
 		@GET
 		@Path(ROOT_SEIS)
 		@Produces(MediaType.APPLICATION_JSON)
-		public Response getRootSeis() {
-			try {
-				List<StructuralElementInstance> rootSeis = repository.getRootEntities();
-				List<ABeanStructuralElementInstance> beans = new ArrayList<ABeanStructuralElementInstance>();
-				
-				for (StructuralElementInstance sei : rootSeis) {
-					beans.add((ABeanStructuralElementInstance) new BeanStructuralElementInstanceFactory().getInstanceFor(sei));
-				}
-				
-				GenericEntity<List<ABeanStructuralElementInstance>> genericEntityList =
-						new GenericEntity<List<ABeanStructuralElementInstance>>(beans) { };
-
-				return Response.ok(genericEntityList).build();
-			} catch (CoreException e) {
-				return createBadRequestResponse(e.getMessage());
+		public Response getRootSeis(@QueryParam(QP_OFFSET) @DefaultValue("0") int offset,
+				@QueryParam(QP_LIMIT) @DefaultValue("-1") int limit,
+				@QueryParam(QP_TYPE) String type,
+				@QueryParam(QP_DEPTH) @DefaultValue("0") int depth,
+				@Context Request request) {
+			
+			if (offset < 0 || limit < SeiListStreamingOutput.UNLIMITED || depth < SeiListStreamingOutput.UNLIMITED) {
+				return createBadRequestResponse("Offset has to be non-negative and limit and depth have to be non-negative or -1");
 			}
+			
+			return createConditionalResponse(request, entityTag -> {
+				try {
+					// Register the same classes as for a list of seis, so that the seis keep their lightweight list representation
+					Marshaller marshaller = provider.createJsonMarshaller(new HashSet<>(Arrays.asList(List.class, ABeanStructuralElementInstance.class)));
+					SeiListStreamingOutput seiList = new SeiListStreamingOutput(serverRepository.getEd(), repository.getRootEntities(), marshaller, offset, limit, type, depth);
+					return createTaggedResponse(seiList, entityTag);
+				} catch (JAXBException e) {
+					return createBadRequestResponse(e.getMessage());
+				}
+			});
 		}
 		
 		/**
 		 * Returns a response with the sei with the seiUuid
 		 * @param seiUuid uuid of the sei
+		 * @param request the request to evaluate the preconditions on
 		 * @return a server response
 		 */
 		@GET
 		@Path(SEI + "/{seiUuid}")
 		@Produces(MediaType.APPLICATION_JSON)
-		public Response getSei(@PathParam("seiUuid") String seiUuid) {
-			try {
-				StructuralElementInstance sei = RepositoryUtility.findSei(seiUuid, repository);
-				IBeanStructuralElementInstance beanSei = new BeanStructuralElementInstanceFactory().getInstanceFor(sei);
-				return Response.ok(beanSei).build();
-			} catch (CoreException e) {
-				return createBadRequestResponse(e.getMessage());
-			}
+		public Response getSei(@PathParam("seiUuid") String seiUuid, @Context Request request) {
+			return createConditionalResponse(request, entityTag -> {
+				try {
+					StructuralElementInstance sei = RepositoryUtility.findSei(seiUuid, repository);
+					IBeanStructuralElementInstance beanSei = new BeanStructuralElementInstanceFactory().getInstanceFor(sei);
+					return createTaggedResponse(beanSei, entityTag);
+				} catch (CoreException e) {
+					return createBadRequestResponse(e.getMessage());
+				}
+			});
 		}
 		
 		@PUT
@@ -13,23 +13,44 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.egit.core.internal.util.ResourceUtil;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.junit.Before;
+import org.junit.Test;
 
 import de.dlr.sc.virsat.commons.file.VirSatFileUtils;
+import de.dlr.sc.virsat.model.dvlm.roles.UserRegistry;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+import de.dlr.sc.virsat.model.ecore.xmi.impl.DvlmXMIResourceFactoryImpl;
+import de.dlr.sc.virsat.project.structure.VirSatProjectCommons;
 import de.dlr.sc.virsat.team.AVirSatVersionControlBackendTest;
 import de.dlr.sc.virsat.team.Activator;
+import de.dlr.sc.virsat.team.merge.VirSatMergeConflictMarkerHelper;
 
 @SuppressWarnings("restriction")
 public class VirSatGitVersionControlBackendTest extends AVirSatVersionControlBackendTest {
@@ -82,6 +103,168 @@ public class VirSatGitVersionControlBackendTest extends AVirSatVersionControlBac
 		return testProject;
 	}
 	
+	@Test
+	public void testUpdateMergesChangesOfDifferentFeatures() throws Exception {
+		// Create a sei in local1 and share it with the remote
+		addResourceSetAndRepository(projectRepoLocal1);
+		StructuralElementInstance sei = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		sei.setName("INITIAL_NAME");
+		sei.setDescription("INITIAL_DESCRIPTION");
+		Resource seiResource = rs.getStructuralElementInstanceResource(sei);
+		seiResource.getContents().add(sei);
+		rs.saveAllResources(null, UserRegistry.getInstance());
+		IFile seiFile = projectCommons.getStructuralElementInstanceFile(sei);
+		backend.commit(projectRepoLocal1, "Initial Commit", new NullProgressMonitor());
+		
+		// Get the sei into local2 but keep the files of local1 for the concurrent change
+		projectRepoLocal1.delete(false, true, null);
+		IProject projectRepoLocal2 = createTestProject(seiFile.getProject().getName(), pathRepoLocal2, true);
+		backend.update(projectRepoLocal2, new NullProgressMonitor());
+		
+		// Change the name of the sei in the clone local1 and push it
+		File seiFileLocal1 = new File(pathRepoLocal1.toFile(), seiFile.getFullPath().toOSString());
+		ResourceSetImpl resourceSetLocal1 = new ResourceSetImpl();
+		resourceSetLocal1.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION, new DvlmXMIResourceFactoryImpl());
+		Resource seiResourceLocal1 = resourceSetLocal1.getResource(org.eclipse.emf.common.util.URI.createFileURI(seiFileLocal1.getAbsolutePath()), true);
+		((StructuralElementInstance) seiResourceLocal1.getContents().get(0)).setName("REMOTE_NAME");
+		seiResourceLocal1.save(Collections.singletonMap(XMLResource.OPTION_ENCODING, "UTF-8"));
+		try (Git gitLocal1 = Git.open(pathRepoLocal1.toFile())) {
+			gitLocal1.commit().setAll(true).setMessage("Change Name").call();
+			gitLocal1.push().call();
+		}
+		
+		// Change the description of the same sei in local2 and update
+		projectCommons = new VirSatProjectCommons(projectRepoLocal2);
+		addResourceSetAndRepository(projectRepoLocal2);
+		IFile seiFileLocal2 = projectRepoLocal2.getFile(seiFile.getProjectRelativePath());
+		Resource seiResourceLocal2 = rs.getResource(org.eclipse.emf.common.util.URI.createPlatformResourceURI(seiFileLocal2.getFullPath().toString(), true), true);
+		((StructuralElementInstance) seiResourceLocal2.getContents().get(0)).setDescription("LOCAL_DESCRIPTION");
+		rs.saveAllResources(null, UserRegistry.getInstance());
+		
+		backend.update(projectRepoLocal2, new NullProgressMonitor());
+		
+		// Both changes have to survive the update without any conflict
+		rs.reloadResource(seiResourceLocal2);
+		StructuralElementInstance seiAfterUpdate = (StructuralElementInstance) seiResourceLocal2.getContents().get(0);
+		assertEquals("Remote change is merged", "REMOTE_NAME", seiAfterUpdate.getName());
+		assertEquals("Local change is kept", "LOCAL_DESCRIPTION", seiAfterUpdate.getDescription());
+		assertTrue("No merge conflicts are reported", new VirSatMergeConflictMarkerHelper().getAllMergeConflictMarkers(seiFileLocal2).isEmpty());
+	}
+	
+	@Test
+	public void testCommitOnlyChangedResources() throws Exception {
+		IFile changedFile = projectRepoLocal1.getFile("changed.txt");
+		changedFile.create(new ByteArrayInputStream("changed".getBytes(StandardCharsets.UTF_8)), true, null);
+		IFile otherFile = projectRepoLocal1.getFile("other.txt");
+		otherFile.create(new ByteArrayInputStream("other".getBytes(StandardCharsets.UTF_8)), true, null);
+		
+		backend.commit(projectRepoLocal1, "Scoped Commit", Collections.singleton(changedFile), new NullProgressMonitor());
+		checkRemoteForCommitMessage("Scoped Commit");
+		
+		try (Git gitLocal1 = Git.open(pathRepoLocal1.toFile())) {
+			String projectPath = projectRepoLocal1.getName() + "/";
+			assertEquals("Only the given resource is committed", Collections.singleton(projectPath + "changed.txt"), getPathsOfLastCommit(gitLocal1));
+			assertTrue("Other changes are not committed", gitLocal1.status().call().getUntracked().contains(projectPath + "other.txt"));
+		}
+	}
+	
+	@Test
+	public void testCommitOnlyChangedResourcesKeepsStagedFiles() throws Exception {
+		IFile changedFile = projectRepoLocal1.getFile("changed.txt");
+		changedFile.create(new ByteArrayInputStream("changed".getBytes(StandardCharsets.UTF_8)), true, null);
+		IFile stagedFile = projectRepoLocal1.getFile("staged.txt");
+		stagedFile.create(new ByteArrayInputStream("staged".getBytes(StandardCharsets.UTF_8)), true, null);
+		
+		try (Git gitLocal1 = Git.open(pathRepoLocal1.toFile())) {
+			String projectPath = projectRepoLocal1.getName() + "/";
+			gitLocal1.add().addFilepattern(projectPath + "staged.txt").call();
+			
+			backend.commit(projectRepoLocal1, "Scoped Commit", Collections.singleton(changedFile), new NullProgressMonitor());
+			
+			assertEquals("Only the given resource is committed", Collections.singleton(projectPath + "changed.txt"), getPathsOfLastCommit(gitLocal1));
+			assertTrue("Already staged file stays staged", gitLocal1.status().call().getAdded().contains(projectPath + "staged.txt"));
+		}
+	}
+	
+	@Test
+	public void testUpdateCommitsOnlyChangedResources() throws Exception {
+		IFile changedFile = projectRepoLocal1.getFile("changed.txt");
+		changedFile.create(new ByteArrayInputStream("changed".getBytes(StandardCharsets.UTF_8)), true, null);
+		IFile otherFile = projectRepoLocal1.getFile("other.txt");
+		otherFile.create(new ByteArrayInputStream("other".getBytes(StandardCharsets.UTF_8)), true, null);
+		
+		backend.update(projectRepoLocal1, Collections.singleton(changedFile), new NullProgressMonitor());
+		
+		try (Git gitLocal1 = Git.open(pathRepoLocal1.toFile())) {
+			String projectPath = projectRepoLocal1.getName() + "/";
+			RevCommit commit = gitLocal1.log().setMaxCount(1).call().iterator().next();
+			assertTrue("Changes are committed before the pull", commit.getFullMessage().contains(VirSatGitVersionControlBackend.BACKEND_REPOSITORY_COMMIT_PULL_MESSAGE));
+			assertEquals("Only the given resource is committed", Collections.singleton(projectPath + "changed.txt"), getPathsOfLastCommit(gitLocal1));
+			assertTrue("Other changes are not committed", gitLocal1.status().call().getUntracked().contains(projectPath + "other.txt"));
+		}
+	}
+	
+	/**
+	 * Collects the paths of all files in the tree of the last commit
+	 * @param git the git instance of the repository
+	 * @return the repository relative paths of the committed files
+	 * @throws Exception
+	 */
+	private Set<String> getPathsOfLastCommit(Git git) throws Exception {
+		RevCommit commit = git.log().setMaxCount(1).call().iterator().next();
+		Set<String> committedPaths = new HashSet<>();
+		try (TreeWalk treeWalk = new TreeWalk(git.getRepository())) {
+			treeWalk.addTree(commit.getTree());
+			treeWalk.setRecursive(true);
+			while (treeWalk.next()) {
+				committedPaths.add(treeWalk.getPathString());
+			}
+		}
+		return committedPaths;
+	}
+	
+	private static final int MANY_FILES_COUNT = 5000;
+	
+	@Test
+	public void testUpdateRefreshesOnlyChangedResources() throws Exception {
+		// Create many files in local1 and share them with the remote
+		File folderLocal1 = projectRepoLocal1.getFolder("files").getLocation().toFile();
+		folderLocal1.mkdirs();
+		for (int i = 0; i < MANY_FILES_COUNT; i++) {
+			Files.write(new File(folderLocal1, "file" + i + ".txt").toPath(), ("Content " + i).getBytes(StandardCharsets.UTF_8));
+		}
+		backend.commit(projectRepoLocal1, "Many Files", new NullProgressMonitor());
+		
+		// Get the files into local2 but keep the files of local1 for the following change
+		String projectName = projectRepoLocal1.getName();
+		projectRepoLocal1.delete(false, true, null);
+		IProject projectRepoLocal2 = createTestProject(projectName, pathRepoLocal2, true);
+		backend.update(projectRepoLocal2, new NullProgressMonitor());
+		IFile changedFile = projectRepoLocal2.getFile("files/file42.txt");
+		assertTrue("Files have been pulled into the workspace", changedFile.exists());
+		
+		// Change a single file in the clone local1 and push it
+		Files.write(new File(folderLocal1, "file42.txt").toPath(), "Changed Content".getBytes(StandardCharsets.UTF_8));
+		try (Git gitLocal1 = Git.open(pathRepoLocal1.toFile())) {
+			gitLocal1.commit().setAll(true).setMessage("Change One File").call();
+			gitLocal1.push().call();
+		}
+		
+		// Update local2 and record which resources get refreshed
+		Set<IResource> refreshedResources = new HashSet<>();
+		VirSatGitVersionControlBackend recordingBackend = new VirSatGitVersionControlBackend(null) {
+			@Override
+			protected void refreshLocal(IResource resource, IProgressMonitor monitor) throws CoreException {
+				refreshedResources.add(resource);
+				super.refreshLocal(resource, monitor);
+			}
+		};
+		recordingBackend.update(projectRepoLocal2, new NullProgressMonitor());
+		
+		assertEquals("Only the changed file is refreshed", Collections.singleton(changedFile), refreshedResources);
+		assertTrue("Changed file is in sync with the file system", changedFile.isSynchronized(IResource.DEPTH_ZERO));
+	}
+	
 	private static final int WAIT_FOR_REPO_DETECTION_TIMESPAN = 10;
 	
 	@Override
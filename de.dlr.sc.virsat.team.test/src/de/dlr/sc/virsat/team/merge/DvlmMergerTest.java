@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.team.merge;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.dlr.sc.virsat.model.dvlm.calculation.CalculationFactory;
+import de.dlr.sc.virsat.model.dvlm.calculation.Equation;
+import de.dlr.sc.virsat.model.dvlm.calculation.EquationSection;
+import de.dlr.sc.virsat.model.dvlm.calculation.NumberLiteral;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoriesFactory;
+import de.dlr.sc.virsat.model.dvlm.categories.CategoryAssignment;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralElementInstance;
+import de.dlr.sc.virsat.model.dvlm.structural.StructuralFactory;
+import de.dlr.sc.virsat.model.ecore.xmi.impl.DvlmXMIResourceFactoryImpl;
+
+/**
+ * Test cases for merging dvlm files object by object
+ */
+public class DvlmMergerTest {
+
+	private static final URI FILE_URI = URI.createFileURI("/repository/project/data/sei.dvlm");
+
+	private StructuralElementInstance base;
+	private DvlmMerger merger;
+
+	@Before
+	public void setUp() {
+		base = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		base.setName("BASE_NAME");
+		base.setDescription("BASE_DESCRIPTION");
+
+		for (int i = 0; i < 2; i++) {
+			StructuralElementInstance child = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+			child.setName("CHILD_" + i);
+			base.getChildren().add(child);
+		}
+
+		merger = new DvlmMerger(FILE_URI);
+	}
+
+	/**
+	 * Serializes a version of the sei
+	 * @param sei the sei to serialize
+	 * @return the content of the dvlm file
+	 * @throws IOException
+	 */
+	private byte[] save(StructuralElementInstance sei) throws IOException {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION, new DvlmXMIResourceFactoryImpl());
+		Resource resource = resourceSet.createResource(FILE_URI);
+		resource.getContents().add(EcoreUtil.copy(sei));
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		resource.save(content, null);
+		return content.toByteArray();
+	}
+
+	/**
+	 * Deserializes a merged sei
+	 * @param content the content of the dvlm file
+	 * @return the sei
+	 * @throws IOException
+	 */
+	private StructuralElementInstance load(byte[] content) throws IOException {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION, new DvlmXMIResourceFactoryImpl());
+		Resource resource = resourceSet.createResource(FILE_URI);
+		resource.load(new ByteArrayInputStream(content), null);
+		return (StructuralElementInstance) resource.getContents().get(0);
+	}
+
+	/**
+	 * Gets the names of the children of a sei
+	 * @param sei the sei
+	 * @return the names of the children in their order
+	 */
+	private List<String> getChildNames(StructuralElementInstance sei) {
+		return sei.getChildren().stream().map(StructuralElementInstance::getName).collect(Collectors.toList());
+	}
+
+	/**
+	 * Adds a category assignment with equations to the base sei. Equations have no identifier.
+	 * @param values the values of the number literals the equations consist of
+	 */
+	private void addEquations(String... values) {
+		EquationSection equationSection = CalculationFactory.eINSTANCE.createEquationSection();
+		for (String value : values) {
+			equationSection.getEquations().add(createEquation(value));
+		}
+		CategoryAssignment categoryAssignment = CategoriesFactory.eINSTANCE.createCategoryAssignment();
+		categoryAssignment.setEquationSection(equationSection);
+		base.getCategoryAssignments().add(categoryAssignment);
+	}
+
+	/**
+	 * Creates an equation consisting of a number literal
+	 * @param value the value of the number literal
+	 * @return the equation
+	 */
+	private Equation createEquation(String value) {
+		NumberLiteral numberLiteral = CalculationFactory.eINSTANCE.createNumberLiteral();
+		numberLiteral.setValue(value);
+		Equation equation = CalculationFactory.eINSTANCE.createEquation();
+		equation.setExpression(numberLiteral);
+		return equation;
+	}
+
+	/**
+	 * Gets the equations of the category assignment of a sei
+	 * @param sei the sei
+	 * @return the equations
+	 */
+	private List<Equation> getEquations(StructuralElementInstance sei) {
+		return sei.getCategoryAssignments().get(0).getEquationSection().getEquations();
+	}
+
+	/**
+	 * Gets the values of the equations of a sei
+	 * @param sei the sei
+	 * @return the values of the number literals of the equations in their order
+	 */
+	private List<String> getEquationValues(StructuralElementInstance sei) {
+		return getEquations(sei).stream().map(equation -> ((NumberLiteral) equation.getExpression()).getValue()).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testMergeDifferentFeatures() throws IOException {
+		StructuralElementInstance ours = EcoreUtil.copy(base);
+		ours.setName("OURS_NAME");
+		StructuralElementInstance theirs = EcoreUtil.copy(base);
+		theirs.setDescription("THEIRS_DESCRIPTION");
+
+		StructuralElementInstance merged = load(merger.merge(save(base), save(ours), save(theirs)));
+
+		assertEquals("Uuid is kept", base.getUuid(), merged.getUuid());
+		assertEquals("Local change is kept", "OURS_NAME", merged.getName());
+		assertEquals("Remote change is merged", "THEIRS_DESCRIPTION", merged.getDescription());
+		assertTrue("Changes of different features do not conflict", merger.getConflicts().isEmpty());
+	}
+
+	@Test
+	public void testMergeSameChange() throws IOException {
+		StructuralElementInstance ours = EcoreUtil.copy(base);
+		ours.setName("SAME_NAME");
+		StructuralElementInstance theirs = EcoreUtil.copy(base);
+		theirs.setName("SAME_NAME");
+
+		StructuralElementInstance merged = load(merger.merge(save(base), save(ours), save(theirs)));
+
+		assertEquals("Common change is kept", "SAME_NAME", merged.getName());
+		assertTrue("Identical changes do not conflict", merger.getConflicts().isEmpty());
+	}
+
+	@Test
+	public void testMergeConflictingChange() throws IOException {
+		StructuralElementInstance ours = EcoreUtil.copy(base);
+		ours.setName("OURS_NAME");
+		ours.setDescription("OURS_DESCRIPTION");
+		StructuralElementInstance theirs = EcoreUtil.copy(base);
+		theirs.setName("THEIRS_NAME");
+
+		StructuralElementInstance merged = load(merger.merge(save(base), save(ours), save(theirs)));
+
+		assertEquals("Conflicting feature is resolved with the remote value", "THEIRS_NAME", merged.getName());
+		assertEquals("Non conflicting local change is kept", "OURS_DESCRIPTION", merged.getDescription());
+
+		assertEquals("One conflict is reported", 1, merger.getConflicts().size());
+		DvlmMergeConflict conflict = merger.getConflicts().get(0);
+		assertEquals("Conflict is reported for the sei", base.getUuid().toString(), conflict.getObjectId());
+		assertEquals("Conflict is reported for the name", "name", conflict.getFeatureName());
+		assertEquals("Local value is reported", "OURS_NAME", conflict.getLocalValue());
+		assertEquals("Remote value is reported", "THEIRS_NAME", conflict.getRemoteValue());
+		assertTrue("Remote value has been kept", conflict.isRemoteKept());
+	}
+
+	@Test
+	public void testMergeAddedAndDeletedObjects() throws IOException {
+		StructuralElementInstance ours = EcoreUtil.copy(base);
+		StructuralElementInstance oursChild = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		oursChild.setName("OURS_CHILD");
+		ours.getChildren().add(oursChild);
+		ours.getChildren().get(1).setDescription("OURS_DESCRIPTION");
+
+		StructuralElementInstance theirs = EcoreUtil.copy(base);
+		StructuralElementInstance theirsChild = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		theirsChild.setName("THEIRS_CHILD");
+		theirs.getChildren().remove(0);
+		theirs.getChildren().add(0, theirsChild);
+		theirs.getChildren().get(1).setName("THEIRS_NAME");
+
+		StructuralElementInstance merged = load(merger.merge(save(base), save(ours), save(theirs)));
+
+		assertEquals("Additions and deletions of both sides are merged", Arrays.asList("THEIRS_CHILD", "THEIRS_NAME", "OURS_CHILD"), getChildNames(merged));
+		assertEquals("Changes within the children are merged", "OURS_DESCRIPTION", merged.getChildren().get(1).getDescription());
+		assertEquals("Added object keeps its uuid", theirsChild.getUuid(), merged.getChildren().get(0).getUuid());
+		assertTrue("No conflicts", merger.getConflicts().isEmpty());
+	}
+
+	@Test
+	public void testMergeDeletedChangedObject() throws IOException {
+		StructuralElementInstance ours = EcoreUtil.copy(base);
+		ours.getChildren().get(0).setName("OURS_NAME");
+		StructuralElementInstance theirs = EcoreUtil.copy(base);
+		theirs.getChildren().remove(0);
+
+		StructuralElementInstance merged = load(merger.merge(save(base), save(ours), save(theirs)));
+
+		assertEquals("Locally changed object is kept", Arrays.asList("OURS_NAME", "CHILD_1"), getChildNames(merged));
+		assertEquals("Remote deletion is reported", 1, merger.getConflicts().size());
+		assertFalse("Local version has been kept", merger.getConflicts().get(0).isRemoteKept());
+		assertNull("The object as a whole is conflicting", merger.getConflicts().get(0).getFeatureName());
+	}
+
+	@Test
+	public void testMergeChangedDeletedObject() throws IOException {
+		StructuralElementInstance ours = EcoreUtil.copy(base);
+		ours.getChildren().remove(0);
+		StructuralElementInstance theirs = EcoreUtil.copy(base);
+		theirs.getChildren().get(0).setName("THEIRS_NAME");
+
+		StructuralElementInstance merged = load(merger.merge(save(base), save(ours), save(theirs)));
+
+		assertEquals("Remotely changed object is kept", Arrays.asList("THEIRS_NAME", "CHILD_1"), getChildNames(merged));
+		assertEquals("Local deletion is reported", 1, merger.getConflicts().size());
+		assertTrue("Remote version has been kept", merger.getConflicts().get(0).isRemoteKept());
+		assertNull("The object as a whole is conflicting", merger.getConflicts().get(0).getFeatureName());
+	}
+
+	@Test
+	public void testMergeObjectsWithoutIdentifier() throws IOException {
+		addEquations("1", "2");
+		StructuralElementInstance ours = EcoreUtil.copy(base);
+		((NumberLiteral) getEquations(ours).get(0).getExpression()).setValue("10");
+		StructuralElementInstance theirs = EcoreUtil.copy(base);
+		getEquations(theirs).add(0, createEquation("0"));
+
+		StructuralElementInstance merged = load(merger.merge(save(base), save(ours), save(theirs)));
+
+		assertEquals("Insertion is not matched to the changed object", Arrays.asList("0", "10", "2"), getEquationValues(merged));
+		assertTrue("No conflicts", merger.getConflicts().isEmpty());
+
+		ours = EcoreUtil.copy(base);
+		getEquations(ours).add(createEquation("4"));
+		getEquations(ours).add(createEquation("5"));
+		theirs = EcoreUtil.copy(base);
+		getEquations(theirs).add(createEquation("5"));
+		getEquations(theirs).add(createEquation("6"));
+
+		merged = load(merger.merge(save(base), save(ours), save(theirs)));
+
+		assertEquals("Different additions are kept, equal additions are merged", Arrays.asList("1", "2", "4", "5", "6"), getEquationValues(merged));
+		assertTrue("No conflicts", merger.getConflicts().isEmpty());
+	}
+
+	@Test
+	public void testMergeAmbiguousObjectsWithoutIdentifier() throws IOException {
+		addEquations("1", "2");
+		StructuralElementInstance ours = EcoreUtil.copy(base);
+		getEquations(ours).remove(0);
+		((NumberLiteral) getEquations(ours).get(0).getExpression()).setValue("3");
+		StructuralElementInstance theirs = EcoreUtil.copy(base);
+
+		StructuralElementInstance merged = load(merger.merge(save(base), save(ours), save(theirs)));
+
+		assertEquals("Local objects are kept", Arrays.asList("3"), getEquationValues(merged));
+		assertEquals("Ambiguous match is reported", 1, merger.getConflicts().size());
+		assertEquals("Conflict is reported for the equations", "equations", merger.getConflicts().get(0).getFeatureName());
+		assertFalse("Local version has been kept", merger.getConflicts().get(0).isRemoteKept());
+	}
+
+	@Test
+	public void testMergeAddedOnBothSides() throws IOException {
+		StructuralElementInstance ours = EcoreUtil.copy(base);
+		ours.setName("OURS_NAME");
+		StructuralElementInstance theirs = EcoreUtil.copy(base);
+		theirs.setName("THEIRS_NAME");
+
+		StructuralElementInstance merged = load(merger.merge(null, save(ours), save(theirs)));
+
+		assertEquals("Differing feature is resolved with the remote value", "THEIRS_NAME", merged.getName());
+		assertEquals("Equal feature is kept", "BASE_DESCRIPTION", merged.getDescription());
+		assertEquals("Only the differing feature conflicts", 1, merger.getConflicts().size());
+	}
+
+	@Test
+	public void testMergeDifferentRoots() throws IOException {
+		StructuralElementInstance ours = StructuralFactory.eINSTANCE.createStructuralElementInstance();
+		byte[] theirsContent = save(base);
+
+		byte[] mergedContent = merger.merge(null, save(ours), theirsContent);
+
+		assertArrayEquals("Remote version is taken as a whole", theirsContent, mergedContent);
+		assertEquals("Replacement is reported", 1, merger.getConflicts().size());
+	}
+}
@@ -9,11 +9,21 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.team.svn;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
@@ -24,6 +34,7 @@ import org.eclipse.team.svn.core.resource.IRepositoryResource;
 import org.eclipse.team.svn.core.utility.FileUtility;
 import org.eclipse.team.svn.core.utility.SVNUtility;
 import org.junit.Before;
+import org.junit.Test;
 
 import de.dlr.sc.virsat.commons.file.VirSatFileUtils;
 import de.dlr.sc.virsat.team.AVirSatVersionControlBackendTest;
@@ -77,4 +88,70 @@ public class VirSatSvnVersionControlBackendTest extends AVirSatVersionControlBac
 		AddToSVNOperation addToSVNOperation = new AddToSVNOperation(files, true);
 		addToSVNOperation.run(new NullProgressMonitor());
 	}
+	
+	/**
+	 * Reads the content of a file in a local repository
+	 * @param project the project of the file
+	 * @param fileName the name of the file
+	 * @return the content of the file
+	 * @throws IOException
+	 */
+	private String readFile(IProject project, String fileName) throws IOException {
+		return new String(Files.readAllBytes(project.getFile(fileName).getLocation().toFile().toPath()), StandardCharsets.UTF_8);
+	}
+	
+	@Test
+	public void testCommitOnlyChangedResources() throws Exception {
+		IFile changedFile = projectRepoLocal1.getFile("changed.txt");
+		changedFile.create(new ByteArrayInputStream("changed 1".getBytes(StandardCharsets.UTF_8)), true, null);
+		IFile otherFile = projectRepoLocal1.getFile("other.txt");
+		otherFile.create(new ByteArrayInputStream("other 1".getBytes(StandardCharsets.UTF_8)), true, null);
+		backend.commit(projectRepoLocal1, "Initial Commit", new NullProgressMonitor());
+		
+		// Modify both files but only commit one of them
+		changedFile.setContents(new ByteArrayInputStream("changed 2".getBytes(StandardCharsets.UTF_8)), true, false, null);
+		otherFile.setContents(new ByteArrayInputStream("other 2".getBytes(StandardCharsets.UTF_8)), true, false, null);
+		IFile unversionedFile = projectRepoLocal1.getFile("unversioned.txt");
+		unversionedFile.create(new ByteArrayInputStream("unversioned".getBytes(StandardCharsets.UTF_8)), true, null);
+		backend.commit(projectRepoLocal1, "Scoped Commit", Collections.singleton(changedFile), new NullProgressMonitor());
+		
+		// Get the remote state into local2
+		String projectName = projectRepoLocal1.getName();
+		projectRepoLocal1.delete(false, true, null);
+		IProject projectRepoLocal2 = createTestProject(projectName, pathRepoLocal2, true);
+		backend.update(projectRepoLocal2, new NullProgressMonitor());
+		
+		assertEquals("Given resource is commited", "changed 2", readFile(projectRepoLocal2, "changed.txt"));
+		assertEquals("Unrelated modification is not commited", "other 1", readFile(projectRepoLocal2, "other.txt"));
+		assertFalse("Unrelated new file is not commited", projectRepoLocal2.getFile("unversioned.txt").getLocation().toFile().exists());
+	}
+	
+	@Test
+	public void testCommitDeletedResources() throws Exception {
+		IFile deletedFile = projectRepoLocal1.getFile("deleted.txt");
+		deletedFile.create(new ByteArrayInputStream("deleted".getBytes(StandardCharsets.UTF_8)), true, null);
+		IFolder deletedFolder = projectRepoLocal1.getFolder("sei");
+		deletedFolder.create(true, true, null);
+		IFile deletedSeiFile = deletedFolder.getFile("sei.dvlm");
+		deletedSeiFile.create(new ByteArrayInputStream("sei".getBytes(StandardCharsets.UTF_8)), true, null);
+		IFile otherFile = projectRepoLocal1.getFile("other.txt");
+		otherFile.create(new ByteArrayInputStream("other 1".getBytes(StandardCharsets.UTF_8)), true, null);
+		backend.commit(projectRepoLocal1, "Initial Commit", new NullProgressMonitor());
+		
+		// Delete the file and the SEI folder and commit them as the editing domain tracks them, by their files
+		deletedFile.delete(true, null);
+		deletedFolder.delete(true, null);
+		otherFile.setContents(new ByteArrayInputStream("other 2".getBytes(StandardCharsets.UTF_8)), true, false, null);
+		backend.commit(projectRepoLocal1, "Delete Commit", Arrays.asList(deletedFile, deletedSeiFile), new NullProgressMonitor());
+		
+		// Get the remote state into local2
+		String projectName = projectRepoLocal1.getName();
+		projectRepoLocal1.delete(false, true, null);
+		IProject projectRepoLocal2 = createTestProject(projectName, pathRepoLocal2, true);
+		backend.update(projectRepoLocal2, new NullProgressMonitor());
+		
+		assertFalse("Deleted file is commited", projectRepoLocal2.getFile("deleted.txt").getLocation().toFile().exists());
+		assertFalse("Deleted SEI folder is commited", projectRepoLocal2.getFolder("sei").getLocation().toFile().exists());
+		assertEquals("Unrelated modification is not commited", "other 1", readFile(projectRepoLocal2, "other.txt"));
+	}
 }
@@ -15,6 +15,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 import de.dlr.sc.virsat.team.VersionControlBackendProviderTest;
 import de.dlr.sc.virsat.team.git.VirSatGitVersionControlBackendTest;
+import de.dlr.sc.virsat.team.merge.DvlmMergerTest;
 import de.dlr.sc.virsat.team.svn.VirSatSvnVersionControlBackendTest;
 import junit.framework.JUnit4TestAdapter;
 
@@ -23,7 +24,8 @@ import junit.framework.JUnit4TestAdapter;
 @SuiteClasses({
 	VirSatGitVersionControlBackendTest.class,
 	VirSatSvnVersionControlBackendTest.class,
-	VersionControlBackendProviderTest.class
+	VersionControlBackendProviderTest.class,
+	DvlmMergerTest.class
 })
 
 public class AllTests {
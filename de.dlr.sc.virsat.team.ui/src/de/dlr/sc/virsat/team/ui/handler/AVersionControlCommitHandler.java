@@ -9,6 +9,8 @@
  *******************************************************************************/
 package de.dlr.sc.virsat.team.ui.handler;
 
+import java.util.Set;
+
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.resources.IProject;
@@ -19,6 +21,8 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.window.Window;
 import org.eclipse.swt.widgets.Display;
 
+import de.dlr.sc.virsat.project.editingDomain.VirSatEditingDomainRegistry;
+import de.dlr.sc.virsat.project.editingDomain.VirSatTransactionalEditingDomain;
 import de.dlr.sc.virsat.team.ui.dialog.CommitMessageDialog;
 import de.dlr.sc.virsat.team.ui.util.VersionControlJob;
 
@@ -47,8 +51,24 @@ public abstract class AVersionControlCommitHandler extends AVersionControlHandle
 				"Commit Message", "Please enter a commit message describing your changes", getProposedComment());
 	}
 	
+	/**
+	 * Commits the project with the backend. Only the resources changed by the editing domain
+	 * of the project are committed, unless they are not known yet.
+	 * @param project the project to commit
+	 * @param message the commit message
+	 * @param monitor a progress monitor
+	 * @throws Exception
+	 */
 	protected void doCommit(IProject project, String message, IProgressMonitor monitor) throws Exception {
-		backend.commit(project, message, monitor);
+		VirSatTransactionalEditingDomain ed = VirSatEditingDomainRegistry.INSTANCE.getEd(project);
+		Set<IResource> changedResources = ed.takeUncommittedResources();
+		try {
+			backend.commit(project, message, changedResources, monitor);
+		} catch (Exception e) {
+			// Hand back the resources, so that they get committed with the next attempt
+			ed.restoreUncommittedResources(changedResources);
+			throw e;
+		}
 	}
 	
 	@Override
@@ -10,9 +10,11 @@
 package de.dlr.sc.virsat.team;
 
 import java.io.File;
+import java.util.Collection;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
@@ -29,7 +31,21 @@ public interface IVirSatVersionControlBackend {
 	 * @param monitor an update monitor
 	 * @throws Exception
 	 */
-	void commit(IProject project, String message, IProgressMonitor monitor) throws Exception;
+	default void commit(IProject project, String message, IProgressMonitor monitor) throws Exception {
+		commit(project, message, null, monitor);
+	}
+	
+	/**
+	 * Commits the changes of the given resources of a project to the version control system.
+	 * Only the given resources are staged, which avoids scanning the whole project on every commit.
+	 * @param project the project to update
+	 * @param message the commit message
+	 * @param changedResources the changed resources of the project, e.g. as tracked by the editing domain,
+	 *  or null to commit any changes in the project
+	 * @param monitor an update monitor
+	 * @throws Exception
+	 */
+	void commit(IProject project, String message, Collection<IResource> changedResources, IProgressMonitor monitor) throws Exception;
 	
 	/**
 	 * Creates a local checkout of a project from the version control system
@@ -59,5 +75,18 @@ public interface IVirSatVersionControlBackend {
 	 * @param monitor an update monitor
 	 * @throws Exception
 	 */
-	void update(IProject project, IProgressMonitor monitor) throws Exception;
+	default void update(IProject project, IProgressMonitor monitor) throws Exception {
+		update(project, null, monitor);
+	}
+	
+	/**
+	 * Gets all remote changes for a project from the version control system. Backends which have to
+	 * commit local changes before getting the remote ones only stage the given changed resources.
+	 * @param project the project to update
+	 * @param changedResources the changed resources of the project, e.g. as tracked by the editing domain,
+	 *  or null in case any local changes in the project have to be considered
+	 * @param monitor an update monitor
+	 * @throws Exception
+	 */
+	void update(IProject project, Collection<IResource> changedResources, IProgressMonitor monitor) throws Exception;
 }
@@ -10,30 +10,57 @@
 package de.dlr.sc.virsat.team.git;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.internal.resources.Resource;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.egit.core.EclipseGitProgressTransformer;
 import org.eclipse.egit.core.op.ConnectProviderOperation;
 import org.eclipse.egit.core.project.RepositoryMapping;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.CheckoutCommand;
 import org.eclipse.jgit.api.CheckoutCommand.Stage;
+import org.eclipse.jgit.api.CommitCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.PullResult;
+import org.eclipse.jgit.api.StatusCommand;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.BranchConfig;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.ProgressMonitor;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.merge.MergeStrategy;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 
+import de.dlr.sc.virsat.team.Activator;
 import de.dlr.sc.virsat.team.IVirSatVersionControlBackend;
+import de.dlr.sc.virsat.team.merge.DvlmMergeConflict;
+import de.dlr.sc.virsat.team.merge.DvlmMerger;
+import de.dlr.sc.virsat.team.merge.VirSatMergeConflictMarkerHelper;
 
 /**
  * This class implements the basic Virtual Satellite functionality of
@@ -66,25 +93,29 @@ public class VirSatGitVersionControlBackend implements IVirSatVersionControlBack
 	
 	public static final int GIT_REMOTE_TIMEOUT = 30;
 	
+	private static final String DVLM_FILE_EXTENSION = ".dvlm";
+	private static final String HEAD_TREE = "HEAD^{tree}";
+	
 	@Override
-	public void commit(IProject project, String message, IProgressMonitor monitor) throws Exception {
+	public void commit(IProject project, String message, Collection<IResource> changedResources, IProgressMonitor monitor) throws Exception {
 		SubMonitor pushAndCommitMonitor = SubMonitor.convert(monitor, "Virtual Satellite git push and commit", PROGRESS_INDEX_COMMIT_STEPS);
 		
 		// Get the repository mapped to the project
-		Repository gitRepository = RepositoryMapping.getMapping(project).getRepository();
-		// Stage and commit all changes
-		doCommit(gitRepository, message, pushAndCommitMonitor.split(1));
-
-		ProgressMonitor gitPushMonitor = new EclipseGitProgressTransformer(pushAndCommitMonitor.split(1));
-		
-		// Push the commit
-		lastPushResults = Git.wrap(gitRepository).push()
-			.setCredentialsProvider(credentialsProvider)
-			.setProgressMonitor(gitPushMonitor)
-			.setTimeout(GIT_REMOTE_TIMEOUT)
-			.call();
-		
-		Git.wrap(gitRepository).close();
+		RepositoryMapping repositoryMapping = RepositoryMapping.getMapping(project);
+		Repository gitRepository = repositoryMapping.getRepository();
+		try (Git git = Git.wrap(gitRepository)) {
+			// Stage and commit the changes
+			doCommit(git, message, getRepoRelativePaths(repositoryMapping, changedResources), pushAndCommitMonitor.split(1));
+	
+			ProgressMonitor gitPushMonitor = new EclipseGitProgressTransformer(pushAndCommitMonitor.split(1));
+			
+			// Push the commit
+			lastPushResults = git.push()
+				.setCredentialsProvider(credentialsProvider)
+				.setProgressMonitor(gitPushMonitor)
+				.setTimeout(GIT_REMOTE_TIMEOUT)
+				.call();
+		}
 	}
 	
 	/**
@@ -95,99 +126,351 @@ public class VirSatGitVersionControlBackend implements IVirSatVersionControlBack
 		return lastPushResults;
 	}
 
+	/**
+	 * Converts workspace resources into paths relative to the git repository
+	 * @param repositoryMapping the mapping of the project to the repository
+	 * @param resources the resources or null
+	 * @return the repository relative paths of the resources or null if no resources are given
+	 */
+	private Set<String> getRepoRelativePaths(RepositoryMapping repositoryMapping, Collection<IResource> resources) {
+		if (resources == null) {
+			return null;
+		}
+		
+		Set<String> paths = new HashSet<>();
+		for (IResource resource : resources) {
+			IPath path = repositoryMapping.getRepoRelativePath(resource);
+			if (path != null) {
+				paths.add(path.isEmpty() ? "." : path.toString());
+			}
+		}
+		return paths;
+	}
+
 	/**
 	 * Method to add all unstaged files and commit them to the local repository
-	 * @param gitRepository the repository on which to perform the commit
+	 * @param git the git instance of the repository on which to perform the commit
+	 * @param message a message to be used for the commit
+	 * @param pushAndCommitMonitor A SubMonitor for progress Reporting. 
+	 * @throws Exception 
+	 */
+	protected void doCommit(Git git, String message, SubMonitor monitor) throws Exception {
+		doCommit(git, message, null, monitor);
+	}
+	
+	/**
+	 * Method to add the unstaged files of the given paths and commit them to the local repository.
+	 * Only the given paths are staged and checked for changes, so the rest of the working tree is not scanned.
+	 * Files outside of the given paths are not committed, even if they have already been staged.
+	 * @param git the git instance of the repository on which to perform the commit
 	 * @param message a message to be used for the commit
+	 * @param paths the repository relative paths to commit or null to commit all changes
 	 * @param pushAndCommitMonitor A SubMonitor for progress Reporting. 
 	 * @throws Exception 
 	 */
-	protected void doCommit(Repository gitRepository, String message, SubMonitor monitor) throws Exception {
+	protected void doCommit(Git git, String message, Collection<String> paths, SubMonitor monitor) throws Exception {
 		SubMonitor pushAndCommitMonitor = SubMonitor.convert(monitor, "Virtual Satellite git commit", PROGRESS_INDEX_DO_COMMIT_STEPS);
+		if (paths != null && paths.isEmpty()) {
+			return;
+		}
 		
 		pushAndCommitMonitor.split(1).subTask("Adding new files to index");
-		Git.wrap(gitRepository).add()
-			.addFilepattern(".")
-			.call();		
+		StatusCommand statusCommand = git.status();
+		if (paths == null) {
+			git.add()
+				.addFilepattern(".")
+				.call();
+		} else {
+			// Adding stages new and modified files, updating additionally stages deleted files
+			AddCommand addCommand = git.add();
+			AddCommand updateCommand = git.add().setUpdate(true);
+			for (String path : paths) {
+				addCommand.addFilepattern(path);
+				updateCommand.addFilepattern(path);
+				statusCommand.addPath(path);
+			}
+			addCommand.call();
+			updateCommand.call();
+		}
 		
-		if (Git.wrap(gitRepository).status().call().hasUncommittedChanges()) {
+		Set<String> uncommittedChanges = statusCommand.call().getUncommittedChanges();
+		if (!uncommittedChanges.isEmpty()) {
 			pushAndCommitMonitor.split(1).subTask("Commiting files");
-			Git.wrap(gitRepository).commit()
-				.setAll(true)
-				.setMessage(message)
-				.call();
+			CommitCommand commitCommand = git.commit().setMessage(message);
+			if (paths == null) {
+				commitCommand.setAll(true);
+			} else {
+				// Restrict the commit to the changed files of the given paths
+				for (String path : uncommittedChanges) {
+					commitCommand.setOnly(path);
+				}
+			}
+			commitCommand.call();
 		}
 	}
 
 	@Override
-	public void update(IProject project,  IProgressMonitor monitor) throws Exception {
+	public void update(IProject project, Collection<IResource> changedResources, IProgressMonitor monitor) throws Exception {
 		SubMonitor commitAndPullMonitor = SubMonitor.convert(monitor, "Virtual Satellite git commit and pull", PROGRESS_INDEX_UPDATE_STEPS);
 		
 		// Get the repository mapped to the project
-		Repository gitRepository = RepositoryMapping.getMapping(project).getRepository();
-		// Stage and commit all changes
-		doCommit(gitRepository, BACKEND_REPOSITORY_COMMIT_PULL_MESSAGE  + project.getName(), commitAndPullMonitor.split(1));
-
-		commitAndPullMonitor.split(1).subTask("Check if remotes exist");
+		RepositoryMapping repositoryMapping = RepositoryMapping.getMapping(project);
+		Repository gitRepository = repositoryMapping.getRepository();
+		Map<File, List<DvlmMergeConflict>> mergeConflicts = new HashMap<>();
+		Set<String> changedPaths;
+		
+		try (Git git = Git.wrap(gitRepository)) {
+			// Stage and commit the changes, so that they can be merged with the remote ones
+			doCommit(git, BACKEND_REPOSITORY_COMMIT_PULL_MESSAGE  + project.getName(), getRepoRelativePaths(repositoryMapping, changedResources), commitAndPullMonitor.split(1));
+			
+			// Remember the state of the working tree, so that only the files changed by the pull need to be refreshed
+			ObjectId oldTreeId = gitRepository.resolve(HEAD_TREE);
+	
+			commitAndPullMonitor.split(1).subTask("Check if remotes exist");
+			
+			// Only perform a pull of the remote exists
+			if (hasRemoteContent(git)) {
+				
+				// Pull from origin and apply the Recursive Merge Strategy. It is the git standard merge strategy.
+				// In case there has been another commit on the remote in between, the pull will try to resolve it
+				// and store it as a new commit locally.
+				ProgressMonitor gitPullMonitor = new EclipseGitProgressTransformer(commitAndPullMonitor.setWorkRemaining(1).split(1));
+				lastPullResult = git.pull()
+					.setCredentialsProvider(credentialsProvider)
+					.setProgressMonitor(gitPullMonitor)
+					.setTimeout(GIT_REMOTE_TIMEOUT)
+					.setStrategy(MergeStrategy.RECURSIVE)
+					.call();
+				
+				mergeConflicts = checkAndResolveConflicts(git, commitAndPullMonitor);
+			} 
+			
+			changedPaths = getChangedPaths(git, oldTreeId, gitRepository.resolve(HEAD_TREE));
+		}
+		File workTree = gitRepository.getWorkTree();
+		
+		refreshChangedResources(project, workTree, changedPaths, commitAndPullMonitor.split(1));
+		
+		createMergeConflictMarkers(mergeConflicts);
+	}
+	
+	/**
+	 * Checks if there is anything to pull from the remote. If the tracking branch is already
+	 * known locally the remote has content, otherwise the remote is asked for its refs.
+	 * @param git the git instance of the local repository
+	 * @return true if the remote has content that can be pulled
+	 * @throws Exception
+	 */
+	private boolean hasRemoteContent(Git git) throws Exception {
+		Repository gitRepository = git.getRepository();
+		String trackingBranch = new BranchConfig(gitRepository.getConfig(), gitRepository.getBranch()).getTrackingBranch();
+		if (trackingBranch != null && gitRepository.exactRef(trackingBranch) != null) {
+			return true;
+		}
 		
 		// Get the remotes for the repository
 		String remoteUrl = gitRepository.getConfig().getString("remote", "origin", "url");
 		Collection<Ref> refs = Git.lsRemoteRepository()
 			.setRemote(remoteUrl)
 			.call();
+		return !refs.isEmpty();
+	}
+	
+	/**
+	 * Computes the paths of all files that differ between two trees
+	 * @param git the git instance of the repository
+	 * @param oldTreeId the tree before the change or null if there has been none
+	 * @param newTreeId the tree after the change or null if there is none
+	 * @return the repository relative paths of the changed files or null if they cannot be determined
+	 * @throws Exception
+	 */
+	private Set<String> getChangedPaths(Git git, ObjectId oldTreeId, ObjectId newTreeId) throws Exception {
+		if (oldTreeId == null || newTreeId == null) {
+			return null;
+		}
 		
-		// Only perform a pull of the remote exists
-		if (!refs.isEmpty()) {
-			
-			// Pull from origin and apply the Recursive Merge Strategy. It is the git standard merge strategy.
-			// In case there has been another commit on the remote in between, the pull will try to resolve it
-			// and store it as a new commit locally.
-			ProgressMonitor gitPullMonitor = new EclipseGitProgressTransformer(commitAndPullMonitor.setWorkRemaining(1).split(1));
-			lastPullResult = Git.wrap(gitRepository).pull()
-				.setCredentialsProvider(credentialsProvider)
-				.setProgressMonitor(gitPullMonitor)
-				.setTimeout(GIT_REMOTE_TIMEOUT)
-				.setStrategy(MergeStrategy.RECURSIVE)
+		Set<String> changedPaths = new HashSet<>();
+		if (oldTreeId.equals(newTreeId)) {
+			return changedPaths;
+		}
+		
+		try (ObjectReader reader = git.getRepository().newObjectReader()) {
+			List<DiffEntry> diffEntries = git.diff()
+				.setOldTree(new CanonicalTreeParser(null, reader, oldTreeId))
+				.setNewTree(new CanonicalTreeParser(null, reader, newTreeId))
+				.setShowNameAndStatusOnly(true)
 				.call();
 			
-			checkAndResolveConflicts(gitRepository, commitAndPullMonitor);
-		} 
-		 
-		Git.wrap(gitRepository).close();
+			for (DiffEntry diffEntry : diffEntries) {
+				if (!DiffEntry.DEV_NULL.equals(diffEntry.getOldPath())) {
+					changedPaths.add(diffEntry.getOldPath());
+				}
+				if (!DiffEntry.DEV_NULL.equals(diffEntry.getNewPath())) {
+					changedPaths.add(diffEntry.getNewPath());
+				}
+			}
+		}
+		return changedPaths;
+	}
+	
+	/**
+	 * Refreshes the workspace resources of the project that correspond to the changed files.
+	 * Folders that have been created or deleted are refreshed as a whole.
+	 * @param project the project to refresh
+	 * @param workTree the working tree of the repository
+	 * @param changedPaths the repository relative paths of the changed files or null to refresh the whole project
+	 * @param monitor the progress monitor
+	 * @throws CoreException
+	 */
+	private void refreshChangedResources(IProject project, File workTree, Set<String> changedPaths, IProgressMonitor monitor) throws CoreException {
+		if (changedPaths == null) {
+			refreshLocal(project, monitor);
+			return;
+		}
 		
-		project.refreshLocal(Resource.DEPTH_INFINITE, commitAndPullMonitor.split(1));
+		IPath projectLocation = project.getLocation();
+		Set<IResource> resourcesToRefresh = new HashSet<>();
+		for (String changedPath : changedPaths) {
+			IPath location = new Path(new File(workTree, changedPath).getAbsolutePath());
+			if (projectLocation.isPrefixOf(location)) {
+				IResource resource = project.getFile(location.makeRelativeTo(projectLocation));
+				while (!resource.getParent().equals(project) && !isInSync(resource.getParent())) {
+					resource = resource.getParent();
+				}
+				resourcesToRefresh.add(resource);
+			}
+		}
+		
+		SubMonitor refreshMonitor = SubMonitor.convert(monitor, resourcesToRefresh.size());
+		for (IResource resource : resourcesToRefresh) {
+			refreshLocal(resource, refreshMonitor.split(1));
+		}
+	}
+	
+	/**
+	 * Checks if a container exists in the workspace exactly if it exists in the file system
+	 * @param container the container to check
+	 * @return false if the container has been created or deleted in the file system only
+	 */
+	private boolean isInSync(IResource container) {
+		return container.exists() == container.getLocation().toFile().exists();
+	}
+	
+	/**
+	 * Refreshes a single resource with all its contents
+	 * @param resource the resource to refresh
+	 * @param monitor the progress monitor
+	 * @throws CoreException
+	 */
+	protected void refreshLocal(IResource resource, IProgressMonitor monitor) throws CoreException {
+		resource.refreshLocal(Resource.DEPTH_INFINITE, monitor);
 	}
 	
 	/**
 	 * In case not all files could be merged they need to be fixed.
-	 * Conflicting files are fixed by replacing them with the version from the remote git repository.
-	 * @param gitRepository the git repository
+	 * Conflicting dvlm files are merged object by object, so that changes to different objects
+	 * or features are kept from both sides. All other conflicting files as well as features that
+	 * have been changed on both sides are fixed by using the version from the remote git repository.
+	 * @param git the git instance of the repository
 	 * @param monitor the progress monitor
+	 * @return the conflicts that have been resolved with the remote version, by the merged files
 	 * @throws Exception
 	 */
-	private void checkAndResolveConflicts(Repository gitRepository, SubMonitor progressMonitor) throws Exception {
+	private Map<File, List<DvlmMergeConflict>> checkAndResolveConflicts(Git git, SubMonitor progressMonitor) throws Exception {
+		Map<File, List<DvlmMergeConflict>> mergeConflicts = new HashMap<>();
+		Repository gitRepository = git.getRepository();
+		
 		// Therefore lets see if files are in a conflicting state within the repository
-		Set<String> conflictingFiles = Git.wrap(gitRepository).status().call().getConflicting();
+		Set<String> conflictingFiles = git.status().call().getConflicting();
 		
 		// If there are any continue from here with resolving the conflicts.
 		if (!conflictingFiles.isEmpty()) {
 			progressMonitor.setWorkRemaining(2);
 			ProgressMonitor gitCheckoutMonitor = new EclipseGitProgressTransformer(progressMonitor.split(1));
 			
-			// Prepare a checkout command to get THEIRS on all conflicting files.
+			// Prepare a checkout command to get THEIRS on all conflicting files that cannot be merged.
 			// This basically means that in case of concept the files in the repository
 			// are regarded as being correct. This happens on the cost of loosing local changes.
-			CheckoutCommand checkoutCommand = Git.wrap(gitRepository).checkout();
+			CheckoutCommand checkoutCommand = git.checkout();
 			checkoutCommand.setProgressMonitor(gitCheckoutMonitor);
+			boolean hasUnmergedFiles = false;
 			
+			DirCache dirCache = gitRepository.readDirCache();
 			for (String conflictingFile : conflictingFiles) {
-				checkoutCommand.addPath(conflictingFile);
+				File file = new File(gitRepository.getWorkTree(), conflictingFile);
+				List<DvlmMergeConflict> fileConflicts = mergeDvlmFile(gitRepository, dirCache, conflictingFile, file);
+				if (fileConflicts != null) {
+					mergeConflicts.put(file, fileConflicts);
+				} else {
+					checkoutCommand.addPath(conflictingFile);
+					hasUnmergedFiles = true;
+				}
+			}
+			
+			if (hasUnmergedFiles) {
+				checkoutCommand.setStage(Stage.THEIRS);
+				checkoutCommand.call();
 			}
-			checkoutCommand.setStage(Stage.THEIRS);
-			checkoutCommand.call();
 			
-			// Finally close the still open merge commit
-			doCommit(gitRepository, BACKEND_REPOSITORY_MERGE_COMMIT_MESSAGE, progressMonitor.split(1));
+			// Finally close the still open merge commit, which also stages the merged files
+			doCommit(git, BACKEND_REPOSITORY_MERGE_COMMIT_MESSAGE, progressMonitor.split(1));
+		}
+		
+		return mergeConflicts;
+	}
+	
+	/**
+	 * Merges a conflicting dvlm file using the base, local and remote versions stored in the index
+	 * and writes the result into the working tree
+	 * @param gitRepository the git repository
+	 * @param dirCache the index of the repository containing the conflicting versions
+	 * @param path the repository relative path of the file
+	 * @param file the file in the working tree
+	 * @return the conflicts which have been resolved with the remote version or null if the file could not be merged
+	 */
+	private List<DvlmMergeConflict> mergeDvlmFile(Repository gitRepository, DirCache dirCache, String path, File file) {
+		if (!path.endsWith(DVLM_FILE_EXTENSION)) {
+			return null;
+		}
+		
+		try {
+			// The index holds one entry per stage for a conflicting file, the base may be missing
+			// in case the file has been added on both sides
+			byte[][] stages = new byte[DirCacheEntry.STAGE_3 + 1][];
+			for (int index = dirCache.findEntry(path); index >= 0 && index < dirCache.getEntryCount(); index++) {
+				DirCacheEntry entry = dirCache.getEntry(index);
+				if (!entry.getPathString().equals(path)) {
+					break;
+				}
+				stages[entry.getStage()] = gitRepository.open(entry.getObjectId()).getBytes();
+			}
+			
+			if (stages[DirCacheEntry.STAGE_2] == null || stages[DirCacheEntry.STAGE_3] == null) {
+				// The file has been deleted on one side
+				return null;
+			}
+			
+			DvlmMerger merger = new DvlmMerger(URI.createFileURI(file.getAbsolutePath()));
+			byte[] mergedContent = merger.merge(stages[DirCacheEntry.STAGE_1], stages[DirCacheEntry.STAGE_2], stages[DirCacheEntry.STAGE_3]);
+			Files.write(file.toPath(), mergedContent);
+			return merger.getConflicts();
+		} catch (IOException | RuntimeException e) {
+			Activator.getDefault().getLog().log(new Status(Status.WARNING, Activator.getPluginId(), "Could not merge " + path + ", using the remote version", e));
+			return null;
+		}
+	}
+	
+	/**
+	 * Attaches markers for the conflicts that have been resolved during the merge to the merged files
+	 * @param mergeConflicts the conflicts by the merged files
+	 */
+	private void createMergeConflictMarkers(Map<File, List<DvlmMergeConflict>> mergeConflicts) {
+		VirSatMergeConflictMarkerHelper markerHelper = new VirSatMergeConflictMarkerHelper();
+		for (Map.Entry<File, List<DvlmMergeConflict>> entry : mergeConflicts.entrySet()) {
+			IFile[] workspaceFiles = ResourcesPlugin.getWorkspace().getRoot().findFilesForLocationURI(entry.getKey().toURI());
+			for (IFile workspaceFile : workspaceFiles) {
+				markerHelper.createMergeConflictMarkers(workspaceFile, entry.getValue());
+			}
 		}
 	}
 	
@@ -233,20 +516,20 @@ public class VirSatGitVersionControlBackend implements IVirSatVersionControlBack
 		
 		checkInMonitor.split(1).subTask("Cloning remote Repository");
 		// Clone into the location specified by the project description
-		Repository repo = Git.cloneRepository()
+		try (Git git = Git.cloneRepository()
 			.setCredentialsProvider(credentialsProvider)
 			.setURI(remoteUri)
 			.setDirectory(pathRepoLocal)
-			.call()
-			.getRepository();
-		
-		// Changing the project to the target location lets eclipse know where we want to move the project
-		IProjectDescription projectDescription = ResourcesPlugin.getWorkspace().newProjectDescription(project.getName());
-		projectDescription.setLocationURI(pathRepoLocal.toURI().resolve(project.getName()));
-		project.move(projectDescription, true, checkInMonitor.split(1));
-		
-		// Stage and commit all changes
-		doCommit(repo, INITIAL_COMMIT_MESSAGE, checkInMonitor.split(1));
+			.call()) {
+			
+			// Changing the project to the target location lets eclipse know where we want to move the project
+			IProjectDescription projectDescription = ResourcesPlugin.getWorkspace().newProjectDescription(project.getName());
+			projectDescription.setLocationURI(pathRepoLocal.toURI().resolve(project.getName()));
+			project.move(projectDescription, true, checkInMonitor.split(1));
+			
+			// Stage and commit all changes
+			doCommit(git, INITIAL_COMMIT_MESSAGE, checkInMonitor.split(1));
+		}
 		
 		connect(project, pathRepoLocal, checkInMonitor.split(1));
 
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.team.merge;
+
+/**
+ * A conflict which could not be merged automatically by the {@link DvlmMerger}.
+ * The conflict has already been resolved by keeping one of the versions, it is
+ * reported so that the user can review the decision.
+ */
+public class DvlmMergeConflict {
+
+	private final String objectId;
+	private final String featureName;
+	private final String localValue;
+	private final String remoteValue;
+	private final boolean isRemoteKept;
+
+	/**
+	 * Constructor for a merge conflict
+	 * @param objectId the identifier of the conflicting object
+	 * @param featureName the name of the conflicting feature or null if the object as a whole is conflicting
+	 * @param localValue the local value
+	 * @param remoteValue the remote value
+	 * @param isRemoteKept true if the conflict has been resolved with the remote value
+	 */
+	public DvlmMergeConflict(String objectId, String featureName, String localValue, String remoteValue, boolean isRemoteKept) {
+		this.objectId = objectId;
+		this.featureName = featureName;
+		this.localValue = localValue;
+		this.remoteValue = remoteValue;
+		this.isRemoteKept = isRemoteKept;
+	}
+
+	public String getObjectId() {
+		return objectId;
+	}
+
+	public String getFeatureName() {
+		return featureName;
+	}
+
+	public String getLocalValue() {
+		return localValue;
+	}
+
+	public String getRemoteValue() {
+		return remoteValue;
+	}
+
+	public boolean isRemoteKept() {
+		return isRemoteKept;
+	}
+
+	/**
+	 * Creates a message describing the conflict and how it has been resolved
+	 * @return the message
+	 */
+	public String getMessage() {
+		String conflictingElement = featureName != null ? "feature " + featureName + " of object " + objectId : "object " + objectId;
+		String keptVersion = isRemoteKept ? "remote" : "local";
+		return "Merge conflict on " + conflictingElement + ": local " + localValue + ", remote " + remoteValue + ". The " + keptVersion + " version has been kept.";
+	}
+
+	@Override
+	public String toString() {
+		return getMessage();
+	}
+}
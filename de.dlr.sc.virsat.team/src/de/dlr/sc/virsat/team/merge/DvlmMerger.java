@@ -0,0 +1,655 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.team.merge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.XMIResource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+
+import de.dlr.sc.virsat.model.ecore.xmi.impl.DvlmXMIResourceFactoryImpl;
+
+/**
+ * Three way merge for dvlm files. Instead of merging the lines of the files, the base,
+ * the local and the remote version are loaded as EMF models and merged object by object.
+ * Objects are identified by their uuid. Objects without an identifier such as equations are
+ * matched by their content or by their position behind the preceding object with an identifier.
+ * Objects that cannot be matched unambiguously are reported as conflict and treated as deleted
+ * and added again. Changes to different objects
+ * or to different features of the same object are combined. Only if both sides changed the
+ * same feature to different values a {@link DvlmMergeConflict} is reported. Such conflicts
+ * are resolved with the remote value, as it has been done for whole files before.
+ * References to other files are never resolved, so a single file can be merged without
+ * loading the rest of the project.
+ */
+public class DvlmMerger {
+
+	private static final String PROXY_KEY_PREFIX = "proxy:";
+	private static final String KEY_SEPARATOR = "#";
+	private static final String OURS_KEY_INFIX = "ours";
+	private static final String THEIRS_KEY_INFIX = "theirs";
+	private static final String AMBIGUOUS = "ambiguous objects without identifier";
+	private static final String UNAMBIGUOUS = "unambiguous";
+
+	private final URI uri;
+	private Resource oursResource;
+	private Resource theirsResource;
+	private List<DvlmMergeConflict> conflicts = new ArrayList<>();
+
+	/**
+	 * Constructor for the merger
+	 * @param uri the uri of the merged file, needed to correctly interpret references to other files
+	 */
+	public DvlmMerger(URI uri) {
+		this.uri = uri;
+	}
+
+	/**
+	 * Merges the three versions of a dvlm file
+	 * @param base the content of the common ancestor or null if the file has been added on both sides
+	 * @param ours the content of the local version
+	 * @param theirs the content of the remote version
+	 * @return the content of the merged file
+	 * @throws IOException if one of the versions cannot be read or the merged file cannot be written
+	 */
+	public byte[] merge(byte[] base, byte[] ours, byte[] theirs) throws IOException {
+		conflicts = new ArrayList<>();
+		List<EObject> baseContents = base != null ? load(base).getContents() : Collections.emptyList();
+		oursResource = load(ours);
+		theirsResource = load(theirs);
+
+		// A file always describes the same root objects. If they differ, the versions
+		// cannot be merged and the remote version is taken as a whole.
+		Set<String> oursRootKeys = getKeys(oursResource.getContents());
+		Set<String> theirsRootKeys = getKeys(theirsResource.getContents());
+		if (!oursRootKeys.equals(theirsRootKeys)) {
+			conflicts.add(new DvlmMergeConflict(uri.lastSegment(), null, oursRootKeys.toString(), theirsRootKeys.toString(), true));
+			return theirs;
+		}
+
+		mergeContents(uri.lastSegment(), null, baseContents, (InternalEList<EObject>) oursResource.getContents(), theirsResource.getContents());
+
+		Map<Object, Object> saveOptions = new HashMap<>();
+		saveOptions.put(XMLResource.OPTION_ENCODING, "UTF-8");
+		saveOptions.put(Resource.OPTION_LINE_DELIMITER, Resource.OPTION_LINE_DELIMITER_UNSPECIFIED);
+		saveOptions.put(XMIResource.OPTION_PROCESS_DANGLING_HREF, XMIResource.OPTION_PROCESS_DANGLING_HREF_DISCARD);
+
+		ByteArrayOutputStream mergedContent = new ByteArrayOutputStream();
+		oursResource.save(mergedContent, saveOptions);
+		return mergedContent.toByteArray();
+	}
+
+	/**
+	 * Gets the conflicts of the latest merge
+	 * @return the conflicts that have been resolved with one of the versions
+	 */
+	public List<DvlmMergeConflict> getConflicts() {
+		return conflicts;
+	}
+
+	/**
+	 * Loads one version of the file into its own resource set
+	 * @param content the content of the file
+	 * @return the loaded resource
+	 * @throws IOException if the content cannot be read
+	 */
+	private Resource load(byte[] content) throws IOException {
+		// Never load other files when resolving references, they may not be part of the merge
+		ResourceSet resourceSet = new ResourceSetImpl() {
+			@Override
+			public EObject getEObject(URI objectUri, boolean loadOnDemand) {
+				return super.getEObject(objectUri, false);
+			}
+		};
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION, new DvlmXMIResourceFactoryImpl());
+		Resource resource = resourceSet.createResource(uri);
+		resource.load(new ByteArrayInputStream(content), null);
+		return resource;
+	}
+
+	/**
+	 * Merges a list of contained objects. Objects removed remotely are removed locally,
+	 * objects added remotely are added locally behind their remote predecessor and objects
+	 * present on both sides are merged feature by feature. Objects deleted on one side and
+	 * changed on the other side are kept and reported as conflict.
+	 * @param containerId the identifier of the local container for reporting conflicts
+	 * @param featureName the name of the containment feature or null for the contents of the file
+	 * @param baseContents the contained objects of the common ancestor
+	 * @param oursContents the contained objects of the local version, which receive the merge result
+	 * @param theirsContents the contained objects of the remote version
+	 */
+	private void mergeContents(String containerId, String featureName, List<EObject> baseContents, InternalEList<EObject> oursContents, List<EObject> theirsContents) {
+		Map<EObject, String> keys = createKeys(containerId, featureName, baseContents, oursContents, theirsContents);
+		Map<String, EObject> baseObjects = index(baseContents, keys);
+		Map<String, EObject> oursObjects = index(oursContents, keys);
+		Map<String, EObject> theirsObjects = index(theirsContents, keys);
+
+		// Remove the objects that have been deleted remotely, unless they have been changed locally
+		for (Iterator<Map.Entry<String, EObject>> iterator = oursObjects.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<String, EObject> entry = iterator.next();
+			EObject baseObject = baseObjects.get(entry.getKey());
+			if (baseObject != null && !theirsObjects.containsKey(entry.getKey())) {
+				if (EcoreUtil.equals(baseObject, entry.getValue())) {
+					oursContents.remove(oursContents.basicIndexOf(entry.getValue()));
+					iterator.remove();
+				} else {
+					conflicts.add(new DvlmMergeConflict(getObjectId(entry.getValue()), null, "changed", "deleted", false));
+				}
+			}
+		}
+
+		// Add the objects that have been created remotely or deleted locally but changed remotely,
+		// and merge the ones existing on both sides
+		Set<String> addedKeys = new HashSet<>();
+		EObject oursPredecessor = null;
+		for (Map.Entry<String, EObject> entry : theirsObjects.entrySet()) {
+			String key = entry.getKey();
+			EObject oursObject = oursObjects.get(key);
+			EObject baseObject = baseObjects.get(key);
+			if (oursObject == null && (baseObject == null || !EcoreUtil.equals(baseObject, entry.getValue()))) {
+				oursObject = copyToOurs(entry.getValue());
+				int index = oursPredecessor != null ? oursContents.basicIndexOf(oursPredecessor) + 1 : 0;
+				oursContents.addUnique(index, oursObject);
+				rebindReferences(oursObject);
+				addedKeys.add(key);
+				if (baseObject != null) {
+					conflicts.add(new DvlmMergeConflict(getObjectId(oursObject), null, "deleted", "changed", true));
+				}
+			}
+
+			if (oursObject != null) {
+				if (!addedKeys.contains(key) && !oursObject.eIsProxy()) {
+					mergeObject(baseObjects.get(key), oursObject, entry.getValue());
+				}
+				oursPredecessor = oursObject;
+			}
+		}
+	}
+
+	/**
+	 * Merges the features of an object that exists in the local and the remote version
+	 * @param base the object in the common ancestor or null if it has been added on both sides
+	 * @param ours the local object, which receives the merge result
+	 * @param theirs the remote object
+	 */
+	@SuppressWarnings("unchecked")
+	private void mergeObject(EObject base, EObject ours, EObject theirs) {
+		for (EStructuralFeature feature : ours.eClass().getEAllStructuralFeatures()) {
+			if (isMergeable(feature)) {
+				if (isContainment(feature) && feature.isMany()) {
+					List<EObject> baseContents = base != null ? (List<EObject>) base.eGet(feature, false) : Collections.emptyList();
+					mergeContents(getObjectId(ours), feature.getName(), baseContents, (InternalEList<EObject>) ours.eGet(feature), (List<EObject>) theirs.eGet(feature, false));
+				} else if (isContainment(feature)) {
+					mergeContainedObject(base, ours, theirs, (EReference) feature);
+				} else {
+					mergeValue(base, ours, theirs, feature);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Merges a single valued containment
+	 * @param base the containing object in the common ancestor or null
+	 * @param ours the local containing object
+	 * @param theirs the remote containing object
+	 * @param reference the containment reference
+	 */
+	private void mergeContainedObject(EObject base, EObject ours, EObject theirs, EReference reference) {
+		EObject baseChild = base != null ? (EObject) base.eGet(reference, false) : null;
+		EObject oursChild = (EObject) ours.eGet(reference, false);
+		EObject theirsChild = (EObject) theirs.eGet(reference, false);
+		String baseKey = getKey(baseChild);
+		String oursKey = getKey(oursChild);
+		String theirsKey = getKey(theirsChild);
+
+		if (Objects.equals(oursKey, theirsKey)) {
+			if (oursChild != null && !oursChild.eIsProxy()) {
+				mergeObject(oursKey.equals(baseKey) ? baseChild : null, oursChild, theirsChild);
+			}
+		} else if (base == null || !Objects.equals(baseKey, theirsKey)) {
+			if (base == null || !Objects.equals(baseKey, oursKey)) {
+				conflicts.add(new DvlmMergeConflict(getObjectId(ours), reference.getName(), oursKey, theirsKey, true));
+			}
+			EObject oursNewChild = theirsChild != null ? copyToOurs(theirsChild) : null;
+			ours.eSet(reference, oursNewChild);
+			if (oursNewChild != null) {
+				rebindReferences(oursNewChild);
+			}
+		}
+	}
+
+	/**
+	 * Merges the value of an attribute or a non containment reference
+	 * @param base the object in the common ancestor or null if it has been added on both sides
+	 * @param ours the local object
+	 * @param theirs the remote object
+	 * @param feature the feature to merge
+	 */
+	private void mergeValue(EObject base, EObject ours, EObject theirs, EStructuralFeature feature) {
+		Object oursValue = getValueKey(ours, feature);
+		Object theirsValue = getValueKey(theirs, feature);
+		if (Objects.equals(oursValue, theirsValue)) {
+			return;
+		}
+
+		Object baseValue = base != null ? getValueKey(base, feature) : null;
+		boolean isChangedLocally = base == null || !Objects.equals(baseValue, oursValue);
+		boolean isChangedRemotely = base == null || !Objects.equals(baseValue, theirsValue);
+		if (isChangedRemotely) {
+			if (isChangedLocally) {
+				conflicts.add(new DvlmMergeConflict(getObjectId(ours), feature.getName(), String.valueOf(oursValue), String.valueOf(theirsValue), true));
+			}
+			setValue(ours, feature, theirs.eGet(feature, false));
+		}
+	}
+
+	/**
+	 * Sets a remote value on a local object. Referenced remote objects are replaced by their local counterparts.
+	 * @param ours the local object
+	 * @param feature the feature to set
+	 * @param theirsValue the remote value
+	 */
+	@SuppressWarnings("unchecked")
+	private void setValue(EObject ours, EStructuralFeature feature, Object theirsValue) {
+		if (feature.isMany()) {
+			List<Object> oursValues = new ArrayList<>();
+			for (Object value : (List<?>) theirsValue) {
+				oursValues.add(toOurs(feature, value));
+			}
+			InternalEList<Object> oursList = (InternalEList<Object>) ours.eGet(feature);
+			oursList.clear();
+			oursList.addAllUnique(oursValues);
+		} else {
+			ours.eSet(feature, toOurs(feature, theirsValue));
+		}
+	}
+
+	/**
+	 * Replaces references into the remote version by references to the local counterparts
+	 * for a copied object and all of its contents
+	 * @param copy an object copied from the remote version
+	 */
+	@SuppressWarnings("unchecked")
+	private void rebindReferences(EObject copy) {
+		for (Iterator<EObject> iterator = EcoreUtil.getAllProperContents(Collections.singleton(copy), false); iterator.hasNext();) {
+			EObject eObject = iterator.next();
+			for (EReference reference : eObject.eClass().getEAllReferences()) {
+				if (isMergeable(reference) && !reference.isContainment()) {
+					if (reference.isMany()) {
+						InternalEList<Object> targets = (InternalEList<Object>) eObject.eGet(reference);
+						for (int i = 0; i < targets.size(); i++) {
+							Object target = targets.basicGet(i);
+							if (isInTheirs(target)) {
+								targets.setUnique(i, toOurs(reference, target));
+							}
+						}
+					} else {
+						Object target = eObject.eGet(reference, false);
+						if (isInTheirs(target)) {
+							eObject.eSet(reference, toOurs(reference, target));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if a value is an object of the remote version
+	 * @param value the value to check
+	 * @return true iff the value is a non proxy object contained in the remote resource
+	 */
+	private boolean isInTheirs(Object value) {
+		return value instanceof EObject && !((EObject) value).eIsProxy() && ((EObject) value).eResource() == theirsResource;
+	}
+
+	/**
+	 * Maps a remote value to the corresponding local value. Attribute values are kept, referenced
+	 * objects are looked up in the local version and replaced by proxies if they are not part of it.
+	 * @param feature the feature holding the value
+	 * @param theirsValue the remote value
+	 * @return the local value
+	 */
+	private Object toOurs(EStructuralFeature feature, Object theirsValue) {
+		if (feature instanceof EAttribute || theirsValue == null) {
+			return theirsValue;
+		}
+
+		EObject theirsObject = (EObject) theirsValue;
+		URI objectUri = EcoreUtil.getURI(theirsObject);
+		if (isInTheirs(theirsObject)) {
+			EObject oursObject = oursResource.getEObject(objectUri.fragment());
+			if (oursObject != null) {
+				return oursObject;
+			}
+		}
+		return createProxy(theirsObject.eClass(), objectUri);
+	}
+
+	/**
+	 * Copies a remote object so that it can be added to the local version
+	 * @param theirsObject the remote object
+	 * @return a deep copy of the object or a new proxy if the remote object is a proxy
+	 */
+	private EObject copyToOurs(EObject theirsObject) {
+		if (theirsObject.eIsProxy()) {
+			return createProxy(theirsObject.eClass(), ((InternalEObject) theirsObject).eProxyURI());
+		}
+		return EcoreUtil.copy(theirsObject);
+	}
+
+	/**
+	 * Creates a proxy object
+	 * @param eClass the type of the proxy
+	 * @param proxyUri the uri of the object represented by the proxy
+	 * @return the proxy
+	 */
+	private EObject createProxy(EClass eClass, URI proxyUri) {
+		EObject proxy = EcoreUtil.create(eClass);
+		((InternalEObject) proxy).eSetProxyURI(proxyUri);
+		return proxy;
+	}
+
+	/**
+	 * Creates an index of contained objects by their keys, keeping their order
+	 * @param objects the contained objects
+	 * @param keys the keys of the objects
+	 * @return the objects by their keys
+	 */
+	private Map<String, EObject> index(List<EObject> objects, Map<EObject, String> keys) {
+		Map<String, EObject> index = new LinkedHashMap<>();
+		for (EObject eObject : objects) {
+			index.put(keys.get(eObject), eObject);
+		}
+		return index;
+	}
+
+	/**
+	 * Creates the keys identifying the contained objects of a list across the three versions.
+	 * Proxies and objects with an identifier are keyed by their identifier. Objects without
+	 * identifier are matched to an equal object of the common ancestor first. The remaining ones
+	 * are matched by their position among the objects of the same type behind the same
+	 * object with an identifier. If these positions do not tell which objects belong together,
+	 * a conflict is reported and the objects are treated as deleted and added again.
+	 * Objects added on both sides are matched by their content.
+	 * @param containerId the identifier of the local container for reporting conflicts
+	 * @param featureName the name of the containment feature or null for the contents of the file
+	 * @param baseContents the contained objects of the common ancestor
+	 * @param oursContents the contained objects of the local version
+	 * @param theirsContents the contained objects of the remote version
+	 * @return the keys of the objects of all three versions
+	 */
+	private Map<EObject, String> createKeys(String containerId, String featureName, List<EObject> baseContents, List<EObject> oursContents, List<EObject> theirsContents) {
+		Map<EObject, String> slots = new HashMap<>();
+		addSlots(baseContents, slots);
+		addSlots(oursContents, slots);
+		addSlots(theirsContents, slots);
+
+		Map<EObject, String> keys = new HashMap<>();
+		Map<String, Integer> ordinals = new HashMap<>();
+		for (EObject baseObject : baseContents) {
+			String slot = slots.get(baseObject);
+			keys.put(baseObject, slot != null ? slot + KEY_SEPARATOR + ordinals.merge(slot, 1, Integer::sum) : getKey(baseObject));
+		}
+
+		List<EObject> oursAdded = new ArrayList<>();
+		List<EObject> theirsAdded = new ArrayList<>();
+		boolean isOursUnambiguous = matchToBase(baseContents, oursContents, slots, keys, oursAdded);
+		boolean isTheirsUnambiguous = matchToBase(baseContents, theirsContents, slots, keys, theirsAdded);
+		if (!isOursUnambiguous || !isTheirsUnambiguous) {
+			String oursMatch = isOursUnambiguous ? UNAMBIGUOUS : AMBIGUOUS;
+			String theirsMatch = isTheirsUnambiguous ? UNAMBIGUOUS : AMBIGUOUS;
+			conflicts.add(new DvlmMergeConflict(containerId, featureName, oursMatch, theirsMatch, false));
+		}
+
+		// Objects added on both sides are the same if they are equal
+		ordinals.clear();
+		for (EObject oursObject : oursAdded) {
+			String slot = slots.get(oursObject) + KEY_SEPARATOR + OURS_KEY_INFIX;
+			keys.put(oursObject, slot + KEY_SEPARATOR + ordinals.merge(slot, 1, Integer::sum));
+		}
+		for (EObject theirsObject : theirsAdded) {
+			EObject equalOursObject = removeEqual(oursAdded, theirsObject);
+			if (equalOursObject != null) {
+				keys.put(theirsObject, keys.get(equalOursObject));
+			} else {
+				String slot = slots.get(theirsObject) + KEY_SEPARATOR + THEIRS_KEY_INFIX;
+				keys.put(theirsObject, slot + KEY_SEPARATOR + ordinals.merge(slot, 1, Integer::sum));
+			}
+		}
+
+		return keys;
+	}
+
+	/**
+	 * Determines the slots of the objects without identifier in a list. A slot consists of the key of
+	 * the preceding object with an identifier and the type of the object.
+	 * @param objects the contained objects
+	 * @param slots receives the slots of the objects without identifier
+	 */
+	private void addSlots(List<EObject> objects, Map<EObject, String> slots) {
+		String predecessorKey = "";
+		for (EObject eObject : objects) {
+			if (isIdentified(eObject)) {
+				predecessorKey = getKey(eObject);
+			} else {
+				slots.put(eObject, predecessorKey + KEY_SEPARATOR + eObject.eClass().getName());
+			}
+		}
+	}
+
+	/**
+	 * Matches the objects of the local or the remote version to the objects of the common ancestor.
+	 * Objects with an identifier are keyed by it, objects without identifier get the key of an equal
+	 * object of the common ancestor. The remaining objects of a slot are matched by their order if the
+	 * slot contains as many remaining objects in the common ancestor, otherwise they are not matched.
+	 * @param baseContents the contained objects of the common ancestor, which already have their keys
+	 * @param sideContents the contained objects of the local or the remote version
+	 * @param slots the slots of the objects without identifier
+	 * @param keys receives the keys of the matched objects
+	 * @param added receives the objects without identifier that could not be matched
+	 * @return false if the objects of a slot could not be matched unambiguously
+	 */
+	private boolean matchToBase(List<EObject> baseContents, List<EObject> sideContents, Map<EObject, String> slots, Map<EObject, String> keys, List<EObject> added) {
+		List<EObject> unmatchedBase = new ArrayList<>();
+		for (EObject baseObject : baseContents) {
+			if (!isIdentified(baseObject)) {
+				unmatchedBase.add(baseObject);
+			}
+		}
+
+		List<EObject> unmatchedSide = new ArrayList<>();
+		for (EObject sideObject : sideContents) {
+			if (isIdentified(sideObject)) {
+				keys.put(sideObject, getKey(sideObject));
+			} else {
+				EObject equalBaseObject = removeEqual(unmatchedBase, sideObject);
+				if (equalBaseObject != null) {
+					keys.put(sideObject, keys.get(equalBaseObject));
+				} else {
+					unmatchedSide.add(sideObject);
+				}
+			}
+		}
+
+		Map<String, List<EObject>> unmatchedBaseBySlot = groupBySlot(unmatchedBase, slots);
+		boolean isUnambiguous = true;
+		for (Map.Entry<String, List<EObject>> entry : groupBySlot(unmatchedSide, slots).entrySet()) {
+			List<EObject> baseObjects = unmatchedBaseBySlot.getOrDefault(entry.getKey(), Collections.emptyList());
+			List<EObject> sideObjects = entry.getValue();
+			if (baseObjects.size() == sideObjects.size()) {
+				for (int i = 0; i < sideObjects.size(); i++) {
+					keys.put(sideObjects.get(i), keys.get(baseObjects.get(i)));
+				}
+			} else {
+				isUnambiguous &= baseObjects.isEmpty();
+				added.addAll(sideObjects);
+			}
+		}
+		return isUnambiguous;
+	}
+
+	/**
+	 * Groups objects without identifier by their slots, keeping their order
+	 * @param objects the objects
+	 * @param slots the slots of the objects
+	 * @return the objects by their slots
+	 */
+	private Map<String, List<EObject>> groupBySlot(List<EObject> objects, Map<EObject, String> slots) {
+		Map<String, List<EObject>> objectsBySlot = new LinkedHashMap<>();
+		for (EObject eObject : objects) {
+			objectsBySlot.computeIfAbsent(slots.get(eObject), slot -> new ArrayList<>()).add(eObject);
+		}
+		return objectsBySlot;
+	}
+
+	/**
+	 * Removes the first object equal to the given object from a list
+	 * @param objects the list of candidates
+	 * @param eObject the object to search an equal object for
+	 * @return the removed equal object or null if there is none
+	 */
+	private EObject removeEqual(List<EObject> objects, EObject eObject) {
+		for (Iterator<EObject> iterator = objects.iterator(); iterator.hasNext();) {
+			EObject candidate = iterator.next();
+			if (EcoreUtil.equals(candidate, eObject)) {
+				iterator.remove();
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the keys of the objects of a list that can be matched without considering other versions
+	 * @param objects the objects
+	 * @return the keys of the objects
+	 */
+	private Set<String> getKeys(List<EObject> objects) {
+		Set<String> keys = new HashSet<>();
+		for (EObject eObject : objects) {
+			keys.add(getKey(eObject));
+		}
+		return keys;
+	}
+
+	/**
+	 * Checks if an object can be identified across the versions of the file on its own
+	 * @param eObject the object
+	 * @return true for proxies and objects with an identifier such as a uuid
+	 */
+	private boolean isIdentified(EObject eObject) {
+		return eObject.eIsProxy() || EcoreUtil.getID(eObject) != null;
+	}
+
+	/**
+	 * Gets the key identifying an object on its own across the versions of the file. Proxies are
+	 * identified by their uri, objects with an identifier such as a uuid by the identifier and
+	 * all other objects by their type. This is sufficient for the only object of a single valued containment.
+	 * @param eObject the object or null
+	 * @return the key of the object or null
+	 */
+	private String getKey(EObject eObject) {
+		if (eObject == null) {
+			return null;
+		} else if (eObject.eIsProxy()) {
+			return PROXY_KEY_PREFIX + ((InternalEObject) eObject).eProxyURI();
+		}
+		String id = EcoreUtil.getID(eObject);
+		return id != null ? id : eObject.eClass().getName();
+	}
+
+	/**
+	 * Gets a comparable representation of the value of a feature
+	 * @param eObject the object holding the value
+	 * @param feature the feature
+	 * @return the value as string or list of strings. Referenced objects are represented by their uri.
+	 */
+	private Object getValueKey(EObject eObject, EStructuralFeature feature) {
+		Object value = eObject.eGet(feature, false);
+		if (feature.isMany()) {
+			List<String> valueKeys = new ArrayList<>();
+			for (Object element : (List<?>) value) {
+				valueKeys.add(getValueKey(feature, element));
+			}
+			return valueKeys;
+		}
+		return getValueKey(feature, value);
+	}
+
+	/**
+	 * Gets a comparable representation of a single value
+	 * @param feature the feature holding the value
+	 * @param value the value
+	 * @return the value as string
+	 */
+	private String getValueKey(EStructuralFeature feature, Object value) {
+		if (value == null) {
+			return null;
+		} else if (feature instanceof EAttribute) {
+			return EcoreUtil.convertToString(((EAttribute) feature).getEAttributeType(), value);
+		}
+		return EcoreUtil.getURI((EObject) value).toString();
+	}
+
+	/**
+	 * Gets an identifier of a local object for reporting conflicts
+	 * @param eObject the local object
+	 * @return the identifier of the object or its uri fragment if it has none
+	 */
+	private String getObjectId(EObject eObject) {
+		String id = EcoreUtil.getID(eObject);
+		return id != null ? id : oursResource.getURIFragment(eObject);
+	}
+
+	/**
+	 * Checks if a feature holds data that should be merged
+	 * @param feature the feature
+	 * @return false for derived, transient, unchangeable features and references to the container
+	 */
+	private boolean isMergeable(EStructuralFeature feature) {
+		boolean isContainer = feature instanceof EReference && ((EReference) feature).isContainer();
+		return !feature.isDerived() && !feature.isTransient() && feature.isChangeable() && !isContainer;
+	}
+
+	/**
+	 * Checks if a feature is a containment reference
+	 * @param feature the feature
+	 * @return true iff the feature is a containment reference
+	 */
+	private boolean isContainment(EStructuralFeature feature) {
+		return feature instanceof EReference && ((EReference) feature).isContainment();
+	}
+}
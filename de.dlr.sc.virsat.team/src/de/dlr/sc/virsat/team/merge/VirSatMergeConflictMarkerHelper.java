@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2020 German Aerospace Center (DLR), Simulation and Software Technology, Germany.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package de.dlr.sc.virsat.team.merge;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+
+import de.dlr.sc.virsat.project.markers.IMarkerHelper;
+import de.dlr.sc.virsat.project.markers.VirSatProblemMarkerHelper;
+
+/**
+ * Helper Class for Markers reporting conflicts that have been resolved automatically
+ * while merging dvlm files during an update
+ */
+public class VirSatMergeConflictMarkerHelper extends VirSatProblemMarkerHelper implements IMarkerHelper {
+
+	public static final String ID_MERGE_CONFLICT_MARKER = "de.dlr.sc.virsat.team.marker.mergeConflict";
+
+	@Override
+	protected String getMarkerID() {
+		return ID_MERGE_CONFLICT_MARKER;
+	}
+
+	/**
+	 * Replaces the merge conflict markers of a file with markers for the given conflicts
+	 * @param file the merged file
+	 * @param conflicts the conflicts of the latest merge of the file
+	 */
+	public void createMergeConflictMarkers(IFile file, List<DvlmMergeConflict> conflicts) {
+		deleteMarkers(file, ID_MERGE_CONFLICT_MARKER);
+		for (DvlmMergeConflict conflict : conflicts) {
+			createMarker(ID_MERGE_CONFLICT_MARKER, IMarker.SEVERITY_WARNING, conflict.getMessage(), file);
+		}
+	}
+
+	/**
+	 * Method to get all the merge conflict markers of a file
+	 * @param file the file
+	 * @return the Set of markers
+	 */
+	public Set<IMarker> getAllMergeConflictMarkers(IFile file) {
+		return getMarkers(file, ID_MERGE_CONFLICT_MARKER);
+	}
+}
@@ -11,8 +11,13 @@ package de.dlr.sc.virsat.team.svn;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
 import org.eclipse.core.resources.IResource;
@@ -25,15 +30,14 @@ import org.eclipse.team.svn.core.IStateFilter;
 import org.eclipse.team.svn.core.IStateFilter.OrStateFilter;
 import org.eclipse.team.svn.core.SVNMessages;
 import org.eclipse.team.svn.core.connector.ISVNConnector;
+import org.eclipse.team.svn.core.connector.ISVNProgressMonitor;
 import org.eclipse.team.svn.core.connector.SVNConflictResolution.Choice;
 import org.eclipse.team.svn.core.connector.SVNDepth;
 import org.eclipse.team.svn.core.connector.SVNRevision;
 import org.eclipse.team.svn.core.operation.AbstractActionOperation;
 import org.eclipse.team.svn.core.operation.CompositeOperation;
 import org.eclipse.team.svn.core.operation.SVNProgressMonitor;
-import org.eclipse.team.svn.core.operation.file.AddToSVNOperation;
 import org.eclipse.team.svn.core.operation.file.CheckoutAsOperation;
-import org.eclipse.team.svn.core.operation.file.CommitOperation;
 import org.eclipse.team.svn.core.operation.file.SVNFileStorage;
 import org.eclipse.team.svn.core.operation.local.NotifyProjectStatesChangedOperation;
 import org.eclipse.team.svn.core.operation.local.management.ShareProjectOperation;
@@ -56,21 +60,19 @@ public class VirSatSvnVersionControlBackend implements IVirSatVersionControlBack
 	public static final int PROGRESS_INDEX_DO_COMMIT_STEPS = 1;
 	
 	@Override
-	public void commit(IProject project, String message, IProgressMonitor monitor) throws Exception {
+	public void commit(IProject project, String message, Collection<IResource> changedResources, IProgressMonitor monitor) throws Exception {
 		SubMonitor commitMonitor = SubMonitor.convert(monitor, "Virtual Satellite svn commit", PROGRESS_INDEX_DO_COMMIT_STEPS);
 	
 		// Perform an add + commit operation
 		commitMonitor.split(1).subTask("Commiting & adding files");
-		File[] files = getFilesToCommit(project);
-		CommitOperation commitOperation = new CommitOperation(files, message, true, false);
-		CompositeOperation compositeOperation = new CompositeOperation(commitOperation.getId(), commitOperation.getMessagesClass());
-		// SVN requires adding files to the repository before commiting them
-		compositeOperation.add(new AddToSVNOperation(files, true));
-		compositeOperation.add(commitOperation);
+		File[] files = changedResources != null ? getFilesToCommit(changedResources) : getFilesToCommit(project);
+		// Changed resources are commited on their own, without unrelated changes next to them
+		SVNDepth depth = changedResources != null ? SVNDepth.EMPTY : SVNDepth.INFINITY;
+		CommitFilesOperation commitOperation = new CommitFilesOperation(project, files, message, depth);
 		
-		compositeOperation.run(commitMonitor);
+		commitOperation.run(commitMonitor);
 		
-		checkStatus(compositeOperation);
+		checkStatus(commitOperation);
 	}
 
 	@Override
@@ -123,45 +125,144 @@ public class VirSatSvnVersionControlBackend implements IVirSatVersionControlBack
 	}
 
 	@Override
-	public void update(IProject project, IProgressMonitor monitor) throws Exception {
+	public void update(IProject project, Collection<IResource> changedResources, IProgressMonitor monitor) throws Exception {
+		// Svn updates keep local changes without commiting them, so the changed resources are not needed
 		SubMonitor updateMonitor = SubMonitor.convert(monitor, "Virtual Satellite svn update", PROGRESS_INDEX_COMMIT_UPDATE_STEPS);
 		
 		updateMonitor.split(1).subTask("Updating files");
-		UpdateProjectOperation updateProjectOperation = new UpdateProjectOperation(project);
+		File[] files = { new File(FileUtility.getWorkingCopyPath(project)) };
+		UpdateFilesOperation updateFilesOperation = new UpdateFilesOperation(project, files);
 		
-		updateProjectOperation.run(updateMonitor);
+		updateFilesOperation.run(updateMonitor);
 		
-		checkStatus(updateProjectOperation);
+		checkStatus(updateFilesOperation);
 	}
 	
-	// The default UpdateOperation provided by SubVersive was unstable and sometimes failed.
-	// The following is basically a low level call to the svn update functionality
-	private static class UpdateProjectOperation extends AbstractActionOperation {
+	/**
+	 * Operation that performs all its svn calls with a single connector. The connector is
+	 * acquired once from the repository location of the project instead of once per call.
+	 */
+	private abstract static class AConnectorOperation extends AbstractActionOperation {
 		
 		private IProject project;
 		
-		UpdateProjectOperation(IProject project) {
-			super("Operation_UpdateProject", SVNMessages.class);
+		AConnectorOperation(String operationName, IProject project) {
+			super(operationName, SVNMessages.class);
 			this.project = project;
 		}
-
+		
 		@Override
 		protected void runImpl(IProgressMonitor monitor) throws Exception {
 			File workingCopy = new File(FileUtility.getWorkingCopyPath(project));
 			IRepositoryLocation location = SVNFileStorage.instance().asRepositoryResource(workingCopy, false).getRepositoryLocation();
 			final ISVNConnector proxy = location.acquireSVNProxy();
-			String[] paths = FileUtility.asPathArray(new File[] { workingCopy });
 			
 			try {
-				// First update the local copy
-				proxy.update(paths, SVNRevision.HEAD, SVNDepth.INFINITY, ISVNConnector.Options.ALLOW_UNVERSIONED_OBSTRUCTIONS, new SVNProgressMonitor(this, monitor, null));
-				
-				// Then resolve potential conflicts by taking the remote versions
-				proxy.resolve(paths[0], Choice.CHOOSE_REMOTE, SVNDepth.INFINITY, new SVNProgressMonitor(this, monitor, null));
+				runImpl(proxy, workingCopy, new SVNProgressMonitor(this, monitor, null));
 			} finally {
 				location.releaseSVNProxy(proxy);
 			}
 		}
+		
+		/**
+		 * Performs the svn calls of the operation
+		 * @param proxy the connector to use for all calls
+		 * @param workingCopy the working copy of the project
+		 * @param monitor the progress monitor
+		 * @throws Exception
+		 */
+		protected abstract void runImpl(ISVNConnector proxy, File workingCopy, ISVNProgressMonitor monitor) throws Exception;
+	}
+	
+	// The default UpdateOperation provided by SubVersive was unstable and sometimes failed.
+	// The following is basically a low level call to the svn update functionality
+	private static class UpdateFilesOperation extends AConnectorOperation {
+		
+		private File[] files;
+		
+		UpdateFilesOperation(IProject project, File[] files) {
+			super("Operation_UpdateProject", project);
+			this.files = files;
+		}
+
+		@Override
+		protected void runImpl(ISVNConnector proxy, File workingCopy, ISVNProgressMonitor monitor) throws Exception {
+			String[] paths = FileUtility.asPathArray(files);
+			
+			// First update the local copy
+			proxy.update(paths, SVNRevision.HEAD, SVNDepth.INFINITY, ISVNConnector.Options.ALLOW_UNVERSIONED_OBSTRUCTIONS, monitor);
+			
+			// Then resolve potential conflicts by taking the remote versions
+			for (String path : paths) {
+				proxy.resolve(path, Choice.CHOOSE_REMOTE, SVNDepth.INFINITY, monitor);
+			}
+		}
+	}
+	
+	// Adding and commiting is done with the same connector. Next to the files, their parents up to the
+	// project are commited as well, since newly added files can only be commited together with newly
+	// added parents. With an empty depth only these paths are commited and unrelated changes are kept.
+	// A missing file is deleted together with its missing parents, e.g. when a whole SEI folder has been removed.
+	private static class CommitFilesOperation extends AConnectorOperation {
+		
+		private File[] files;
+		private String message;
+		private SVNDepth depth;
+		
+		CommitFilesOperation(IProject project, File[] files, String message, SVNDepth depth) {
+			super("Operation_Commit", project);
+			this.files = files;
+			this.message = message;
+			this.depth = depth;
+		}
+		
+		@Override
+		protected void runImpl(ISVNConnector proxy, File workingCopy, ISVNProgressMonitor monitor) throws Exception {
+			Set<File> filesToCommit = new LinkedHashSet<>();
+			Set<File> foldersToDelete = new LinkedHashSet<>();
+			
+			for (File file : files) {
+				// SVN requires adding files to the repository before commiting them
+				if (file.exists()) {
+					proxy.add(file.getAbsolutePath(), depth, ISVNConnector.Options.FORCE | ISVNConnector.Options.INCLUDE_PARENTS, monitor);
+					filesToCommit.add(file);
+					for (File parent = file.getParentFile(); parent != null && parent.toPath().startsWith(workingCopy.toPath()); parent = parent.getParentFile()) {
+						filesToCommit.add(parent);
+					}
+					continue;
+				}
+				
+				// Missing files have to be scheduled for deletion before commiting their deletion.
+				// If their parent is missing as well, the whole parent gets deleted instead.
+				File deletedFile = file;
+				while (!deletedFile.getParentFile().exists() && deletedFile.getParentFile().toPath().startsWith(workingCopy.toPath())) {
+					deletedFile = deletedFile.getParentFile();
+				}
+				if (deletedFile != file) {
+					foldersToDelete.add(deletedFile);
+				} else {
+					filesToCommit.add(deletedFile);
+				}
+			}
+			
+			if (!foldersToDelete.isEmpty()) {
+				// Deleted folders still have their children in the working copy, so their deletion can only
+				// be commited recursively. Nothing else than the deletion is left within them.
+				String[] paths = FileUtility.asPathArray(foldersToDelete.toArray(new File[0]));
+				proxy.removeLocal(paths, SVNDepth.INFINITY, ISVNConnector.Options.FORCE, monitor);
+				proxy.commit(paths, message, null, SVNDepth.INFINITY, ISVNConnector.Options.NONE, null, monitor);
+			}
+			
+			List<File> missingFiles = filesToCommit.stream().filter(file -> !file.exists()).collect(Collectors.toList());
+			if (!missingFiles.isEmpty()) {
+				proxy.removeLocal(FileUtility.asPathArray(missingFiles.toArray(new File[0])), SVNDepth.EMPTY, ISVNConnector.Options.FORCE, monitor);
+			}
+			
+			if (!filesToCommit.isEmpty()) {
+				String[] paths = FileUtility.asPathArray(filesToCommit.toArray(new File[0]));
+				proxy.commit(paths, message, null, depth, ISVNConnector.Options.NONE, null, monitor);
+			}
+		}
 	}
 	
 	/**
@@ -192,6 +293,29 @@ public class VirSatSvnVersionControlBackend implements IVirSatVersionControlBack
 		return filesList.toArray(new File[0]);
 	}
 	
+	/**
+	 * Gets the files that should be added & commited for the given changed resources.
+	 * Changed folders are replaced by the commitable files within them.
+	 * @param changedResources the changed resources
+	 * @return the files to add & commit
+	 * @throws CoreException
+	 */
+	protected File[] getFilesToCommit(Collection<IResource> changedResources) throws CoreException {
+		List<File> filesList = new ArrayList<>();
+		IStateFilter[] filters = { IStateFilter.SF_MODIFIED, IStateFilter.SF_UNVERSIONED };
+		for (IResource resource : changedResources) {
+			if (resource instanceof IContainer && resource.exists()) {
+				IResource[] resources = FileUtility.getResourcesRecursive(((IContainer) resource).members(), new OrStateFilter(filters));
+				for (IResource containedResource : resources) {
+					filesList.add(new File(FileUtility.getWorkingCopyPath(containedResource)));
+				}
+			} else {
+				filesList.add(new File(FileUtility.getWorkingCopyPath(resource)));
+			}
+		}
+		return filesList.toArray(new File[0]);
+	}
+	
 	/**
 	 * The SVN implementation catches all problems internally and doesn't give any notices of errors.
 	 * Checks the status of the operation and gives some approriate handling